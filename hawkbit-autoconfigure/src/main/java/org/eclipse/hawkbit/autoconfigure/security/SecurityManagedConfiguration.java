@@ -14,6 +14,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.FilterConfig;
@@ -242,7 +243,10 @@ public class SecurityManagedConfiguration {
 
                 http
                         .authorizeHttpRequests(amrmRegistry ->
-                                amrmRegistry.anyRequest().authenticated())
+                                amrmRegistry
+                                        // completion of a long poll that has been authorized already
+                                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                                        .anyRequest().authenticated())
                         .anonymous(AbstractHttpConfigurer::disable)
                         .addFilter(securityHeaderFilter)
                         .addFilter(securityTokenFilter)
@@ -0,0 +1,232 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.benchmarks;
+
+import static org.eclipse.hawkbit.im.authentication.SpPermission.SpringEvalExpressions.SYSTEM_ROLE;
+
+import java.util.concurrent.Callable;
+
+import org.eclipse.hawkbit.repository.EntityFactory;
+import org.eclipse.hawkbit.repository.RolloutHandler;
+import org.eclipse.hawkbit.repository.RolloutManagement;
+import org.eclipse.hawkbit.repository.RolloutStatusCache;
+import org.eclipse.hawkbit.repository.jpa.RepositoryApplicationConfiguration;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.Rollout;
+import org.eclipse.hawkbit.repository.model.Rollout.RolloutStatus;
+import org.eclipse.hawkbit.repository.model.RolloutGroup.RolloutGroupErrorAction;
+import org.eclipse.hawkbit.repository.model.RolloutGroup.RolloutGroupErrorCondition;
+import org.eclipse.hawkbit.repository.model.RolloutGroup.RolloutGroupSuccessCondition;
+import org.eclipse.hawkbit.repository.model.RolloutGroupConditionBuilder;
+import org.eclipse.hawkbit.repository.model.RolloutGroupConditions;
+import org.eclipse.hawkbit.repository.test.TestConfiguration;
+import org.eclipse.hawkbit.repository.test.util.SecurityContextSwitch;
+import org.eclipse.hawkbit.repository.test.util.TestdataFactory;
+import org.eclipse.hawkbit.repository.test.util.WithUser;
+import org.eclipse.hawkbit.security.SecurityContextSerializer;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cloud.stream.binder.test.TestChannelBinderConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The repository the benchmarks run against. It is set up like for the
+ * repository integration tests, i.e. on the embedded H2 database (or the one
+ * configured like for the tests), and started once per JVM, i.e. once per
+ * benchmark fork. All calls are executed as a user of a tenant of its own,
+ * allowed to run the {@link RolloutHandler} like the scheduler.
+ */
+public final class BenchmarkContext {
+
+    private static final String TENANT = "BENCHMARK";
+
+    private static final WithUser USER = SecurityContextSwitch.withUserAndTenant("benchmark", TENANT, false, true,
+            false, SYSTEM_ROLE);
+
+    private static final int TARGETS_PER_TRANSACTION = 1_000;
+
+    // the quotas of the tests are too low for the benchmarks, the defaults are
+    // used instead
+    private static final String[] QUOTAS = { "--hawkbit.server.security.dos.maxRolloutGroupsPerRollout=500",
+            "--hawkbit.server.security.dos.maxTargetsPerRolloutGroup=20000" };
+
+    private static BenchmarkContext instance;
+
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkContext() {
+        context = new SpringApplicationBuilder(RepositoryApplicationConfiguration.class, TestConfiguration.class,
+                TestChannelBinderConfiguration.class, BenchmarkConfiguration.class).profiles("test")
+                .properties("spring.main.allow-bean-definition-overriding=true").web(WebApplicationType.NONE)
+                .run(QUOTAS);
+        call(SecurityContextSwitch.withUserAndTenant("benchmark", TENANT, true, true, false, SYSTEM_ROLE),
+                () -> null);
+    }
+
+    /**
+     * @return the context of the current JVM, started with the first call
+     */
+    public static synchronized BenchmarkContext get() {
+        if (instance == null) {
+            instance = new BenchmarkContext();
+        }
+        return instance;
+    }
+
+    public <T> T getBean(final Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public String getTenant() {
+        return TENANT;
+    }
+
+    /**
+     * Runs the given callable as the benchmark user.
+     *
+     * @param callable
+     *            to run
+     * @return the result of the callable
+     */
+    public <T> T runAsTenant(final Callable<T> callable) {
+        return call(USER, callable);
+    }
+
+    /**
+     * Creates targets with the given controller ID prefix, in chunks of a
+     * transaction each.
+     *
+     * @param prefix
+     *            of the controller IDs, to be used in the filter of a rollout
+     * @param amount
+     *            of targets to create
+     */
+    public void createTargets(final String prefix, final int amount) {
+        final TestdataFactory testdataFactory = getBean(TestdataFactory.class);
+        for (int offset = 0; offset < amount; offset += TARGETS_PER_TRANSACTION) {
+            final int chunk = Math.min(TARGETS_PER_TRANSACTION, amount - offset);
+            final int from = offset;
+            runAsTenant(() -> testdataFactory.createTargets(prefix, from, chunk));
+        }
+    }
+
+    public DistributionSet createDistributionSet(final String prefix) {
+        return runAsTenant(() -> getBean(TestdataFactory.class).createDistributionSet(prefix));
+    }
+
+    /**
+     * Creates a rollout and handles it until it is ready.
+     *
+     * @param name
+     *            of the rollout
+     * @param filterQuery
+     *            of the rollout
+     * @param distributionSet
+     *            to assign
+     * @param amountGroup
+     *            number of groups
+     * @return the ready rollout
+     */
+    public Rollout createReadyRollout(final String name, final String filterQuery,
+            final DistributionSet distributionSet, final int amountGroup) {
+        final RolloutManagement rolloutManagement = getBean(RolloutManagement.class);
+        final RolloutGroupConditions conditions = new RolloutGroupConditionBuilder().withDefaults()
+                .successCondition(RolloutGroupSuccessCondition.THRESHOLD, "50")
+                .errorCondition(RolloutGroupErrorCondition.THRESHOLD, "80")
+                .errorAction(RolloutGroupErrorAction.PAUSE, null).build();
+        final long rolloutId = runAsTenant(() -> rolloutManagement.create(getBean(EntityFactory.class).rollout()
+                .create().name(name).targetFilterQuery(filterQuery).set(distributionSet), amountGroup, false,
+                conditions)).getId();
+        return handleUntil(rolloutId, RolloutStatus.READY);
+    }
+
+    /**
+     * Handles the rollouts until the given one is in the given status.
+     *
+     * @param rolloutId
+     *            the ID of the rollout
+     * @param status
+     *            to wait for
+     * @return the rollout in the given status
+     */
+    public Rollout handleUntil(final long rolloutId, final RolloutStatus status) {
+        final RolloutManagement rolloutManagement = getBean(RolloutManagement.class);
+        final RolloutHandler rolloutHandler = getBean(RolloutHandler.class);
+        return runAsTenant(() -> {
+            Rollout rollout = rolloutManagement.get(rolloutId).orElseThrow();
+            while (rollout.getStatus() != status) {
+                rolloutHandler.handleAll();
+                rollout = rolloutManagement.get(rolloutId).orElseThrow();
+            }
+            return rollout;
+        });
+    }
+
+    /**
+     * Deletes the rollout and handles the rollouts until it is deleted.
+     *
+     * @param rolloutId
+     *            the ID of the rollout
+     */
+    public void deleteRollout(final long rolloutId) {
+        final RolloutManagement rolloutManagement = getBean(RolloutManagement.class);
+        final RolloutHandler rolloutHandler = getBean(RolloutHandler.class);
+        runAsTenant(() -> {
+            rolloutManagement.delete(rolloutId);
+            while (rolloutManagement.get(rolloutId).filter(rollout -> rollout.getStatus() != RolloutStatus.DELETED)
+                    .isPresent()) {
+                rolloutHandler.handleAll();
+            }
+            return null;
+        });
+    }
+
+    private static <T> T call(final WithUser user, final Callable<T> callable) {
+        try {
+            return SecurityContextSwitch.runAs(user, callable);
+        } catch (final RuntimeException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Overrides the beans of the {@link TestConfiguration} the benchmarks have
+     * to run with as in production.
+     */
+    @Configuration
+    static class BenchmarkConfiguration {
+
+        /**
+         * {@link RolloutStatusCache} bean, caching unlike the one of the tests.
+         *
+         * @return a new {@link RolloutStatusCache}
+         */
+        @Bean
+        RolloutStatusCache rolloutStatusCache(final TenantAware tenantAware) {
+            return new RolloutStatusCache(tenantAware);
+        }
+
+        /**
+         * {@link SecurityContextSerializer} bean, not storing the context of
+         * the creator with the rollouts, as by default.
+         *
+         * @return the {@link SecurityContextSerializer#NOP}
+         */
+        @Bean
+        SecurityContextSerializer securityContextSerializer() {
+            return SecurityContextSerializer.NOP;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks and writes the results as JSON, so the results of
+ * different runs, e.g. before and after a change, can be compared.
+ * <p>
+ * Arguments: the regular expression of the benchmarks to run (all by default)
+ * and the file to write the results to (<code>jmh-result.json</code> by
+ * default).
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+        // main class
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder().include(args.length > 0 ? args[0] : ".*")
+                .resultFormat(ResultFormatType.JSON).result(args.length > 1 ? args[1] : "jmh-result.json")
+                .shouldFailOnError(true).build();
+        new Runner(options).run();
+    }
+}
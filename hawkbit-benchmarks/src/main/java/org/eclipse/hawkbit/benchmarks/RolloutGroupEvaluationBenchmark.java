@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.RandomStringUtils;
+import org.eclipse.hawkbit.repository.RolloutGroupManagement;
+import org.eclipse.hawkbit.repository.RolloutHandler;
+import org.eclipse.hawkbit.repository.RolloutManagement;
+import org.eclipse.hawkbit.repository.jpa.rollout.condition.RolloutGroupConditionEvaluator;
+import org.eclipse.hawkbit.repository.jpa.rollout.condition.RolloutGroupEvaluationManager;
+import org.eclipse.hawkbit.repository.model.Rollout;
+import org.eclipse.hawkbit.repository.model.Rollout.RolloutStatus;
+import org.eclipse.hawkbit.repository.model.RolloutGroup;
+import org.eclipse.hawkbit.repository.model.RolloutGroup.RolloutGroupSuccessCondition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * Measures the evaluation of the success condition of the running group of a
+ * rollout, on its own and as part of a run of the {@link RolloutHandler}. The
+ * condition is never reached, i.e. the rollout stays unchanged.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class RolloutGroupEvaluationBenchmark {
+
+    @Param({ "10000" })
+    private int targets;
+
+    @Param({ "10" })
+    private int groups;
+
+    private BenchmarkContext context;
+    private RolloutHandler rolloutHandler;
+    private RolloutGroupConditionEvaluator<RolloutGroupSuccessCondition> successConditionEvaluator;
+    private Rollout rollout;
+    private RolloutGroup runningGroup;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.get();
+        rolloutHandler = context.getBean(RolloutHandler.class);
+        successConditionEvaluator = context.getBean(RolloutGroupEvaluationManager.class)
+                .getSuccessConditionEvaluator(RolloutGroupSuccessCondition.THRESHOLD);
+
+        final String prefix = "evaluation-" + RandomStringUtils.randomAlphanumeric(5) + "-";
+        context.createTargets(prefix, targets);
+        final long rolloutId = context.createReadyRollout(prefix, "controllerId==" + prefix + "*",
+                context.createDistributionSet(prefix), groups).getId();
+        context.runAsTenant(() -> context.getBean(RolloutManagement.class).start(rolloutId));
+        rollout = context.handleUntil(rolloutId, RolloutStatus.RUNNING);
+        runningGroup = context.runAsTenant(() -> context.getBean(RolloutGroupManagement.class)
+                .findByRollout(PageRequest.of(0, 1), rolloutId).getContent().get(0));
+    }
+
+    @Benchmark
+    public boolean evaluateSuccessCondition() {
+        return context.runAsTenant(() -> successConditionEvaluator.eval(rollout, runningGroup,
+                runningGroup.getSuccessConditionExp()));
+    }
+
+    @Benchmark
+    public void handleRunningRollout() {
+        context.runAsTenant(() -> {
+            rolloutHandler.handleAll();
+            return null;
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteRollout() {
+        context.deleteRollout(rollout.getId());
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.RandomStringUtils;
+import org.eclipse.hawkbit.repository.RolloutManagement;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.Rollout;
+import org.eclipse.hawkbit.repository.model.Rollout.RolloutStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the start of a ready rollout until it is running, i.e. the creation
+ * of the actions of all its groups and the start of the first group.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class RolloutGroupStartBenchmark {
+
+    @Param({ "10000", "100000" })
+    private int targets;
+
+    @Param({ "10" })
+    private int groups;
+
+    private BenchmarkContext context;
+    private DistributionSet distributionSet;
+    private String filterQuery;
+    private Rollout rollout;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.get();
+        final String prefix = "start-" + RandomStringUtils.randomAlphanumeric(5) + "-";
+        context.createTargets(prefix, targets);
+        distributionSet = context.createDistributionSet(prefix);
+        filterQuery = "controllerId==" + prefix + "*";
+    }
+
+    @Setup(Level.Iteration)
+    public void createRollout() {
+        rollout = context.createReadyRollout("start-" + RandomStringUtils.randomAlphanumeric(10), filterQuery,
+                distributionSet, groups);
+    }
+
+    @Benchmark
+    public Rollout startRollout() {
+        context.runAsTenant(() -> context.getBean(RolloutManagement.class).start(rollout.getId()));
+        return context.handleUntil(rollout.getId(), RolloutStatus.RUNNING);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteRollout() {
+        context.deleteRollout(rollout.getId());
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.benchmarks;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.RandomStringUtils;
+import org.eclipse.hawkbit.repository.RolloutManagement;
+import org.eclipse.hawkbit.repository.RolloutStatusCache;
+import org.eclipse.hawkbit.repository.model.Rollout;
+import org.eclipse.hawkbit.repository.model.Rollout.RolloutStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the read of the detailed status of a running rollout with the
+ * status found in the {@link RolloutStatusCache} and with the status counted
+ * because the cache has been evicted before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class RolloutStatusCacheBenchmark {
+
+    @Param({ "10000" })
+    private int targets;
+
+    private BenchmarkContext context;
+    private RolloutManagement rolloutManagement;
+    private RolloutStatusCache rolloutStatusCache;
+    private long rolloutId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.get();
+        rolloutManagement = context.getBean(RolloutManagement.class);
+        rolloutStatusCache = context.getBean(RolloutStatusCache.class);
+
+        final String prefix = "status-" + RandomStringUtils.randomAlphanumeric(5) + "-";
+        context.createTargets(prefix, targets);
+        rolloutId = context.createReadyRollout(prefix, "controllerId==" + prefix + "*",
+                context.createDistributionSet(prefix), 10).getId();
+        context.runAsTenant(() -> rolloutManagement.start(rolloutId));
+        context.handleUntil(rolloutId, RolloutStatus.RUNNING);
+    }
+
+    @Benchmark
+    public Optional<Rollout> cacheHit() {
+        return context.runAsTenant(() -> rolloutManagement.getWithDetailedStatus(rolloutId));
+    }
+
+    @Benchmark
+    public Optional<Rollout> cacheMiss() {
+        rolloutStatusCache.evictCaches(context.getTenant());
+        return context.runAsTenant(() -> rolloutManagement.getWithDetailedStatus(rolloutId));
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteRollout() {
+        context.deleteRollout(rolloutId);
+    }
+}
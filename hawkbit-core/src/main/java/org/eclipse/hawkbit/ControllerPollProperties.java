@@ -60,6 +60,18 @@ public class ControllerPollProperties implements Serializable {
      */
     private int maintenanceWindowPollCount = 3;
 
+    /**
+     * Allows controllers to opt in to long polling of the DDI root resource,
+     * i.e. the poll is parked until an assignment or cancellation happens for
+     * the controller.
+     */
+    private boolean longPollEnabled;
+
+    /**
+     * Maximum time a long poll is parked in HH:MM:SS notation.
+     */
+    private String maxLongPollTime = "00:01:00";
+
     public String getPollingTime() {
         return pollingTime;
     }
@@ -111,4 +123,20 @@ public class ControllerPollProperties implements Serializable {
     public void setMaintenanceWindowPollCount(int maintenanceWindowPollCount) {
         this.maintenanceWindowPollCount = maintenanceWindowPollCount;
     }
+
+    public boolean isLongPollEnabled() {
+        return longPollEnabled;
+    }
+
+    public void setLongPollEnabled(final boolean longPollEnabled) {
+        this.longPollEnabled = longPollEnabled;
+    }
+
+    public String getMaxLongPollTime() {
+        return maxLongPollTime;
+    }
+
+    public void setMaxLongPollTime(final String maxLongPollTime) {
+        this.maxLongPollTime = maxLongPollTime;
+    }
 }
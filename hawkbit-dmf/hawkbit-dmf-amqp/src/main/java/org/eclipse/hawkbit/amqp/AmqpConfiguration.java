@@ -280,8 +280,11 @@ public class AmqpConfiguration {
             final SystemSecurityContext systemSecurityContext,
             final TenantConfigurationManagement tenantConfigurationManagement,
             final ConfirmationManagement confirmationManagement) {
-        return new AmqpMessageHandlerService(rabbitTemplate, amqpMessageDispatcherService, controllerManagement,
-                entityFactory, systemSecurityContext, tenantConfigurationManagement, confirmationManagement);
+        final AmqpMessageHandlerService amqpMessageHandlerService = new AmqpMessageHandlerService(rabbitTemplate,
+                amqpMessageDispatcherService, controllerManagement, entityFactory, systemSecurityContext,
+                tenantConfigurationManagement, confirmationManagement);
+        amqpMessageHandlerService.setRegistrationBatchSize(amqpProperties.getRegistrationBatchSize());
+        return amqpMessageHandlerService;
     }
 
     /**
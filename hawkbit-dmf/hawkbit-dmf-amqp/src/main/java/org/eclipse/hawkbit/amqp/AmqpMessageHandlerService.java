@@ -45,10 +45,12 @@ import org.eclipse.hawkbit.repository.exception.EntityAlreadyExistsException;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.Status;
 import org.eclipse.hawkbit.repository.model.ActionProperties;
+import org.eclipse.hawkbit.repository.model.ControllerPollState;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.SoftwareModuleMetadata;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetRegistration;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.util.IpUtil;
 import org.slf4j.Logger;
@@ -88,6 +90,8 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
 
     private final SystemSecurityContext systemSecurityContext;
 
+    private TargetRegistrationBatcher targetRegistrationBatcher;
+
     private static final String THING_ID_NULL = "ThingId is null";
 
     private static final String EMPTY_MESSAGE_BODY = "\"\"";
@@ -124,6 +128,22 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
         this.confirmationManagement = confirmationManagement;
     }
 
+    /**
+     * Enables the micro-batching of concurrent THING_CREATED registrations of a
+     * tenant.
+     *
+     * @param registrationBatchSize
+     *            maximum number of registrations per batch, <code>1</code>
+     *            disables batching
+     */
+    public void setRegistrationBatchSize(final int registrationBatchSize) {
+        this.targetRegistrationBatcher = registrationBatchSize > 1
+                ? new TargetRegistrationBatcher(
+                        registrations -> controllerManagement.findOrRegisterTargets(registrations),
+                        registrationBatchSize)
+                : null;
+    }
+
     /**
      * Method to handle all incoming DMF amqp messages.
      *
@@ -166,7 +186,7 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
             switch (messageType) {
             case THING_CREATED:
                 setTenantSecurityContext(tenant);
-                registerTarget(message, virtualHost);
+                registerTarget(message, tenant, virtualHost);
                 break;
             case THING_REMOVED:
                 setTenantSecurityContext(tenant);
@@ -219,7 +239,7 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
      * @param virtualHost
      *            the virtual host
      */
-    private void registerTarget(final Message message, final String virtualHost) {
+    private void registerTarget(final Message message, final String tenant, final String virtualHost) {
         final String thingId = getStringHeaderKey(message, MessageHeaderKey.THING_ID, THING_ID_NULL);
         final String replyTo = message.getMessageProperties().getReplyTo();
 
@@ -229,10 +249,23 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
 
         try {
             final URI amqpUri = IpUtil.createAmqpUri(virtualHost, replyTo);
-            final Target target;
             if (isOptionalMessageBodyEmpty(message)) {
                 LOG.debug("Received \"THING_CREATED\" AMQP message for thing \"{}\" without body.", thingId);
-                target = controllerManagement.findOrRegisterTargetIfItDoesNotExist(thingId, amqpUri);
+                if (targetRegistrationBatcher != null) {
+                    final Target target = targetRegistrationBatcher.register(tenant,
+                            new TargetRegistration(thingId, amqpUri));
+                    LOG.debug("Target {} reported online state.", thingId);
+                    sendUpdateCommandToTarget(target);
+                    return;
+                }
+                // the target is read by means of its poll state, the entity
+                // is loaded only if there is an action to send
+                final ControllerPollState pollState = controllerManagement.findOrRegisterPollState(thingId,
+                        amqpUri);
+                LOG.debug("Target {} reported online state.", thingId);
+                if (pollState.getActiveAction().isPresent()) {
+                    controllerManagement.getByControllerId(thingId).ifPresent(this::sendUpdateCommandToTarget);
+                }
             } else {
                 checkContentTypeJson(message);
                 final DmfCreateThing thingCreateBody = convertMessage(message, DmfCreateThing.class);
@@ -241,16 +274,19 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
                 LOG.debug("Received \"THING_CREATED\" AMQP message for thing \"{}\" with target name \"{}\" and type " +
                                 "\"{}\".", thingId, thingCreateBody.getName(), thingCreateBody.getType());
 
-                target = controllerManagement.findOrRegisterTargetIfItDoesNotExist(thingId, amqpUri,
-                        thingCreateBody.getName(), thingCreateBody.getType());
+                final Target target = targetRegistrationBatcher != null
+                        ? targetRegistrationBatcher.register(tenant, new TargetRegistration(thingId, amqpUri,
+                                thingCreateBody.getName(), thingCreateBody.getType()))
+                        : controllerManagement.findOrRegisterTargetIfItDoesNotExist(thingId, amqpUri,
+                                thingCreateBody.getName(), thingCreateBody.getType());
 
                 if (thingAttributeUpdateBody != null) {
                     controllerManagement.updateControllerAttributes(thingId, thingAttributeUpdateBody.getAttributes(),
                             getUpdateMode(thingAttributeUpdateBody));
                 }
+                LOG.debug("Target {} reported online state.", thingId);
+                sendUpdateCommandToTarget(target);
             }
-            LOG.debug("Target {} reported online state.", thingId);
-            sendUpdateCommandToTarget(target);
         } catch (final EntityAlreadyExistsException e) {
             throw new AmqpRejectAndDontRequeueException(
                     "Tried to register previously registered target, message will be ignored!", e);
@@ -67,6 +67,12 @@ public class AmqpProperties {
      */
     private long requeueDelay = DEFAULT_REQUEUE_DELAY;
 
+    /**
+     * Maximum number of concurrently received THING_CREATED messages of a
+     * tenant that are registered together. 1 disables the batching.
+     */
+    private int registrationBatchSize = 1;
+
     public long getRequeueDelay() {
         return requeueDelay;
     }
@@ -75,6 +81,14 @@ public class AmqpProperties {
         this.requeueDelay = requeueDelay;
     }
 
+    public int getRegistrationBatchSize() {
+        return registrationBatchSize;
+    }
+
+    public void setRegistrationBatchSize(final int registrationBatchSize) {
+        this.registrationBatchSize = registrationBatchSize;
+    }
+
     public int getDeclarationRetries() {
         return declarationRetries;
     }
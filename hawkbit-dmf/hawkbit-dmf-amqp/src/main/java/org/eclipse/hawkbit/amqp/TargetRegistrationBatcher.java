@@ -0,0 +1,193 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.amqp;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.eclipse.hawkbit.repository.ControllerManagement;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetRegistration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+
+/**
+ * Micro-batches the registrations of the concurrent listener threads of a
+ * tenant into calls of
+ * {@link ControllerManagement#findOrRegisterTargets(java.util.Collection)}.
+ * The batches are formed without any artificial delay: while a batch of a
+ * tenant is registered the registrations of the other listener threads are
+ * collected and registered together by the next thread afterwards. Each
+ * listener thread returns only after its own registration is done, i.e. the
+ * acknowledge and requeue semantics of the messages are not changed.
+ */
+public class TargetRegistrationBatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TargetRegistrationBatcher.class);
+
+    private final Function<List<TargetRegistration>, List<Target>> registrar;
+    private final int maxBatchSize;
+    private final Map<String, TenantBatches> batchesByTenant = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param registrar
+     *            registers a batch of one tenant and returns the targets
+     * @param maxBatchSize
+     *            maximum number of registrations per batch
+     */
+    public TargetRegistrationBatcher(final Function<List<TargetRegistration>, List<Target>> registrar,
+            final int maxBatchSize) {
+        this.registrar = registrar;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Registers the controller together with the concurrent registrations of
+     * the same tenant. Has to be called in the security context of the
+     * tenant.
+     *
+     * @param tenant
+     *            of the controller
+     * @param registration
+     *            of the controller
+     * @return the registered target
+     */
+    public Target register(final String tenant, final TargetRegistration registration) {
+        return batchesByTenant.computeIfAbsent(tenant, key -> new TenantBatches()).register(registration);
+    }
+
+    private final class TenantBatches {
+
+        private final Deque<PendingRegistration> pending = new ArrayDeque<>();
+        private boolean running;
+
+        private Target register(final TargetRegistration registration) {
+            final PendingRegistration own = new PendingRegistration(registration);
+            synchronized (this) {
+                pending.add(own);
+            }
+
+            while (true) {
+                final List<PendingRegistration> batch;
+                synchronized (this) {
+                    awaitTurn(own);
+                    if (own.isDone()) {
+                        return own.getTarget();
+                    }
+                    running = true;
+                    batch = new ArrayList<>(Math.min(pending.size(), maxBatchSize));
+                    while (!pending.isEmpty() && batch.size() < maxBatchSize) {
+                        batch.add(pending.poll());
+                    }
+                }
+
+                try {
+                    execute(batch);
+                } finally {
+                    batch.stream().filter(single -> !single.isDone()).forEach(
+                            single -> single.fail(new AmqpException("Target registration has been aborted")));
+                    synchronized (this) {
+                        running = false;
+                        notifyAll();
+                    }
+                }
+            }
+        }
+
+        private void awaitTurn(final PendingRegistration own) {
+            while (running && !own.isDone()) {
+                try {
+                    wait();
+                } catch (final InterruptedException e) {
+                    pending.remove(own);
+                    Thread.currentThread().interrupt();
+                    throw new AmqpException("Interrupted while waiting for the target registration", e);
+                }
+            }
+        }
+
+        private void execute(final List<PendingRegistration> batch) {
+            if (batch.size() > 1) {
+                try {
+                    complete(batch, registrar
+                            .apply(batch.stream().map(PendingRegistration::getRegistration).toList()));
+                    return;
+                } catch (final RuntimeException e) {
+                    // the failing registration has to fail on its own
+                    LOG.debug("Registration of {} targets failed, falling back to single registrations.",
+                            batch.size(), e);
+                }
+            }
+
+            batch.forEach(single -> {
+                try {
+                    complete(Collections.singletonList(single),
+                            registrar.apply(Collections.singletonList(single.getRegistration())));
+                } catch (final RuntimeException e) {
+                    single.fail(e);
+                }
+            });
+        }
+
+        private void complete(final List<PendingRegistration> batch, final List<Target> targets) {
+            // controller IDs might be matched case insensitive by the database
+            final Map<String, Target> targetsById = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            targets.forEach(target -> targetsById.put(target.getControllerId(), target));
+            batch.forEach(single -> single.complete(targetsById.get(single.getRegistration().getControllerId())));
+        }
+    }
+
+    private static final class PendingRegistration {
+
+        private final TargetRegistration registration;
+        private volatile boolean done;
+        private volatile Target target;
+        private volatile RuntimeException failure;
+
+        private PendingRegistration(final TargetRegistration registration) {
+            this.registration = registration;
+        }
+
+        private TargetRegistration getRegistration() {
+            return registration;
+        }
+
+        private boolean isDone() {
+            return done;
+        }
+
+        private void complete(final Target target) {
+            this.target = target;
+            this.done = true;
+        }
+
+        private void fail(final RuntimeException failure) {
+            this.failure = failure;
+            this.done = true;
+        }
+
+        private Target getTarget() {
+            if (failure != null) {
+                throw failure;
+            }
+            return target;
+        }
+    }
+}
@@ -57,6 +57,7 @@ import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.Status;
 import org.eclipse.hawkbit.repository.model.ActionProperties;
 import org.eclipse.hawkbit.repository.model.Artifact;
+import org.eclipse.hawkbit.repository.model.ControllerPollState;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.TenantConfigurationValue;
@@ -224,11 +225,13 @@ public class AmqpMessageHandlerServiceTest {
         final MessageProperties messageProperties = getThingCreatedMessageProperties(thingId);
         final Message message = createMessage(payload != null ? payload : new byte[0], messageProperties);
 
-        final Target targetMock = mock(Target.class);
         if (payload == null) {
-            when(controllerManagementMock.findOrRegisterTargetIfItDoesNotExist(targetIdCaptor.capture(),
-                    uriCaptor.capture())).thenReturn(targetMock);
+            final ControllerPollState pollStateMock = mock(ControllerPollState.class);
+            when(pollStateMock.getActiveAction()).thenReturn(Optional.empty());
+            when(controllerManagementMock.findOrRegisterPollState(targetIdCaptor.capture(), uriCaptor.capture()))
+                    .thenReturn(pollStateMock);
         } else {
+            final Target targetMock = mock(Target.class);
             when(controllerManagementMock.findOrRegisterTargetIfItDoesNotExist(targetIdCaptor.capture(),
                     uriCaptor.capture(), targetNameCaptor.capture(), targetTypeNameCaptor.capture()))
                     .thenReturn(targetMock);
@@ -236,8 +239,8 @@ public class AmqpMessageHandlerServiceTest {
                 when(controllerManagementMock.updateControllerAttributes(targetIdCaptor.capture(),
                         attributesCaptor.capture(), modeCaptor.capture())).thenReturn(null);
             }
+            when(controllerManagementMock.findActiveActionWithHighestWeight(any())).thenReturn(Optional.empty());
         }
-        when(controllerManagementMock.findActiveActionWithHighestWeight(any())).thenReturn(Optional.empty());
 
         amqpMessageHandlerService.onMessage(message, MessageType.THING_CREATED.name(), TENANT, VIRTUAL_HOST);
     }
@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.amqp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetRegistration;
+import org.junit.jupiter.api.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Device Management Federation API")
+@Story("Target Registration Batcher")
+class TargetRegistrationBatcherTest {
+
+    private static final String TENANT = "DEFAULT";
+    private static final URI ADDRESS = URI.create("amqp://vHost/replyTo");
+
+    @Test
+    @Description("Verifies that registrations received while a batch is registered are registered together afterwards.")
+    void concurrentRegistrationsAreBatched() throws Exception {
+        final CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        final CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        final List<List<TargetRegistration>> batches = new CopyOnWriteArrayList<>();
+        final TargetRegistrationBatcher batcher = new TargetRegistrationBatcher(registrations -> {
+            batches.add(registrations);
+            if (batches.size() == 1) {
+                firstBatchStarted.countDown();
+                await(releaseFirstBatch);
+            }
+            return toTargets(registrations);
+        }, 10);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final Future<Target> first = executor.submit(() -> register(batcher, "first"));
+            firstBatchStarted.await(5, TimeUnit.SECONDS);
+            final List<Future<Target>> others = List.of(executor.submit(() -> register(batcher, "a")),
+                    executor.submit(() -> register(batcher, "b")), executor.submit(() -> register(batcher, "c")));
+            // give the waiting registrations the chance to queue up
+            TimeUnit.MILLISECONDS.sleep(200);
+            releaseFirstBatch.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS).getControllerId()).isEqualTo("first");
+            for (final Future<Target> other : others) {
+                assertThat(other.get(5, TimeUnit.SECONDS)).isNotNull();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(batches).hasSize(2);
+        assertThat(batches.get(1)).extracting(TargetRegistration::getControllerId).containsExactlyInAnyOrder("a",
+                "b", "c");
+    }
+
+    @Test
+    @Description("Verifies that the failure of a registration is thrown to its caller only.")
+    void failingRegistrationFailsOnItsOwn() {
+        final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        final TargetRegistrationBatcher batcher = new TargetRegistrationBatcher(registrations -> {
+            batchSizes.add(registrations.size());
+            if (registrations.stream().anyMatch(registration -> "invalid".equals(registration.getControllerId()))) {
+                throw new IllegalArgumentException("invalid");
+            }
+            return toTargets(registrations);
+        }, 10);
+
+        assertThat(register(batcher, "valid").getControllerId()).isEqualTo("valid");
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> register(batcher, "invalid"));
+        assertThat(batchSizes).containsExactly(1, 1);
+    }
+
+    private static Target register(final TargetRegistrationBatcher batcher, final String controllerId) {
+        return batcher.register(TENANT, new TargetRegistration(controllerId, ADDRESS));
+    }
+
+    private static List<Target> toTargets(final List<TargetRegistration> registrations) {
+        return registrations.stream().map(registration -> {
+            final Target target = mock(Target.class);
+            when(target.getControllerId()).thenReturn(registration.getControllerId());
+            return target;
+        }).collect(Collectors.toList());
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -886,7 +886,7 @@ class AmqpMessageHandlerServiceIntegrationTest extends AbstractAmqpServiceIntegr
         try {
             for (final Class<? extends RuntimeException> exceptionClass : exceptionsThatShouldNotBeRequeued) {
                 doThrow(exceptionClass).when(mockedControllerManagement)
-                        .findOrRegisterTargetIfItDoesNotExist(eq(controllerId), any());
+                        .findOrRegisterPollState(eq(controllerId), any());
 
                 amqpMessageHandlerService.setControllerManagement(mockedControllerManagement);
                 createAndSendThingCreated(controllerId);
@@ -22,6 +22,8 @@ import jakarta.validation.constraints.NotNull;
 
 import org.eclipse.hawkbit.im.authentication.SpPermission.SpringEvalExpressions;
 import org.eclipse.hawkbit.repository.builder.ActionStatusCreate;
+import org.eclipse.hawkbit.repository.event.remote.TargetPollBatchEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
 import org.eclipse.hawkbit.repository.exception.AssignmentQuotaExceededException;
 import org.eclipse.hawkbit.repository.exception.CancelActionNotAllowedException;
 import org.eclipse.hawkbit.repository.exception.EntityAlreadyExistsException;
@@ -31,9 +33,11 @@ import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.Status;
 import org.eclipse.hawkbit.repository.model.ActionStatus;
 import org.eclipse.hawkbit.repository.model.AutoConfirmationStatus;
+import org.eclipse.hawkbit.repository.model.ControllerPollState;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.SoftwareModuleMetadata;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetRegistration;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
 import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
 import org.springframework.data.domain.Page;
@@ -242,6 +246,55 @@ public interface ControllerManagement {
     Target findOrRegisterTargetIfItDoesNotExist(@NotEmpty String controllerId, @NotNull URI address, String name,
             String type);
 
+    /**
+     * Bulk variant of
+     * {@link #findOrRegisterTargetIfItDoesNotExist(String, URI, String, String)}
+     * which reads the existing targets by means of one query, registers the
+     * new ones together and publishes one {@link TargetPollBatchEvent} instead
+     * of one {@link TargetPollEvent} per target. In case a controller is
+     * contained more than once the last registration is applied.
+     *
+     * @param registrations
+     *            of the controllers
+     * @return the registered targets in the order of their first registration
+     */
+    @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER)
+    List<Target> findOrRegisterTargets(@NotNull Collection<TargetRegistration> registrations);
+
+    /**
+     * Registers the poll of a controller like
+     * {@link #findOrRegisterTargetIfItDoesNotExist(String, URI)} and returns
+     * its {@link ControllerPollState}, i.e. the active {@link Action} with the
+     * highest weight, the installed {@link Action} and the polling time. If
+     * enabled by {@link RepositoryProperties#isPollStateCacheEnabled()} the
+     * state of an idle controller is served from a near-cache without
+     * repository access.
+     *
+     * @param controllerId
+     *            reference
+     * @param address
+     *            the client IP address of the target, might be {@code null}
+     * @return the current poll state of the controller
+     */
+    @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER)
+    ControllerPollState findOrRegisterPollState(@NotEmpty String controllerId, @NotNull URI address);
+
+    /**
+     * Registers the poll of a controller like
+     * {@link #findOrRegisterPollState(String, URI)} but reads its
+     * {@link ControllerPollState} from the repository in any case, e.g. if the
+     * controller has been woken up by an event that has not invalidated the
+     * near-cache yet. The near-cache is updated with the read state.
+     *
+     * @param controllerId
+     *            reference
+     * @param address
+     *            the client IP address of the target, might be {@code null}
+     * @return the current poll state of the controller
+     */
+    @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER)
+    ControllerPollState refreshPollState(@NotEmpty String controllerId, @NotNull URI address);
+
     /**
      * Retrieves last {@link Action} for a download of an artifact of given
      * module and target if exists and is not canceled.
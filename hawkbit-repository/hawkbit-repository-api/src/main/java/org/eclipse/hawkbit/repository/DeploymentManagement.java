@@ -29,6 +29,7 @@ import org.eclipse.hawkbit.repository.exception.MultiAssignmentIsNotEnabledExcep
 import org.eclipse.hawkbit.repository.exception.RSQLParameterSyntaxException;
 import org.eclipse.hawkbit.repository.exception.RSQLParameterUnsupportedFieldException;
 import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Action.ActionType;
 import org.eclipse.hawkbit.repository.model.Action.Status;
 import org.eclipse.hawkbit.repository.model.ActionStatus;
 import org.eclipse.hawkbit.repository.model.DeploymentRequest;
@@ -114,6 +115,48 @@ public interface DeploymentManagement {
     List<DistributionSetAssignmentResult> assignDistributionSets(String initiatedBy,
             @Valid @NotEmpty List<DeploymentRequest> deploymentRequests, String actionMessage);
 
+    /**
+     * Assigns a {@link DistributionSet} to {@link Target}s given by their IDs,
+     * e.g. as found by
+     * {@link TargetManagement#findIdsByTargetFilterQueryAndNonDSAndCompatibleAndUpdatable(long, int, long, String)}.
+     * Unlike {@link #assignDistributionSets(String, List, String)} the targets
+     * are not looked up by their controller IDs. Targets that don't exist
+     * (anymore), are not updatable or not compatible with the distribution set
+     * are skipped.
+     *
+     * @param initiatedBy
+     *            the username of the user who initiated the assignment
+     * @param distributionSetId
+     *            ID of the distribution set to assign
+     * @param targetIds
+     *            IDs of the targets to assign the distribution set to
+     * @param actionType
+     *            of the created actions
+     * @param weight
+     *            of the created actions, may be <code>null</code>
+     * @param confirmationRequired
+     *            if the created actions have to be confirmed
+     * @param actionMessage
+     *            an optional message for the action status
+     *
+     * @return the assignment result
+     *
+     * @throws IncompleteDistributionSetException
+     *             if mandatory {@link SoftwareModuleType} are not assigned as
+     *             defined by the {@link DistributionSetType}.
+     *
+     * @throws EntityNotFoundException
+     *             if the provided {@link DistributionSet} does not exist
+     *
+     * @throws AssignmentQuotaExceededException
+     *             if the maximum number of targets the distribution set can be
+     *             assigned to at once is exceeded
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_REPOSITORY_AND_UPDATE_TARGET)
+    DistributionSetAssignmentResult assignDistributionSetToTargetIds(String initiatedBy, long distributionSetId,
+            @NotEmpty Collection<Long> targetIds, ActionType actionType, Integer weight,
+            boolean confirmationRequired, String actionMessage);
+
     /**
      * build a {@link DeploymentRequest} for a target distribution set
      * assignment
@@ -14,7 +14,11 @@ import java.time.LocalTime;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.eclipse.hawkbit.repository.exception.InvalidMaintenanceScheduleException;
 import org.springframework.util.StringUtils;
@@ -36,6 +40,23 @@ public final class MaintenanceScheduleHelper {
     private static final CronParser cronParser = new CronParser(
             CronDefinitionBuilder.instanceDefinitionFor(CronType.QUARTZ));
 
+    /**
+     * Upper bound of the cached schedules and windows. The caches are cleared
+     * if exceeded, which is not expected as the number of distinct schedules
+     * is small in practice.
+     */
+    private static final int MAX_CACHE_SIZE = 1_000;
+
+    // the execution time does not depend on the time zone, i.e. it is keyed
+    // by the cron expression only
+    private static final Map<String, ExecutionTime> executionTimes = new ConcurrentHashMap<>();
+    private static final Map<MaintenanceWindowKey, MaintenanceWindow> nextWindows = new ConcurrentHashMap<>();
+
+    private static final LongAdder scheduleHits = new LongAdder();
+    private static final LongAdder scheduleMisses = new LongAdder();
+    private static final LongAdder windowHits = new LongAdder();
+    private static final LongAdder windowMisses = new LongAdder();
+
     private MaintenanceScheduleHelper() {
         throw new IllegalStateException("Utility class");
     }
@@ -67,15 +88,53 @@ public final class MaintenanceScheduleHelper {
     public static Optional<ZonedDateTime> getNextMaintenanceWindow(final String cronSchedule, final String duration,
             final String timezone) {
         try {
-            final ExecutionTime scheduleExecutor = ExecutionTime.forCron(getCronFromExpression(cronSchedule));
             final ZonedDateTime now = ZonedDateTime.now(ZoneOffset.of(timezone));
-            final ZonedDateTime after = now.minus(convertToISODuration(duration));
-            return scheduleExecutor.nextExecution(after);
+            final MaintenanceWindowKey key = new MaintenanceWindowKey(cronSchedule, duration, timezone);
+            final MaintenanceWindow cached = nextWindows.get(key);
+            if (cached != null && !cached.isElapsed(now)) {
+                windowHits.increment();
+                return cached.getStart();
+            }
+            windowMisses.increment();
+
+            final Duration windowDuration = convertToISODuration(duration);
+            final Optional<ZonedDateTime> start = getExecutionTime(cronSchedule)
+                    .nextExecution(now.minus(windowDuration));
+            putBounded(nextWindows, key, new MaintenanceWindow(start, windowDuration));
+            return start;
         } catch (final RuntimeException ignored) {
             return Optional.empty();
         }
     }
 
+    private static ExecutionTime getExecutionTime(final String cronSchedule) {
+        final ExecutionTime cached = executionTimes.get(cronSchedule);
+        if (cached != null) {
+            scheduleHits.increment();
+            return cached;
+        }
+        scheduleMisses.increment();
+
+        final ExecutionTime executionTime = ExecutionTime.forCron(getCronFromExpression(cronSchedule));
+        putBounded(executionTimes, cronSchedule, executionTime);
+        return executionTime;
+    }
+
+    private static <K, V> void putBounded(final Map<K, V> cache, final K key, final V value) {
+        if (cache.size() >= MAX_CACHE_SIZE) {
+            cache.clear();
+        }
+        cache.put(key, value);
+    }
+
+    /**
+     * @return the hit and miss counts of the caches of parsed schedules and
+     *         calculated maintenance windows
+     */
+    public static CacheStatistics getCacheStatistics() {
+        return new CacheStatistics(scheduleHits.sum(), scheduleMisses.sum(), windowHits.sum(), windowMisses.sum());
+    }
+
     /**
      * Parse the given cron expression with quartz parser.
      *
@@ -205,4 +264,112 @@ public final class MaintenanceScheduleHelper {
             throw new InvalidMaintenanceScheduleException(e.getMessage(), e);
         }
     }
+
+    /**
+     * Hit and miss counts of the caches of the {@link MaintenanceScheduleHelper}.
+     */
+    public static final class CacheStatistics {
+
+        private final long scheduleHits;
+        private final long scheduleMisses;
+        private final long windowHits;
+        private final long windowMisses;
+
+        private CacheStatistics(final long scheduleHits, final long scheduleMisses, final long windowHits,
+                final long windowMisses) {
+            this.scheduleHits = scheduleHits;
+            this.scheduleMisses = scheduleMisses;
+            this.windowHits = windowHits;
+            this.windowMisses = windowMisses;
+        }
+
+        /**
+         * @return number of cron expressions served from the cache
+         */
+        public long getScheduleHits() {
+            return scheduleHits;
+        }
+
+        /**
+         * @return number of cron expressions that had to be parsed
+         */
+        public long getScheduleMisses() {
+            return scheduleMisses;
+        }
+
+        /**
+         * @return number of maintenance windows served from the cache
+         */
+        public long getWindowHits() {
+            return windowHits;
+        }
+
+        /**
+         * @return number of maintenance windows that had to be calculated
+         */
+        public long getWindowMisses() {
+            return windowMisses;
+        }
+
+        @Override
+        public String toString() {
+            return "CacheStatistics [scheduleHits=" + scheduleHits + ", scheduleMisses=" + scheduleMisses
+                    + ", windowHits=" + windowHits + ", windowMisses=" + windowMisses + "]";
+        }
+    }
+
+    private static final class MaintenanceWindowKey {
+
+        private final String cronSchedule;
+        private final String duration;
+        private final String timezone;
+
+        private MaintenanceWindowKey(final String cronSchedule, final String duration, final String timezone) {
+            this.cronSchedule = cronSchedule;
+            this.duration = duration;
+            this.timezone = timezone;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final MaintenanceWindowKey other = (MaintenanceWindowKey) obj;
+            return Objects.equals(cronSchedule, other.cronSchedule) && Objects.equals(duration, other.duration)
+                    && Objects.equals(timezone, other.timezone);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(cronSchedule, duration, timezone);
+        }
+    }
+
+    /**
+     * The next (or currently active) window of a schedule. It stays the next
+     * window until it has elapsed, a lapsed schedule (without any next window)
+     * stays lapsed.
+     */
+    private static final class MaintenanceWindow {
+
+        private final Optional<ZonedDateTime> start;
+        private final ZonedDateTime end;
+
+        private MaintenanceWindow(final Optional<ZonedDateTime> start, final Duration duration) {
+            this.start = start;
+            this.end = start.map(startTime -> startTime.plus(duration)).orElse(null);
+        }
+
+        private Optional<ZonedDateTime> getStart() {
+            return start;
+        }
+
+        private boolean isElapsed(final ZonedDateTime now) {
+            return end != null && !now.isBefore(end);
+        }
+    }
 }
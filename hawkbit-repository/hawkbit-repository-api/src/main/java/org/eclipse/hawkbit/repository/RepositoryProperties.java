@@ -11,8 +11,10 @@ package org.eclipse.hawkbit.repository;
 
 import java.util.concurrent.TimeUnit;
 
+import org.eclipse.hawkbit.repository.event.remote.TargetPollBatchEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
 import org.eclipse.hawkbit.repository.model.ActionStatus;
+import org.eclipse.hawkbit.repository.model.ControllerPollState;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -35,26 +37,64 @@ public class RepositoryProperties {
 
     /**
      * Set to <code>true</code> if the repository should publish
-     * {@link TargetPollEvent}s in case a target connects to the repository.
-     * Activated by default but may be worth to disable if not needed.
+     * {@link TargetPollEvent}s (or {@link TargetPollBatchEvent}s for lazily
+     * persisted polls) in case a target connects to the repository. Activated
+     * by default but may be worth to disable if not needed. Polls within the
+     * {@link #pollPersistenceResolution} are not published.
      */
     private boolean publishTargetPollEvent = true;
 
     /**
-     * Maximum number of poll operations queued before flush.
+     * Maximum number of targets with polls queued before flush. Repeated polls
+     * of a target are coalesced. A flush is triggered early as soon as half of
+     * the queue is in use.
      */
     private int pollPersistenceQueueSize = 10_000;
 
+    /**
+     * Maximum number of poll updates sent to the database in one JDBC batch.
+     */
+    private int pollPersistenceBatchSize = 500;
+
     /**
      * Maximum time before queue is flushed in {@link TimeUnit#MILLISECONDS}.
      */
     private long pollPersistenceFlushTime = TimeUnit.SECONDS.toMillis(10);
 
+    /**
+     * Minimum age of the persisted last poll of a target in
+     * {@link TimeUnit#MILLISECONDS} before a further poll is persisted. The
+     * value is capped by the polling overdue time of the tenant so that the
+     * overdue state of a target is not affected. A poll which is not
+     * persisted does not publish a {@link TargetPollEvent} either, i.e. the
+     * poll events of a target are published at most once per resolution. Set
+     * to 0 to persist every poll.
+     */
+    private long pollPersistenceResolution;
+
     /**
      * Set to true to persist polls immediately.
      */
     private boolean eagerPollPersistence;
 
+    /**
+     * Set to <code>true</code> to serve polls of controllers from a near-cache
+     * of their {@link ControllerPollState} which is invalidated by the events
+     * that could change it. Only effective if polls are not persisted eagerly.
+     */
+    private boolean pollStateCacheEnabled;
+
+    /**
+     * Maximum number of {@link ControllerPollState}s in the near-cache.
+     */
+    private long pollStateCacheSize = 100_000;
+
+    /**
+     * Maximum time a {@link ControllerPollState} is kept in the near-cache in
+     * {@link TimeUnit#MILLISECONDS}.
+     */
+    private long pollStateCacheTimeToLive = TimeUnit.MINUTES.toMillis(10);
+
     /**
      * If an {@link Action} has a weight of null this value is used as weight.
      */
@@ -66,6 +106,116 @@ public class RepositoryProperties {
      */
     private long dsInvalidationLockTimeout = 5;
 
+    /**
+     * Number of workers that handle rollouts concurrently. The rollouts of all
+     * tenants share the workers in turn.
+     */
+    private int rolloutWorkerThreads = 4;
+
+    /**
+     * Set to <code>true</code> to run the rollout workers on virtual threads.
+     * Falls back to platform threads if the runtime does not support them.
+     */
+    private boolean rolloutWorkerVirtualThreads;
+
+    /**
+     * Set to <code>true</code> to handle running rollouts only if the status
+     * of one of their actions has changed. All active rollouts are still
+     * handled every {@link #rolloutSweepInterval}.
+     */
+    private boolean rolloutEventDriven;
+
+    /**
+     * Interval (in milliseconds) all active rollouts are handled in if
+     * {@link #rolloutEventDriven} is set.
+     */
+    private long rolloutSweepInterval = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * Set to <code>true</code> to share the active rollouts among the nodes of
+     * a cluster, i.e. every node handles only its share of the rollouts
+     * instead of competing with the other nodes for all of them. A single
+     * rollout is still handled by one node at a time, i.e. the nodes speed up
+     * many rollouts but not the creation or the run of one large rollout.
+     */
+    private boolean rolloutPartitioned;
+
+    /**
+     * Time (in milliseconds) a node keeps its share of the rollouts without
+     * sending a heartbeat if {@link #rolloutPartitioned} is set. The
+     * heartbeats are sent in a third of this time by a task of their own,
+     * independent of the rollout scheduler.
+     */
+    private long rolloutNodeLeaseTime = TimeUnit.SECONDS.toMillis(30);
+
+    /**
+     * Set to <code>true</code> to freeze the targets of a rollout once it is
+     * created and to fill its groups from this snapshot in the order of the
+     * target IDs. The snapshot contains the targets created not later than the
+     * rollout, is kept as the ID of the last assigned target only and is
+     * continued from there if the groups could not be filled at once. Applies
+     * only to the rollouts whose groups have no target filter of their own.
+     */
+    private boolean rolloutTargetSnapshot;
+
+    /**
+     * Time (in milliseconds) the target counts a rollout estimation is based
+     * on are reused before they are counted again.
+     */
+    private long rolloutEstimationCountTtl = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * Set to <code>true</code> to check only the targets which have been
+     * created or changed since the last run for an auto assignment, instead of
+     * all targets. The targets modified since the last sweep are checked every
+     * {@link #autoAssignSweepInterval} nevertheless.
+     */
+    private boolean autoAssignEventDriven;
+
+    /**
+     * Interval (in milliseconds) the targets modified since the last sweep are
+     * checked in if {@link #autoAssignEventDriven} is set.
+     */
+    private long autoAssignSweepInterval = TimeUnit.MINUTES.toMillis(10);
+
+    /**
+     * Number of workers that run the auto assign checks concurrently. The
+     * checks of all tenants share the workers in turn.
+     */
+    private int autoAssignWorkerThreads = 4;
+
+    /**
+     * Time (in milliseconds) a single check of a target filter may take per
+     * turn of its tenant, i.e. a time slice per check, not per tenant. A check
+     * that takes longer is continued after the checks of the other tenants.
+     */
+    private long autoAssignCheckBudget = TimeUnit.SECONDS.toMillis(5);
+
+    /**
+     * Number of targets the distribution set of a target filter is assigned
+     * to per transaction when all targets are checked. Should not exceed the
+     * quota of the targets per manual assignment.
+     */
+    private int autoAssignChunkSize = 1_000;
+
+    /**
+     * Number of actions the action cleanup deletes (together with their status
+     * entries) per transaction.
+     */
+    private int actionCleanupChunkSize = 500;
+
+    /**
+     * Maximum number of rows (actions, status entries and messages) the action
+     * cleanup deletes per second. Zero or less for no throttling.
+     */
+    private long actionCleanupRowsPerSecond = 5_000;
+
+    /**
+     * Time in milliseconds the action cleanup deletes actions of a tenant per
+     * run. The actions left are deleted by the next runs.
+     */
+    private long actionCleanupTimePerRun = TimeUnit.SECONDS.toMillis(5);
+
     public boolean isEagerPollPersistence() {
         return eagerPollPersistence;
     }
@@ -74,6 +224,30 @@ public class RepositoryProperties {
         this.eagerPollPersistence = eagerPollPersistence;
     }
 
+    public boolean isPollStateCacheEnabled() {
+        return pollStateCacheEnabled;
+    }
+
+    public void setPollStateCacheEnabled(final boolean pollStateCacheEnabled) {
+        this.pollStateCacheEnabled = pollStateCacheEnabled;
+    }
+
+    public long getPollStateCacheSize() {
+        return pollStateCacheSize;
+    }
+
+    public void setPollStateCacheSize(final long pollStateCacheSize) {
+        this.pollStateCacheSize = pollStateCacheSize;
+    }
+
+    public long getPollStateCacheTimeToLive() {
+        return pollStateCacheTimeToLive;
+    }
+
+    public void setPollStateCacheTimeToLive(final long pollStateCacheTimeToLive) {
+        this.pollStateCacheTimeToLive = pollStateCacheTimeToLive;
+    }
+
     public long getPollPersistenceFlushTime() {
         return pollPersistenceFlushTime;
     }
@@ -90,6 +264,22 @@ public class RepositoryProperties {
         this.pollPersistenceQueueSize = pollPersistenceQueueSize;
     }
 
+    public long getPollPersistenceResolution() {
+        return pollPersistenceResolution;
+    }
+
+    public void setPollPersistenceResolution(final long pollPersistenceResolution) {
+        this.pollPersistenceResolution = pollPersistenceResolution;
+    }
+
+    public int getPollPersistenceBatchSize() {
+        return pollPersistenceBatchSize;
+    }
+
+    public void setPollPersistenceBatchSize(final int pollPersistenceBatchSize) {
+        this.pollPersistenceBatchSize = pollPersistenceBatchSize;
+    }
+
     public boolean isRejectActionStatusForClosedAction() {
         return rejectActionStatusForClosedAction;
     }
@@ -122,4 +312,132 @@ public class RepositoryProperties {
         this.dsInvalidationLockTimeout = dsInvalidationLockTimeout;
     }
 
+    public int getRolloutWorkerThreads() {
+        return rolloutWorkerThreads;
+    }
+
+    public void setRolloutWorkerThreads(final int rolloutWorkerThreads) {
+        this.rolloutWorkerThreads = rolloutWorkerThreads;
+    }
+
+    public boolean isRolloutWorkerVirtualThreads() {
+        return rolloutWorkerVirtualThreads;
+    }
+
+    public void setRolloutWorkerVirtualThreads(final boolean rolloutWorkerVirtualThreads) {
+        this.rolloutWorkerVirtualThreads = rolloutWorkerVirtualThreads;
+    }
+
+    public boolean isRolloutEventDriven() {
+        return rolloutEventDriven;
+    }
+
+    public void setRolloutEventDriven(final boolean rolloutEventDriven) {
+        this.rolloutEventDriven = rolloutEventDriven;
+    }
+
+    public long getRolloutSweepInterval() {
+        return rolloutSweepInterval;
+    }
+
+    public void setRolloutSweepInterval(final long rolloutSweepInterval) {
+        this.rolloutSweepInterval = rolloutSweepInterval;
+    }
+
+    public boolean isRolloutPartitioned() {
+        return rolloutPartitioned;
+    }
+
+    public void setRolloutPartitioned(final boolean rolloutPartitioned) {
+        this.rolloutPartitioned = rolloutPartitioned;
+    }
+
+    public boolean isRolloutTargetSnapshot() {
+        return rolloutTargetSnapshot;
+    }
+
+    public void setRolloutTargetSnapshot(final boolean rolloutTargetSnapshot) {
+        this.rolloutTargetSnapshot = rolloutTargetSnapshot;
+    }
+
+    public long getRolloutEstimationCountTtl() {
+        return rolloutEstimationCountTtl;
+    }
+
+    public void setRolloutEstimationCountTtl(final long rolloutEstimationCountTtl) {
+        this.rolloutEstimationCountTtl = rolloutEstimationCountTtl;
+    }
+
+    public long getRolloutNodeLeaseTime() {
+        return rolloutNodeLeaseTime;
+    }
+
+    public void setRolloutNodeLeaseTime(final long rolloutNodeLeaseTime) {
+        this.rolloutNodeLeaseTime = rolloutNodeLeaseTime;
+    }
+
+    public boolean isAutoAssignEventDriven() {
+        return autoAssignEventDriven;
+    }
+
+    public void setAutoAssignEventDriven(final boolean autoAssignEventDriven) {
+        this.autoAssignEventDriven = autoAssignEventDriven;
+    }
+
+    public long getAutoAssignSweepInterval() {
+        return autoAssignSweepInterval;
+    }
+
+    public void setAutoAssignSweepInterval(final long autoAssignSweepInterval) {
+        this.autoAssignSweepInterval = autoAssignSweepInterval;
+    }
+
+    public int getAutoAssignWorkerThreads() {
+        return autoAssignWorkerThreads;
+    }
+
+    public void setAutoAssignWorkerThreads(final int autoAssignWorkerThreads) {
+        this.autoAssignWorkerThreads = autoAssignWorkerThreads;
+    }
+
+    public long getAutoAssignCheckBudget() {
+        return autoAssignCheckBudget;
+    }
+
+    public void setAutoAssignCheckBudget(final long autoAssignCheckBudget) {
+        this.autoAssignCheckBudget = autoAssignCheckBudget;
+    }
+
+    public int getAutoAssignChunkSize() {
+        return autoAssignChunkSize;
+    }
+
+    public void setAutoAssignChunkSize(final int autoAssignChunkSize) {
+        this.autoAssignChunkSize = autoAssignChunkSize;
+    }
+
+    public int getActionCleanupChunkSize() {
+        return actionCleanupChunkSize;
+    }
+
+    public void setActionCleanupChunkSize(final int actionCleanupChunkSize) {
+        this.actionCleanupChunkSize = actionCleanupChunkSize;
+    }
+
+    public long getActionCleanupRowsPerSecond() {
+        return actionCleanupRowsPerSecond;
+    }
+
+    public void setActionCleanupRowsPerSecond(final long actionCleanupRowsPerSecond) {
+        this.actionCleanupRowsPerSecond = actionCleanupRowsPerSecond;
+    }
+
+    public long getActionCleanupTimePerRun() {
+        return actionCleanupTimePerRun;
+    }
+
+    public void setActionCleanupTimePerRun(final long actionCleanupTimePerRun) {
+        this.actionCleanupTimePerRun = actionCleanupTimePerRun;
+    }
+
 }
@@ -19,7 +19,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 /**
  * Represents the handler service for creating, deleting, and starting a Rollout
  */
-@FunctionalInterface
 public interface RolloutHandler {
 
     /**
@@ -50,4 +49,15 @@ public interface RolloutHandler {
      */
     @PreAuthorize(SpringEvalExpressions.IS_SYSTEM_CODE)
     void handleAll();
+
+    /**
+     * Process the rollout with the given ID of the current tenant as described
+     * for {@link #handleAll()}. The rollout is skipped if it is processed
+     * elsewhere at the same time.
+     *
+     * @param rolloutId
+     *            the ID of the rollout
+     */
+    @PreAuthorize(SpringEvalExpressions.IS_SYSTEM_CODE)
+    void handle(long rolloutId);
 }
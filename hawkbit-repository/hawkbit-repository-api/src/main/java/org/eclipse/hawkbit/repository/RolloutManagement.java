@@ -30,6 +30,7 @@ import org.eclipse.hawkbit.repository.exception.RolloutIllegalStateException;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.Rollout;
 import org.eclipse.hawkbit.repository.model.Rollout.RolloutStatus;
+import org.eclipse.hawkbit.repository.model.RolloutEstimation;
 import org.eclipse.hawkbit.repository.model.RolloutGroup;
 import org.eclipse.hawkbit.repository.model.RolloutGroup.RolloutGroupStatus;
 import org.eclipse.hawkbit.repository.model.RolloutGroupConditions;
@@ -154,6 +155,47 @@ public interface RolloutManagement {
     Rollout create(@Valid @NotNull RolloutCreate rollout, @NotNull @Valid List<RolloutGroupCreate> groups,
             RolloutGroupConditions conditions);
 
+    /**
+     * Estimates how the targets would be distributed to the given amount of
+     * equally sized groups if the rollout was created now, without creating
+     * anything. The estimation is based on target counts that may be reused
+     * for a while and is not bound to a transaction.
+     *
+     * @param rollout
+     *            the rollout to estimate
+     * @param amountGroup
+     *            the amount of groups to split the rollout into
+     * @return the estimation
+     *
+     * @throws EntityNotFoundException
+     *             if given {@link DistributionSet} does not exist
+     * @throws ConstraintViolationException
+     *             if rollout or group parameters are invalid.
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_ROLLOUT_MANAGEMENT_READ_AND_TARGET_READ)
+    RolloutEstimation estimate(@NotNull @Valid RolloutCreate rollout, int amountGroup);
+
+    /**
+     * Estimates how the targets would be distributed to the given groups if
+     * the rollout was created now, without creating anything. The estimation
+     * is based on target counts that may be reused for a while and is not
+     * bound to a transaction.
+     *
+     * @param rollout
+     *            the rollout to estimate
+     * @param groups
+     *            definition of the groups
+     * @return the estimation
+     *
+     * @throws EntityNotFoundException
+     *             if given {@link DistributionSet} does not exist
+     * @throws ConstraintViolationException
+     *             if rollout or group parameters are invalid.
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_ROLLOUT_MANAGEMENT_READ_AND_TARGET_READ)
+    RolloutEstimation estimate(@NotNull @Valid RolloutCreate rollout,
+            @NotNull @Valid List<RolloutGroupCreate> groups);
+
     /**
      * Calculates how many targets are addressed by each rollout group and
      * returns the validation information.
@@ -247,6 +289,16 @@ public interface RolloutManagement {
     @PreAuthorize(SpringEvalExpressions.HAS_AUTH_ROLLOUT_MANAGEMENT_READ)
     List<Long> findActiveRollouts();
 
+    /**
+     * Find rollouts which are still active and need to be handled regardless
+     * of the progress of their actions, i.e. all active rollouts except the
+     * {@link Rollout.RolloutStatus#RUNNING} ones that are not dynamic.
+     *
+     * @return a list of active rollouts
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_ROLLOUT_MANAGEMENT_READ)
+    List<Long> findActiveRolloutsNotDrivenByActions();
+
     /**
      * Retrieves a specific rollout by its ID.
      *
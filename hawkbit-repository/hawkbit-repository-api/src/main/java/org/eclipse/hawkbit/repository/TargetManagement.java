@@ -284,6 +284,31 @@ public interface TargetManagement {
     Slice<Target> findByTargetFilterQueryAndNonDSAndCompatibleAndUpdatable(@NotNull Pageable pageRequest,
             long distributionSetId, @NotNull String rsqlParam);
 
+    /**
+     * Finds the IDs of the targets as
+     * {@link #findByTargetFilterQueryAndNonDSAndCompatibleAndUpdatable(Pageable, long, String)}
+     * does, in the order of their IDs and starting after the given ID, i.e.
+     * all targets are found by one pass over the target IDs instead of running
+     * the query from the beginning for every page.
+     *
+     * @param afterTargetId
+     *            the ID of the last target found before, <code>0</code> for
+     *            the first targets
+     * @param limit
+     *            maximum number of IDs to find
+     * @param distributionSetId
+     *            id of the {@link DistributionSet}
+     * @param rsqlParam
+     *            filter definition in RSQL syntax
+     * @return the IDs of the found {@link Target}s in ascending order
+     *
+     * @throws EntityNotFoundException
+     *             if distribution set with given ID does not exist
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_UPDATE_TARGET)
+    List<Long> findIdsByTargetFilterQueryAndNonDSAndCompatibleAndUpdatable(long afterTargetId, int limit,
+            long distributionSetId, @NotNull String rsqlParam);
+
     /**
      * Counts all targets for all the given parameter {@link TargetFilterQuery} and
      * that don't have the specified distribution set in their action history and
@@ -851,6 +876,26 @@ public interface TargetManagement {
     boolean isTargetMatchingQueryAndDSNotAssignedAndCompatibleAndUpdatable(@NotNull String controllerId,
             long distributionSetId, @NotNull String targetFilterQuery);
 
+    /**
+     * Finds the targets of the given ones which match a specific target filter
+     * query, do not have a specific DS already assigned and are compatible with
+     * it.
+     *
+     * @param controllerIds
+     *            of the {@link org.eclipse.hawkbit.repository.model.Target}s
+     *            to check
+     * @param distributionSetId
+     *            of the
+     *            {@link org.eclipse.hawkbit.repository.model.DistributionSet} to
+     *            consider
+     * @param targetFilterQuery
+     *            to execute
+     * @return the matching targets
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_REPOSITORY_AND_READ_TARGET)
+    List<Target> findTargetsMatchingQueryAndDSNotAssignedAndCompatibleAndUpdatable(
+            @NotNull Collection<String> controllerIds, long distributionSetId, @NotNull String targetFilterQuery);
+
     /**
      * Creates a list of target meta data entries.
      *
@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository;
+
+import org.eclipse.hawkbit.repository.model.PollStatus;
+import org.eclipse.hawkbit.repository.model.Target;
+
+/**
+ * Resolves the poll status of a {@link Target} by merging the persisted
+ * {@link Target#getLastTargetQuery()} with the polls this node has not yet
+ * persisted. Polls are persisted lazily and with a coarse resolution, i.e. the
+ * persisted value alone may lag behind.
+ */
+public interface TargetPollStatusResolver {
+
+    /**
+     * @param target
+     *            to resolve the last poll for
+     * @return the time of the last known poll of the target in milliseconds
+     *         since epoch or <code>null</code> if the target never polled
+     */
+    Long getLastTargetQuery(Target target);
+
+    /**
+     * @param target
+     *            to resolve the poll status for
+     * @return the poll status based on
+     *         {@link #getLastTargetQuery(Target)} or <code>null</code> if the
+     *         target never polled
+     */
+    PollStatus getPollStatus(Target target);
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.autoassign;
+
+/**
+ * Result of an auto assign check of an {@link AutoAssignExecutor}.
+ */
+public final class AutoAssignCheckResult {
+
+    private final int assigned;
+    private final boolean complete;
+    private final boolean failed;
+
+    private AutoAssignCheckResult(final int assigned, final boolean complete, final boolean failed) {
+        this.assigned = assigned;
+        this.complete = complete;
+        this.failed = failed;
+    }
+
+    /**
+     * @param assigned
+     *            the number of targets a distribution set has been assigned to
+     * @return the result of a check which has checked all its targets
+     */
+    public static AutoAssignCheckResult complete(final int assigned) {
+        return new AutoAssignCheckResult(assigned, true, false);
+    }
+
+    /**
+     * @param assigned
+     *            the number of targets a distribution set has been assigned to
+     * @return the result of a check which has stopped before it has checked
+     *         all its targets, e.g. at its deadline, and has to be run again
+     */
+    public static AutoAssignCheckResult incomplete(final int assigned) {
+        return new AutoAssignCheckResult(assigned, false, false);
+    }
+
+    /**
+     * @param assigned
+     *            the number of targets a distribution set has been assigned to
+     *            before the failure
+     * @return the result of a check which failed for some of its targets
+     */
+    public static AutoAssignCheckResult failed(final int assigned) {
+        return new AutoAssignCheckResult(assigned, false, true);
+    }
+
+    /**
+     * @param other
+     *            result of another part of the same check
+     * @return the result of both parts, complete only if both are complete
+     *         and failed if any has failed
+     */
+    public AutoAssignCheckResult and(final AutoAssignCheckResult other) {
+        return new AutoAssignCheckResult(assigned + other.assigned, complete && other.complete,
+                failed || other.failed);
+    }
+
+    /**
+     * @return the number of targets a distribution set has been assigned to
+     */
+    public int getAssigned() {
+        return assigned;
+    }
+
+    /**
+     * @return <code>true</code> if all targets have been checked without
+     *         failure
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * @return <code>true</code> if the check failed for some of its targets
+     */
+    public boolean isFailed() {
+        return failed;
+    }
+
+    @Override
+    public String toString() {
+        return "AutoAssignCheckResult [assigned=" + assigned + ", complete=" + complete + ", failed=" + failed + "]";
+    }
+}
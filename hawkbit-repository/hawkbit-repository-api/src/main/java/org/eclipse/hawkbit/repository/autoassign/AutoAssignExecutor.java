@@ -9,6 +9,8 @@
  */
 package org.eclipse.hawkbit.repository.autoassign;
 
+import java.util.Collection;
+
 /**
  * An interface declaration which contains the check for the auto assignment
  * logic.
@@ -30,4 +32,43 @@ public interface AutoAssignExecutor {
      */
     void checkSingleTarget(String controllerId);
 
+    /**
+     * Method performs an auto assign check for specific targets only, e.g. for
+     * the targets which have changed since the last check
+     *
+     * @param targetIds
+     *            of the targets to check
+     * @return the result of the check, failed if the check of any target
+     *         filter query failed
+     */
+    AutoAssignCheckResult checkTargets(Collection<Long> targetIds);
+
+    /**
+     * Method performs an auto assign check for the targets which have been
+     * modified since the given time
+     *
+     * @param timestamp
+     *            the time (in milliseconds) the targets have been modified at
+     *            or after
+     * @return the result of the check, failed if the check of any target
+     *         filter query failed
+     */
+    AutoAssignCheckResult checkTargetsModifiedSince(long timestamp);
+
+    /**
+     * Method performs an auto assign check for a single target filter query.
+     * The targets are checked in slices, the check stops after the slice the
+     * deadline has passed in, i.e. it has to be run again to check the
+     * remaining targets.
+     *
+     * @param targetFilterQueryId
+     *            of the target filter query to check
+     * @param deadline
+     *            the time (in milliseconds) no further slice of targets is
+     *            checked after
+     * @return the result of the check, incomplete if it has stopped at the
+     *         deadline before all targets have been checked
+     */
+    AutoAssignCheckResult checkFilter(long targetFilterQueryId, long deadline);
+
 }
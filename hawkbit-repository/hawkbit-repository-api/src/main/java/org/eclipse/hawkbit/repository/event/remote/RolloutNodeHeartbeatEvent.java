@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.event.remote;
+
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+
+/**
+ * Event is send periodically by every node of a cluster that handles rollouts,
+ * so the nodes know each other and are able to share the rollouts among
+ * them. The node is identified by the origin service of the event. The event
+ * is not scoped to a tenant.
+ */
+public class RolloutNodeHeartbeatEvent extends RemoteApplicationEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Default constructor.
+     */
+    public RolloutNodeHeartbeatEvent() {
+        // for serialization libs like jackson
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param applicationId
+     *            the application id of the sending node
+     */
+    public RolloutNodeHeartbeatEvent(final String applicationId) {
+        super(applicationId, applicationId);
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.event.remote;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Event is send for a batch of target polls of a tenant that have been
+ * persisted together, i.e. instead of one {@link TargetPollEvent} per polling
+ * target.
+ */
+public class TargetPollBatchEvent extends RemoteTenantAwareEvent implements Iterable<String> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> controllerIds = new ArrayList<>();
+
+    /**
+     * Default constructor.
+     */
+    public TargetPollBatchEvent() {
+        // for serialization libs like jackson
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param tenant
+     *            tenant the event is scoped to
+     * @param applicationId
+     *            the application id
+     * @param controllerIds
+     *            of the polling targets
+     */
+    public TargetPollBatchEvent(final String tenant, final String applicationId,
+            final Collection<String> controllerIds) {
+        super(applicationId, tenant, applicationId);
+        this.controllerIds.addAll(controllerIds);
+    }
+
+    public List<String> getControllerIds() {
+        return controllerIds;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return controllerIds.iterator();
+    }
+}
@@ -0,0 +1,274 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.eclipse.hawkbit.repository.model.Action.ActionType;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+
+/**
+ * Immutable snapshot of everything a controller learns when it polls, i.e. its
+ * active {@link Action} with the highest weight, its installed {@link Action}
+ * and the polling interval. As it holds no entity references it can be kept
+ * in a near-cache in order to serve idle polls without repository access.
+ */
+public class ControllerPollState implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long targetId;
+    private final String controllerId;
+    private final String address;
+    private final int targetOptLockRevision;
+    private final boolean requestControllerAttributes;
+    private final Long lastTargetQuery;
+    private final ActionState activeAction;
+    private final Long installedActionId;
+    private final String pollingTime;
+
+    /**
+     * Constructor.
+     *
+     * @param target
+     *            the polling {@link Target}
+     * @param activeAction
+     *            the active {@link Action} with the highest weight or
+     *            <code>null</code>
+     * @param installedAction
+     *            the {@link Action} of the installed {@link DistributionSet}
+     *            or <code>null</code>
+     * @param pollingTime
+     *            the polling interval for the controller
+     */
+    public ControllerPollState(final Target target, final Action activeAction, final Action installedAction,
+            final String pollingTime) {
+        this.targetId = target.getId();
+        this.controllerId = target.getControllerId();
+        this.address = target.getAddress() != null ? target.getAddress().toString() : null;
+        this.targetOptLockRevision = target.getOptLockRevision();
+        this.requestControllerAttributes = target.isRequestControllerAttributes();
+        this.lastTargetQuery = target.getLastTargetQuery();
+        this.activeAction = activeAction != null ? new ActionState(activeAction) : null;
+        this.installedActionId = installedAction != null && !installedAction.isActive() ? installedAction.getId()
+                : null;
+        this.pollingTime = pollingTime;
+    }
+
+    /**
+     * Constructor for repositories that read the {@link Target} base state
+     * without loading the entity itself.
+     *
+     * @param targetId
+     *            the {@link Target#getId()}
+     * @param controllerId
+     *            the {@link Target#getControllerId()}
+     * @param address
+     *            the {@link Target#getAddress()} or <code>null</code>
+     * @param targetOptLockRevision
+     *            the {@link Target#getOptLockRevision()}
+     * @param requestControllerAttributes
+     *            the {@link Target#isRequestControllerAttributes()}
+     * @param lastTargetQuery
+     *            the {@link Target#getLastTargetQuery()}
+     * @param activeAction
+     *            the active {@link Action} with the highest weight or
+     *            <code>null</code>
+     * @param installedActionId
+     *            the ID of the {@link Action} of the installed
+     *            {@link DistributionSet} or <code>null</code>
+     * @param pollingTime
+     *            the polling interval for the controller
+     */
+    @SuppressWarnings("squid:S00107")
+    public ControllerPollState(final long targetId, final String controllerId, final String address,
+            final int targetOptLockRevision, final boolean requestControllerAttributes, final Long lastTargetQuery,
+            final Action activeAction, final Long installedActionId, final String pollingTime) {
+        this.targetId = targetId;
+        this.controllerId = controllerId;
+        this.address = address;
+        this.targetOptLockRevision = targetOptLockRevision;
+        this.requestControllerAttributes = requestControllerAttributes;
+        this.lastTargetQuery = lastTargetQuery;
+        this.activeAction = activeAction != null ? new ActionState(activeAction) : null;
+        this.installedActionId = installedActionId;
+        this.pollingTime = pollingTime;
+    }
+
+    private ControllerPollState(final ControllerPollState state, final long lastTargetQuery) {
+        this.targetId = state.targetId;
+        this.controllerId = state.controllerId;
+        this.address = state.address;
+        this.targetOptLockRevision = state.targetOptLockRevision;
+        this.requestControllerAttributes = state.requestControllerAttributes;
+        this.lastTargetQuery = lastTargetQuery;
+        this.activeAction = state.activeAction;
+        this.installedActionId = state.installedActionId;
+        this.pollingTime = state.pollingTime;
+    }
+
+    /**
+     * @param lastTargetQuery
+     *            the new persisted poll time
+     * @return a copy of this state with the given
+     *         {@link Target#getLastTargetQuery()}
+     */
+    public ControllerPollState withLastTargetQuery(final long lastTargetQuery) {
+        return new ControllerPollState(this, lastTargetQuery);
+    }
+
+    public long getTargetId() {
+        return targetId;
+    }
+
+    public String getControllerId() {
+        return controllerId;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public int getTargetOptLockRevision() {
+        return targetOptLockRevision;
+    }
+
+    public boolean isRequestControllerAttributes() {
+        return requestControllerAttributes;
+    }
+
+    /**
+     * @return the persisted {@link Target#getLastTargetQuery()} or
+     *         <code>null</code> if the target never polled
+     */
+    public Long getLastTargetQuery() {
+        return lastTargetQuery;
+    }
+
+    public Optional<ActionState> getActiveAction() {
+        return Optional.ofNullable(activeAction);
+    }
+
+    public Optional<Long> getInstalledActionId() {
+        return Optional.ofNullable(installedActionId);
+    }
+
+    public String getPollingTime() {
+        return pollingTime;
+    }
+
+    /**
+     * @return <code>true</code> if the state does not depend on the current
+     *         time, i.e. the active {@link Action} has no maintenance schedule
+     *         which influences the polling interval and the update handling.
+     */
+    public boolean isCacheable() {
+        return activeAction == null || !activeAction.hasMaintenanceSchedule();
+    }
+
+    /**
+     * Snapshot of the {@link Action} properties that are exposed to a polling
+     * controller.
+     */
+    public static class ActionState implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long id;
+        private final int optLockRevision;
+        private final Status status;
+        private final ActionType actionType;
+        private final long forcedTime;
+        private final boolean maintenanceSchedule;
+        private final boolean maintenanceScheduleLapsed;
+        private final boolean maintenanceWindowAvailable;
+
+        /**
+         * Constructor.
+         *
+         * @param action
+         *            to take the snapshot from
+         */
+        public ActionState(final Action action) {
+            this.id = action.getId();
+            this.optLockRevision = action.getOptLockRevision();
+            this.status = action.getStatus();
+            this.actionType = action.getActionType();
+            this.forcedTime = action.getForcedTime();
+            this.maintenanceSchedule = action.hasMaintenanceSchedule();
+            this.maintenanceScheduleLapsed = maintenanceSchedule && action.isMaintenanceScheduleLapsed();
+            this.maintenanceWindowAvailable = action.isMaintenanceWindowAvailable();
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public int getOptLockRevision() {
+            return optLockRevision;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public ActionType getActionType() {
+            return actionType;
+        }
+
+        public boolean isWaitingConfirmation() {
+            return Status.WAIT_FOR_CONFIRMATION == status;
+        }
+
+        public boolean isCancelingOrCanceled() {
+            return Status.CANCELING == status || Status.CANCELED == status;
+        }
+
+        /**
+         * @param hitTimeMillis
+         *            the time to check against
+         * @return see {@link Action#isHitAutoForceTime(long)}
+         */
+        public boolean isHitAutoForceTime(final long hitTimeMillis) {
+            return ActionType.TIMEFORCED == actionType && hitTimeMillis >= forcedTime;
+        }
+
+        public boolean hasMaintenanceSchedule() {
+            return maintenanceSchedule;
+        }
+
+        public boolean isMaintenanceScheduleLapsed() {
+            return maintenanceScheduleLapsed;
+        }
+
+        public boolean isMaintenanceWindowAvailable() {
+            return maintenanceWindowAvailable;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final ActionState other = (ActionState) obj;
+            return id == other.id && optLockRevision == other.optLockRevision;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, optLockRevision);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.model;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Represents the estimated distribution of targets to the groups of a
+ * {@link Rollout} that has not been created yet.
+ */
+public class RolloutEstimation extends RolloutGroupsValidation {
+
+    /**
+     * The amount of targets matched by the filter of the {@link Rollout} that
+     * are not compatible with its {@link DistributionSet}
+     */
+    private final long incompatibleTargets;
+
+    /**
+     * Instantiates a new estimation
+     *
+     * @param totalTargets
+     *            The amount of compatible targets matched by the filter of the
+     *            {@link Rollout}
+     * @param incompatibleTargets
+     *            The amount of targets matched by the filter of the
+     *            {@link Rollout} that are not compatible with its
+     *            {@link DistributionSet}
+     * @param targetsPerGroup
+     *            A list containing the estimated count of targets for each
+     *            {@link RolloutGroup}
+     */
+    public RolloutEstimation(final long totalTargets, final long incompatibleTargets,
+            @NotNull final List<Long> targetsPerGroup) {
+        super(totalTargets, targetsPerGroup);
+        this.incompatibleTargets = incompatibleTargets;
+    }
+
+    public long getIncompatibleTargets() {
+        return incompatibleTargets;
+    }
+
+    /**
+     * @return the count of {@link Action}s that are expected to be created,
+     *         one for each target in the groups
+     */
+    public long getExpectedActions() {
+        return getTargetsInGroups();
+    }
+}
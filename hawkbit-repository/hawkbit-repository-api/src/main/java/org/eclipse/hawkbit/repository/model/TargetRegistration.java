@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.model;
+
+import java.net.URI;
+import java.util.Objects;
+
+/**
+ * Registration of a controller, i.e. the arguments of one
+ * {@link org.eclipse.hawkbit.repository.ControllerManagement#findOrRegisterTargetIfItDoesNotExist(String, URI, String, String)}
+ * call as part of a bulk registration.
+ */
+public class TargetRegistration {
+
+    private final String controllerId;
+    private final URI address;
+    private final String name;
+    private final String type;
+
+    /**
+     * Constructor.
+     *
+     * @param controllerId
+     *            reference
+     * @param address
+     *            the client IP address of the target
+     */
+    public TargetRegistration(final String controllerId, final URI address) {
+        this(controllerId, address, null, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param controllerId
+     *            reference
+     * @param address
+     *            the client IP address of the target
+     * @param name
+     *            the name of the target, might be <code>null</code>
+     * @param type
+     *            the target type name of the target, might be
+     *            <code>null</code>
+     */
+    public TargetRegistration(final String controllerId, final URI address, final String name, final String type) {
+        this.controllerId = controllerId;
+        this.address = address;
+        this.name = name;
+        this.type = type;
+    }
+
+    public String getControllerId() {
+        return controllerId;
+    }
+
+    public URI getAddress() {
+        return address;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final TargetRegistration other = (TargetRegistration) obj;
+        return Objects.equals(controllerId, other.controllerId) && Objects.equals(address, other.address)
+                && Objects.equals(name, other.name) && Objects.equals(type, other.type);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(controllerId, address, name, type);
+    }
+
+    @Override
+    public String toString() {
+        return "TargetRegistration [controllerId=" + controllerId + ", address=" + address + "]";
+    }
+}
@@ -14,7 +14,9 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.Optional;
 
+import org.eclipse.hawkbit.repository.MaintenanceScheduleHelper.CacheStatistics;
 import org.eclipse.hawkbit.repository.exception.InvalidMaintenanceScheduleException;
 
 import com.cronutils.model.Cron;
@@ -71,6 +73,28 @@ public class MaintenanceScheduleHelperTest {
         assertThat(MaintenanceScheduleHelper.getNextMaintenanceWindow(cronSchedule, duration, timezone)).isPresent();
     }
 
+    @Test
+    @Description("Verifies that the maintenance window of a schedule is calculated once until it has elapsed")
+    public void getNextMaintenanceWindowIsCached() {
+        final ZonedDateTime currentTime = ZonedDateTime.now().plusHours(1);
+        final String cronSchedule = String.format("0 %d %d %d %d ? %d", currentTime.getMinute(), currentTime.getHour(),
+                currentTime.getDayOfMonth(), currentTime.getMonthValue(), currentTime.getYear());
+        final String duration = "00:20";
+        final String timezone = ZonedDateTime.now().getOffset().getId().replace("Z", "+00:00");
+
+        final CacheStatistics before = MaintenanceScheduleHelper.getCacheStatistics();
+        final Optional<ZonedDateTime> window = MaintenanceScheduleHelper.getNextMaintenanceWindow(cronSchedule,
+                duration, timezone);
+        assertThat(window).isPresent();
+        assertThat(MaintenanceScheduleHelper.getNextMaintenanceWindow(cronSchedule, duration, timezone))
+                .isEqualTo(window);
+
+        final CacheStatistics after = MaintenanceScheduleHelper.getCacheStatistics();
+        assertThat(after.getScheduleMisses() - before.getScheduleMisses()).isEqualTo(1);
+        assertThat(after.getWindowMisses() - before.getWindowMisses()).isEqualTo(1);
+        assertThat(after.getWindowHits() - before.getWindowHits()).isEqualTo(1);
+    }
+
     @Test
     @Description("Verifies the maintenance schedule when only one required field is present")
     public void validateMaintenanceScheduleAtLeastOneNotEmpty() {
@@ -0,0 +1,203 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.validation.constraints.NotNull;
+
+import org.eclipse.hawkbit.cache.TenancyCacheManager;
+import org.eclipse.hawkbit.cache.TenantAwareCacheManager;
+import org.eclipse.hawkbit.repository.event.TenantAwareEvent;
+import org.eclipse.hawkbit.repository.event.remote.AbstractAssignmentEvent;
+import org.eclipse.hawkbit.repository.event.remote.MultiActionEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TenantConfigurationDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.AbstractActionEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TenantConfigurationCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TenantConfigurationUpdatedEvent;
+import org.eclipse.hawkbit.repository.model.ControllerPollState;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.event.EventListener;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Near-cache for the {@link ControllerPollState} of polling controllers. The
+ * entries are invalidated by the remote events that could change what a
+ * controller learns when polling, so an idle poll can be answered without
+ * accessing the repository.
+ * <p>
+ * In order to prevent a concurrently computed state from overwriting an
+ * invalidation, callers have to take a {@link #stamp()} before reading the
+ * state from the repository and hand it over on
+ * {@link #put(ControllerPollState, long)}.
+ */
+public class ControllerPollStateCache {
+    private static final String CACHE_STATE_NAME = "ControllerPollState";
+    private static final String CACHE_TARGET_NAME = "ControllerPollStateTarget";
+
+    private final TenancyCacheManager cacheManager;
+    private final TenantAware tenantAware;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * @param tenantAware
+     *            to get current tenant
+     * @param size
+     *            the maximum size of the cache
+     * @param timeToLive
+     *            the maximum time an entry is kept without invalidation
+     */
+    public ControllerPollStateCache(final TenantAware tenantAware, final long size, final Duration timeToLive) {
+        this.tenantAware = tenantAware;
+
+        final Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder().maximumSize(size)
+                .expireAfterWrite(timeToLive);
+        final CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.setCaffeine(cacheBuilder);
+
+        this.cacheManager = new TenantAwareCacheManager(caffeineCacheManager, tenantAware);
+    }
+
+    /**
+     * Retrieves the cached {@link ControllerPollState} of the current tenant.
+     *
+     * @param controllerId
+     *            of the polling controller
+     * @return the cached state or empty if not cached
+     */
+    public Optional<ControllerPollState> get(final String controllerId) {
+        return Optional.ofNullable(getStateCache().get(controllerId, ControllerPollState.class));
+    }
+
+    /**
+     * @return the stamp to hand over on {@link #put(ControllerPollState, long)}
+     *         for a state that is read from the repository afterwards
+     */
+    public long stamp() {
+        return invalidations.get();
+    }
+
+    /**
+     * Puts a {@link ControllerPollState} of the current tenant into the cache
+     * unless an invalidation happened since the given stamp was taken.
+     *
+     * @param state
+     *            to cache
+     * @param stamp
+     *            taken by {@link #stamp()} before the state has been read
+     */
+    public void put(final ControllerPollState state, final long stamp) {
+        if (!state.isCacheable() || stamp != invalidations.get()) {
+            return;
+        }
+
+        final Cache stateCache = getStateCache();
+        getTargetCache().put(state.getTargetId(), state.getControllerId());
+        stateCache.put(state.getControllerId(), state);
+
+        // an invalidation could have happened in between
+        if (stamp != invalidations.get()) {
+            stateCache.evict(state.getControllerId());
+        }
+    }
+
+    /**
+     * Removes the {@link ControllerPollState} of the given controller.
+     *
+     * @param tenant
+     *            of the controller
+     * @param controllerId
+     *            of the controller
+     */
+    public void evict(final String tenant, final String controllerId) {
+        invalidations.incrementAndGet();
+        tenantAware.runAsTenant(tenant, () -> {
+            getStateCache().evict(controllerId);
+            return null;
+        });
+    }
+
+    @EventListener(classes = AbstractAssignmentEvent.class)
+    public void invalidateOnAssignment(final AbstractAssignmentEvent event) {
+        evict(event.getTenant(), event.getActions().keySet());
+    }
+
+    @EventListener(classes = MultiActionEvent.class)
+    public void invalidateOnMultiAction(final MultiActionEvent event) {
+        evict(event.getTenant(), event.getControllerIds());
+    }
+
+    @EventListener(classes = AbstractActionEvent.class)
+    public void invalidateOnActionChange(final AbstractActionEvent event) {
+        if (event.getTargetId() != null) {
+            evictByTargetId(event.getTenant(), event.getTargetId());
+        }
+    }
+
+    @EventListener(classes = TargetUpdatedEvent.class)
+    public void invalidateOnTargetUpdate(final TargetUpdatedEvent event) {
+        evictByTargetId(event.getTenant(), event.getEntityId());
+    }
+
+    @EventListener(classes = TargetDeletedEvent.class)
+    public void invalidateOnTargetDelete(final TargetDeletedEvent event) {
+        evict(event.getTenant(), event.getControllerId());
+    }
+
+    @EventListener(classes = { TenantConfigurationCreatedEvent.class, TenantConfigurationUpdatedEvent.class,
+            TenantConfigurationDeletedEvent.class })
+    public void invalidateOnTenantConfigurationChange(final TenantAwareEvent event) {
+        invalidations.incrementAndGet();
+        tenantAware.runAsTenant(event.getTenant(), () -> {
+            getStateCache().clear();
+            getTargetCache().clear();
+            return null;
+        });
+    }
+
+    private void evict(final String tenant, final Collection<String> controllerIds) {
+        invalidations.incrementAndGet();
+        tenantAware.runAsTenant(tenant, () -> {
+            final Cache stateCache = getStateCache();
+            controllerIds.forEach(stateCache::evict);
+            return null;
+        });
+    }
+
+    private void evictByTargetId(final String tenant, final Long targetId) {
+        invalidations.incrementAndGet();
+        tenantAware.runAsTenant(tenant, () -> {
+            final String controllerId = getTargetCache().get(targetId, String.class);
+            if (controllerId != null) {
+                getStateCache().evict(controllerId);
+            }
+            return null;
+        });
+    }
+
+    private @NotNull Cache getStateCache() {
+        return Objects.requireNonNull(cacheManager.getCache(CACHE_STATE_NAME),
+                "Cache '" + CACHE_STATE_NAME + "' is null!");
+    }
+
+    private @NotNull Cache getTargetCache() {
+        return Objects.requireNonNull(cacheManager.getCache(CACHE_TARGET_NAME),
+                "Cache '" + CACHE_TARGET_NAME + "' is null!");
+    }
+}
@@ -16,7 +16,6 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 import jakarta.persistence.EntityManager;
 
@@ -35,22 +34,23 @@ import org.eclipse.hawkbit.repository.event.remote.entity.RolloutUpdatedEvent;
 import org.eclipse.hawkbit.repository.exception.RolloutIllegalStateException;
 import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
 import org.eclipse.hawkbit.repository.jpa.management.JpaRolloutManagement;
-import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRollout;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRolloutGroup;
-import org.eclipse.hawkbit.repository.jpa.model.RolloutTargetGroup;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
 import org.eclipse.hawkbit.repository.jpa.repository.ActionRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.RolloutGroupRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.RolloutRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.RolloutTargetGroupRepository;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutActionWriter;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutGroupStatusCounters;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutPurger;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutTargetGroupAssigner;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutTargetGroupAssigner.Snapshot;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.EvaluatorNotConfiguredException;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.RolloutGroupEvaluationManager;
 import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
-import org.eclipse.hawkbit.repository.jpa.utils.QuotaHelper;
-import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.ActionType;
 import org.eclipse.hawkbit.repository.model.Action.Status;
-import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.Rollout;
 import org.eclipse.hawkbit.repository.model.Rollout.RolloutStatus;
 import org.eclipse.hawkbit.repository.model.RolloutGroup;
@@ -66,8 +66,10 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionException;
+import org.springframework.util.ObjectUtils;
 
 import static org.eclipse.hawkbit.repository.jpa.builder.JpaRolloutGroupCreate.addSuccessAndErrorConditionsAndActions;
 
@@ -88,6 +90,13 @@ public class JpaRolloutExecutor implements RolloutExecutor {
      */
     private static final int TRANSACTION_ACTIONS = 5_000;
 
+    /**
+     * Maximum time in milliseconds the actions and target assignments of a
+     * deleted or stopped rollout are deleted within one run, the next run
+     * continues with the rest.
+     */
+    private static final long PURGE_TIME_PER_RUN = 10_000;
+
     /**
      * Action statuses that result in a terminated action
      */
@@ -115,7 +124,12 @@ public class JpaRolloutExecutor implements RolloutExecutor {
     private final RolloutApprovalStrategy rolloutApprovalStrategy;
     private final RolloutGroupEvaluationManager evaluationManager;
     private final RolloutManagement rolloutManagement;
-    
+    private final RolloutTargetGroupAssigner rolloutTargetGroupAssigner;
+    private final RolloutActionWriter rolloutActionWriter;
+    private final RolloutGroupStatusCounters rolloutGroupStatusCounters;
+    private final RepositoryProperties repositoryProperties;
+    private final RolloutPurger rolloutPurger;
+
     /**
      * Constructor
      */
@@ -127,7 +141,11 @@ public class JpaRolloutExecutor implements RolloutExecutor {
             final DeploymentManagement deploymentManagement, final TargetManagement targetManagement,
             final EventPublisherHolder eventPublisherHolder, final PlatformTransactionManager txManager,
             final RolloutApprovalStrategy rolloutApprovalStrategy,
-            final RolloutGroupEvaluationManager evaluationManager, final RolloutManagement rolloutManagement) {
+            final RolloutGroupEvaluationManager evaluationManager, final RolloutManagement rolloutManagement,
+            final RolloutTargetGroupAssigner rolloutTargetGroupAssigner,
+            final RolloutActionWriter rolloutActionWriter,
+            final RolloutGroupStatusCounters rolloutGroupStatusCounters,
+            final RepositoryProperties repositoryProperties, final RolloutPurger rolloutPurger) {
         this.rolloutTargetGroupRepository = rolloutTargetGroupRepository;
         this.entityManager = entityManager;
         this.rolloutRepository = rolloutRepository;
@@ -144,6 +162,11 @@ public class JpaRolloutExecutor implements RolloutExecutor {
         this.rolloutApprovalStrategy = rolloutApprovalStrategy;
         this.evaluationManager = evaluationManager;
         this.rolloutManagement = rolloutManagement;
+        this.rolloutTargetGroupAssigner = rolloutTargetGroupAssigner;
+        this.rolloutActionWriter = rolloutActionWriter;
+        this.rolloutGroupStatusCounters = rolloutGroupStatusCounters;
+        this.repositoryProperties = repositoryProperties;
+        this.rolloutPurger = rolloutPurger;
     }
 
     @Override
@@ -182,6 +205,11 @@ public class JpaRolloutExecutor implements RolloutExecutor {
                 PageRequest.of(0, quotaManagement.getMaxRolloutGroupsPerRollout(), Sort.by(Direction.ASC, "id")),
                 rollout.getId()).getContent();
 
+        final boolean targetSnapshot = isTargetSnapshotApplicable(rollout, rolloutGroups);
+        if (targetSnapshot) {
+            fillRolloutGroupsFromTargetSnapshot(rollout, rolloutGroups);
+        }
+
         int readyGroups = 0;
         int totalTargets = 0;
         for (final RolloutGroup group : rolloutGroups) {
@@ -189,6 +217,9 @@ public class JpaRolloutExecutor implements RolloutExecutor {
                 readyGroups++;
                 totalTargets += group.getTotalTargets();
                 continue;
+            } else if (targetSnapshot) {
+                // continued from the snapshot by the next run
+                continue;
             }
 
             final RolloutGroup filledGroup = fillRolloutGroupWithTargets(rollout, (JpaRolloutGroup) group,
@@ -224,35 +255,19 @@ public class JpaRolloutExecutor implements RolloutExecutor {
     private void handleDeleteRollout(final JpaRollout rollout) {
         LOGGER.debug("handleDeleteRollout called for {}", rollout.getId());
 
-        // check if there are actions beyond schedule
-        boolean hardDeleteRolloutGroups = !actionRepository.existsByRolloutIdAndStatusNotIn(rollout.getId(),
-                Status.SCHEDULED);
-        if (hardDeleteRolloutGroups) {
-            LOGGER.debug("Rollout {} has no actions other than scheduled -> hard delete", rollout.getId());
-            hardDeleteRollout(rollout);
-            return;
-        }
-        // clean up all scheduled actions
-        final Slice<JpaAction> scheduledActions = findScheduledActionsByRollout(rollout);
-        deleteScheduledActions(rollout, scheduledActions);
-
-        // avoid another scheduler round and re-check if all scheduled actions
-        // has been cleaned up. we flush first to ensure that the we include the
-        // deletion above
-        entityManager.flush();
-        final boolean hasScheduledActionsLeft = actionRepository.countByRolloutIdAndStatus(rollout.getId(),
-                Status.SCHEDULED) > 0;
-
-        if (hasScheduledActionsLeft) {
+        // clean up all scheduled actions, continued by the next scheduler
+        // round if they could not be deleted within this one
+        if (!deleteScheduledActions(rollout)) {
             return;
         }
 
         // only hard delete the rollout if no actions are left for the rollout.
         // In case actions are left, they are probably are running or were
         // running before, so only soft delete.
-        hardDeleteRolloutGroups = !actionRepository.existsByRolloutId(rollout.getId());
-        if (hardDeleteRolloutGroups) {
-            hardDeleteRollout(rollout);
+        if (!actionRepository.existsByRolloutId(rollout.getId())) {
+            if (deleteRolloutTargetGroups(rollout)) {
+                hardDeleteRollout(rollout);
+            }
             return;
         }
 
@@ -266,18 +281,10 @@ public class JpaRolloutExecutor implements RolloutExecutor {
 
     private void handleStopRollout(final JpaRollout rollout) {
         LOGGER.debug("handleStopRollout called for {}", rollout.getId());
-        // clean up all scheduled actions
-        final Slice<JpaAction> scheduledActions = findScheduledActionsByRollout(rollout);
-        deleteScheduledActions(rollout, scheduledActions);
 
-        // avoid another scheduler round and re-check if all scheduled actions
-        // has been cleaned up. we flush first to ensure that the we include the
-        // deletion above
-        entityManager.flush();
-        final boolean hasScheduledActionsLeft = actionRepository.countByRolloutIdAndStatus(rollout.getId(),
-                Status.SCHEDULED) > 0;
-
-        if (hasScheduledActionsLeft) {
+        // clean up all scheduled actions, continued by the next scheduler
+        // round if they could not be deleted within this one
+        if (!deleteScheduledActions(rollout)) {
             return;
         }
 
@@ -353,26 +360,73 @@ public class JpaRolloutExecutor implements RolloutExecutor {
         rolloutRepository.delete(rollout);
     }
 
-    private void deleteScheduledActions(final JpaRollout rollout, final Slice<JpaAction> scheduledActions) {
-        final boolean hasScheduledActions = scheduledActions.getNumberOfElements() > 0;
-
-        if (hasScheduledActions) {
-            try {
-                final Iterable<JpaAction> iterable = scheduledActions::iterator;
-                final List<Long> actionIds = StreamSupport.stream(iterable.spliterator(), false).map(Action::getId)
-                        .collect(Collectors.toList());
-                actionRepository.deleteByIdIn(actionIds);
-                afterCommit.afterCommit(() -> eventPublisherHolder.getEventPublisher()
-                        .publishEvent(new RolloutUpdatedEvent(rollout, eventPublisherHolder.getApplicationId())));
-            } catch (final RuntimeException e) {
-                LOGGER.error("Exception during deletion of actions of rollout {}", rollout, e);
-            }
+    /**
+     * Deletes the scheduled actions of the rollout in chunks of
+     * {@link #TRANSACTION_ACTIONS}, each in a transaction of its own, as long
+     * as {@link #PURGE_TIME_PER_RUN} has not elapsed.
+     *
+     * @return <code>true</code> if no scheduled actions are left
+     */
+    private boolean deleteScheduledActions(final JpaRollout rollout) {
+        final long deadline = System.currentTimeMillis() + PURGE_TIME_PER_RUN;
+        long deleted = 0;
+        int deletedInChunk;
+        try {
+            do {
+                deletedInChunk = DeploymentHelper.runInNewTransaction(txManager, "deleteScheduledActions",
+                        status -> rolloutPurger.deleteScheduledActions(rollout.getTenant(), rollout.getId(),
+                                TRANSACTION_ACTIONS));
+                deleted += deletedInChunk;
+            } while (deletedInChunk == TRANSACTION_ACTIONS && System.currentTimeMillis() < deadline);
+        } catch (final RuntimeException e) {
+            LOGGER.error("Exception during deletion of actions of rollout {}", rollout, e);
+            deletedInChunk = TRANSACTION_ACTIONS;
+        }
+
+        if (deleted > 0) {
+            // the chunks are committed already, regardless of the outcome of
+            // the current transaction
+            rollout.getRolloutGroups().forEach(group -> rolloutGroupStatusCounters.invalidate(group.getId()));
+            afterCommit.afterCommit(() -> eventPublisherHolder.getEventPublisher()
+                    .publishEvent(new RolloutUpdatedEvent(rollout, eventPublisherHolder.getApplicationId())));
+        }
+
+        if (deletedInChunk < TRANSACTION_ACTIONS) {
+            LOGGER.debug("Deleted {} scheduled actions of rollout {}, none left", deleted, rollout.getId());
+            return true;
         }
+        LOGGER.info("Deleted {} scheduled actions of rollout {}, {} left", deleted, rollout.getId(),
+                actionRepository.countByRolloutIdAndStatus(rollout.getId(), Status.SCHEDULED));
+        return false;
     }
 
-    private Slice<JpaAction> findScheduledActionsByRollout(final JpaRollout rollout) {
-        return actionRepository.findByRolloutIdAndStatus(PageRequest.of(0, TRANSACTION_ACTIONS), rollout.getId(),
-                Status.SCHEDULED);
+    /**
+     * Deletes the assignments of the targets to the groups of the rollout in
+     * chunks of {@link #TRANSACTION_TARGETS}, each in a transaction of its own,
+     * as long as {@link #PURGE_TIME_PER_RUN} has not elapsed. The database
+     * would cascade the deletion of the rollout to them in one statement
+     * otherwise.
+     *
+     * @return <code>true</code> if no assignments are left
+     */
+    private boolean deleteRolloutTargetGroups(final JpaRollout rollout) {
+        final long deadline = System.currentTimeMillis() + PURGE_TIME_PER_RUN;
+        long deleted = 0;
+        for (final RolloutGroup group : rollout.getRolloutGroups()) {
+            int deletedInChunk;
+            do {
+                deletedInChunk = DeploymentHelper.runInNewTransaction(txManager, "deleteRolloutTargetGroups",
+                        status -> rolloutPurger.deleteRolloutTargetGroups(group.getId(), TRANSACTION_TARGETS));
+                deleted += deletedInChunk;
+                if (deletedInChunk == TRANSACTION_TARGETS && System.currentTimeMillis() >= deadline) {
+                    LOGGER.info("Deleted {} target assignments of rollout {}, continuing in the next run", deleted,
+                            rollout.getId());
+                    return false;
+                }
+            } while (deletedInChunk == TRANSACTION_TARGETS);
+        }
+        LOGGER.debug("Deleted {} target assignments of rollout {}, none left", deleted, rollout.getId());
+        return true;
     }
 
     private void sendRolloutGroupDeletedEvents(final JpaRollout rollout) {
@@ -603,12 +657,7 @@ public class JpaRolloutExecutor implements RolloutExecutor {
                     RolloutHelper.getIdFromRetriedTargetFilter(rollout.getTargetFilterQuery())));
         }
 
-        final double percentFromTheRest;
-        if (rollout.isNewStyleTargetPercent()) { // new style percent - total percent
-            percentFromTheRest = RolloutHelper.toPercentFromTheRest(group, rolloutGroups);
-        } else { // old style percent - percent from rest
-            percentFromTheRest = group.getTargetPercentage();
-        }
+        final double percentFromTheRest = percentFromTheRest(rollout, group, rolloutGroups);
 
         final long expectedInGroup = Math.round(percentFromTheRest * targetsInGroupFilter / 100);
         final long currentlyInGroup = DeploymentHelper.runInNewTransaction(txManager,
@@ -621,13 +670,24 @@ public class JpaRolloutExecutor implements RolloutExecutor {
             return rolloutGroupRepository.save(group);
         }
 
+        // the filter is compiled once for all chunks
+        final Specification<JpaTarget> targetsToAssign;
+        if (!RolloutHelper.isRolloutRetried(rollout.getTargetFilterQuery())) {
+            targetsToAssign = rolloutTargetGroupAssigner
+                    .byTargetFilterQueryAndNotInRolloutGroupsAndCompatibleAndUpdatable(groupTargetFilter, readyGroups,
+                            rollout.getDistributionSet().getType());
+        } else {
+            targetsToAssign = rolloutTargetGroupAssigner.byFailedRolloutAndNotInRolloutGroups(
+                    RolloutHelper.getIdFromRetriedTargetFilter(rollout.getTargetFilterQuery()), readyGroups);
+        }
+
         try {
             long targetsLeftToAdd = expectedInGroup - currentlyInGroup;
 
             do {
                 // Add up to TRANSACTION_TARGETS of the left targets
                 // In case a TransactionException is thrown this loop aborts
-                final long assigned = assignTargetsToGroupInNewTransaction(rollout, group, groupTargetFilter,
+                final long assigned = assignTargetsToGroupInNewTransaction(group, targetsToAssign,
                         Math.min(TRANSACTION_TARGETS, targetsLeftToAdd));
                 if (assigned == 0) {
                     break; // percent > 100 or some could have disappeared
@@ -648,25 +708,79 @@ public class JpaRolloutExecutor implements RolloutExecutor {
         }
     }
 
-    private Long assignTargetsToGroupInNewTransaction(final JpaRollout rollout, final RolloutGroup group,
-            final String targetFilter, final long limit) {
-        return DeploymentHelper.runInNewTransaction(txManager, "assignTargetsToRolloutGroup", status -> {
-            final PageRequest pageRequest = PageRequest.of(0, Math.toIntExact(limit));
-            final List<Long> readyGroups = RolloutHelper.getGroupsByStatusIncludingGroup(rollout.getRolloutGroups(),
-                    RolloutGroupStatus.READY, group);
-            Slice<Target> targets;
-            if (!RolloutHelper.isRolloutRetried(rollout.getTargetFilterQuery())) {
-                targets = targetManagement.findByTargetFilterQueryAndNotInRolloutGroupsAndCompatibleAndUpdatable(
-                        pageRequest, readyGroups, targetFilter, rollout.getDistributionSet().getType());
-            } else {
-                targets = targetManagement.findByFailedRolloutAndNotInRolloutGroups(
-                        pageRequest, readyGroups, RolloutHelper.getIdFromRetriedTargetFilter(rollout.getTargetFilterQuery()));
-            }
+    private static double percentFromTheRest(final JpaRollout rollout, final RolloutGroup group,
+            final List<RolloutGroup> rolloutGroups) {
+        if (rollout.isNewStyleTargetPercent()) { // new style percent - total percent
+            return RolloutHelper.toPercentFromTheRest(group, rolloutGroups);
+        } else { // old style percent - percent from rest
+            return group.getTargetPercentage();
+        }
+    }
 
-            createAssignmentOfTargetsToGroup(targets, group);
+    // the groups can be filled from one snapshot of the targets if none of
+    // them has a filter of its own
+    private boolean isTargetSnapshotApplicable(final JpaRollout rollout, final List<RolloutGroup> rolloutGroups) {
+        return repositoryProperties.isRolloutTargetSnapshot()
+                && !RolloutHelper.isRolloutRetried(rollout.getTargetFilterQuery())
+                && rolloutGroups.stream().allMatch(group -> ObjectUtils.isEmpty(group.getTargetFilterQuery()))
+                && rolloutGroups.stream().anyMatch(group -> RolloutGroupStatus.CREATING == group.getStatus());
+    }
 
-            return Long.valueOf(targets.getNumberOfElements());
-        });
+    // the matching targets are handed out to the groups in the order of their
+    // IDs, every chunk in a transaction of its own. Nothing but the assignments
+    // is kept, i.e. if the run stops before all groups are ready the snapshot
+    // is frozen again by the next run and continued after the last assigned
+    // target.
+    private void fillRolloutGroupsFromTargetSnapshot(final JpaRollout rollout,
+            final List<RolloutGroup> rolloutGroups) {
+        final Specification<JpaTarget> targets = rolloutTargetGroupAssigner.byTargetFilterQueryAndCompatibleAndUpdatable(
+                RolloutHelper.getTargetFilterQuery(rollout), rollout.getDistributionSet().getType());
+        try {
+            final Snapshot snapshot = DeploymentHelper.runInNewTransaction(txManager, "freezeRolloutTargets",
+                    status -> rolloutTargetGroupAssigner.freeze(targets, rollout));
+            LOGGER.debug("Froze {} targets for rollout {}.", snapshot.getTotal(), rollout.getId());
+
+            long targetsInSnapshot = snapshot.getTotal();
+            for (final RolloutGroup rolloutGroup : rolloutGroups) {
+                if (RolloutGroupStatus.READY == rolloutGroup.getStatus()) {
+                    continue;
+                }
+
+                final JpaRolloutGroup group = (JpaRolloutGroup) rolloutGroup;
+                // targets assigned by a previous run which stopped before
+                // the group has been ready
+                final long currentlyInGroup = DeploymentHelper.runInNewTransaction(txManager,
+                        "countRolloutTargetGroupByRolloutGroup",
+                        count -> rolloutTargetGroupRepository.countByRolloutGroup(group));
+                final long expectedInGroup = Math.round(percentFromTheRest(rollout, group, rolloutGroups)
+                        * (targetsInSnapshot + currentlyInGroup) / 100);
+
+                long assignedToGroup = currentlyInGroup;
+                // targets deleted or not matching anymore are skipped, i.e.
+                // the group takes the following targets of the snapshot
+                // instead
+                while (assignedToGroup < expectedInGroup && !snapshot.isExhausted()) {
+                    final long limit = Math.min(TRANSACTION_TARGETS, expectedInGroup - assignedToGroup);
+                    assignedToGroup += DeploymentHelper.runInNewTransaction(txManager,
+                            "assignTargetsToRolloutGroup", status -> Long.valueOf(
+                                    rolloutTargetGroupAssigner.assign(snapshot, group, Math.toIntExact(limit))));
+                }
+
+                targetsInSnapshot = snapshot.isExhausted() ? 0
+                        : Math.max(0, targetsInSnapshot - (assignedToGroup - currentlyInGroup));
+                group.setStatus(RolloutGroupStatus.READY);
+                group.setTotalTargets(Math.toIntExact(assignedToGroup));
+                rolloutGroupRepository.save(group);
+            }
+        } catch (final TransactionException e) {
+            LOGGER.warn("Transaction assigning Targets to RolloutGroups failed", e);
+        }
+    }
+
+    private Long assignTargetsToGroupInNewTransaction(final RolloutGroup group,
+            final Specification<JpaTarget> targets, final long limit) {
+        return DeploymentHelper.runInNewTransaction(txManager, "assignTargetsToRolloutGroup",
+                status -> Long.valueOf(rolloutTargetGroupAssigner.assign(targets, group, Math.toIntExact(limit))));
     }
 
     // return if group change is made
@@ -774,10 +888,7 @@ public class JpaRolloutExecutor implements RolloutExecutor {
                     targetFilter, rollout.getDistributionSet().getType());
 
             if (targets.getNumberOfElements() > 0) {
-                final DistributionSet distributionSet = rollout.getDistributionSet();
-                final ActionType actionType = rollout.getActionType();
-                final long forceTime = rollout.getForcedTime();
-                createActions(targets.getContent(), distributionSet, actionType, forceTime, rollout, group);
+                createActions(targets.getContent(), rollout, group);
             }
 
             return Long.valueOf(targets.getNumberOfElements());
@@ -830,27 +941,19 @@ public class JpaRolloutExecutor implements RolloutExecutor {
                     targetManagement.findByInRolloutGroupWithoutAction(PageRequest.of(0, limit), group.getId());
 
             if (targets.getNumberOfElements() > 0) {
-                final DistributionSet distributionSet = rollout.getDistributionSet();
-                final ActionType actionType = rollout.getActionType();
-                final long forceTime = rollout.getForcedTime();
-                createActions(targets.getContent(), distributionSet, actionType, forceTime, rollout, group);
+                createActions(targets.getContent(), rollout, group);
             }
 
             return Long.valueOf(targets.getNumberOfElements());
         });
     }
 
-    private void createAssignmentOfTargetsToGroup(final Slice<Target> targets, final RolloutGroup group) {
-        targets.forEach(target -> rolloutTargetGroupRepository.save(new RolloutTargetGroup(group, target)));
-    }
-
     /**
      * Creates an action entry into the action repository. In case of existing
      * scheduled actions the scheduled actions gets canceled. A scheduled action
      * is created in-active for static and running for dynamic groups.
      */
-    private void createActions(final Collection<Target> targets, final DistributionSet distributionSet,
-            final ActionType actionType, final Long forcedTime, final Rollout rollout,
+    private void createActions(final Collection<Target> targets, final Rollout rollout,
             final RolloutGroup rolloutGroup) {
         // cancel all current scheduled actions for this target. E.g. an action
         // is already scheduled and a next action is created then cancel the
@@ -858,36 +961,6 @@ public class JpaRolloutExecutor implements RolloutExecutor {
         // created.
         final List<Long> targetIds = targets.stream().map(Target::getId).collect(Collectors.toList());
         deploymentManagement.cancelInactiveScheduledActionsForTargets(targetIds);
-        targets.forEach(target -> {
-            assertActionsPerTargetQuota(target, 1);
-
-            final JpaAction action = new JpaAction();
-            action.setTarget(target);
-            action.setActive(rolloutGroup.isDynamic());
-            action.setDistributionSet(distributionSet);
-            action.setActionType(actionType);
-            action.setForcedTime(forcedTime);
-            action.setStatus(rolloutGroup.isDynamic() ? Status.RUNNING : Status.SCHEDULED);
-            action.setRollout(rollout);
-            action.setRolloutGroup(rolloutGroup);
-            action.setInitiatedBy(rollout.getCreatedBy());
-            rollout.getWeight().ifPresent(action::setWeight);
-            actionRepository.save(action);
-        });
-    }
-
-    /**
-     * Enforces the quota defining the maximum number of {@link Action}s per
-     * {@link Target}.
-     *
-     * @param target
-     *            The target
-     * @param requested
-     *            number of actions to check
-     */
-    private void assertActionsPerTargetQuota(final Target target, final int requested) {
-        final int quota = quotaManagement.getMaxActionsPerTarget();
-        QuotaHelper.assertAssignmentQuota(target.getId(), requested, quota, Action.class, Target.class,
-                actionRepository::countByTargetId);
+        rolloutActionWriter.write(targets, rollout, rolloutGroup);
     }
 }
@@ -70,7 +70,23 @@ public class JpaRolloutHandler implements RolloutHandler {
             return;
         }
 
-        final String handlerId = createRolloutLockKey(tenantAware.getCurrentTenant());
+        LOGGER.trace("Trigger handling {} rollouts.", rollouts.size());
+        rollouts.forEach(this::handle);
+    }
+
+    /**
+     * Handles the rollout under a lock of the rollout, i.e. different rollouts
+     * of the same tenant might be handled at the same time, on this or on
+     * other nodes. That is safe because the handling of one rollout does not
+     * depend on the state of the other rollouts, the same as a manual or auto
+     * assignment which has never been serialized with the rollout handling.
+     * Concurrent changes of the same target (e.g. two rollouts starting their
+     * actions for it) are detected by the optimistic locking of the target and
+     * the failed handling is repeated the next time the rollout is handled.
+     */
+    @Override
+    public void handle(final long rolloutId) {
+        final String handlerId = createRolloutLockKey(tenantAware.getCurrentTenant(), rolloutId);
         final Lock lock = lockRegistry.obtain(handlerId);
         if (!lock.tryLock()) {
             if (LOGGER.isTraceEnabled()) {
@@ -80,8 +96,7 @@ public class JpaRolloutHandler implements RolloutHandler {
         }
 
         try {
-            LOGGER.trace("Trigger handling {} rollouts.", rollouts.size());
-            rollouts.forEach(rolloutId -> handleRolloutInNewTransaction(rolloutId, handlerId));
+            handleRolloutInNewTransaction(rolloutId, handlerId);
         } finally {
             if (LOGGER.isTraceEnabled()) {
                 LOGGER.trace("Unlock lock {}", lock);
@@ -90,14 +105,14 @@ public class JpaRolloutHandler implements RolloutHandler {
         }
     }
 
-    private static String createRolloutLockKey(final String tenant) {
-        return tenant + "-rollout";
+    private static String createRolloutLockKey(final String tenant, final long rolloutId) {
+        return tenant + "-rollout-" + rolloutId;
     }
 
     // run in a tenant context, i.e. contextAware.getCurrentTenant() returns the tenant
     // the rollout is made for
     private void handleRolloutInNewTransaction(final long rolloutId, final String handlerId) {
-        DeploymentHelper.runInNewTransaction(txManager, handlerId + "-" + rolloutId, status -> {
+        DeploymentHelper.runInNewTransaction(txManager, handlerId, status -> {
             rolloutManagement.get(rolloutId).ifPresentOrElse(
                     rollout -> {
                         rollout.getAccessControlContext().ifPresentOrElse(
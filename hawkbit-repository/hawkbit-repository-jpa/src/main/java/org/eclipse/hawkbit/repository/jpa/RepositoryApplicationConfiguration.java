@@ -9,6 +9,7 @@
  */
 package org.eclipse.hawkbit.repository.jpa;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ScheduledExecutorService;
@@ -26,6 +27,7 @@ import org.eclipse.hawkbit.repository.ArtifactManagement;
 import org.eclipse.hawkbit.repository.BaseRepositoryTypeProvider;
 import org.eclipse.hawkbit.repository.ConfirmationManagement;
 import org.eclipse.hawkbit.repository.ControllerManagement;
+import org.eclipse.hawkbit.repository.ControllerPollStateCache;
 import org.eclipse.hawkbit.repository.DeploymentManagement;
 import org.eclipse.hawkbit.repository.DistributionSetManagement;
 import org.eclipse.hawkbit.repository.DistributionSetTagManagement;
@@ -46,6 +48,7 @@ import org.eclipse.hawkbit.repository.SoftwareModuleTypeManagement;
 import org.eclipse.hawkbit.repository.SystemManagement;
 import org.eclipse.hawkbit.repository.TargetFilterQueryManagement;
 import org.eclipse.hawkbit.repository.TargetManagement;
+import org.eclipse.hawkbit.repository.TargetPollStatusResolver;
 import org.eclipse.hawkbit.repository.TargetTagManagement;
 import org.eclipse.hawkbit.repository.TargetTypeManagement;
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
@@ -62,11 +65,15 @@ import org.eclipse.hawkbit.repository.builder.TargetTypeBuilder;
 import org.eclipse.hawkbit.repository.event.ApplicationEventFilter;
 import org.eclipse.hawkbit.repository.event.remote.EventEntityManager;
 import org.eclipse.hawkbit.repository.event.remote.EventEntityManagerHolder;
+import org.eclipse.hawkbit.repository.event.remote.TargetPollBatchEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
 import org.eclipse.hawkbit.repository.jpa.acm.AccessController;
 import org.eclipse.hawkbit.repository.jpa.aspects.ExceptionMappingAspectHandler;
 import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignChecker;
 import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignScheduler;
+import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignWorkerPool;
+import org.eclipse.hawkbit.repository.jpa.autoassign.DirtyTargetTracker;
+import org.eclipse.hawkbit.repository.jpa.autocleanup.ActionPurger;
 import org.eclipse.hawkbit.repository.jpa.autocleanup.AutoActionCleanup;
 import org.eclipse.hawkbit.repository.jpa.autocleanup.AutoCleanupScheduler;
 import org.eclipse.hawkbit.repository.jpa.autocleanup.CleanupTask;
@@ -111,8 +118,16 @@ import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTargetType;
 import org.eclipse.hawkbit.repository.jpa.model.helper.AfterTransactionCommitExecutorHolder;
 import org.eclipse.hawkbit.repository.jpa.model.helper.EntityInterceptorHolder;
+import org.eclipse.hawkbit.repository.jpa.model.helper.RolloutGroupStatusCountersHolder;
 import org.eclipse.hawkbit.repository.jpa.model.helper.SecurityTokenGeneratorHolder;
+import org.eclipse.hawkbit.repository.jpa.model.helper.TargetPollStatusResolverHolder;
 import org.eclipse.hawkbit.repository.jpa.model.helper.TenantAwareHolder;
+import org.eclipse.hawkbit.repository.jpa.poll.CoalescingPollStateStore;
+import org.eclipse.hawkbit.repository.jpa.poll.ControllerPollConfigCache;
+import org.eclipse.hawkbit.repository.jpa.poll.JdbcPollStateWriter;
+import org.eclipse.hawkbit.repository.jpa.poll.JpaTargetPollStatusResolver;
+import org.eclipse.hawkbit.repository.jpa.poll.PollStateStore;
+import org.eclipse.hawkbit.repository.jpa.poll.PollStateWriter;
 import org.eclipse.hawkbit.repository.jpa.repository.ActionRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.ActionStatusRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.DistributionSetMetadataRepository;
@@ -132,7 +147,15 @@ import org.eclipse.hawkbit.repository.jpa.repository.TargetMetadataRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.TargetRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.TargetTagRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.TargetTypeRepository;
+import org.eclipse.hawkbit.repository.jpa.rollout.DirtyRolloutTracker;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutActionWriter;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutGroupStatusCounters;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutNodeRegistry;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutPurger;
 import org.eclipse.hawkbit.repository.jpa.rollout.RolloutScheduler;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutTargetCountIndex;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutTargetGroupAssigner;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutWorkerPool;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.PauseRolloutGroupAction;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.RolloutGroupActionEvaluator;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.RolloutGroupConditionEvaluator;
@@ -142,6 +165,8 @@ import org.eclipse.hawkbit.repository.jpa.rollout.condition.ThresholdRolloutGrou
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.ThresholdRolloutGroupSuccessCondition;
 import org.eclipse.hawkbit.repository.jpa.rsql.DefaultRsqlVisitorFactory;
 import org.eclipse.hawkbit.repository.jpa.rsql.RsqlParserValidationOracle;
+import org.eclipse.hawkbit.repository.jpa.utils.ActionDeleter;
+import org.eclipse.hawkbit.repository.jpa.utils.JdbcIdSelector;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.DistributionSetType;
 import org.eclipse.hawkbit.repository.model.Rollout;
@@ -241,15 +266,41 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    ThresholdRolloutGroupErrorCondition thresholdRolloutGroupErrorCondition(final ActionRepository actionRepository) {
-        return new ThresholdRolloutGroupErrorCondition(actionRepository);
+    ThresholdRolloutGroupErrorCondition thresholdRolloutGroupErrorCondition(
+            final RolloutGroupStatusCounters rolloutGroupStatusCounters) {
+        return new ThresholdRolloutGroupErrorCondition(rolloutGroupStatusCounters);
     }
 
     @Bean
     @ConditionalOnMissingBean
     ThresholdRolloutGroupSuccessCondition thresholdRolloutGroupSuccessCondition(
-            final ActionRepository actionRepository) {
-        return new ThresholdRolloutGroupSuccessCondition(actionRepository);
+            final RolloutGroupStatusCounters rolloutGroupStatusCounters) {
+        return new ThresholdRolloutGroupSuccessCondition(rolloutGroupStatusCounters);
+    }
+
+    /**
+     * {@link RolloutTargetCountIndex} bean.
+     *
+     * @return a new {@link RolloutTargetCountIndex}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    RolloutTargetCountIndex rolloutTargetCountIndex(final TargetManagement targetManagement,
+            final TenantAware tenantAware, final RepositoryProperties repositoryProperties) {
+        return new RolloutTargetCountIndex(targetManagement, tenantAware,
+                repositoryProperties.getRolloutEstimationCountTtl());
+    }
+
+    /**
+     * {@link RolloutGroupStatusCounters} bean.
+     *
+     * @return a new {@link RolloutGroupStatusCounters}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    RolloutGroupStatusCounters rolloutGroupStatusCounters(final ActionRepository actionRepository,
+            final TenantAware tenantAware, final EventPublisherHolder eventPublisherHolder) {
+        return new RolloutGroupStatusCounters(actionRepository, tenantAware, eventPublisherHolder);
     }
 
     @Bean
@@ -292,10 +343,19 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
         return new RolloutStatusCache(tenantAware);
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    ControllerPollStateCache controllerPollStateCache(final TenantAware tenantAware,
+            final RepositoryProperties repositoryProperties) {
+        return new ControllerPollStateCache(tenantAware, repositoryProperties.getPollStateCacheSize(),
+                Duration.ofMillis(repositoryProperties.getPollStateCacheTimeToLive()));
+    }
+
     @Bean
     @ConditionalOnMissingBean
     ApplicationEventFilter applicationEventFilter(final RepositoryProperties repositoryProperties) {
-        return e -> e instanceof TargetPollEvent && !repositoryProperties.isPublishTargetPollEvent();
+        return e -> (e instanceof TargetPollEvent || e instanceof TargetPollBatchEvent)
+                && !repositoryProperties.isPublishTargetPollEvent();
     }
 
     /**
@@ -443,6 +503,24 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
         return AfterTransactionCommitExecutorHolder.getInstance();
     }
 
+    /**
+     * @return the singleton instance of the
+     *         {@link RolloutGroupStatusCountersHolder}
+     */
+    @Bean
+    RolloutGroupStatusCountersHolder rolloutGroupStatusCountersHolder() {
+        return RolloutGroupStatusCountersHolder.getInstance();
+    }
+
+    /**
+     * @return the singleton instance of the
+     *         {@link TargetPollStatusResolverHolder}
+     */
+    @Bean
+    TargetPollStatusResolverHolder targetPollStatusResolverHolder() {
+        return TargetPollStatusResolverHolder.getInstance();
+    }
+
     /**
      * Defines the validation processor bean.
      *
@@ -750,11 +828,80 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
             final DeploymentManagement deploymentManagement, final TargetManagement targetManagement,
             final EventPublisherHolder eventPublisherHolder, final PlatformTransactionManager txManager,
             final RolloutApprovalStrategy rolloutApprovalStrategy,
-            final RolloutGroupEvaluationManager evaluationManager, final RolloutManagement rolloutManagement) {
+            final RolloutGroupEvaluationManager evaluationManager, final RolloutManagement rolloutManagement,
+            final RolloutTargetGroupAssigner rolloutTargetGroupAssigner,
+            final RolloutActionWriter rolloutActionWriter,
+            final RolloutGroupStatusCounters rolloutGroupStatusCounters,
+            final RepositoryProperties repositoryProperties, final RolloutPurger rolloutPurger) {
         return new JpaRolloutExecutor(rolloutTargetGroupRepository, entityManager, rolloutRepository, actionRepository,
                 rolloutGroupRepository, afterCommit, tenantAware, rolloutGroupManagement, quotaManagement,
                 deploymentManagement, targetManagement, eventPublisherHolder, txManager, rolloutApprovalStrategy,
-                evaluationManager, rolloutManagement);
+                evaluationManager, rolloutManagement, rolloutTargetGroupAssigner, rolloutActionWriter,
+                rolloutGroupStatusCounters, repositoryProperties, rolloutPurger);
+    }
+
+    /**
+     * {@link RolloutTargetGroupAssigner} bean.
+     *
+     * @return a new {@link RolloutTargetGroupAssigner}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    RolloutTargetGroupAssigner rolloutTargetGroupAssigner(final EntityManager entityManager,
+            final DataSource dataSource, final VirtualPropertyReplacer virtualPropertyReplacer,
+            final JpaProperties properties,
+            @Autowired(required = false) final AccessController<JpaTarget> targetAccessController) {
+        return new RolloutTargetGroupAssigner(entityManager, dataSource, virtualPropertyReplacer,
+                properties.getDatabase(), targetAccessController);
+    }
+
+    /**
+     * {@link RolloutActionWriter} bean.
+     *
+     * @return a new {@link RolloutActionWriter}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    RolloutActionWriter rolloutActionWriter(final EntityManager entityManager, final DataSource dataSource,
+            final QuotaManagement quotaManagement, final AuditorAware<String> auditorProvider,
+            final AfterTransactionCommitExecutor afterCommit, final EventPublisherHolder eventPublisherHolder,
+            final RolloutGroupStatusCounters rolloutGroupStatusCounters) {
+        return new RolloutActionWriter(entityManager, dataSource, quotaManagement, auditorProvider, afterCommit,
+                eventPublisherHolder, rolloutGroupStatusCounters);
+    }
+
+    /**
+     * {@link RolloutPurger} bean.
+     *
+     * @return a new {@link RolloutPurger}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    RolloutPurger rolloutPurger(final DataSource dataSource, final JdbcIdSelector jdbcIdSelector,
+            final ActionDeleter actionDeleter) {
+        return new RolloutPurger(dataSource, jdbcIdSelector, actionDeleter);
+    }
+
+    /**
+     * {@link JdbcIdSelector} bean.
+     *
+     * @return a new {@link JdbcIdSelector}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    JdbcIdSelector jdbcIdSelector(final DataSource dataSource) {
+        return new JdbcIdSelector(dataSource);
+    }
+
+    /**
+     * {@link ActionDeleter} bean.
+     *
+     * @return a new {@link ActionDeleter}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    ActionDeleter actionDeleter(final DataSource dataSource) {
+        return new ActionDeleter(dataSource);
     }
 
     @Bean
@@ -794,12 +941,12 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
     @Bean
     @ConditionalOnMissingBean
     RolloutGroupManagement rolloutGroupManagement(final RolloutGroupRepository rolloutGroupRepository,
-                                                  final RolloutRepository rolloutRepository, final ActionRepository actionRepository,
-                                                  final TargetRepository targetRepository, final EntityManager entityManager,
-                                                  final VirtualPropertyReplacer virtualPropertyReplacer, final RolloutStatusCache rolloutStatusCache,
+                                                  final RolloutRepository rolloutRepository, final TargetRepository targetRepository,
+                                                  final EntityManager entityManager, final VirtualPropertyReplacer virtualPropertyReplacer,
+                                                  final RolloutGroupStatusCounters rolloutGroupStatusCounters,
                                                   final JpaProperties properties) {
-        return new JpaRolloutGroupManagement(rolloutGroupRepository, rolloutRepository, actionRepository,
-                targetRepository, entityManager, virtualPropertyReplacer, rolloutStatusCache, properties.getDatabase());
+        return new JpaRolloutGroupManagement(rolloutGroupRepository, rolloutRepository, targetRepository,
+                entityManager, virtualPropertyReplacer, rolloutGroupStatusCounters, properties.getDatabase());
     }
 
     /**
@@ -817,11 +964,13 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
                                               final VirtualPropertyReplacer virtualPropertyReplacer, final PlatformTransactionManager txManager,
                                               final TenantConfigurationManagement tenantConfigurationManagement, final QuotaManagement quotaManagement,
                                               final SystemSecurityContext systemSecurityContext, final TenantAware tenantAware,
-                                              final JpaProperties properties, final RepositoryProperties repositoryProperties) {
+                                              final JpaProperties properties, final RepositoryProperties repositoryProperties,
+                                              final RolloutGroupStatusCounters rolloutGroupStatusCounters) {
         return new JpaDeploymentManagement(entityManager, actionRepository, distributionSetManagement,
                 distributionSetRepository, targetRepository, actionStatusRepository, auditorProvider,
                 eventPublisherHolder, afterCommit, virtualPropertyReplacer, txManager, tenantConfigurationManagement,
-                quotaManagement, systemSecurityContext, tenantAware, properties.getDatabase(), repositoryProperties);
+                quotaManagement, systemSecurityContext, tenantAware, properties.getDatabase(), repositoryProperties,
+                rolloutGroupStatusCounters);
     }
 
     @Bean
@@ -843,9 +992,62 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
     @ConditionalOnMissingBean
     ControllerManagement controllerManagement(final ScheduledExecutorService executorService,
             final ActionRepository actionRepository, final ActionStatusRepository actionStatusRepository,
-            final QuotaManagement quotaManagement, final RepositoryProperties repositoryProperties) {
+            final QuotaManagement quotaManagement, final RepositoryProperties repositoryProperties,
+            final PollStateStore pollStateStore) {
         return new JpaControllerManagement(executorService, actionRepository, actionStatusRepository, quotaManagement,
-                repositoryProperties);
+                repositoryProperties, pollStateStore);
+    }
+
+    /**
+     * {@link JdbcPollStateWriter} bean.
+     *
+     * @return a new {@link PollStateWriter}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    PollStateWriter pollStateWriter(final DataSource dataSource, final PlatformTransactionManager txManager,
+            final TenantAware tenantAware, final AfterTransactionCommitExecutor afterCommit,
+            final EventPublisherHolder eventPublisherHolder, final RepositoryProperties repositoryProperties) {
+        return new JdbcPollStateWriter(dataSource, txManager, tenantAware, afterCommit, eventPublisherHolder,
+                repositoryProperties.getPollPersistenceBatchSize());
+    }
+
+    /**
+     * {@link CoalescingPollStateStore} bean.
+     *
+     * @return a new {@link PollStateStore}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    PollStateStore pollStateStore(final PollStateWriter pollStateWriter,
+            final ScheduledExecutorService executorService, final RepositoryProperties repositoryProperties) {
+        return new CoalescingPollStateStore(pollStateWriter, executorService,
+                repositoryProperties.getPollPersistenceQueueSize());
+    }
+
+    /**
+     * {@link JpaTargetPollStatusResolver} bean.
+     *
+     * @return a new {@link TargetPollStatusResolver}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    TargetPollStatusResolver targetPollStatusResolver(final PollStateStore pollStateStore,
+            final ControllerPollConfigCache controllerPollConfigCache) {
+        return new JpaTargetPollStatusResolver(pollStateStore, controllerPollConfigCache);
+    }
+
+    /**
+     * {@link ControllerPollConfigCache} bean.
+     *
+     * @return a new {@link ControllerPollConfigCache}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    ControllerPollConfigCache controllerPollConfigCache(final TenantAware tenantAware,
+            final TenantConfigurationManagement tenantConfigurationManagement,
+            final SystemSecurityContext systemSecurityContext) {
+        return new ControllerPollConfigCache(tenantAware, tenantConfigurationManagement, systemSecurityContext);
     }
 
     @Bean
@@ -906,15 +1108,53 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
      *            to assign distribution sets to targets
      * @param transactionManager
      *            to run transactions
+     * @param repositoryProperties
+     *            to get the number of targets assigned per transaction
      * @return a new {@link AutoAssignChecker}
      */
     @Bean
     @ConditionalOnMissingBean
     AutoAssignExecutor autoAssignExecutor(final TargetFilterQueryManagement targetFilterQueryManagement,
             final TargetManagement targetManagement, final DeploymentManagement deploymentManagement,
-            final PlatformTransactionManager transactionManager, final ContextAware contextAware) {
+            final PlatformTransactionManager transactionManager, final ContextAware contextAware,
+            final RepositoryProperties repositoryProperties) {
         return new AutoAssignChecker(targetFilterQueryManagement, targetManagement, deploymentManagement,
-                transactionManager, contextAware);
+                transactionManager, contextAware, repositoryProperties);
+    }
+
+    /**
+     * {@link DirtyTargetTracker} bean.
+     *
+     * @return a new {@link DirtyTargetTracker}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @Profile("!test")
+    @ConditionalOnProperty(prefix = "hawkbit.autoassign.scheduler", name = "enabled", matchIfMissing = true)
+    DirtyTargetTracker dirtyTargetTracker() {
+        return new DirtyTargetTracker();
+    }
+
+    /**
+     * {@link AutoAssignWorkerPool} bean.
+     * <p/>
+     * Note: does not activate in test profile, the tests run the auto assign
+     * checks by themselves.
+     *
+     * @param systemSecurityContext
+     *            to run as system
+     * @param repositoryProperties
+     *            to get the number of workers and the time budget from
+     * @return a new {@link AutoAssignWorkerPool} bean.
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnMissingBean
+    @Profile("!test")
+    @ConditionalOnProperty(prefix = "hawkbit.autoassign.scheduler", name = "enabled", matchIfMissing = true)
+    AutoAssignWorkerPool autoAssignWorkerPool(final SystemSecurityContext systemSecurityContext,
+            final RepositoryProperties repositoryProperties) {
+        return new AutoAssignWorkerPool(systemSecurityContext, repositoryProperties.getAutoAssignWorkerThreads(),
+                repositoryProperties.getAutoAssignCheckBudget());
     }
 
     /**
@@ -929,8 +1169,16 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
      *            to run as system
      * @param autoAssignExecutor
      *            to run a check as tenant
+     * @param targetFilterQueryManagement
+     *            to find the target filters to check
+     * @param autoAssignWorkerPool
+     *            to run the checks on
      * @param lockRegistry
      *            to lock the tenant for auto assignment
+     * @param dirtyTargetTracker
+     *            to get the created or changed targets from
+     * @param repositoryProperties
+     *            to check if the auto assignment is event driven
      * @return a new {@link AutoAssignChecker}
      */
     @Bean
@@ -941,24 +1189,44 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
     @ConditionalOnProperty(prefix = "hawkbit.autoassign.scheduler", name = "enabled", matchIfMissing = true)
     AutoAssignScheduler autoAssignScheduler(final SystemManagement systemManagement,
             final SystemSecurityContext systemSecurityContext, final AutoAssignExecutor autoAssignExecutor,
-            final LockRegistry lockRegistry) {
-        return new AutoAssignScheduler(systemManagement, systemSecurityContext, autoAssignExecutor, lockRegistry);
+            final TargetFilterQueryManagement targetFilterQueryManagement,
+            final AutoAssignWorkerPool autoAssignWorkerPool, final LockRegistry lockRegistry,
+            final DirtyTargetTracker dirtyTargetTracker, final RepositoryProperties repositoryProperties) {
+        return new AutoAssignScheduler(systemManagement, systemSecurityContext, autoAssignExecutor,
+                targetFilterQueryManagement, autoAssignWorkerPool, lockRegistry, dirtyTargetTracker,
+                repositoryProperties);
     }
 
     /**
      * {@link AutoActionCleanup} bean.
      *
-     * @param deploymentManagement
-     *            Deployment management service
+     * @param actionPurger
+     *            to delete the expired actions
      * @param configManagement
      *            Tenant configuration service
+     * @param tenantAware
+     *            to get the current tenant
      *
      * @return a new {@link AutoActionCleanup} bean
      */
     @Bean
-    CleanupTask actionCleanup(final DeploymentManagement deploymentManagement,
-            final TenantConfigurationManagement configManagement) {
-        return new AutoActionCleanup(deploymentManagement, configManagement);
+    CleanupTask actionCleanup(final ActionPurger actionPurger, final TenantConfigurationManagement configManagement,
+            final TenantAware tenantAware) {
+        return new AutoActionCleanup(actionPurger, configManagement, tenantAware);
+    }
+
+    /**
+     * {@link ActionPurger} bean.
+     *
+     * @return a new {@link ActionPurger}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    ActionPurger actionPurger(final JdbcIdSelector jdbcIdSelector, final ActionDeleter actionDeleter,
+            final PlatformTransactionManager txManager, final RolloutGroupStatusCounters rolloutGroupStatusCounters,
+            final RepositoryProperties repositoryProperties) {
+        return new ActionPurger(jdbcIdSelector, actionDeleter, txManager, rolloutGroupStatusCounters,
+                repositoryProperties);
     }
 
     /**
@@ -985,6 +1253,68 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
         return new AutoCleanupScheduler(systemManagement, systemSecurityContext, lockRegistry, cleanupTasks);
     }
 
+    /**
+     * {@link RolloutWorkerPool} bean.
+     * <p/>
+     * Note: does not activate in test profile, the tests handle the rollouts
+     * by themselves.
+     *
+     * @param rolloutHandler
+     *            to handle the rollouts with
+     * @param systemSecurityContext
+     *            to run as system
+     * @param repositoryProperties
+     *            to get the number and kind of workers from
+     * @return a new {@link RolloutWorkerPool} bean.
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnMissingBean
+    @Profile("!test")
+    @ConditionalOnProperty(prefix = "hawkbit.rollout.scheduler", name = "enabled", matchIfMissing = true)
+    RolloutWorkerPool rolloutWorkerPool(final RolloutHandler rolloutHandler,
+            final SystemSecurityContext systemSecurityContext, final RepositoryProperties repositoryProperties) {
+        return new RolloutWorkerPool(rolloutHandler, systemSecurityContext,
+                repositoryProperties.getRolloutWorkerThreads(), repositoryProperties.isRolloutWorkerVirtualThreads());
+    }
+
+    /**
+     * {@link DirtyRolloutTracker} bean.
+     *
+     * @return a new {@link DirtyRolloutTracker}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @Profile("!test")
+    @ConditionalOnProperty(prefix = "hawkbit.rollout.scheduler", name = "enabled", matchIfMissing = true)
+    DirtyRolloutTracker dirtyRolloutTracker() {
+        return new DirtyRolloutTracker();
+    }
+
+    /**
+     * {@link RolloutNodeRegistry} bean.
+     *
+     * @param eventPublisherHolder
+     *            to send the heartbeats with
+     * @param repositoryProperties
+     *            to get the lease time of the nodes from
+     * @param executorService
+     *            to send the heartbeats on if the rollouts are partitioned
+     * @return a new {@link RolloutNodeRegistry}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @Profile("!test")
+    @ConditionalOnProperty(prefix = "hawkbit.rollout.scheduler", name = "enabled", matchIfMissing = true)
+    RolloutNodeRegistry rolloutNodeRegistry(final EventPublisherHolder eventPublisherHolder,
+            final RepositoryProperties repositoryProperties, final ScheduledExecutorService executorService) {
+        final RolloutNodeRegistry rolloutNodeRegistry = new RolloutNodeRegistry(eventPublisherHolder,
+                repositoryProperties.getRolloutNodeLeaseTime());
+        if (repositoryProperties.isRolloutPartitioned()) {
+            rolloutNodeRegistry.startHeartbeats(executorService);
+        }
+        return rolloutNodeRegistry;
+    }
+
     /**
      * {@link RolloutScheduler} bean.
      * <p/>
@@ -993,10 +1323,19 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
      *
      * @param systemManagement
      *            to find all tenants
-     * @param rolloutHandler
-     *            to run the rollout handler
+     * @param rolloutManagement
+     *            to find the active rollouts
+     * @param rolloutWorkerPool
+     *            to handle the rollouts on
      * @param systemSecurityContext
      *            to run as system
+     * @param dirtyRolloutTracker
+     *            to get the rollouts with changed actions from
+     * @param repositoryProperties
+     *            to check if the rollout handling is event driven and
+     *            partitioned
+     * @param rolloutNodeRegistry
+     *            to get the rollouts owned by this node from
      * @return a new {@link RolloutScheduler} bean.
      */
     @Bean
@@ -1004,8 +1343,11 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
     @Profile("!test")
     @ConditionalOnProperty(prefix = "hawkbit.rollout.scheduler", name = "enabled", matchIfMissing = true)
     RolloutScheduler rolloutScheduler(final SystemManagement systemManagement,
-            final RolloutHandler rolloutHandler, final SystemSecurityContext systemSecurityContext) {
-        return new RolloutScheduler(systemManagement, rolloutHandler, systemSecurityContext);
+            final RolloutManagement rolloutManagement, final RolloutWorkerPool rolloutWorkerPool,
+            final SystemSecurityContext systemSecurityContext, final DirtyRolloutTracker dirtyRolloutTracker,
+            final RepositoryProperties repositoryProperties, final RolloutNodeRegistry rolloutNodeRegistry) {
+        return new RolloutScheduler(systemManagement, rolloutManagement, rolloutWorkerPool, systemSecurityContext,
+                dirtyRolloutTracker, repositoryProperties, rolloutNodeRegistry);
     }
 
     /**
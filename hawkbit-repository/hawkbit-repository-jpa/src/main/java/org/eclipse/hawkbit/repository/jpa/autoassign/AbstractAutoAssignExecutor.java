@@ -10,11 +10,13 @@
 package org.eclipse.hawkbit.repository.jpa.autoassign;
 
 import java.util.List;
-import java.util.function.Consumer;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 import org.eclipse.hawkbit.ContextAware;
 import org.eclipse.hawkbit.repository.DeploymentManagement;
 import org.eclipse.hawkbit.repository.TargetFilterQueryManagement;
+import org.eclipse.hawkbit.repository.autoassign.AutoAssignCheckResult;
 import org.eclipse.hawkbit.repository.autoassign.AutoAssignExecutor;
 import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
 import org.eclipse.hawkbit.repository.model.Action;
@@ -92,39 +94,62 @@ public abstract class AbstractAutoAssignExecutor implements AutoAssignExecutor {
     // run in the context the auto assignment is made in, i.e. if there is access control context it runs in it
     // otherwise in the tenant & user context built by createdBy
     // Note! It must be called in a tenant context, i.e. contextAware.getCurrentTenant() returns the tenant
-    protected void forEachFilterWithAutoAssignDS(final Consumer<TargetFilterQuery> consumer) {
+    protected AutoAssignCheckResult forEachFilterWithAutoAssignDS(
+            final Function<TargetFilterQuery, AutoAssignCheckResult> consumer) {
         Slice<TargetFilterQuery> filterQueries;
         Pageable query = PageRequest.of(0, PAGE_SIZE);
+        AutoAssignCheckResult result = AutoAssignCheckResult.complete(0);
 
         do {
             filterQueries = targetFilterQueryManagement.findWithAutoAssignDS(query);
 
-            filterQueries.forEach(filterQuery -> {
-                try {
-                    filterQuery.getAccessControlContext().ifPresentOrElse(
-                        context -> // has stored context - executes it with it
-                            contextAware.runInContext(
-                                context,
-                                () -> consumer.accept(filterQuery)),
-                        () -> // has no stored context - executes it in the tenant & user scope
-                            contextAware.runAsTenantAsUser(
-                                contextAware.getCurrentTenant(),
-                                getAutoAssignmentInitiatedBy(filterQuery), () -> {
-                                    consumer.accept(filterQuery);
-                                    return null;
-                                })
-                    );
-                } catch (final RuntimeException ex) {
-                    LOGGER.debug(
-                            "Exception on forEachFilterWithAutoAssignDS execution for tenant {} with filter id {}. Continue with next filter query.",
-                            filterQuery.getTenant(), filterQuery.getId(), ex);
-                    LOGGER.error(
-                            "Exception on forEachFilterWithAutoAssignDS execution for tenant {} with filter id {} and error message [{}]. "
-                                    + "Continue with next filter query.",
-                            filterQuery.getTenant(), filterQuery.getId(), ex.getMessage());
-                }
-            });
+            for (final TargetFilterQuery filterQuery : filterQueries) {
+                result = result.and(runInFilterContext(filterQuery, consumer));
+            }
         } while ((query = filterQueries.nextPageable()) != Pageable.unpaged());
+
+        return result;
+    }
+
+    // same as forEachFilterWithAutoAssignDS for a single filter, which is skipped if it has no auto assign DS
+    // (anymore)
+    protected AutoAssignCheckResult forFilterWithAutoAssignDS(final long targetFilterQueryId,
+            final Function<TargetFilterQuery, AutoAssignCheckResult> consumer) {
+        return targetFilterQueryManagement.get(targetFilterQueryId)
+                .filter(filterQuery -> filterQuery.getAutoAssignDistributionSet() != null)
+                .map(filterQuery -> runInFilterContext(filterQuery, consumer))
+                .orElseGet(() -> AutoAssignCheckResult.complete(0));
+    }
+
+    // a failed filter does not stop the check of the other filters, but the check is reported as failed
+    private AutoAssignCheckResult runInFilterContext(final TargetFilterQuery filterQuery,
+            final Function<TargetFilterQuery, AutoAssignCheckResult> consumer) {
+        final AtomicReference<AutoAssignCheckResult> result = new AtomicReference<>();
+        try {
+            filterQuery.getAccessControlContext().ifPresentOrElse(
+                context -> // has stored context - executes it with it
+                    contextAware.runInContext(
+                        context,
+                        () -> result.set(consumer.apply(filterQuery))),
+                () -> // has no stored context - executes it in the tenant & user scope
+                    contextAware.runAsTenantAsUser(
+                        contextAware.getCurrentTenant(),
+                        getAutoAssignmentInitiatedBy(filterQuery), () -> {
+                            result.set(consumer.apply(filterQuery));
+                            return null;
+                        })
+            );
+            return result.get();
+        } catch (final RuntimeException ex) {
+            LOGGER.debug(
+                    "Exception on forEachFilterWithAutoAssignDS execution for tenant {} with filter id {}. Continue with next filter query.",
+                    filterQuery.getTenant(), filterQuery.getId(), ex);
+            LOGGER.error(
+                    "Exception on forEachFilterWithAutoAssignDS execution for tenant {} with filter id {} and error message [{}]. "
+                            + "Continue with next filter query.",
+                    filterQuery.getTenant(), filterQuery.getId(), ex.getMessage());
+            return AutoAssignCheckResult.failed(0);
+        }
     }
 
     /**
@@ -156,6 +181,34 @@ public abstract class AbstractAutoAssignExecutor implements AutoAssignExecutor {
                 });
     }
 
+    /**
+     * Runs target assignments within a dedicated transaction for a given list of
+     * target IDs, without looking up the targets by their controller IDs
+     *
+     * @param targetFilterQuery
+     *            the target filter query
+     * @param targetIds
+     *            the IDs of the targets
+     * @return count of targets the DS has been assigned to
+     */
+    protected int runTransactionalAssignmentByIds(final TargetFilterQuery targetFilterQuery,
+            final List<Long> targetIds) {
+        if (targetIds.isEmpty()) {
+            return 0;
+        }
+        final String actionMessage = String.format(ACTION_MESSAGE, targetFilterQuery.getName());
+
+        return DeploymentHelper.runInNewTransaction(getTransactionManager(), "autoAssignDSToTargetIds",
+                Isolation.READ_COMMITTED.value(),
+                status -> getDeploymentManagement()
+                        .assignDistributionSetToTargetIds(getAutoAssignmentInitiatedBy(targetFilterQuery),
+                                targetFilterQuery.getAutoAssignDistributionSet().getId(), targetIds,
+                                getAutoAssignActionType(targetFilterQuery),
+                                targetFilterQuery.getAutoAssignWeight().orElse(null),
+                                targetFilterQuery.isConfirmationRequired(), actionMessage)
+                        .getAssigned());
+    }
+
     /**
      * Creates a list of {@link DeploymentRequest} for given list of controllerIds
      * and {@link TargetFilterQuery}
@@ -168,11 +221,7 @@ public abstract class AbstractAutoAssignExecutor implements AutoAssignExecutor {
      */
     protected List<DeploymentRequest> mapToDeploymentRequests(final List<String> controllerIds,
             final TargetFilterQuery filterQuery) {
-        // the action type is set to FORCED per default (when not explicitly
-        // specified)
-        final Action.ActionType autoAssignActionType = filterQuery.getAutoAssignActionType() == null
-                ? Action.ActionType.FORCED
-                : filterQuery.getAutoAssignActionType();
+        final Action.ActionType autoAssignActionType = getAutoAssignActionType(filterQuery);
 
         return controllerIds.stream()
                 .map(controllerId -> DeploymentManagement
@@ -182,6 +231,13 @@ public abstract class AbstractAutoAssignExecutor implements AutoAssignExecutor {
                 .toList();
     }
 
+    // the action type is set to FORCED per default (when not explicitly
+    // specified)
+    private static Action.ActionType getAutoAssignActionType(final TargetFilterQuery filterQuery) {
+        return filterQuery.getAutoAssignActionType() == null ? Action.ActionType.FORCED
+                : filterQuery.getAutoAssignActionType();
+    }
+
     protected static String getAutoAssignmentInitiatedBy(final TargetFilterQuery targetFilterQuery) {
         return StringUtils.hasText(targetFilterQuery.getAutoAssignInitiatedBy())
                 ? targetFilterQuery.getAutoAssignInitiatedBy()
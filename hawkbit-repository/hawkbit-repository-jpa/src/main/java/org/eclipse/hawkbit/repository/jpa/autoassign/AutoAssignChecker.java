@@ -9,39 +9,69 @@
  */
 package org.eclipse.hawkbit.repository.jpa.autoassign;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
 
 import jakarta.persistence.PersistenceException;
 
 import org.eclipse.hawkbit.ContextAware;
 import org.eclipse.hawkbit.exception.AbstractServerRtException;
 import org.eclipse.hawkbit.repository.DeploymentManagement;
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.TargetFields;
 import org.eclipse.hawkbit.repository.TargetFilterQueryManagement;
 import org.eclipse.hawkbit.repository.TargetManagement;
+import org.eclipse.hawkbit.repository.autoassign.AutoAssignCheckResult;
 import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
+import org.eclipse.hawkbit.repository.jpa.rsql.RSQLUtility;
+import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.TargetFilterQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.collect.Lists;
+
 /**
  * Checks if targets need a new distribution set (DS) based on the target filter
  * queries and assigns the new DS when necessary. First all target filter
  * queries are listed. For every target filter query (TFQ) the auto assign DS is
  * retrieved. All targets get listed per target filter query, that match the TFQ
  * and that don't have the auto assign DS in their action history.
+ * <p>
+ * A single target, or the targets changed since the last check, are loaded
+ * once and matched in memory with the TFQs, so only the TFQs they may match are
+ * checked by the database.
  */
 public class AutoAssignChecker extends AbstractAutoAssignExecutor {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AutoAssignChecker.class);
 
+    private static final int MAX_TARGET_PREDICATES = 1_000;
+
     private final TargetManagement targetManagement;
 
+    private final RepositoryProperties repositoryProperties;
+
+    // the compiled queries, used to match a single target in memory
+    private final Cache<String, Optional<Predicate<JpaTarget>>> targetPredicates = Caffeine.newBuilder()
+            .maximumSize(MAX_TARGET_PREDICATES).build();
+
     /**
      * Instantiates a new auto assign checker
      *
@@ -55,19 +85,23 @@ public class AutoAssignChecker extends AbstractAutoAssignExecutor {
      *            to run transactions
      * @param contextAware
      *            to handle the context
+     * @param repositoryProperties
+     *            to get the number of targets assigned per transaction
      */
     public AutoAssignChecker(final TargetFilterQueryManagement targetFilterQueryManagement,
             final TargetManagement targetManagement, final DeploymentManagement deploymentManagement,
-            final PlatformTransactionManager transactionManager, final ContextAware contextAware) {
+            final PlatformTransactionManager transactionManager, final ContextAware contextAware,
+            final RepositoryProperties repositoryProperties) {
         super(targetFilterQueryManagement, deploymentManagement, transactionManager, contextAware);
         this.targetManagement = targetManagement;
+        this.repositoryProperties = repositoryProperties;
     }
 
     @Override
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void checkAllTargets() {
         LOGGER.debug("Auto assign check call for tenant {} started", getContextAware().getCurrentTenant());
-        forEachFilterWithAutoAssignDS(this::checkByTargetFilterQueryAndAssignDS);
+        forEachFilterWithAutoAssignDS(filter -> checkByTargetFilterQueryAndAssignDS(filter, Long.MAX_VALUE));
         LOGGER.debug("Auto assign check call for tenant {} finished", getContextAware().getCurrentTenant());
     }
 
@@ -75,62 +109,209 @@ public class AutoAssignChecker extends AbstractAutoAssignExecutor {
     public void checkSingleTarget(String controllerId) {
         LOGGER.debug("Auto assign check call for tenant {} and device {} started", getContextAware().getCurrentTenant(),
                 controllerId);
-        forEachFilterWithAutoAssignDS(filter -> checkForDevice(controllerId, filter));
+        final Optional<JpaTarget> target = loadTarget(controllerId);
+        forEachFilterWithAutoAssignDS(filter -> checkForDevice(controllerId, target, filter));
         LOGGER.debug("Auto assign check call for tenant {} and device {} finished", getContextAware().getCurrentTenant(),
                 controllerId);
     }
 
+    @Override
+    public AutoAssignCheckResult checkTargets(final Collection<Long> targetIds) {
+        LOGGER.debug("Auto assign check call for tenant {} and {} targets started",
+                getContextAware().getCurrentTenant(), targetIds.size());
+        AutoAssignCheckResult result = AutoAssignCheckResult.complete(0);
+        for (final List<Long> ids : Lists.partition(new ArrayList<>(targetIds), Constants.MAX_ENTRIES_IN_STATEMENT)) {
+            final List<JpaTarget> targets = loadTargets(ids);
+            if (!targets.isEmpty()) {
+                result = result.and(forEachFilterWithAutoAssignDS(filter -> checkForDevices(targets, filter)));
+            }
+        }
+        LOGGER.debug("Auto assign check call for tenant {} and {} targets finished: {}",
+                getContextAware().getCurrentTenant(), targetIds.size(), result);
+        return result;
+    }
+
+    @Override
+    public AutoAssignCheckResult checkTargetsModifiedSince(final long timestamp) {
+        final String query = TargetFields.LASTMODIFIEDAT.name() + "=ge=" + timestamp;
+        final List<Long> targetIds = new ArrayList<>();
+        Slice<Target> modified;
+        Pageable pageable = PageRequest.of(0, Constants.MAX_ENTRIES_IN_STATEMENT, Sort.by(Direction.ASC, "id"));
+        do {
+            modified = targetManagement.findByRsql(pageable, query);
+            modified.forEach(target -> targetIds.add(target.getId()));
+        } while ((pageable = modified.nextPageable()) != Pageable.unpaged());
+        return checkTargets(targetIds);
+    }
+
+    @Override
+    public AutoAssignCheckResult checkFilter(final long targetFilterQueryId, final long deadline) {
+        return forFilterWithAutoAssignDS(targetFilterQueryId,
+                filter -> checkByTargetFilterQueryAndAssignDS(filter, deadline));
+    }
+
     /**
-     * Fetches the distribution set, gets all controllerIds and assigns the DS to
-     * them. Catches PersistenceException and own exceptions derived from
-     * AbstractServerRtException
+     * Fetches the distribution set, pages through the IDs of all matching
+     * targets in ascending order and assigns the DS to them, a chunk of
+     * {@link RepositoryProperties#getAutoAssignChunkSize()} targets per
+     * transaction. Catches PersistenceException and own exceptions derived
+     * from AbstractServerRtException, i.e. reports the check as failed
      *
      * @param targetFilterQuery
      *            the target filter query
+     * @param deadline
+     *            the time (in milliseconds) no further chunk of targets is
+     *            assigned after
+     * @return the result of the check, complete once the last matching target
+     *         has been assigned
      */
-    private void checkByTargetFilterQueryAndAssignDS(final TargetFilterQuery targetFilterQuery) {
+    private AutoAssignCheckResult checkByTargetFilterQueryAndAssignDS(final TargetFilterQuery targetFilterQuery,
+            final long deadline) {
         LOGGER.debug("Auto assign check call for tenant {} and target filter query id {} started",
                 getContextAware().getCurrentTenant(), targetFilterQuery.getId());
+        final int chunkSize = repositoryProperties.getAutoAssignChunkSize();
+        int assigned = 0;
         try {
-            int count;
+            // the next chunk follows the last target of the previous one, so
+            // the filter query isn't run from the beginning for every chunk
+            long lastTargetId = 0;
+            List<Long> targetIds;
             do {
-                final List<String> controllerIds = targetManagement
-                        .findByTargetFilterQueryAndNonDSAndCompatibleAndUpdatable(
-                                PageRequest.of(0, Constants.MAX_ENTRIES_IN_STATEMENT),
-                                targetFilterQuery.getAutoAssignDistributionSet().getId(), targetFilterQuery.getQuery())
-                        .getContent().stream().map(Target::getControllerId).toList();
+                targetIds = targetManagement.findIdsByTargetFilterQueryAndNonDSAndCompatibleAndUpdatable(
+                        lastTargetId, chunkSize, targetFilterQuery.getAutoAssignDistributionSet().getId(),
+                        targetFilterQuery.getQuery());
                 LOGGER.debug(
                         "Retrieved {} auto assign targets for tenant {} and target filter query id {}, starting with assignment",
-                        controllerIds.size(), getContextAware().getCurrentTenant(), targetFilterQuery.getId());
+                        targetIds.size(), getContextAware().getCurrentTenant(), targetFilterQuery.getId());
 
-                count = runTransactionalAssignment(targetFilterQuery, controllerIds);
+                assigned += runTransactionalAssignmentByIds(targetFilterQuery, targetIds);
+                if (!targetIds.isEmpty()) {
+                    lastTargetId = targetIds.get(targetIds.size() - 1);
+                }
                 LOGGER.debug(
                         "Assignment for {} auto assign targets for tenant {} and target filter query id {} finished",
-                        controllerIds.size(), getContextAware().getCurrentTenant(), targetFilterQuery.getId());
-            } while (count == Constants.MAX_ENTRIES_IN_STATEMENT);
+                        targetIds.size(), getContextAware().getCurrentTenant(), targetFilterQuery.getId());
+            } while (targetIds.size() == chunkSize && System.currentTimeMillis() < deadline);
+            LOGGER.debug("Auto assign check call for tenant {} and target filter query id {} finished",
+                    getContextAware().getCurrentTenant(), targetFilterQuery.getId());
+            // a full chunk may be followed by further targets
+            return targetIds.size() < chunkSize ? AutoAssignCheckResult.complete(assigned)
+                    : AutoAssignCheckResult.incomplete(assigned);
         } catch (final PersistenceException | AbstractServerRtException e) {
             LOGGER.error("Error during auto assign check of target filter query id {}", targetFilterQuery.getId(), e);
+            return AutoAssignCheckResult.failed(assigned);
         }
-        LOGGER.debug("Auto assign check call for tenant {} and target filter query id {} finished",
-                getContextAware().getCurrentTenant(), targetFilterQuery.getId());
     }
 
-    private void checkForDevice(final String controllerId, final TargetFilterQuery targetFilterQuery) {
+    private AutoAssignCheckResult checkForDevice(final String controllerId, final Optional<JpaTarget> target,
+            final TargetFilterQuery targetFilterQuery) {
         LOGGER.debug("Auto assign check call for tenant {} and target filter query id {} for device {} started",
                 getContextAware().getCurrentTenant(), targetFilterQuery.getId(), controllerId);
+        int assigned = 0;
         try {
-            final boolean controllerIdMatches = targetManagement.isTargetMatchingQueryAndDSNotAssignedAndCompatibleAndUpdatable(
-                    controllerId, targetFilterQuery.getAutoAssignDistributionSet().getId(),
-                    targetFilterQuery.getQuery());
+            // only the filters the loaded target may match are checked by the database
+            final boolean controllerIdMatches = target
+                    .map(loadedTarget -> mayMatch(loadedTarget, targetFilterQuery.getQuery())).orElse(true)
+                    && targetManagement.isTargetMatchingQueryAndDSNotAssignedAndCompatibleAndUpdatable(controllerId,
+                            targetFilterQuery.getAutoAssignDistributionSet().getId(), targetFilterQuery.getQuery());
 
             if (controllerIdMatches) {
-                runTransactionalAssignment(targetFilterQuery, Collections.singletonList(controllerId));
+                assigned = runTransactionalAssignment(targetFilterQuery, Collections.singletonList(controllerId));
             }
 
         } catch (final PersistenceException | AbstractServerRtException e) {
             LOGGER.error("Error during auto assign check of target filter query id {}", targetFilterQuery.getId(), e);
+            return AutoAssignCheckResult.failed(assigned);
         }
         LOGGER.debug("Auto assign check call for tenant {} and target filter query id {} finished",
                 getContextAware().getCurrentTenant(), targetFilterQuery.getId());
+        return AutoAssignCheckResult.complete(assigned);
+    }
+
+    private AutoAssignCheckResult checkForDevices(final List<JpaTarget> targets, final TargetFilterQuery targetFilterQuery) {
+        LOGGER.debug("Auto assign check call for tenant {} and target filter query id {} for {} devices started",
+                getContextAware().getCurrentTenant(), targetFilterQuery.getId(), targets.size());
+        int assigned = 0;
+        try {
+            // only the targets which may match the filter are checked by the database
+            final List<String> candidates = targets.stream()
+                    .filter(target -> mayMatch(target, targetFilterQuery.getQuery())).map(Target::getControllerId)
+                    .toList();
+            final List<String> controllerIds = targetManagement
+                    .findTargetsMatchingQueryAndDSNotAssignedAndCompatibleAndUpdatable(candidates,
+                            targetFilterQuery.getAutoAssignDistributionSet().getId(), targetFilterQuery.getQuery())
+                    .stream().map(Target::getControllerId).toList();
+
+            if (!controllerIds.isEmpty()) {
+                assigned = runTransactionalAssignment(targetFilterQuery, controllerIds);
+            }
+
+        } catch (final PersistenceException | AbstractServerRtException e) {
+            LOGGER.error("Error during auto assign check of target filter query id {}", targetFilterQuery.getId(), e);
+            return AutoAssignCheckResult.failed(assigned);
+        }
+        LOGGER.debug("Auto assign check call for tenant {} and target filter query id {} finished",
+                getContextAware().getCurrentTenant(), targetFilterQuery.getId());
+        return AutoAssignCheckResult.complete(assigned);
+    }
+
+    /**
+     * Loads the target with all its fields which may be used by a target filter
+     * query.
+     *
+     * @param controllerId
+     *            of the target
+     * @return the target, or empty if it can't be loaded, i.e. it has to be
+     *         matched by the database only
+     */
+    private Optional<JpaTarget> loadTarget(final String controllerId) {
+        try {
+            return DeploymentHelper.runInNewTransaction(getTransactionManager(), "autoAssignLoadTarget",
+                    status -> targetManagement.getByControllerID(controllerId).flatMap(AutoAssignChecker::initialize));
+        } catch (final RuntimeException e) {
+            LOGGER.debug("Device {} could not be loaded for the auto assign check", controllerId, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Loads the targets with all their fields which may be used by a target
+     * filter query. Targets which have been deleted meanwhile are skipped.
+     *
+     * @param targetIds
+     *            of the targets
+     * @return the targets
+     */
+    private List<JpaTarget> loadTargets(final List<Long> targetIds) {
+        return DeploymentHelper.runInNewTransaction(getTransactionManager(), "autoAssignLoadTargets",
+                status -> targetManagement.get(targetIds).stream().map(AutoAssignChecker::initialize)
+                        .flatMap(Optional::stream).toList());
+    }
+
+    // loads the lazy fields within the transaction
+    private static Optional<JpaTarget> initialize(final Target target) {
+        if (!(target instanceof JpaTarget jpaTarget)) {
+            return Optional.empty();
+        }
+        jpaTarget.getTags().size();
+        jpaTarget.getControllerAttributes().size();
+        jpaTarget.getMetadata().size();
+        jpaTarget.getTargetType();
+        return Optional.of(jpaTarget);
+    }
+
+    /**
+     * @return <code>false</code> if the target doesn't match the query,
+     *         <code>true</code> if it matches or the query can't be matched in
+     *         memory
+     */
+    private boolean mayMatch(final JpaTarget target, final String query) {
+        try {
+            return targetPredicates.get(query, RSQLUtility::buildTargetPredicate)
+                    .map(predicate -> predicate.test(target)).orElse(true);
+        } catch (final RuntimeException e) {
+            LOGGER.debug("Device {} could not be matched in memory with query {}", target.getControllerId(), query, e);
+            return true;
+        }
     }
 }
@@ -9,32 +9,89 @@
  */
 package org.eclipse.hawkbit.repository.jpa.autoassign;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 
+import org.eclipse.hawkbit.repository.RepositoryProperties;
 import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.repository.TargetFilterQueryManagement;
+import org.eclipse.hawkbit.repository.autoassign.AutoAssignCheckResult;
 import org.eclipse.hawkbit.repository.autoassign.AutoAssignExecutor;
+import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignWorkerPool.Check;
+import org.eclipse.hawkbit.repository.model.TargetFilterQuery;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
 import org.springframework.integration.support.locks.LockRegistry;
 import org.springframework.scheduling.annotation.Scheduled;
 
 /**
  * Scheduler to check target filters for auto assignment of distribution sets
+ * <p>
+ * The checks are run on the {@link AutoAssignWorkerPool}, every target filter
+ * of a tenant as a check of its own. Every check holds a lock of its own while
+ * it is run, so a target filter is not checked by several nodes of a cluster at
+ * the same time. A check waits for the lock at most for
+ * {@link RepositoryProperties#getAutoAssignCheckBudget()}, if another node
+ * still holds it the check is run again with the next turn of its tenant.
+ * <p>
+ * If {@link RepositoryProperties#isAutoAssignEventDriven()} is set, only the
+ * targets the {@link DirtyTargetTracker} has noticed as created or changed are
+ * checked. All targets of a tenant are checked with the first run and if its
+ * target filters have changed. The targets modified since the last sweep, i.e.
+ * with a <code>lastModifiedAt</code> after its watermark, are checked every
+ * {@link RepositoryProperties#getAutoAssignSweepInterval()}, e.g. to catch up
+ * on changes that are not published as events. The watermark is moved on once
+ * the check of all or of the modified targets is complete, i.e. a failed check
+ * is repeated by the next run or sweep.
  */
 public class AutoAssignScheduler {
     private static final Logger LOGGER = LoggerFactory.getLogger(AutoAssignScheduler.class);
 
     private static final String PROP_SCHEDULER_DELAY_PLACEHOLDER = "${hawkbit.autoassign.scheduler.fixedDelay:2000}";
 
+    private static final int PAGE_SIZE = 1000;
+
+    private static final String CHANGED_TARGETS = "changed";
+
+    private static final String MODIFIED_TARGETS = "modified";
+
+    private static final Runnable NOTHING = () -> {
+        // nothing to do once the check has been finished
+    };
+
     private final SystemManagement systemManagement;
 
     private final SystemSecurityContext systemSecurityContext;
 
     private final AutoAssignExecutor autoAssignExecutor;
 
+    private final TargetFilterQueryManagement targetFilterQueryManagement;
+
+    private final AutoAssignWorkerPool autoAssignWorkerPool;
+
     private final LockRegistry lockRegistry;
 
+    private final DirtyTargetTracker dirtyTargetTracker;
+
+    private final RepositoryProperties repositoryProperties;
+
+    // time of the last check of all or of the modified targets per tenant
+    private final Map<String, Long> watermarks = new ConcurrentHashMap<>();
+
+    private long lastSweep;
+
     /**
      * Instantiates a new AutoAssignScheduler
      * 
@@ -44,26 +101,44 @@ public class AutoAssignScheduler {
      *            to run as system
      * @param autoAssignExecutor
      *            to run a check as tenant
+     * @param targetFilterQueryManagement
+     *            to find the target filters to check
+     * @param autoAssignWorkerPool
+     *            to run the checks on
      * @param lockRegistry
      *            to acquire a lock per tenant
+     * @param dirtyTargetTracker
+     *            to get the created or changed targets from
+     * @param repositoryProperties
+     *            to check if the auto assignment is event driven
      */
     public AutoAssignScheduler(final SystemManagement systemManagement,
             final SystemSecurityContext systemSecurityContext, final AutoAssignExecutor autoAssignExecutor,
-            final LockRegistry lockRegistry) {
+            final TargetFilterQueryManagement targetFilterQueryManagement,
+            final AutoAssignWorkerPool autoAssignWorkerPool, final LockRegistry lockRegistry,
+            final DirtyTargetTracker dirtyTargetTracker, final RepositoryProperties repositoryProperties) {
         this.systemManagement = systemManagement;
         this.systemSecurityContext = systemSecurityContext;
         this.autoAssignExecutor = autoAssignExecutor;
+        this.targetFilterQueryManagement = targetFilterQueryManagement;
+        this.autoAssignWorkerPool = autoAssignWorkerPool;
         this.lockRegistry = lockRegistry;
+        this.dirtyTargetTracker = dirtyTargetTracker;
+        this.repositoryProperties = repositoryProperties;
     }
 
     /**
      * Scheduler method called by the spring-async mechanism. Retrieves all
-     * tenants and runs for each
-     * tenant the auto assignments defined in the target filter queries
-     * {@link SystemSecurityContext}.
+     * tenants and submits for each tenant the checks of the auto assignments
+     * defined in the target filter queries to the {@link AutoAssignWorkerPool}.
+     * The checks that are still queued or running since the last run are not
+     * submitted again.
      */
     @Scheduled(initialDelayString = PROP_SCHEDULER_DELAY_PLACEHOLDER, fixedDelayString = PROP_SCHEDULER_DELAY_PLACEHOLDER)
     public void autoAssignScheduler() {
+        LOGGER.debug("auto assign schedule checker has been triggered, {}, {}", autoAssignWorkerPool.getStatistics(),
+                autoAssignWorkerPool.getCheckStatistics());
+
         // run this code in system code privileged to have the necessary
         // permission to query and create entities.
         systemSecurityContext.runAsSystem(this::executeAutoAssign);
@@ -79,12 +154,18 @@ public class AutoAssignScheduler {
         // each tenant separately.
         final Lock lock = lockRegistry.obtain("autoassign");
         if (!lock.tryLock()) {
+            // the node holding the lock tracks the same changes, so they are
+            // checked with its next run, or by a full check if this node gets
+            // the lock later on
+            watermarks.clear();
+            dirtyTargetTracker.clear();
             return null;
         }
 
         try {
             LOGGER.debug("Auto assign scheduled execution has acquired lock and started for each tenant.");
-            systemManagement.forEachTenant(tenant -> autoAssignExecutor.checkAllTargets());
+            final boolean sweep = isSweepDue();
+            systemManagement.forEachTenant(tenant -> check(tenant, sweep));
         } finally {
             lock.unlock();
             LOGGER.debug("Auto assign scheduled execution has released lock and finished.");
@@ -92,4 +173,102 @@ public class AutoAssignScheduler {
 
         return null;
     }
+
+    private boolean isSweepDue() {
+        final long now = System.currentTimeMillis();
+        if (now - lastSweep < repositoryProperties.getAutoAssignSweepInterval()) {
+            return false;
+        }
+        lastSweep = now;
+        return true;
+    }
+
+    private void check(final String tenant, final boolean sweep) {
+        // the changes made from now on are checked with the next run
+        final long now = System.currentTimeMillis();
+        final boolean filtersChanged = dirtyTargetTracker.drainAllDirty(tenant);
+        final Set<Long> changed = dirtyTargetTracker.drain(tenant);
+        if (!repositoryProperties.isAutoAssignEventDriven()) {
+            submitFilters(tenant, NOTHING);
+            return;
+        }
+
+        final String key = tenant.toUpperCase();
+        if (filtersChanged) {
+            // all targets are checked until a check of all filters finished
+            watermarks.remove(key);
+        }
+        final Long watermark = watermarks.get(key);
+        if (watermark == null) {
+            submitFilters(tenant, () -> watermarks.put(key, now));
+            return;
+        }
+
+        // the changed targets are checked again with the next run if the
+        // last check of the changed targets is still queued or running
+        if (!changed.isEmpty() && !submit(tenant, CHANGED_TARGETS, false,
+                deadline -> autoAssignExecutor.checkTargets(changed), NOTHING)) {
+            changed.forEach(targetId -> dirtyTargetTracker.markDirty(tenant, targetId));
+        }
+        // the watermark is moved on only if the modified targets have been
+        // checked, otherwise they are checked again with the next sweep
+        if (sweep) {
+            submit(tenant, MODIFIED_TARGETS, false,
+                    deadline -> autoAssignExecutor.checkTargetsModifiedSince(watermark),
+                    () -> watermarks.replace(key, watermark, now));
+        }
+    }
+
+    // runs onAllFinished once all filters have been checked by this run
+    private void submitFilters(final String tenant, final Runnable onAllFinished) {
+        final List<Long> filterQueryIds = new ArrayList<>();
+        Slice<TargetFilterQuery> filterQueries;
+        Pageable query = PageRequest.of(0, PAGE_SIZE, Sort.by(Direction.ASC, "id"));
+        do {
+            filterQueries = targetFilterQueryManagement.findWithAutoAssignDS(query);
+            filterQueries.forEach(filterQuery -> filterQueryIds.add(filterQuery.getId()));
+        } while ((query = filterQueries.nextPageable()) != Pageable.unpaged());
+
+        // a check still queued or running since a former run does not count
+        final AtomicInteger pending = new AtomicInteger(filterQueryIds.size() + 1);
+        final Runnable onFinished = () -> {
+            if (pending.decrementAndGet() == 0) {
+                onAllFinished.run();
+            }
+        };
+        boolean allSubmitted = true;
+        for (final Long filterQueryId : filterQueryIds) {
+            allSubmitted &= submit(tenant, "filter-" + filterQueryId, true,
+                    deadline -> autoAssignExecutor.checkFilter(filterQueryId, deadline), onFinished);
+        }
+        if (allSubmitted) {
+            onFinished.run();
+        }
+    }
+
+    private boolean submit(final String tenant, final String key, final boolean budgeted, final Check check,
+            final Runnable onFinished) {
+        return autoAssignWorkerPool.submit(tenant, key, budgeted, deadline -> {
+            final Lock checkLock = lockRegistry.obtain("autoassign-" + tenant + "-" + key);
+            final boolean locked;
+            try {
+                // the turns of a check on another node take the budget at most
+                locked = checkLock.tryLock(repositoryProperties.getAutoAssignCheckBudget(), TimeUnit.MILLISECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return AutoAssignCheckResult.failed(0);
+            }
+            if (!locked) {
+                // run by another node, e.g. it has run the scheduler before,
+                // this node runs the check again with the next turn
+                LOGGER.debug("Auto assign check {} of tenant {} is run by another node.", key, tenant);
+                return AutoAssignCheckResult.incomplete(0);
+            }
+            try {
+                return check.run(deadline);
+            } finally {
+                checkLock.unlock();
+            }
+        }, onFinished);
+    }
 }
@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.autoassign;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.hawkbit.repository.autoassign.AutoAssignCheckResult;
+import org.eclipse.hawkbit.repository.autoassign.AutoAssignExecutor;
+import org.eclipse.hawkbit.repository.jpa.executor.TenantWorkerPool;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link TenantWorkerPool} that runs auto assign checks, e.g.
+ * {@link AutoAssignExecutor#checkFilter(long, long)}. A check that has not
+ * checked all its targets when the time budget of its turn has passed is
+ * queued again behind the checks of the other tenants, i.e. a tenant with many
+ * or slow target filters does not hold back the auto assignments of the other
+ * tenants. A check is queued at most once until it has been completed or has
+ * failed.
+ */
+public class AutoAssignWorkerPool extends TenantWorkerPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AutoAssignWorkerPool.class);
+
+    private final long budget;
+
+    private final AtomicLong checks = new AtomicLong();
+    private final AtomicLong failedChecks = new AtomicLong();
+    private final AtomicLong assignedTargets = new AtomicLong();
+    private final AtomicLong maxAssignedTargets = new AtomicLong();
+
+    /**
+     * A check run as system of a tenant.
+     */
+    @FunctionalInterface
+    public interface Check {
+
+        /**
+         * @param deadline
+         *            the time (in milliseconds) the check should stop at
+         * @return the result of the check, it is run again with the next turn
+         *         of its tenant if it is incomplete
+         */
+        AutoAssignCheckResult run(long deadline);
+    }
+
+    /**
+     * Constructor, starts the workers.
+     *
+     * @param systemSecurityContext
+     *            to run the checks as system of their tenant
+     * @param threads
+     *            number of workers
+     * @param budget
+     *            time (in milliseconds) a check may take per turn of its
+     *            tenant
+     */
+    public AutoAssignWorkerPool(final SystemSecurityContext systemSecurityContext, final int threads,
+            final long budget) {
+        super("autoassign", systemSecurityContext, threads, false);
+        this.budget = budget;
+    }
+
+    /**
+     * Queues the check to be run as soon as a worker is available and it is
+     * the turn of the tenant.
+     *
+     * @param tenant
+     *            to run the check for
+     * @param key
+     *            of the check, unique per tenant, e.g. the ID of the target
+     *            filter query to check
+     * @param budgeted
+     *            <code>true</code> if the check stops at the deadline of its
+     *            turn and has to be run again, <code>false</code> if it is run
+     *            once without a deadline
+     * @param check
+     *            to run
+     * @param onFinished
+     *            called once the check is complete, i.e. it has checked all
+     *            its targets without failure. It is not called if the check
+     *            has failed, by its result or by an exception.
+     * @return <code>false</code> if the check is queued or running already or
+     *         the pool has been shut down
+     */
+    public boolean submit(final String tenant, final String key, final boolean budgeted, final Check check,
+            final Runnable onFinished) {
+        return submit(tenant, key, () -> {
+            final long deadline = budgeted ? System.currentTimeMillis() + budget : Long.MAX_VALUE;
+            final AutoAssignCheckResult result = check.run(deadline);
+            checks.incrementAndGet();
+            assignedTargets.addAndGet(result.getAssigned());
+            maxAssignedTargets.accumulateAndGet(result.getAssigned(), Math::max);
+            LOGGER.debug("Auto assign check {} of tenant {} finished its turn: {}", key, tenant, result);
+            if (result.isFailed()) {
+                // not repeated before the next run of the scheduler
+                failedChecks.incrementAndGet();
+                return true;
+            }
+            if (result.isComplete()) {
+                onFinished.run();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * @return a snapshot of the current {@link CheckStatistics}
+     */
+    public CheckStatistics getCheckStatistics() {
+        return new CheckStatistics(checks.get(), failedChecks.get(), assignedTargets.get(),
+                maxAssignedTargets.get());
+    }
+
+    /**
+     * Results of the checks run by an {@link AutoAssignWorkerPool}, in
+     * addition to its {@link TenantWorkerPool.Statistics}.
+     */
+    public static final class CheckStatistics {
+
+        private final long checks;
+        private final long failedChecks;
+        private final long assignedTargets;
+        private final long maxAssignedTargets;
+
+        private CheckStatistics(final long checks, final long failedChecks, final long assignedTargets,
+                final long maxAssignedTargets) {
+            this.checks = checks;
+            this.failedChecks = failedChecks;
+            this.assignedTargets = assignedTargets;
+            this.maxAssignedTargets = maxAssignedTargets;
+        }
+
+        /**
+         * @return number of turns the checks have returned a result in
+         */
+        public long getChecks() {
+            return checks;
+        }
+
+        /**
+         * @return number of turns the checks have returned a failed result in
+         */
+        public long getFailedChecks() {
+            return failedChecks;
+        }
+
+        /**
+         * @return number of targets a distribution set has been assigned to
+         */
+        public long getAssignedTargets() {
+            return assignedTargets;
+        }
+
+        /**
+         * @return most targets a distribution set has been assigned to in a
+         *         single turn of a check
+         */
+        public long getMaxAssignedTargets() {
+            return maxAssignedTargets;
+        }
+
+        @Override
+        public String toString() {
+            return "CheckStatistics [checks=" + checks + ", failedChecks=" + failedChecks + ", assignedTargets="
+                    + assignedTargets + ", maxAssignedTargets=" + maxAssignedTargets + "]";
+        }
+    }
+}
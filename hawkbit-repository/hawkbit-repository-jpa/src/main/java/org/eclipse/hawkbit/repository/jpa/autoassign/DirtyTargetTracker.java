@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.autoassign;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.hawkbit.repository.event.remote.RemoteIdEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetFilterQueryCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetFilterQueryUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetFilterQuery;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Keeps track of the {@link Target}s which have been created or changed since
+ * the last auto assign check, e.g. by an update of their attributes or by the
+ * assignment of a tag, and of the tenants whose {@link TargetFilterQuery}s
+ * have changed, i.e. whose targets have to be checked all. The changes are
+ * taken from the target and target filter query events, so the changes of the
+ * other nodes of a cluster are tracked as well.
+ */
+public class DirtyTargetTracker {
+
+    // dirty targets per tenant
+    private final Map<String, Set<Long>> dirty = new ConcurrentHashMap<>();
+
+    // tenants with changed target filter queries
+    private final Set<String> changedFilters = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Marks a created or changed target as dirty.
+     *
+     * @param event
+     *            of the created or changed target
+     */
+    @EventListener(classes = { TargetCreatedEvent.class, TargetUpdatedEvent.class })
+    public void onTargetChanged(final RemoteIdEvent event) {
+        markDirty(event.getTenant(), event.getEntityId());
+    }
+
+    /**
+     * Marks all targets of the tenant of a created or changed target filter
+     * query as dirty.
+     *
+     * @param event
+     *            of the target filter query
+     */
+    @EventListener(classes = { TargetFilterQueryCreatedEvent.class, TargetFilterQueryUpdatedEvent.class })
+    public void onTargetFilterQueryChanged(final RemoteIdEvent event) {
+        markAllDirty(event.getTenant());
+    }
+
+    /**
+     * Marks the target as dirty.
+     *
+     * @param tenant
+     *            the target belongs to
+     * @param targetId
+     *            the ID of the target
+     */
+    public void markDirty(final String tenant, final long targetId) {
+        // added within compute as it is atomic with the removal by drain,
+        // i.e. the target is either drained or marked in a new set
+        dirty.compute(tenant.toUpperCase(), (key, targetIds) -> {
+            final Set<Long> marked = targetIds == null ? new HashSet<>() : targetIds;
+            marked.add(targetId);
+            return marked;
+        });
+    }
+
+    /**
+     * Marks all targets of the tenant as dirty.
+     *
+     * @param tenant
+     *            whose targets have to be checked all
+     */
+    public void markAllDirty(final String tenant) {
+        changedFilters.add(tenant.toUpperCase());
+    }
+
+    /**
+     * Removes the mark of the tenant that all its targets are dirty.
+     *
+     * @param tenant
+     *            to take the mark of
+     * @return <code>true</code> if all targets of the tenant have been marked as
+     *         dirty
+     */
+    public boolean drainAllDirty(final String tenant) {
+        return changedFilters.remove(tenant.toUpperCase());
+    }
+
+    /**
+     * Removes and returns the dirty targets of a tenant.
+     *
+     * @param tenant
+     *            to take the dirty targets of
+     * @return the IDs of the dirty targets
+     */
+    public Set<Long> drain(final String tenant) {
+        final Set<Long> drained = dirty.remove(tenant.toUpperCase());
+        return drained == null ? Collections.emptySet() : drained;
+    }
+
+    /**
+     * Removes the dirty targets of all tenants.
+     */
+    public void clear() {
+        dirty.clear();
+        changedFilters.clear();
+    }
+}
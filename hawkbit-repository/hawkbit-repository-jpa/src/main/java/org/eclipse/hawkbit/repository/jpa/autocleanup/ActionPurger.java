@@ -0,0 +1,273 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.autocleanup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
+import org.eclipse.hawkbit.repository.jpa.model.JpaAction_;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutGroupStatusCounters;
+import org.eclipse.hawkbit.repository.jpa.utils.ActionDeleter;
+import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
+import org.eclipse.hawkbit.repository.jpa.utils.JdbcIdSelector;
+import org.eclipse.hawkbit.repository.jpa.utils.ObjectTypeConverterHelper;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Deletes expired {@link Action}s in chunks ordered by their IDs, selected by
+ * the {@link JdbcIdSelector}. The actions are deleted together with their
+ * status entries by the {@link ActionDeleter},
+ * i.e. no database specific <code>DELETE ... LIMIT</code> is needed. Every
+ * chunk is deleted in a transaction of its own.
+ * <p>
+ * A purge deletes at most for
+ * {@link RepositoryProperties#getActionCleanupTimePerRun()} and is throttled
+ * to {@link RepositoryProperties#getActionCleanupRowsPerSecond()}, i.e. it is
+ * meant to be run frequently in small increments instead of deleting all
+ * expired actions at once. The next purge continues with the actions left.
+ * The deleted rows are counted by the {@link Statistics} of the purger.
+ */
+public class ActionPurger {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ActionPurger.class);
+
+    private static final String SELECT_ACTION_IDS_BY_STATUS_AND_LAST_MODIFIED = "SELECT id FROM sp_action WHERE tenant = ? AND status IN (%s) AND last_modified_at < ? ORDER BY id";
+
+    private final JdbcIdSelector idSelector;
+    private final ActionDeleter actionDeleter;
+    private final PlatformTransactionManager txManager;
+    private final RolloutGroupStatusCounters rolloutGroupStatusCounters;
+    private final RepositoryProperties repositoryProperties;
+    private final AtomicLong purges = new AtomicLong();
+    private final AtomicLong chunks = new AtomicLong();
+    private final AtomicLong deletedActions = new AtomicLong();
+    private final AtomicLong deletedRows = new AtomicLong();
+    private final AtomicLong throttledMillis = new AtomicLong();
+    private final AtomicLong maxChunkMillis = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param idSelector
+     *            to select the chunks to delete with
+     * @param actionDeleter
+     *            to delete the actions with
+     * @param txManager
+     *            to delete every chunk in a transaction of its own
+     * @param rolloutGroupStatusCounters
+     *            to invalidate, the deleted actions might belong to any
+     *            rollout group
+     * @param repositoryProperties
+     *            to get the chunk size, the throttling and the time per purge
+     *            from
+     */
+    public ActionPurger(final JdbcIdSelector idSelector, final ActionDeleter actionDeleter,
+            final PlatformTransactionManager txManager, final RolloutGroupStatusCounters rolloutGroupStatusCounters,
+            final RepositoryProperties repositoryProperties) {
+        this.idSelector = idSelector;
+        this.actionDeleter = actionDeleter;
+        this.txManager = txManager;
+        this.rolloutGroupStatusCounters = rolloutGroupStatusCounters;
+        this.repositoryProperties = repositoryProperties;
+    }
+
+    /**
+     * Deletes the actions of the tenant which are in one of the given status
+     * and have not been modified since the given time, chunk by chunk until
+     * none are left or the time per purge has elapsed.
+     *
+     * @param tenant
+     *            the actions belong to
+     * @param status
+     *            of the actions to delete
+     * @param lastModified
+     *            the time (in milliseconds) the actions have not been modified
+     *            since
+     * @return the number of deleted actions
+     */
+    public int purge(final String tenant, final Set<Status> status, final long lastModified) {
+        if (status.isEmpty()) {
+            return 0;
+        }
+
+        final int chunkSize = repositoryProperties.getActionCleanupChunkSize();
+        final long start = System.currentTimeMillis();
+        final long end = start + repositoryProperties.getActionCleanupTimePerRun();
+        int actions = 0;
+        long rows = 0;
+        Deleted deleted;
+        try {
+            do {
+                final long chunkStart = System.currentTimeMillis();
+                deleted = DeploymentHelper.runInNewTransaction(txManager, "purgeActions",
+                        txStatus -> deleteChunk(tenant, status, lastModified, chunkSize));
+                maxChunkMillis.accumulateAndGet(System.currentTimeMillis() - chunkStart, Math::max);
+                chunks.incrementAndGet();
+                deletedActions.addAndGet(deleted.actions);
+                deletedRows.addAndGet(deleted.rows);
+                actions += deleted.actions;
+                rows += deleted.rows;
+            } while (deleted.actions == chunkSize && throttle(start, rows) && System.currentTimeMillis() < end);
+        } finally {
+            purges.incrementAndGet();
+            if (actions > 0) {
+                rolloutGroupStatusCounters.invalidateTenant(tenant);
+            }
+        }
+
+        LOGGER.debug("Purged {} actions ({} rows) in status {} of tenant {} in {} ms, {}", actions, rows, status,
+                tenant, System.currentTimeMillis() - start, getStatistics());
+        return actions;
+    }
+
+    /**
+     * @return a snapshot of the current {@link Statistics}
+     */
+    public Statistics getStatistics() {
+        return new Statistics(purges.get(), chunks.get(), deletedActions.get(), deletedRows.get(),
+                throttledMillis.get(), maxChunkMillis.get());
+    }
+
+    private Deleted deleteChunk(final String tenant, final Set<Status> status, final long lastModified,
+            final int limit) {
+        final List<Object> args = new ArrayList<>(status.size() + 2);
+        args.add(tenant.toUpperCase());
+        status.forEach(actionStatus -> args
+                .add(ObjectTypeConverterHelper.toDataValue(JpaAction.class, JpaAction_.STATUS, actionStatus)));
+        args.add(lastModified);
+        final List<Long> actionIds = idSelector.selectIds(
+                JdbcIdSelector.withPlaceholders(SELECT_ACTION_IDS_BY_STATUS_AND_LAST_MODIFIED, status.size()), limit,
+                args.toArray());
+        return new Deleted(actionIds.size(), actionDeleter.delete(tenant, actionIds));
+    }
+
+    /**
+     * Waits until the rows deleted since the start of the purge are within the
+     * rows per second.
+     *
+     * @return <code>false</code> if the purge has to be stopped, i.e. the
+     *         thread has been interrupted
+     */
+    private boolean throttle(final long start, final long rows) {
+        final long rowsPerSecond = repositoryProperties.getActionCleanupRowsPerSecond();
+        if (rowsPerSecond <= 0) {
+            return true;
+        }
+
+        final long wait = start + TimeUnit.SECONDS.toMillis(rows) / rowsPerSecond - System.currentTimeMillis();
+        if (wait <= 0) {
+            return true;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(wait);
+            throttledMillis.addAndGet(wait);
+            return true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // the actions and rows deleted with a chunk
+    private static final class Deleted {
+
+        private final int actions;
+        private final long rows;
+
+        private Deleted(final int actions, final long rows) {
+            this.actions = actions;
+            this.rows = rows;
+        }
+    }
+
+    /**
+     * Deleted rows and run times of the {@link ActionPurger} since its
+     * creation.
+     */
+    public static final class Statistics {
+
+        private final long purges;
+        private final long chunks;
+        private final long deletedActions;
+        private final long deletedRows;
+        private final long throttledMillis;
+        private final long maxChunkMillis;
+
+        private Statistics(final long purges, final long chunks, final long deletedActions, final long deletedRows,
+                final long throttledMillis, final long maxChunkMillis) {
+            this.purges = purges;
+            this.chunks = chunks;
+            this.deletedActions = deletedActions;
+            this.deletedRows = deletedRows;
+            this.throttledMillis = throttledMillis;
+            this.maxChunkMillis = maxChunkMillis;
+        }
+
+        /**
+         * @return number of purges so far
+         */
+        public long getPurges() {
+            return purges;
+        }
+
+        /**
+         * @return number of chunks deleted so far
+         */
+        public long getChunks() {
+            return chunks;
+        }
+
+        /**
+         * @return number of deleted actions
+         */
+        public long getDeletedActions() {
+            return deletedActions;
+        }
+
+        /**
+         * @return number of deleted rows, i.e. the deleted actions, their
+         *         status entries and the messages of the status entries
+         */
+        public long getDeletedRows() {
+            return deletedRows;
+        }
+
+        /**
+         * @return sum of the times the purges have waited to keep within the
+         *         rows per second
+         */
+        public long getThrottledMillis() {
+            return throttledMillis;
+        }
+
+        /**
+         * @return longest time the deletion of a chunk took
+         */
+        public long getMaxChunkMillis() {
+            return maxChunkMillis;
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics [purges=" + purges + ", chunks=" + chunks + ", deletedActions=" + deletedActions
+                    + ", deletedRows=" + deletedRows + ", throttledMillis=" + throttledMillis + ", maxChunkMillis="
+                    + maxChunkMillis + "]";
+        }
+    }
+}
@@ -20,11 +20,11 @@ import java.util.EnumSet;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
-import org.eclipse.hawkbit.repository.DeploymentManagement;
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.Status;
 import org.eclipse.hawkbit.repository.model.TenantConfigurationValue;
+import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,7 +35,8 @@ import org.slf4j.LoggerFactory;
  * CANCELLED or ERROR).
  * 
  * The cleanup task can be enabled /disabled and configured on a per tenant
- * basis.
+ * basis. The actions are deleted by the {@link ActionPurger}, i.e. a run deletes
+ * a limited number of actions and the next runs continue with the actions left.
  */
 public class AutoActionCleanup implements CleanupTask {
 
@@ -46,21 +47,25 @@ public class AutoActionCleanup implements CleanupTask {
     private static final long ACTION_CLEANUP_ACTION_EXPIRY_DEFAULT = TimeUnit.DAYS.toMillis(30);
     private static final EnumSet<Status> EMPTY_STATUS_SET = EnumSet.noneOf(Status.class);
 
-    private final DeploymentManagement deploymentMgmt;
+    private final ActionPurger actionPurger;
     private final TenantConfigurationManagement config;
+    private final TenantAware tenantAware;
 
     /**
      * Constructs the action cleanup handler.
      * 
-     * @param deploymentMgmt
-     *            The {@link DeploymentManagement} to operate on.
+     * @param actionPurger
+     *            The {@link ActionPurger} to delete the actions with.
      * @param configMgmt
      *            The {@link TenantConfigurationManagement} service.
+     * @param tenantAware
+     *            The {@link TenantAware} to get the current tenant.
      */
-    public AutoActionCleanup(final DeploymentManagement deploymentMgmt,
-            final TenantConfigurationManagement configMgmt) {
-        this.deploymentMgmt = deploymentMgmt;
+    public AutoActionCleanup(final ActionPurger actionPurger, final TenantConfigurationManagement configMgmt,
+            final TenantAware tenantAware) {
+        this.actionPurger = actionPurger;
         this.config = configMgmt;
+        this.tenantAware = tenantAware;
     }
 
     @Override
@@ -74,7 +79,7 @@ public class AutoActionCleanup implements CleanupTask {
         final EnumSet<Status> status = getActionStatus();
         if (!status.isEmpty()) {
             final long lastModified = System.currentTimeMillis() - getExpiry();
-            final int actionsCount = deploymentMgmt.deleteActionsByStatusAndLastModifiedBefore(status, lastModified);
+            final int actionsCount = actionPurger.purge(tenantAware.getCurrentTenant(), status, lastModified);
             LOGGER.debug("Deleted {} actions in status {} which have not been modified since {} ({})", actionsCount,
                     status, Instant.ofEpochMilli(lastModified), lastModified);
         }
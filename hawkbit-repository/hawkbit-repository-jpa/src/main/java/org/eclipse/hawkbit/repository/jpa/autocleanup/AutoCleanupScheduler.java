@@ -28,7 +28,7 @@ public class AutoCleanupScheduler {
 
     private static final String AUTO_CLEANUP = "auto-cleanup";
     private static final String SEP = ".";
-    private static final String PROP_AUTO_CLEANUP_INTERVAL = "${hawkbit.autocleanup.scheduler.fixedDelay:86400000}";
+    private static final String PROP_AUTO_CLEANUP_INTERVAL = "${hawkbit.autocleanup.scheduler.fixedDelay:60000}";
 
     private final SystemManagement systemManagement;
     private final SystemSecurityContext systemSecurityContext;
@@ -15,7 +15,9 @@ package org.eclipse.hawkbit.repository.jpa.autocleanup;
 public interface CleanupTask extends Runnable {
 
     /**
-     * Executes the cleanup task.
+     * Executes the cleanup task. The task is run frequently per tenant, so it
+     * should do a limited amount of work per run and leave the rest to the
+     * next runs.
      */
     @Override
     void run();
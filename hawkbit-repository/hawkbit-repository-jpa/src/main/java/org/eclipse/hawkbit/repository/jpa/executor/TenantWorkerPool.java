@@ -0,0 +1,413 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.executor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Bounded pool of workers that run the work of the tenants concurrently, as
+ * system of the tenant. The submitted work is queued per tenant and the
+ * workers take it from the tenants in turn, i.e. a tenant with much or long
+ * running work does not hold back the work of the other tenants. Work that is
+ * not finished with its turn is queued again behind the work of the other
+ * tenants. A work is queued at most once per key until it has been finished.
+ */
+public class TenantWorkerPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TenantWorkerPool.class);
+
+    private final String name;
+    private final SystemSecurityContext systemSecurityContext;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    // queued work per tenant, the tenant next in turn first
+    private final Map<String, Deque<Task>> queues = new LinkedHashMap<>();
+    // queued or running work
+    private final Set<Task> scheduled = new HashSet<>();
+    private final List<Thread> workers;
+    private boolean shutdown;
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong continued = new AtomicLong();
+    private final AtomicLong totalQueueWaitMillis = new AtomicLong();
+    private final AtomicLong maxQueueWaitMillis = new AtomicLong();
+    private final AtomicLong totalRunMillis = new AtomicLong();
+    private final AtomicLong maxRunMillis = new AtomicLong();
+
+    /**
+     * Work of a tenant, run as system of the tenant.
+     */
+    @FunctionalInterface
+    public interface Work {
+
+        /**
+         * @return <code>true</code> if the work has been finished,
+         *         <code>false</code> if it has to be continued with the next
+         *         turn of its tenant
+         */
+        boolean run();
+    }
+
+    /**
+     * Constructor, starts the workers.
+     *
+     * @param name
+     *            of the pool, the names of the worker threads start with
+     * @param systemSecurityContext
+     *            to run the work as system of its tenant
+     * @param threads
+     *            number of workers
+     * @param virtualThreads
+     *            <code>true</code> to run the workers on virtual threads if
+     *            the runtime supports them
+     */
+    public TenantWorkerPool(final String name, final SystemSecurityContext systemSecurityContext, final int threads,
+            final boolean virtualThreads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one " + name + " worker is required, got " + threads);
+        }
+        this.name = name;
+        this.systemSecurityContext = systemSecurityContext;
+
+        final String threadNamePrefix = name + "-worker-";
+        final ThreadFactory threadFactory = virtualThreads ? virtualThreadFactory(threadNamePrefix)
+                : platformThreadFactory(threadNamePrefix);
+        final List<Thread> threadList = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            final Thread worker = threadFactory.newThread(this::work);
+            threadList.add(worker);
+            worker.start();
+        }
+        workers = Collections.unmodifiableList(threadList);
+    }
+
+    /**
+     * Queues the work to be run as soon as a worker is available and it is the
+     * turn of the tenant.
+     *
+     * @param tenant
+     *            to run the work for
+     * @param key
+     *            of the work, unique per tenant, e.g. the ID of a rollout
+     * @param work
+     *            to run
+     * @return <code>false</code> if work of the key is queued or running
+     *         already or the pool has been shut down
+     */
+    public boolean submit(final String tenant, final Object key, final Work work) {
+        final Task task = new Task(tenant, key, work);
+        lock.lock();
+        try {
+            if (shutdown || !scheduled.add(task)) {
+                return false;
+            }
+            queue(task);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops the workers once they have run their current work, the queued
+     * work is dropped.
+     */
+    public void shutdown() {
+        lock.lock();
+        try {
+            shutdown = true;
+            queues.clear();
+            queued.set(0);
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of workers
+     */
+    public int getThreads() {
+        return workers.size();
+    }
+
+    /**
+     * @return a snapshot of the current {@link Statistics}
+     */
+    public Statistics getStatistics() {
+        return new Statistics(queued.get(), running.get(), runs.get(), failed.get(), continued.get(),
+                totalQueueWaitMillis.get(), maxQueueWaitMillis.get(), totalRunMillis.get(), maxRunMillis.get());
+    }
+
+    // has to be called with the lock held
+    private void queue(final Task task) {
+        task.queuedAt = System.nanoTime();
+        queues.computeIfAbsent(task.tenant, key -> new ArrayDeque<>()).addLast(task);
+        queued.incrementAndGet();
+        available.signal();
+    }
+
+    private void work() {
+        try {
+            Task task;
+            while ((task = take()) != null) {
+                run(task);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Task take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (queues.isEmpty()) {
+                if (shutdown) {
+                    return null;
+                }
+                available.await();
+            }
+
+            final String tenant = queues.keySet().iterator().next();
+            final Deque<Task> tasks = queues.remove(tenant);
+            final Task task = tasks.pollFirst();
+            // the tenant has to wait for its next turn
+            if (!tasks.isEmpty()) {
+                queues.put(tenant, tasks);
+            }
+            queued.decrementAndGet();
+            return task;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @SuppressWarnings("squid:S1181")
+    private void run(final Task task) {
+        final long start = System.nanoTime();
+        final long queueWait = TimeUnit.NANOSECONDS.toMillis(start - task.queuedAt);
+        boolean finished = true;
+        running.incrementAndGet();
+        try {
+            finished = systemSecurityContext.runAsSystemAsTenant(task.work::run, task.tenant);
+        } catch (final Throwable e) {
+            // the worker has to survive errors as well, otherwise the pool
+            // would shrink with every failed work
+            failed.incrementAndGet();
+            LOGGER.error("The {} work {} of tenant {} failed.", name, task.key, task.tenant, e);
+        } finally {
+            lock.lock();
+            try {
+                if (finished || shutdown) {
+                    scheduled.remove(task);
+                } else {
+                    // the tenant goes behind the other tenants for the rest
+                    queue(task);
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            final long runMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            running.decrementAndGet();
+            runs.incrementAndGet();
+            if (!finished) {
+                continued.incrementAndGet();
+            }
+            totalQueueWaitMillis.addAndGet(queueWait);
+            maxQueueWaitMillis.accumulateAndGet(queueWait, Math::max);
+            totalRunMillis.addAndGet(runMillis);
+            maxRunMillis.accumulateAndGet(runMillis, Math::max);
+            LOGGER.debug("Ran {} work {} of tenant {} in {} ms after {} ms in the queue{}.", name, task.key,
+                    task.tenant, runMillis, queueWait, finished ? "" : ", to be continued");
+        }
+    }
+
+    private static ThreadFactory platformThreadFactory(final String threadNamePrefix) {
+        return new ThreadFactoryBuilder().setNameFormat(threadNamePrefix + "%d").setDaemon(true).build();
+    }
+
+    // Thread.ofVirtual() is available as of Java 21 only
+    private static ThreadFactory virtualThreadFactory(final String threadNamePrefix) {
+        try {
+            final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            final Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builderType.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (final ReflectiveOperationException e) {
+            LOGGER.warn("Virtual threads are not supported by the runtime, {} workers run on platform threads.",
+                    threadNamePrefix);
+            return platformThreadFactory(threadNamePrefix);
+        }
+    }
+
+    /**
+     * A work of a tenant, equal to any other task with the same key.
+     */
+    private static final class Task {
+
+        private final String tenant;
+        private final Object key;
+        private final Work work;
+        // guarded by the lock of the pool
+        private long queuedAt;
+
+        private Task(final String tenant, final Object key, final Work work) {
+            this.tenant = tenant;
+            this.key = key;
+            this.work = work;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Task)) {
+                return false;
+            }
+            final Task other = (Task) obj;
+            return key.equals(other.key) && tenant.equals(other.tenant);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tenant, key);
+        }
+    }
+
+    /**
+     * Queue and run times of a {@link TenantWorkerPool}.
+     */
+    public static final class Statistics {
+
+        private final int queued;
+        private final int running;
+        private final long runs;
+        private final long failed;
+        private final long continued;
+        private final long totalQueueWaitMillis;
+        private final long maxQueueWaitMillis;
+        private final long totalRunMillis;
+        private final long maxRunMillis;
+
+        private Statistics(final int queued, final int running, final long runs, final long failed,
+                final long continued, final long totalQueueWaitMillis, final long maxQueueWaitMillis,
+                final long totalRunMillis, final long maxRunMillis) {
+            this.queued = queued;
+            this.running = running;
+            this.runs = runs;
+            this.failed = failed;
+            this.continued = continued;
+            this.totalQueueWaitMillis = totalQueueWaitMillis;
+            this.maxQueueWaitMillis = maxQueueWaitMillis;
+            this.totalRunMillis = totalRunMillis;
+            this.maxRunMillis = maxRunMillis;
+        }
+
+        /**
+         * @return number of work waiting for a worker
+         */
+        public int getQueued() {
+            return queued;
+        }
+
+        /**
+         * @return number of work currently running
+         */
+        public int getRunning() {
+            return running;
+        }
+
+        /**
+         * @return number of runs so far, including the failed ones and the
+         *         ones that have been continued
+         */
+        public long getRuns() {
+            return runs;
+        }
+
+        /**
+         * @return number of runs that failed
+         */
+        public long getFailed() {
+            return failed;
+        }
+
+        /**
+         * @return number of runs that have not finished their work, i.e. that
+         *         have been continued with the next turn of their tenant
+         */
+        public long getContinued() {
+            return continued;
+        }
+
+        /**
+         * @return sum of the times the runs waited for a worker
+         */
+        public long getTotalQueueWaitMillis() {
+            return totalQueueWaitMillis;
+        }
+
+        /**
+         * @return longest time a run waited for a worker
+         */
+        public long getMaxQueueWaitMillis() {
+            return maxQueueWaitMillis;
+        }
+
+        /**
+         * @return sum of the times of the runs
+         */
+        public long getTotalRunMillis() {
+            return totalRunMillis;
+        }
+
+        /**
+         * @return longest time of a run
+         */
+        public long getMaxRunMillis() {
+            return maxRunMillis;
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics [queued=" + queued + ", running=" + running + ", runs=" + runs + ", failed=" + failed
+                    + ", continued=" + continued + ", totalQueueWaitMillis=" + totalQueueWaitMillis
+                    + ", maxQueueWaitMillis=" + maxQueueWaitMillis + ", totalRunMillis=" + totalRunMillis
+                    + ", maxRunMillis=" + maxRunMillis + "]";
+        }
+    }
+}
@@ -97,6 +97,17 @@ public abstract class AbstractDsAssignmentStrategy {
      */
     abstract List<JpaTarget> findTargetsForAssignment(final List<String> controllerIDs, final long distributionSetId);
 
+    /**
+     * Find targets to be considered for assignment.
+     * 
+     * @param targetIds
+     *            IDs of the targets as provided by repository caller
+     * @param distributionSetId
+     *            to assign
+     * @return list of targets up to {@link Constants#MAX_ENTRIES_IN_STATEMENT}
+     */
+    abstract List<JpaTarget> findTargetsForAssignmentById(final List<Long> targetIds, final long distributionSetId);
+
     /**
      *
      * @param set
@@ -19,20 +19,21 @@ import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalUnit;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
-import java.util.concurrent.BlockingDeque;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.TreeMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.Query;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Root;
@@ -41,17 +42,17 @@ import jakarta.validation.constraints.NotNull;
 
 import org.eclipse.hawkbit.repository.ConfirmationManagement;
 import org.eclipse.hawkbit.repository.ControllerManagement;
+import org.eclipse.hawkbit.repository.ControllerPollStateCache;
 import org.eclipse.hawkbit.repository.EntityFactory;
-import org.eclipse.hawkbit.repository.MaintenanceScheduleHelper;
 import org.eclipse.hawkbit.repository.QuotaManagement;
 import org.eclipse.hawkbit.repository.RepositoryConstants;
 import org.eclipse.hawkbit.repository.RepositoryProperties;
-import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
 import org.eclipse.hawkbit.repository.TargetTypeManagement;
 import org.eclipse.hawkbit.repository.UpdateMode;
 import org.eclipse.hawkbit.repository.builder.ActionStatusCreate;
 import org.eclipse.hawkbit.repository.event.remote.CancelTargetAssignmentEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetAttributesRequestedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetPollBatchEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
 import org.eclipse.hawkbit.repository.exception.CancelActionNotAllowedException;
 import org.eclipse.hawkbit.repository.exception.EntityAlreadyExistsException;
@@ -68,6 +69,10 @@ import org.eclipse.hawkbit.repository.jpa.model.JpaAction_;
 import org.eclipse.hawkbit.repository.jpa.model.JpaDistributionSet;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTarget_;
+import org.eclipse.hawkbit.repository.jpa.poll.ControllerPollConfigCache;
+import org.eclipse.hawkbit.repository.jpa.poll.ControllerPollConfigSnapshot;
+import org.eclipse.hawkbit.repository.jpa.poll.ControllerPollProjection;
+import org.eclipse.hawkbit.repository.jpa.poll.PollStateStore;
 import org.eclipse.hawkbit.repository.jpa.repository.ActionRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.ActionStatusRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.SoftwareModuleMetadataRepository;
@@ -81,10 +86,12 @@ import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.Status;
 import org.eclipse.hawkbit.repository.model.ActionStatus;
 import org.eclipse.hawkbit.repository.model.AutoConfirmationStatus;
+import org.eclipse.hawkbit.repository.model.ControllerPollState;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.SoftwareModuleMetadata;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetRegistration;
 import org.eclipse.hawkbit.repository.model.TargetType;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
 import org.eclipse.hawkbit.repository.model.helper.EventPublisherHolder;
@@ -106,14 +113,12 @@ import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.support.TransactionCallback;
 import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
 
 /**
  * JPA based {@link ControllerManagement} implementation.
@@ -124,7 +129,7 @@ import com.google.common.collect.Sets;
 public class JpaControllerManagement extends JpaActionManagement implements ControllerManagement {
     private static final Logger LOG = LoggerFactory.getLogger(JpaControllerManagement.class);
 
-    private final BlockingDeque<TargetPoll> queue;
+    private final PollStateStore pollStateStore;
 
     @Autowired
     private EntityManager entityManager;
@@ -136,10 +141,10 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
     private SoftwareModuleRepository softwareModuleRepository;
 
     @Autowired
-    private TenantConfigurationManagement tenantConfigurationManagement;
+    private SystemSecurityContext systemSecurityContext;
 
     @Autowired
-    private SystemSecurityContext systemSecurityContext;
+    private ControllerPollConfigCache pollConfigCache;
 
     @Autowired
     private EntityFactory entityFactory;
@@ -165,26 +170,29 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
     @Autowired
     private TargetTypeManagement targetTypeManagement;
 
+    @Autowired(required = false)
+    private ControllerPollStateCache pollStateCache;
+
     public JpaControllerManagement(final ScheduledExecutorService executorService,
                                    final ActionRepository actionRepository, final ActionStatusRepository actionStatusRepository,
-                                   final QuotaManagement quotaManagement, final RepositoryProperties repositoryProperties) {
+                                   final QuotaManagement quotaManagement, final RepositoryProperties repositoryProperties,
+                                   final PollStateStore pollStateStore) {
         super(actionRepository, actionStatusRepository, quotaManagement, repositoryProperties);
 
         if (!repositoryProperties.isEagerPollPersistence()) {
-            executorService.scheduleWithFixedDelay(this::flushUpdateQueue,
+            executorService.scheduleWithFixedDelay(pollStateStore::flush,
                     repositoryProperties.getPollPersistenceFlushTime(),
                     repositoryProperties.getPollPersistenceFlushTime(), TimeUnit.MILLISECONDS);
 
-            queue = new LinkedBlockingDeque<>(repositoryProperties.getPollPersistenceQueueSize());
+            this.pollStateStore = pollStateStore;
         } else {
-            queue = null;
+            this.pollStateStore = null;
         }
     }
 
     @Override
     public String getPollingTime() {
-        return systemSecurityContext.runAsSystem(() -> tenantConfigurationManagement
-                .getConfigurationValue(TenantConfigurationKey.POLLING_TIME_INTERVAL, String.class).getValue());
+        return pollConfigCache.get().getPollingTime();
     }
 
     /**
@@ -194,8 +202,7 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
      */
     @Override
     public String getMinPollingTime() {
-        return systemSecurityContext.runAsSystem(() -> tenantConfigurationManagement
-                .getConfigurationValue(TenantConfigurationKey.MIN_POLLING_TIME_INTERVAL, String.class).getValue());
+        return pollConfigCache.get().getMinPollingTime();
     }
 
     /**
@@ -207,21 +214,22 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
      */
     @Override
     public int getMaintenanceWindowPollCount() {
-        return systemSecurityContext.runAsSystem(() -> tenantConfigurationManagement
-                .getConfigurationValue(TenantConfigurationKey.MAINTENANCE_WINDOW_POLL_COUNT, Integer.class).getValue());
+        return pollConfigCache.get().getMaintenanceWindowPollCount();
     }
 
     @Override
     public String getPollingTimeForAction(final long actionId) {
+        return getPollingTimeForAction(getActionAndThrowExceptionIfNotFound(actionId));
+    }
 
-        final JpaAction action = getActionAndThrowExceptionIfNotFound(actionId);
-
+    private String getPollingTimeForAction(final JpaAction action) {
+        final ControllerPollConfigSnapshot pollConfig = pollConfigCache.get();
         if (!action.hasMaintenanceSchedule() || action.isMaintenanceScheduleLapsed()) {
-            return getPollingTime();
+            return pollConfig.getPollingTime();
         }
 
-        return new EventTimer(getPollingTime(), getMinPollingTime(), ChronoUnit.SECONDS)
-                .timeToNextEvent(getMaintenanceWindowPollCount(), action.getMaintenanceWindowStartTime().orElse(null));
+        return new EventTimer(pollConfig, ChronoUnit.SECONDS).timeToNextEvent(
+                pollConfig.getMaintenanceWindowPollCount(), action.getMaintenanceWindowStartTime().orElse(null));
     }
 
     /**
@@ -244,21 +252,20 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
         /**
          * Constructor.
          *
-         * @param defaultEventInterval
-         *            default timer value to use for interval between events.
-         *            This puts an upper bound for the timer value
-         * @param minimumEventInterval
-         *            for loading {@link DistributionSet#getModules()}. This
+         * @param pollConfig
+         *            providing the polling time as default timer value to use
+         *            for interval between events, which puts an upper bound
+         *            for the timer value, and the minimum polling time, which
          *            puts a lower bound to the timer value
          * @param timeUnit
          *            representing the unit of time to be used for timer.
          */
-        EventTimer(final String defaultEventInterval, final String minimumEventInterval, final TemporalUnit timeUnit) {
-            this.defaultEventInterval = defaultEventInterval;
-            this.defaultEventIntervalDuration = MaintenanceScheduleHelper.convertToISODuration(defaultEventInterval);
+        EventTimer(final ControllerPollConfigSnapshot pollConfig, final TemporalUnit timeUnit) {
+            this.defaultEventInterval = pollConfig.getPollingTime();
+            this.defaultEventIntervalDuration = pollConfig.getPollingTimeDuration();
 
-            this.minimumEventInterval = minimumEventInterval;
-            this.minimumEventIntervalDuration = MaintenanceScheduleHelper.convertToISODuration(minimumEventInterval);
+            this.minimumEventInterval = pollConfig.getMinPollingTime();
+            this.minimumEventIntervalDuration = pollConfig.getMinPollingTimeDuration();
 
             this.timeUnit = timeUnit;
         }
@@ -404,165 +411,298 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
                 .orElseGet(() -> createTarget(controllerId, address, name, type));
     }
 
-    private Target createTarget(final String controllerId, final URI address, final String name, final String type) {
-
-        LOG.debug("Creating target for thing ID \"{}\".", controllerId);
-        JpaTarget jpaTarget = (JpaTarget) entityFactory.target().create()
-                .controllerId(controllerId).description("Plug and Play target: " + controllerId)
-                .name((StringUtils.hasText(name) ? name : controllerId)).status(TargetUpdateStatus.REGISTERED)
-                .lastTargetQuery(System.currentTimeMillis())
-                .address(Optional.ofNullable(address).map(URI::toString).orElse(null)).build();
-
-        if (StringUtils.hasText(type)) {
-            var targetTypeOptional = getTargetType(type);
-            if (targetTypeOptional.isPresent()) {
-                LOG.debug("Setting target type for thing ID \"{}\" to \"{}\".", controllerId, type);
-                jpaTarget.setTargetType(targetTypeOptional.get());
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    @Retryable(include = ConcurrencyFailureException.class, exclude = EntityAlreadyExistsException.class, maxAttempts = Constants.TX_RT_MAX, backoff = @Backoff(delay = Constants.TX_RT_DELAY))
+    public List<Target> findOrRegisterTargets(final Collection<TargetRegistration> registrations) {
+        // the last registration of a controller wins, the order of the first
+        // is kept
+        final Map<String, TargetRegistration> registrationsById = new LinkedHashMap<>();
+        registrations.forEach(registration -> registrationsById.put(registration.getControllerId(), registration));
+
+        final Map<String, JpaTarget> existingTargets = Lists
+                .partition(new ArrayList<>(registrationsById.keySet()), Constants.MAX_ENTRIES_IN_STATEMENT).stream()
+                .flatMap(ids -> targetRepository.findAll(TargetSpecifications.hasControllerIdIn(ids)).stream())
+                .collect(Collectors.toMap(JpaTarget::getControllerId, Function.identity(), (first, same) -> first));
+        // depending on its collation the database matches the controller IDs
+        // case-insensitively, i.e. a target might have been found with an ID
+        // that differs in case from the registered one, or once per chunk of
+        // IDs if the registered IDs differ in case only
+        final Map<String, JpaTarget> existingTargetsIgnoreCase = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        existingTargets.values()
+                .forEach(target -> existingTargetsIgnoreCase.putIfAbsent(target.getControllerId(), target));
+
+        final long pollTime = System.currentTimeMillis();
+        final List<JpaTarget> targets = new ArrayList<>(registrationsById.size());
+        final List<JpaTarget> toStore = new ArrayList<>();
+        registrationsById.values().forEach(registration -> {
+            final JpaTarget existing = Optional.ofNullable(existingTargets.get(registration.getControllerId()))
+                    .orElseGet(() -> existingTargetsIgnoreCase.get(registration.getControllerId()));
+            if (existing == null) {
+                final JpaTarget created = buildTarget(registration.getControllerId(), registration.getAddress(),
+                        registration.getName(), registration.getType());
+                toStore.add(created);
+                targets.add(created);
             } else {
-                LOG.error("Target type with the provided name \"{}\" was not found. Creating target for thing ID" +
-                        " \"{}\" without target type assignment", type, controllerId);
+                if (isTargetToStore(existing, registration.getAddress(), registration.getName(),
+                        registration.getType(), pollTime)) {
+                    applyTargetUpdate(existing, registration.getAddress(), registration.getName(),
+                            registration.getType(), pollTime);
+                    toStore.add(existing);
+                }
+                targets.add(existing);
             }
+        });
+
+        if (!toStore.isEmpty()) {
+            targetRepository.saveAll(toStore);
+            publishTargetPollBatchEvents(toStore);
         }
 
-        final Target result = targetRepository.save(jpaTarget);
+        return Collections.unmodifiableList(targets);
+    }
 
-        afterCommit.afterCommit(() -> eventPublisherHolder.getEventPublisher()
-                .publishEvent(new TargetPollEvent(result, eventPublisherHolder.getApplicationId())));
+    private void publishTargetPollBatchEvents(final List<JpaTarget> polledTargets) {
+        final String tenant = tenantAware.getCurrentTenant();
+        Lists.partition(polledTargets, repositoryProperties.getPollPersistenceBatchSize()).forEach(batch -> {
+            final List<String> controllerIds = batch.stream().map(JpaTarget::getControllerId)
+                    .collect(Collectors.toList());
+            afterCommit.afterCommit(() -> eventPublisherHolder.getEventPublisher().publishEvent(
+                    new TargetPollBatchEvent(tenant, eventPublisherHolder.getApplicationId(), controllerIds)));
+        });
+    }
 
-        return result;
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Retryable(include = ConcurrencyFailureException.class, exclude = EntityAlreadyExistsException.class, maxAttempts = Constants.TX_RT_MAX, backoff = @Backoff(delay = Constants.TX_RT_DELAY))
+    public ControllerPollState findOrRegisterPollState(final String controllerId, final URI address) {
+        return findOrRegisterPollState(controllerId, address, true);
     }
 
-    Optional<TargetType> getTargetType(String targetTypeName) {
-        return systemSecurityContext.runAsSystem(() -> targetTypeManagement.getByName(targetTypeName));
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Retryable(include = ConcurrencyFailureException.class, exclude = EntityAlreadyExistsException.class, maxAttempts = Constants.TX_RT_MAX, backoff = @Backoff(delay = Constants.TX_RT_DELAY))
+    public ControllerPollState refreshPollState(final String controllerId, final URI address) {
+        return findOrRegisterPollState(controllerId, address, false);
     }
 
-    /**
-     * Flush the update queue by means to persisting
-     * {@link Target#getLastTargetQuery()}.
-     */
-    private void flushUpdateQueue() {
-        LOG.debug("Run flushUpdateQueue.");
+    private ControllerPollState findOrRegisterPollState(final String controllerId, final URI address,
+            final boolean useCache) {
+        if (useCache && isPollStateCacheActive()) {
+            final long cacheStamp = pollStateCache.stamp();
+            final Optional<ControllerPollState> cached = pollStateCache.get(controllerId)
+                    .filter(state -> address != null && address.toString().equals(state.getAddress()));
+            // the poll itself is still recorded, only the repository access is saved
+            if (cached.isPresent() && recordCachedPoll(cached.get(), cacheStamp)) {
+                return cached.get();
+            }
+        }
 
-        final int size = queue.size();
-        if (size <= 0) {
-            return;
+        final long stamp = isPollStateCacheActive() ? pollStateCache.stamp() : 0;
+        final ControllerPollState state = DeploymentHelper.runInNewTransaction(txManager, "findOrRegisterPollState",
+                Isolation.READ_COMMITTED.value(), status -> readPollState(controllerId, address));
+
+        if (isPollStateCacheActive()) {
+            pollStateCache.put(state, stamp);
         }
 
-        LOG.debug("{} events in flushUpdateQueue.", size);
+        return state;
+    }
 
-        final Set<TargetPoll> events = Sets.newHashSetWithExpectedSize(queue.size());
-        final int drained = queue.drainTo(events);
+    private ControllerPollState readPollState(final String controllerId, final URI address) {
+        final List<ControllerPollProjection> projection = targetRepository
+                .findPollProjectionByControllerId(controllerId, FINISHED);
+        if (!projection.isEmpty() && isPollStateReadOnly(controllerId, projection.get(0), address)) {
+            return toPollState(controllerId, projection);
+        }
 
-        if (drained <= 0) {
-            return;
+        // registration or update of the target necessary
+        final JpaTarget target = (JpaTarget) findOrRegisterTargetIfItDoesNotExist(controllerId, address, null, null);
+        if (target.getId() == null) {
+            // identity of a newly registered target is assigned on flush
+            entityManager.flush();
         }
 
-        try {
-            events.stream().collect(Collectors.groupingBy(TargetPoll::getTenant)).forEach((tenant, polls) -> {
-                final TransactionCallback<Void> createTransaction = status -> updateLastTargetQueries(tenant, polls);
-                tenantAware.runAsTenant(tenant,
-                        () -> DeploymentHelper.runInNewTransaction(txManager, "flushUpdateQueue", createTransaction));
-            });
-        } catch (final RuntimeException ex) {
-            LOG.error("Failed to persist UpdateQueue content.", ex);
-            return;
+        final JpaAction activeAction = (JpaAction) findActiveActionWithHighestWeight(controllerId).orElse(null);
+        final Action installedAction = findInstalledAction(target).orElse(null);
+        final String pollingTime = activeAction != null ? getPollingTimeForAction(activeAction) : getPollingTime();
+
+        return new ControllerPollState(target, activeAction, installedAction, pollingTime);
+    }
+
+    /**
+     * The poll state can be served from the projection if the target does not
+     * need to be updated, i.e. its address and status are unchanged and the
+     * poll is either not persisted at all or deferred to the
+     * {@link PollStateStore}.
+     */
+    private boolean isPollStateReadOnly(final String controllerId, final ControllerPollProjection target,
+            final URI address) {
+        if (isAddressChanged(target.getAddressAsUri(), address) || isStatusUnknown(target.getUpdateStatus())) {
+            return false;
         }
 
-        LOG.debug("{} events persisted.", drained);
+        final long pollTime = System.currentTimeMillis();
+        return !isPollToPersist(target.getLastTargetQuery(), pollTime)
+                || (!repositoryProperties.isEagerPollPersistence()
+                        && pollStateStore.offer(tenantAware.getCurrentTenant(), controllerId, pollTime));
     }
 
-    private Void updateLastTargetQueries(final String tenant, final List<TargetPoll> polls) {
-        LOG.debug("Persist {} targetqueries.", polls.size());
+    private ControllerPollState toPollState(final String controllerId,
+            final List<ControllerPollProjection> projection) {
+        final ControllerPollProjection target = projection.get(0);
+        final Comparator<ControllerPollProjection> actionImportance = Comparator
+                .comparingInt((ControllerPollProjection row) -> Optional.ofNullable(row.getWeight())
+                        .orElse(repositoryProperties.getActionWeightIfAbsent()))
+                .reversed().thenComparing(ControllerPollProjection::getActionId);
+        final JpaAction activeAction = projection.stream().filter(row -> row.getActionId() != null)
+                .min(actionImportance).map(ControllerPollProjection::toAction).orElse(null);
+        final String pollingTime = activeAction != null ? getPollingTimeForAction(activeAction) : getPollingTime();
+
+        return new ControllerPollState(target.getTargetId(), controllerId, target.getAddress(),
+                target.getTargetOptLockRevision(), target.isRequestControllerAttributes(),
+                target.getLastTargetQuery(), activeAction, target.getInstalledActionId(), pollingTime);
+    }
 
-        final List<List<String>> pollChunks = Lists.partition(
-                polls.stream().map(TargetPoll::getControllerId).collect(Collectors.toList()),
-                Constants.MAX_ENTRIES_IN_STATEMENT);
+    private boolean recordCachedPoll(final ControllerPollState state, final long cacheStamp) {
+        final long pollTime = System.currentTimeMillis();
+        if (!isPollToPersist(state.getLastTargetQuery(), pollTime)) {
+            return true;
+        }
 
-        pollChunks.forEach(chunk -> {
-            setLastTargetQuery(tenant, System.currentTimeMillis(), chunk);
-            chunk.forEach(controllerId -> afterCommit.afterCommit(() -> eventPublisherHolder.getEventPublisher()
-                    .publishEvent(new TargetPollEvent(controllerId, tenant, eventPublisherHolder.getApplicationId()))));
-        });
+        if (!pollStateStore.offer(tenantAware.getCurrentTenant(), state.getControllerId(), pollTime)) {
+            return false;
+        }
 
-        return null;
+        // prevents further writes of this target within the resolution
+        pollStateCache.put(state.withLastTargetQuery(pollTime), cacheStamp);
+        return true;
     }
 
     /**
-     * Sets {@link Target#getLastTargetQuery()} by native SQL in order to avoid
-     * raising opt lock revision as this update is not mission critical and in
-     * fact only written by {@link ControllerManagement}, i.e. the target
-     * itself.
+     * Polls are persisted only if the persisted poll is older than the
+     * configured resolution. As the resolution is capped by the polling
+     * overdue time, the overdue state of the target is not affected.
      */
-    private void setLastTargetQuery(final String tenant, final long currentTimeMillis, final List<String> chunk) {
-        final Map<String, String> paramMapping = Maps.newHashMapWithExpectedSize(chunk.size());
-
-        for (int i = 0; i < chunk.size(); i++) {
-            paramMapping.put("cid" + i, chunk.get(i));
+    private boolean isPollToPersist(final Long lastTargetQuery, final long pollTime) {
+        final long resolution = repositoryProperties.getPollPersistenceResolution();
+        if (resolution <= 0 || lastTargetQuery == null) {
+            return true;
         }
 
-        final Query updateQuery = entityManager.createNativeQuery(
-                "UPDATE sp_target SET last_target_query = #last_target_query WHERE controller_id IN ("
-                        + formatQueryInStatementParams(paramMapping.keySet()) + ") AND tenant = #tenant");
+        final long overdueTime = pollConfigCache.get().getOverdueTimeDuration().toMillis();
+
+        return pollTime - lastTargetQuery >= Math.min(resolution, overdueTime);
+    }
+
+    private boolean isPollStateCacheActive() {
+        return pollStateCache != null && pollStateStore != null && repositoryProperties.isPollStateCacheEnabled();
+    }
 
-        paramMapping.forEach(updateQuery::setParameter);
-        updateQuery.setParameter("last_target_query", currentTimeMillis);
-        updateQuery.setParameter("tenant", tenant);
+    private Target createTarget(final String controllerId, final URI address, final String name, final String type) {
+        final Target result = targetRepository.save(buildTarget(controllerId, address, name, type));
 
-        final int updated = updateQuery.executeUpdate();
-        if (updated < chunk.size()) {
-            LOG.error("Targets polls could not be applied completely ({} instead of {}).", updated, chunk.size());
+        afterCommit.afterCommit(() -> eventPublisherHolder.getEventPublisher()
+                .publishEvent(new TargetPollEvent(result, eventPublisherHolder.getApplicationId())));
+
+        return result;
+    }
+
+    private JpaTarget buildTarget(final String controllerId, final URI address, final String name,
+            final String type) {
+
+        LOG.debug("Creating target for thing ID \"{}\".", controllerId);
+        final JpaTarget jpaTarget = (JpaTarget) entityFactory.target().create()
+                .controllerId(controllerId).description("Plug and Play target: " + controllerId)
+                .name((StringUtils.hasText(name) ? name : controllerId)).status(TargetUpdateStatus.REGISTERED)
+                .lastTargetQuery(System.currentTimeMillis())
+                .address(Optional.ofNullable(address).map(URI::toString).orElse(null)).build();
+
+        if (StringUtils.hasText(type)) {
+            var targetTypeOptional = getTargetType(type);
+            if (targetTypeOptional.isPresent()) {
+                LOG.debug("Setting target type for thing ID \"{}\" to \"{}\".", controllerId, type);
+                jpaTarget.setTargetType(targetTypeOptional.get());
+            } else {
+                LOG.error("Target type with the provided name \"{}\" was not found. Creating target for thing ID" +
+                        " \"{}\" without target type assignment", type, controllerId);
+            }
         }
+
+        return jpaTarget;
     }
 
-    private static String formatQueryInStatementParams(final Collection<String> paramNames) {
-        return "#" + String.join(",#", paramNames);
+    Optional<TargetType> getTargetType(String targetTypeName) {
+        return systemSecurityContext.runAsSystem(() -> targetTypeManagement.getByName(targetTypeName));
     }
 
     /**
      * Stores target directly to DB in case either {@link Target#getAddress()}
      * or {@link Target#getUpdateStatus()} or {@link Target#getName()} changes
-     * or the buffer queue is full.
+     * or the {@link PollStateStore} is full.
      *
      */
     private Target updateTarget(final JpaTarget toUpdate, final URI address, final String name, final String type) {
-        if (isStoreEager(toUpdate, address, name, type) || !queue.offer(new TargetPoll(toUpdate))) {
-            if (isAddressChanged(toUpdate.getAddress(), address)) {
-                toUpdate.setAddress(address.toString());
-            }
-            if (isNameChanged(toUpdate.getName(), name)) {
-                toUpdate.setName(name);
-            }
+        final long pollTime = System.currentTimeMillis();
+        if (!isTargetToStore(toUpdate, address, name, type, pollTime)) {
+            return toUpdate;
+        }
+
+        applyTargetUpdate(toUpdate, address, name, type, pollTime);
+        afterCommit.afterCommit(() -> eventPublisherHolder.getEventPublisher()
+                .publishEvent(new TargetPollEvent(toUpdate, eventPublisherHolder.getApplicationId())));
+        return targetRepository.save(toUpdate);
+    }
+
+    private boolean isTargetToStore(final JpaTarget toUpdate, final URI address, final String name,
+            final String type, final long pollTime) {
+        if (!isTargetChanged(toUpdate, address, name, type)
+                && !isPollToPersist(toUpdate.getLastTargetQuery(), pollTime)) {
+            return false;
+        }
+
+        return isStoreEager(toUpdate, address, name, type)
+                || !pollStateStore.offer(toUpdate.getTenant(), toUpdate.getControllerId(), pollTime);
+    }
 
-            if (isTypeChanged(toUpdate.getTargetType(), type)) {
-                if (StringUtils.hasText(type)) {
-                    var targetTypeOptional = getTargetType(type);
-                    if (targetTypeOptional.isPresent()) {
-                        LOG.debug("Updating target type for thing ID \"{}\" to \"{}\".", toUpdate.getControllerId(), type);
-                        toUpdate.setTargetType(targetTypeOptional.get());
-                    } else {
-                        LOG.error("Target type with the provided name \"{}\" was not found. Target type for thing ID" +
-                                " \"{}\" will not be updated", type, toUpdate.getControllerId());
-                    }
+    private void applyTargetUpdate(final JpaTarget toUpdate, final URI address, final String name,
+            final String type, final long pollTime) {
+        if (isAddressChanged(toUpdate.getAddress(), address)) {
+            toUpdate.setAddress(address.toString());
+        }
+        if (isNameChanged(toUpdate.getName(), name)) {
+            toUpdate.setName(name);
+        }
+
+        if (isTypeChanged(toUpdate.getTargetType(), type)) {
+            if (StringUtils.hasText(type)) {
+                var targetTypeOptional = getTargetType(type);
+                if (targetTypeOptional.isPresent()) {
+                    LOG.debug("Updating target type for thing ID \"{}\" to \"{}\".", toUpdate.getControllerId(), type);
+                    toUpdate.setTargetType(targetTypeOptional.get());
                 } else {
-                    LOG.debug("Removing target type assignment for thing ID \"{}\".", toUpdate.getControllerId());
-                    toUpdate.setTargetType(null); //unassign target type if "" target type name was provided
+                    LOG.error("Target type with the provided name \"{}\" was not found. Target type for thing ID" +
+                            " \"{}\" will not be updated", type, toUpdate.getControllerId());
                 }
+            } else {
+                LOG.debug("Removing target type assignment for thing ID \"{}\".", toUpdate.getControllerId());
+                toUpdate.setTargetType(null); //unassign target type if "" target type name was provided
             }
-            if (isStatusUnknown(toUpdate.getUpdateStatus())) {
-                toUpdate.setUpdateStatus(TargetUpdateStatus.REGISTERED);
-            }
-            toUpdate.setLastTargetQuery(System.currentTimeMillis());
-            afterCommit.afterCommit(() -> eventPublisherHolder.getEventPublisher()
-                    .publishEvent(new TargetPollEvent(toUpdate, eventPublisherHolder.getApplicationId())));
-            return targetRepository.save(toUpdate);
         }
-        return toUpdate;
+        if (isStatusUnknown(toUpdate.getUpdateStatus())) {
+            toUpdate.setUpdateStatus(TargetUpdateStatus.REGISTERED);
+        }
+        toUpdate.setLastTargetQuery(pollTime);
     }
 
     private boolean isStoreEager(final JpaTarget toUpdate, final URI address, final String name, final String type) {
-        return repositoryProperties.isEagerPollPersistence() || isAddressChanged(toUpdate.getAddress(), address)
-                || isNameChanged(toUpdate.getName(), name) || isTypeChanged(toUpdate.getTargetType(), type)
-                || isStatusUnknown(toUpdate.getUpdateStatus());
+        return repositoryProperties.isEagerPollPersistence() || isTargetChanged(toUpdate, address, name, type);
+    }
+
+    private static boolean isTargetChanged(final JpaTarget toUpdate, final URI address, final String name,
+            final String type) {
+        return isAddressChanged(toUpdate.getAddress(), address) || isNameChanged(toUpdate.getName(), name)
+                || isTypeChanged(toUpdate.getTargetType(), type) || isStatusUnknown(toUpdate.getUpdateStatus());
     }
 
     private static boolean isAddressChanged(final URI addressToUpdate, final URI address) {
@@ -950,64 +1090,6 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
                         Collectors.mapping(o -> (SoftwareModuleMetadata) o[1], Collectors.toList())));
     }
 
-    private static class TargetPoll {
-
-        private final String tenant;
-        private final String controllerId;
-
-        TargetPoll(final Target target) {
-            this.tenant = target.getTenant();
-            this.controllerId = target.getControllerId();
-        }
-
-        public String getTenant() {
-            return tenant;
-        }
-
-        public String getControllerId() {
-            return controllerId;
-        }
-
-        @Override
-        public int hashCode() {
-            final int prime = 31;
-            int result = 1;
-            result = prime * result + (controllerId == null ? 0 : controllerId.hashCode());
-            result = prime * result + (tenant == null ? 0 : tenant.hashCode());
-            return result;
-        }
-
-        @Override
-        public boolean equals(final Object obj) {
-            if (this == obj) {
-                return true;
-            }
-            if (obj == null) {
-                return false;
-            }
-            if (getClass() != obj.getClass()) {
-                return false;
-            }
-            final TargetPoll other = (TargetPoll) obj;
-            if (controllerId == null) {
-                if (other.controllerId != null) {
-                    return false;
-                }
-            } else if (!controllerId.equals(other.controllerId)) {
-                return false;
-            }
-            if (tenant == null) {
-                if (other.tenant != null) {
-                    return false;
-                }
-            } else if (!tenant.equals(other.tenant)) {
-                return false;
-            }
-            return true;
-        }
-
-    }
-
     /**
      * Cancels given {@link Action} for this {@link Target}. The method will
      * immediately add a {@link Status#CANCELED} status to the action. However,
@@ -1079,6 +1161,10 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
         final JpaTarget jpaTarget = targetRepository.findOne(TargetSpecifications.hasControllerId(controllerId))
                 .orElseThrow(() -> new EntityNotFoundException(Target.class, controllerId));
 
+        return findInstalledAction(jpaTarget);
+    }
+
+    private Optional<Action> findInstalledAction(final JpaTarget jpaTarget) {
         final JpaDistributionSet installedDistributionSet = jpaTarget.getInstalledDistributionSet();
         if (null != installedDistributionSet) {
             return actionRepository.findFirstByTargetIdAndDistributionSetIdAndStatusOrderByIdDesc(jpaTarget.getId(),
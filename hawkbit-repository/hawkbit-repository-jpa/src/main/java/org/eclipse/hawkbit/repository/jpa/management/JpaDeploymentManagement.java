@@ -17,6 +17,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -64,6 +65,7 @@ import org.eclipse.hawkbit.repository.jpa.repository.ActionRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.ActionStatusRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.DistributionSetRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.TargetRepository;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutGroupStatusCounters;
 import org.eclipse.hawkbit.repository.jpa.rsql.RSQLUtility;
 import org.eclipse.hawkbit.repository.jpa.specifications.ActionSpecifications;
 import org.eclipse.hawkbit.repository.jpa.specifications.TargetSpecifications;
@@ -79,6 +81,7 @@ import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.DistributionSetAssignmentResult;
 import org.eclipse.hawkbit.repository.model.DistributionSetInvalidation.CancelationType;
 import org.eclipse.hawkbit.repository.model.DistributionSetType;
+import org.eclipse.hawkbit.repository.model.RepositoryModelConstants;
 import org.eclipse.hawkbit.repository.model.SoftwareModuleType;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.TargetType;
@@ -156,6 +159,8 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
     private final TenantAware tenantAware;
     private final Database database;
     private final RetryTemplate retryTemplate;
+    private final AfterTransactionCommitExecutor afterCommit;
+    private final RolloutGroupStatusCounters rolloutGroupStatusCounters;
 
     public JpaDeploymentManagement(final EntityManager entityManager, final ActionRepository actionRepository,
             final DistributionSetManagement distributionSetManagement,
@@ -165,7 +170,8 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
             final VirtualPropertyReplacer virtualPropertyReplacer, final PlatformTransactionManager txManager,
             final TenantConfigurationManagement tenantConfigurationManagement, final QuotaManagement quotaManagement,
             final SystemSecurityContext systemSecurityContext, final TenantAware tenantAware, final Database database,
-            final RepositoryProperties repositoryProperties) {
+            final RepositoryProperties repositoryProperties,
+            final RolloutGroupStatusCounters rolloutGroupStatusCounters) {
         super(actionRepository, actionStatusRepository, quotaManagement, repositoryProperties);
         this.entityManager = entityManager;
         this.distributionSetRepository = distributionSetRepository;
@@ -185,6 +191,8 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
         this.tenantAware = tenantAware;
         this.database = database;
         this.retryTemplate = createRetryTemplate();
+        this.afterCommit = afterCommit;
+        this.rolloutGroupStatusCounters = rolloutGroupStatusCounters;
     }
 
     @Override
@@ -218,6 +226,48 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
         return assignDistributionSets(initiatedBy, deploymentRequests, actionMessage, onlineDsAssignmentStrategy);
     }
 
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public DistributionSetAssignmentResult assignDistributionSetToTargetIds(final String initiatedBy,
+            final long distributionSetId, final Collection<Long> targetIds, final ActionType actionType,
+            final Integer weight, final boolean confirmationRequired, final String actionMessage) {
+        WeightValidationHelper.usingContext(systemSecurityContext, tenantConfigurationManagement)
+                .validateWeight(weight);
+        final List<Long> distinctTargetIds = targetIds.stream().distinct().toList();
+        enforceMaxAssignmentsPerRequest(distinctTargetIds.size());
+        enforceMaxActionsPerTargetId(distinctTargetIds);
+
+        final DistributionSetAssignmentResult result = retryTemplate.execute(retryContext -> {
+            final JpaDistributionSet distributionSetEntity = (JpaDistributionSet) distributionSetManagement
+                    .getValidAndComplete(distributionSetId);
+            final Long distributionSetTypeId = distributionSetEntity.getType().getId();
+            final List<Long> existingTargetIds = Lists
+                    .partition(distinctTargetIds, Constants.MAX_ENTRIES_IN_STATEMENT).stream()
+                    .map(ids -> targetRepository.findAll(AccessController.Operation.UPDATE,
+                            JpaManagementHelper.combineWithAnd(List.of(TargetSpecifications.hasIdIn(ids),
+                                    TargetSpecifications.isCompatibleWithDistributionSetType(distributionSetTypeId)))))
+                    .flatMap(List::stream).map(JpaTarget::getId).toList();
+            final List<JpaTarget> targetEntities = onlineDsAssignmentStrategy
+                    .findTargetsForAssignmentById(existingTargetIds, distributionSetEntity.getId());
+            if (targetEntities.isEmpty()) {
+                return allTargetsAlreadyAssignedResult(distributionSetEntity, distinctTargetIds.size());
+            }
+
+            // the action of a target is matched by its controller ID, so the
+            // targets don't have to be looked up by their controller IDs again
+            final List<TargetWithActionType> targetsWithActionType = targetEntities.stream()
+                    .map(target -> new TargetWithActionType(target.getControllerId(), actionType,
+                            RepositoryModelConstants.NO_FORCE_TIME, weight, confirmationRequired))
+                    .toList();
+            final List<JpaAction> assignedActions = doAssignDistributionSetToTargets(initiatedBy,
+                    targetsWithActionType, actionMessage, onlineDsAssignmentStrategy, distributionSetEntity,
+                    targetEntities);
+            return buildAssignmentResult(distributionSetEntity, assignedActions, distinctTargetIds.size());
+        });
+        onlineDsAssignmentStrategy.sendDeploymentEvents(result);
+        return result;
+    }
+
     private List<DistributionSetAssignmentResult> assignDistributionSets(final String initiatedBy,
             final List<DeploymentRequest> deploymentRequests, final String actionMessage,
             final AbstractDsAssignmentStrategy strategy) {
@@ -470,6 +520,21 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
                 quota, Action.class, Target.class, actionRepository::countByTargetControllerId));
     }
 
+    private void enforceMaxActionsPerTargetId(final List<Long> targetIds) {
+        final int quota = quotaManagement.getMaxActionsPerTarget();
+        if (quota <= 0) {
+            return;
+        }
+
+        final Map<Long, Long> countOfActionsByTarget = new HashMap<>();
+        Lists.partition(targetIds, Constants.MAX_ENTRIES_IN_STATEMENT)
+                .forEach(ids -> actionRepository.countByTargetIdInGroupByTargetId(ids)
+                        .forEach(row -> countOfActionsByTarget.put((Long) row[0], (Long) row[1])));
+
+        targetIds.forEach(targetId -> QuotaHelper.assertAssignmentQuota(targetId, 1, quota, Action.class,
+                Target.class, id -> countOfActionsByTarget.getOrDefault(id, 0L)));
+    }
+
     private void closeOrCancelActiveActions(final AbstractDsAssignmentStrategy assignmentStrategy,
             final List<List<Long>> targetIdsChunks) {
         if (isActionsAutocloseEnabled()) {
@@ -491,7 +556,13 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
                     throw new EntityNotFoundException(Target.class, targetIds);
                 }
             });
+            // the bulk update is not noticed by the rollout group status counters
+            final List<Long> rolloutGroupIds = actionRepository.findRolloutGroupIdsByTargetIdsAndActiveAndStatus(
+                    targetIds, false, Status.SCHEDULED);
             actionRepository.switchStatus(Status.CANCELED, targetIds, false, Status.SCHEDULED);
+            if (!rolloutGroupIds.isEmpty()) {
+                afterCommit.afterCommit(() -> rolloutGroupIds.forEach(rolloutGroupStatusCounters::invalidate));
+            }
         } else {
             LOG.debug("The Multi Assignments feature is enabled: No need to cancel inactive scheduled actions.");
         }
@@ -966,7 +1037,13 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
         deleteQuery.setParameter("last_modified_at", lastModified);
 
         LOG.debug("Action cleanup: Executing the following (native) query: {}", deleteQuery);
-        return deleteQuery.executeUpdate();
+        final int deleted = deleteQuery.executeUpdate();
+        if (deleted > 0) {
+            // the deleted actions might belong to any rollout group
+            final String tenant = tenantAware.getCurrentTenant();
+            afterCommit.afterCommit(() -> rolloutGroupStatusCounters.invalidateTenant(tenant));
+        }
+        return deleted;
     }
 
     @Override
@@ -28,7 +28,6 @@ import jakarta.persistence.criteria.Root;
 
 import org.eclipse.hawkbit.repository.RolloutGroupFields;
 import org.eclipse.hawkbit.repository.RolloutGroupManagement;
-import org.eclipse.hawkbit.repository.RolloutStatusCache;
 import org.eclipse.hawkbit.repository.TargetFields;
 import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
 import org.eclipse.hawkbit.repository.jpa.JpaManagementHelper;
@@ -41,10 +40,10 @@ import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTarget_;
 import org.eclipse.hawkbit.repository.jpa.model.RolloutTargetGroup;
 import org.eclipse.hawkbit.repository.jpa.model.RolloutTargetGroup_;
-import org.eclipse.hawkbit.repository.jpa.repository.ActionRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.RolloutGroupRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.RolloutRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.TargetRepository;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutGroupStatusCounters;
 import org.eclipse.hawkbit.repository.jpa.rsql.RSQLUtility;
 import org.eclipse.hawkbit.repository.jpa.specifications.TargetSpecifications;
 import org.eclipse.hawkbit.repository.model.Action;
@@ -64,7 +63,6 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.query.QueryUtils;
 import org.springframework.orm.jpa.vendor.Database;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.CollectionUtils;
 import org.springframework.validation.annotation.Validated;
 
 /**
@@ -78,31 +76,29 @@ public class JpaRolloutGroupManagement implements RolloutGroupManagement {
 
     private final RolloutRepository rolloutRepository;
 
-    private final ActionRepository actionRepository;
-
     private final TargetRepository targetRepository;
 
     private final EntityManager entityManager;
 
     private final VirtualPropertyReplacer virtualPropertyReplacer;
 
-    private final RolloutStatusCache rolloutStatusCache;
+    private final RolloutGroupStatusCounters rolloutGroupStatusCounters;
 
     private final Database database;
 
     public JpaRolloutGroupManagement(final RolloutGroupRepository rolloutGroupRepository,
-                              final RolloutRepository rolloutRepository, final ActionRepository actionRepository,
+                              final RolloutRepository rolloutRepository,
                               final TargetRepository targetRepository, final EntityManager entityManager,
-                              final VirtualPropertyReplacer virtualPropertyReplacer, final RolloutStatusCache rolloutStatusCache,
+                              final VirtualPropertyReplacer virtualPropertyReplacer,
+                              final RolloutGroupStatusCounters rolloutGroupStatusCounters,
                               final Database database) {
 
         this.rolloutGroupRepository = rolloutGroupRepository;
         this.rolloutRepository = rolloutRepository;
-        this.actionRepository = actionRepository;
         this.targetRepository = targetRepository;
         this.entityManager = entityManager;
         this.virtualPropertyReplacer = virtualPropertyReplacer;
-        this.rolloutStatusCache = rolloutStatusCache;
+        this.rolloutGroupStatusCounters = rolloutGroupStatusCounters;
         this.database = database;
     }
 
@@ -200,13 +196,8 @@ public class JpaRolloutGroupManagement implements RolloutGroupManagement {
 
         final JpaRolloutGroup jpaRolloutGroup = (JpaRolloutGroup) rolloutGroup.get();
 
-        List<TotalTargetCountActionStatus> rolloutStatusCountItems = rolloutStatusCache
-                .getRolloutGroupStatus(rolloutGroupId);
-
-        if (CollectionUtils.isEmpty(rolloutStatusCountItems)) {
-            rolloutStatusCountItems = actionRepository.getStatusCountByRolloutGroupId(rolloutGroupId);
-            rolloutStatusCache.putRolloutGroupStatus(rolloutGroupId, rolloutStatusCountItems);
-        }
+        final List<TotalTargetCountActionStatus> rolloutStatusCountItems = rolloutGroupStatusCounters
+                .getStatus(rolloutGroupId);
 
         final TotalTargetCountStatus totalTargetCountStatus = new TotalTargetCountStatus(rolloutStatusCountItems,
                 Long.valueOf(jpaRolloutGroup.getTotalTargets()), jpaRolloutGroup.getRollout().getActionType());
@@ -216,24 +207,7 @@ public class JpaRolloutGroupManagement implements RolloutGroupManagement {
     }
 
     private Map<Long, List<TotalTargetCountActionStatus>> getStatusCountItemForRolloutGroup(final List<Long> groupIds) {
-        final Map<Long, List<TotalTargetCountActionStatus>> fromCache = rolloutStatusCache
-                .getRolloutGroupStatus(groupIds);
-
-        final List<Long> rolloutGroupIds = groupIds.stream().filter(id -> !fromCache.containsKey(id))
-                .collect(Collectors.toList());
-
-        if (!rolloutGroupIds.isEmpty()) {
-            final List<TotalTargetCountActionStatus> resultList = actionRepository
-                    .getStatusCountByRolloutGroupId(rolloutGroupIds);
-            final Map<Long, List<TotalTargetCountActionStatus>> fromDb = resultList.stream()
-                    .collect(Collectors.groupingBy(TotalTargetCountActionStatus::getId));
-
-            rolloutStatusCache.putRolloutGroupStatus(fromDb);
-
-            fromCache.putAll(fromDb);
-        }
-
-        return fromCache;
+        return rolloutGroupStatusCounters.getStatus(groupIds);
     }
 
     @Override
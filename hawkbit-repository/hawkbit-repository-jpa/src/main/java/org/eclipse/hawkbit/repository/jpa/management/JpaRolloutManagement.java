@@ -15,6 +15,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -54,15 +56,19 @@ import org.eclipse.hawkbit.repository.jpa.model.JpaRollout_;
 import org.eclipse.hawkbit.repository.jpa.repository.ActionRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.RolloutGroupRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.RolloutRepository;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutGroupStatusCounters;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutTargetCountIndex;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.StartNextGroupRolloutGroupSuccessAction;
 import org.eclipse.hawkbit.repository.jpa.rsql.RSQLUtility;
 import org.eclipse.hawkbit.repository.jpa.specifications.RolloutSpecification;
 import org.eclipse.hawkbit.repository.jpa.utils.QuotaHelper;
 import org.eclipse.hawkbit.repository.jpa.utils.WeightValidationHelper;
+import org.eclipse.hawkbit.repository.model.Action.Status;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.DistributionSetType;
 import org.eclipse.hawkbit.repository.model.Rollout;
 import org.eclipse.hawkbit.repository.model.Rollout.RolloutStatus;
+import org.eclipse.hawkbit.repository.model.RolloutEstimation;
 import org.eclipse.hawkbit.repository.model.RolloutGroup;
 import org.eclipse.hawkbit.repository.model.RolloutGroup.RolloutGroupStatus;
 import org.eclipse.hawkbit.repository.model.RolloutGroupConditions;
@@ -88,6 +94,7 @@ import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.AsyncResult;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.concurrent.ListenableFuture;
@@ -107,6 +114,10 @@ public class JpaRolloutManagement implements RolloutManagement {
             RolloutStatus.DELETING, RolloutStatus.STARTING, RolloutStatus.READY, RolloutStatus.RUNNING,
             RolloutStatus.STOPPING);
 
+    private static final List<RolloutStatus> ACTIVE_ROLLOUTS_NOT_DRIVEN_BY_ACTIONS = Arrays.asList(
+            RolloutStatus.CREATING, RolloutStatus.DELETING, RolloutStatus.STARTING, RolloutStatus.READY,
+            RolloutStatus.STOPPING);
+
     private static final List<RolloutStatus> ROLLOUT_STATUS_STOPPABLE = Arrays.asList(RolloutStatus.RUNNING,
             RolloutStatus.CREATING, RolloutStatus.PAUSED, RolloutStatus.READY, RolloutStatus.STARTING,
             RolloutStatus.WAITING_FOR_APPROVAL, RolloutStatus.APPROVAL_DENIED);
@@ -132,9 +143,15 @@ public class JpaRolloutManagement implements RolloutManagement {
     @Autowired
     private RolloutStatusCache rolloutStatusCache;
 
+    @Autowired
+    private RolloutGroupStatusCounters rolloutGroupStatusCounters;
+
     @Autowired
     private StartNextGroupRolloutGroupSuccessAction startNextRolloutGroupAction;
 
+    @Autowired
+    private RolloutTargetCountIndex rolloutTargetCountIndex;
+
     private final TargetManagement targetManagement;
     private final DistributionSetManagement distributionSetManagement;
     private final VirtualPropertyReplacer virtualPropertyReplacer;
@@ -505,6 +522,12 @@ public class JpaRolloutManagement implements RolloutManagement {
         return rolloutRepository.findByStatusIn(ACTIVE_ROLLOUTS);
     }
 
+    @Override
+    public List<Long> findActiveRolloutsNotDrivenByActions() {
+        return rolloutRepository.findByStatusInOrDynamicAndStatus(ACTIVE_ROLLOUTS_NOT_DRIVEN_BY_ACTIONS,
+                RolloutStatus.RUNNING);
+    }
+
     @Override
     public Optional<Rollout> getByName(final String rolloutName) {
         return rolloutRepository.findByName(rolloutName);
@@ -572,7 +595,8 @@ public class JpaRolloutManagement implements RolloutManagement {
         List<TotalTargetCountActionStatus> rolloutStatusCountItems = rolloutStatusCache.getRolloutStatus(rolloutId);
 
         if (CollectionUtils.isEmpty(rolloutStatusCountItems)) {
-            rolloutStatusCountItems = actionRepository.getStatusCountByRolloutId(rolloutId);
+            rolloutStatusCountItems = countActionsByStatus(Collections.singletonList(rolloutId))
+                    .getOrDefault(rolloutId, Collections.emptyList());
             rolloutStatusCache.putRolloutStatus(rolloutId, rolloutStatusCountItems);
         }
 
@@ -598,19 +622,37 @@ public class JpaRolloutManagement implements RolloutManagement {
                 .collect(Collectors.toList());
 
         if (!rolloutIds.isEmpty()) {
-            final List<TotalTargetCountActionStatus> resultList = actionRepository
-                    .getStatusCountByRolloutId(rolloutIds);
-            final Map<Long, List<TotalTargetCountActionStatus>> fromDb = resultList.stream()
-                    .collect(Collectors.groupingBy(TotalTargetCountActionStatus::getId));
+            final Map<Long, List<TotalTargetCountActionStatus>> fromCounters = countActionsByStatus(rolloutIds);
 
-            rolloutStatusCache.putRolloutStatus(fromDb);
+            rolloutStatusCache.putRolloutStatus(fromCounters);
 
-            fromCache.putAll(fromDb);
+            fromCache.putAll(fromCounters);
         }
 
         return fromCache;
     }
 
+    // sums up the action counters of the groups instead of counting the
+    // actions of the rollouts
+    private Map<Long, List<TotalTargetCountActionStatus>> countActionsByStatus(final List<Long> rolloutIds) {
+        final Map<Long, Long> rolloutIdByGroupId = new HashMap<>();
+        rolloutGroupRepository.findRolloutIdAndIdByRolloutIdIn(rolloutIds)
+                .forEach(row -> rolloutIdByGroupId.put((Long) row[1], (Long) row[0]));
+
+        final Map<Long, Map<Status, Long>> countsByRollout = new HashMap<>();
+        rolloutGroupStatusCounters.getStatus(rolloutIdByGroupId.keySet())
+                .forEach((rolloutGroupId, groupStatus) -> groupStatus.forEach(status -> countsByRollout
+                        .computeIfAbsent(rolloutIdByGroupId.get(rolloutGroupId), id -> new EnumMap<>(Status.class))
+                        .merge(status.getStatus(), status.getCount(), Long::sum)));
+
+        final Map<Long, List<TotalTargetCountActionStatus>> result = new HashMap<>();
+        countsByRollout.forEach((rolloutId, counts) -> result.put(rolloutId,
+                counts.entrySet().stream()
+                        .map(count -> new TotalTargetCountActionStatus(rolloutId, count.getKey(), count.getValue()))
+                        .collect(Collectors.toList())));
+        return result;
+    }
+
     @Override
     public void setRolloutStatusDetails(final Slice<Rollout> rollouts) {
         final List<Long> rolloutIds = rollouts.getContent().stream().map(Rollout::getId).collect(Collectors.toList());
@@ -652,18 +694,23 @@ public class JpaRolloutManagement implements RolloutManagement {
 
     private RolloutGroupsValidation validateTargetsInGroups(final List<RolloutGroup> groups, final String baseFilter,
             final long totalTargets, final Long dsTypeId) {
+        return validateTargetsInGroups(groups, baseFilter, totalTargets, dsTypeId, liveTargetCounter());
+    }
+
+    private RolloutGroupsValidation validateTargetsInGroups(final List<RolloutGroup> groups, final String baseFilter,
+            final long totalTargets, final Long dsTypeId, final TargetCounter targetCounter) {
         final List<Long> groupTargetCounts = new ArrayList<>(groups.size());
         Map<String, Long> targetFilterCounts;
         if (!RolloutHelper.isRolloutRetried(baseFilter)) {
             targetFilterCounts = groups.stream()
                 .map(group -> RolloutHelper.getGroupTargetFilter(baseFilter, group)).distinct()
                 .collect(Collectors.toMap(Function.identity(),
-                    groupTargetFilter -> targetManagement.countByRsqlAndCompatible(groupTargetFilter, dsTypeId)));
+                    groupTargetFilter -> targetCounter.countByRsqlAndCompatible(groupTargetFilter, dsTypeId)));
         } else {
             targetFilterCounts = groups.stream()
                 .map(group -> RolloutHelper.getGroupTargetFilter(baseFilter, group)).distinct()
                 .collect(Collectors.toMap(Function.identity(),
-                    groupTargetFilter -> targetManagement.countByFailedInRollout(
+                    groupTargetFilter -> targetCounter.countByFailedInRollout(
                         RolloutHelper.getIdFromRetriedTargetFilter(baseFilter), dsTypeId)));
         }
 
@@ -676,7 +723,7 @@ public class JpaRolloutManagement implements RolloutManagement {
 
             final long targetsInGroupFilter = targetFilterCounts.get(groupTargetFilter);
             final long overlappingTargets = countOverlappingTargetsWithPreviousGroups(baseFilter, groups, group, i,
-                    targetFilterCounts);
+                    targetFilterCounts, targetCounter);
 
             final long realTargetsInGroup;
             // Assume that targets which were not used in the previous groups
@@ -701,7 +748,8 @@ public class JpaRolloutManagement implements RolloutManagement {
     }
 
     private long countOverlappingTargetsWithPreviousGroups(final String baseFilter, final List<RolloutGroup> groups,
-            final RolloutGroup group, final int groupIndex, final Map<String, Long> targetFilterCounts) {
+            final RolloutGroup group, final int groupIndex, final Map<String, Long> targetFilterCounts,
+            final TargetCounter targetCounter) {
         // there can't be overlapping targets in the first group
         if (groupIndex == 0) {
             return 0;
@@ -713,7 +761,7 @@ public class JpaRolloutManagement implements RolloutManagement {
         if (targetFilterCounts.containsKey(overlappingTargetsFilter)) {
             return targetFilterCounts.get(overlappingTargetsFilter);
         } else {
-            final long overlappingTargets = targetManagement.countByRsql(overlappingTargetsFilter);
+            final long overlappingTargets = targetCounter.countByRsql(overlappingTargetsFilter);
             targetFilterCounts.put(overlappingTargetsFilter, overlappingTargets);
             return overlappingTargets;
         }
@@ -753,6 +801,50 @@ public class JpaRolloutManagement implements RolloutManagement {
                         baseFilter, totalTargets, dsTypeId));
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public RolloutEstimation estimate(final RolloutCreate rollout, final int amountGroup) {
+        RolloutHelper.verifyRolloutGroupParameter(amountGroup, quotaManagement);
+        final List<RolloutGroup> groups = new ArrayList<>(amountGroup);
+        for (int i = 0; i < amountGroup; i++) {
+            final JpaRolloutGroup group = new JpaRolloutGroup();
+            group.setTargetPercentage(100.0F / amountGroup);
+            groups.add(group);
+        }
+        return estimate((JpaRollout) rollout.build(), groups);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public RolloutEstimation estimate(final RolloutCreate rollout, final List<RolloutGroupCreate> groups) {
+        RolloutHelper.verifyRolloutGroupParameter(groups.size(), quotaManagement);
+        return estimate((JpaRollout) rollout.build(),
+                groups.stream().map(RolloutGroupCreate::build).collect(Collectors.toList()));
+    }
+
+    // runs without a transaction, every count is either taken from the index
+    // or made in a short transaction of its own
+    private RolloutEstimation estimate(final JpaRollout rollout, final List<RolloutGroup> groups) {
+        final String targetFilter = rollout.getTargetFilterQuery();
+        final Long dsTypeId = rollout.getDistributionSet().getType().getId();
+        final TargetCounter targetCounter = indexedTargetCounter();
+
+        final long totalTargets;
+        final long incompatibleTargets;
+        if (RolloutHelper.isRolloutRetried(targetFilter)) {
+            totalTargets = targetCounter.countByFailedInRollout(
+                    RolloutHelper.getIdFromRetriedTargetFilter(targetFilter), dsTypeId);
+            incompatibleTargets = 0;
+        } else {
+            totalTargets = targetCounter.countByRsqlAndCompatible(targetFilter, dsTypeId);
+            incompatibleTargets = targetCounter.countByRsql(targetFilter) - totalTargets;
+        }
+
+        final RolloutGroupsValidation validation = validateTargetsInGroups(groups, targetFilter, totalTargets,
+                dsTypeId, targetCounter);
+        return new RolloutEstimation(totalTargets, incompatibleTargets, validation.getTargetsPerGroup());
+    }
+
     @Override
     @Transactional
     @Retryable(include = {
@@ -795,4 +887,52 @@ public class JpaRolloutManagement implements RolloutManagement {
     }
 
     private record TargetCount(long total, String filter) {}
+
+    private TargetCounter liveTargetCounter() {
+        return new TargetCounter() {
+            @Override
+            public long countByRsql(final String rsql) {
+                return targetManagement.countByRsql(rsql);
+            }
+
+            @Override
+            public long countByRsqlAndCompatible(final String rsql, final Long dsTypeId) {
+                return targetManagement.countByRsqlAndCompatible(rsql, dsTypeId);
+            }
+
+            @Override
+            public long countByFailedInRollout(final String rolloutId, final Long dsTypeId) {
+                return targetManagement.countByFailedInRollout(rolloutId, dsTypeId);
+            }
+        };
+    }
+
+    private TargetCounter indexedTargetCounter() {
+        return new TargetCounter() {
+            @Override
+            public long countByRsql(final String rsql) {
+                return rolloutTargetCountIndex.countByRsql(rsql);
+            }
+
+            @Override
+            public long countByRsqlAndCompatible(final String rsql, final Long dsTypeId) {
+                return rolloutTargetCountIndex.countByRsqlAndCompatible(rsql, dsTypeId);
+            }
+
+            @Override
+            public long countByFailedInRollout(final String rolloutId, final Long dsTypeId) {
+                return rolloutTargetCountIndex.countByFailedInRollout(rolloutId, dsTypeId);
+            }
+        };
+    }
+
+    // the target counts a validation or an estimation is based on
+    private interface TargetCounter {
+
+        long countByRsql(String rsql);
+
+        long countByRsqlAndCompatible(String rsql, Long dsTypeId);
+
+        long countByFailedInRollout(String rolloutId, Long dsTypeId);
+    }
 }
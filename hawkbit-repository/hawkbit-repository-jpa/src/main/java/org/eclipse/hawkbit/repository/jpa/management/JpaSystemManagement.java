@@ -29,6 +29,7 @@ import org.eclipse.hawkbit.repository.jpa.configuration.MultiTenantJpaTransactio
 import org.eclipse.hawkbit.repository.jpa.model.JpaDistributionSetType;
 import org.eclipse.hawkbit.repository.jpa.model.JpaSoftwareModuleType;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTenantMetaData;
+import org.eclipse.hawkbit.repository.jpa.poll.ControllerPollConfigCache;
 import org.eclipse.hawkbit.repository.jpa.repository.DistributionSetRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.DistributionSetTagRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.DistributionSetTypeRepository;
@@ -41,6 +42,7 @@ import org.eclipse.hawkbit.repository.jpa.repository.TargetTagRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.TargetTypeRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.TenantConfigurationRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.TenantMetaDataRepository;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutGroupStatusCounters;
 import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
 import org.eclipse.hawkbit.repository.model.DistributionSetType;
 import org.eclipse.hawkbit.repository.model.SoftwareModuleType;
@@ -141,6 +143,12 @@ public class JpaSystemManagement implements CurrentTenantCacheKeyGenerator, Syst
     @Autowired
     private RolloutStatusCache rolloutStatusCache;
 
+    @Autowired
+    private RolloutGroupStatusCounters rolloutGroupStatusCounters;
+
+    @Autowired
+    private ControllerPollConfigCache pollConfigCache;
+
     @Autowired
     private ArtifactRepository artifactRepository;
 
@@ -260,6 +268,8 @@ public class JpaSystemManagement implements CurrentTenantCacheKeyGenerator, Syst
         final String tenant = t.toUpperCase();
         cacheManager.evictCaches(tenant);
         rolloutStatusCache.evictCaches(tenant);
+        rolloutGroupStatusCounters.invalidateTenant(tenant);
+        pollConfigCache.evict(tenant);
         tenantAware.runAsTenant(tenant, () -> {
             entityManager.setProperty(PersistenceUnitProperties.MULTITENANT_PROPERTY_DEFAULT, tenant);
             tenantMetaDataRepository.deleteByTenantIgnoreCase(tenant);
@@ -683,6 +683,30 @@ public class JpaTargetManagement implements TargetManagement {
                 .map(Target.class::cast);
     }
 
+    @Override
+    public List<Long> findIdsByTargetFilterQueryAndNonDSAndCompatibleAndUpdatable(final long afterTargetId,
+            final int limit, final long distributionSetId, final String targetFilterQuery) {
+        final DistributionSet jpaDistributionSet = distributionSetManagement.getOrElseThrowException(distributionSetId);
+        final Long distSetTypeId = jpaDistributionSet.getType().getId();
+
+        final Specification<JpaTarget> spec = combineWithAnd(List.of(
+                RSQLUtility.buildRsqlSpecification(targetFilterQuery, TargetFields.class, virtualPropertyReplacer,
+                        database),
+                TargetSpecifications.hasNotDistributionSetInActions(distributionSetId),
+                TargetSpecifications.isCompatibleWithDistributionSetType(distSetTypeId),
+                TargetSpecifications.hasIdGreaterThan(afterTargetId)));
+        final Specification<JpaTarget> updatable = targetRepository.getAccessController()
+                .map(acm -> acm.appendAccessRules(AccessController.Operation.UPDATE, spec)).orElse(spec);
+
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        final Root<JpaTarget> targetRoot = query.from(JpaTarget.class);
+        query.select(targetRoot.get(JpaTarget_.id)).where(updatable.toPredicate(targetRoot, query, cb))
+                .orderBy(cb.asc(targetRoot.get(JpaTarget_.id)));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
     @Override
     public Slice<Target> findByTargetFilterQueryAndNotInRolloutGroupsAndCompatibleAndUpdatable(
             final Pageable pageRequest, final Collection<Long> groups, final String targetFilterQuery,
@@ -936,6 +960,30 @@ public class JpaTargetManagement implements TargetManagement {
         return targetRepository.exists(AccessController.Operation.UPDATE, combinedSpecification);
     }
 
+    @Override
+    public List<Target> findTargetsMatchingQueryAndDSNotAssignedAndCompatibleAndUpdatable(
+            final Collection<String> controllerIds, final long distributionSetId, final String targetFilterQuery) {
+        if (controllerIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        RSQLUtility.validateRsqlFor(targetFilterQuery, TargetFields.class);
+        final DistributionSet ds = distributionSetManagement.get(distributionSetId)
+                .orElseThrow(() -> new EntityNotFoundException(DistributionSet.class, distributionSetId));
+        final Long distSetTypeId = ds.getType().getId();
+        final List<Specification<JpaTarget>> specList = Arrays.asList(
+                RSQLUtility.buildRsqlSpecification(targetFilterQuery, TargetFields.class, virtualPropertyReplacer,
+                        database),
+                TargetSpecifications.hasNotDistributionSetInActions(distributionSetId),
+                TargetSpecifications.isCompatibleWithDistributionSetType(distSetTypeId));
+
+        final Specification<JpaTarget> combinedSpecification = Objects
+                .requireNonNull(SpecificationsBuilder.combineWithAnd(specList));
+        return Lists.partition(new ArrayList<>(controllerIds), Constants.MAX_ENTRIES_IN_STATEMENT).stream()
+                .map(ids -> targetRepository.findAll(AccessController.Operation.UPDATE,
+                        combinedSpecification.and(TargetSpecifications.hasControllerIdIn(ids))))
+                .flatMap(List::stream).map(Target.class::cast).toList();
+    }
+
     @Override
     public Page<Target> findByControllerAttributesRequested(final Pageable pageReq) {
         return JpaManagementHelper.findAllWithCountBySpec(targetRepository, pageReq,
@@ -25,6 +25,7 @@ import org.eclipse.hawkbit.repository.exception.TenantConfigurationValueChangeNo
 import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
 import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTenantConfiguration;
+import org.eclipse.hawkbit.repository.jpa.poll.ControllerPollConfigCache;
 import org.eclipse.hawkbit.repository.jpa.repository.TenantConfigurationRepository;
 import org.eclipse.hawkbit.repository.model.TenantConfiguration;
 import org.eclipse.hawkbit.repository.model.TenantConfigurationValue;
@@ -39,6 +40,7 @@ import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.core.convert.support.ConfigurableConversionService;
 import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.dao.ConcurrencyFailureException;
@@ -71,6 +73,11 @@ public class JpaTenantConfigurationManagement implements TenantConfigurationMana
     @Autowired
     private AfterTransactionCommitExecutor afterCommitExecutor;
 
+    // lazy as the cache reads the configuration by means of this management
+    @Lazy
+    @Autowired
+    private ControllerPollConfigCache pollConfigCache;
+
     private static final ConfigurableConversionService conversionService = new DefaultConversionService();
 
     @Override
@@ -155,6 +162,7 @@ public class JpaTenantConfigurationManagement implements TenantConfigurationMana
             ConcurrencyFailureException.class }, maxAttempts = Constants.TX_RT_MAX, backoff = @Backoff(delay = Constants.TX_RT_DELAY))
     public <T extends Serializable> TenantConfigurationValue<T> addOrUpdateConfiguration(
             final String configurationKeyName, final T value) {
+        evictPollConfigAfterCommit();
         return addOrUpdateConfiguration0(Collections.singletonMap(configurationKeyName, value)).values().iterator().next();
     }
 
@@ -170,6 +178,7 @@ public class JpaTenantConfigurationManagement implements TenantConfigurationMana
                 configurations.keySet().forEach(cache::evict);
             }
         });
+        evictPollConfigAfterCommit();
 
         return addOrUpdateConfiguration0(configurations);
     }
@@ -280,6 +289,15 @@ public class JpaTenantConfigurationManagement implements TenantConfigurationMana
     @Retryable(include = {
             ConcurrencyFailureException.class }, maxAttempts = Constants.TX_RT_MAX, backoff = @Backoff(delay = Constants.TX_RT_DELAY))
     public void deleteConfiguration(final String configurationKeyName) {
+        evictPollConfigAfterCommit();
         tenantConfigurationRepository.deleteByKey(configurationKeyName);
     }
+
+    /**
+     * The {@link ControllerPollConfigCache} is refreshed by the remote events
+     * as well, but changes made on this node have to be visible immediately.
+     */
+    private void evictPollConfigAfterCommit() {
+        afterCommitExecutor.afterCommit(pollConfigCache::evict);
+    }
 }
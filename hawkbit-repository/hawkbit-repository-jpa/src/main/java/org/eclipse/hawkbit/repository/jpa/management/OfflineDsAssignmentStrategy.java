@@ -80,6 +80,21 @@ public class OfflineDsAssignmentStrategy extends AbstractDsAssignmentStrategy {
                 .flatMap(List::stream).collect(Collectors.toList());
     }
 
+    @Override
+    public List<JpaTarget> findTargetsForAssignmentById(final List<Long> targetIds, final long setId) {
+        final Function<List<Long>, List<JpaTarget>> mapper;
+        if (isMultiAssignmentsEnabled()) {
+            mapper = ids -> targetRepository.findAll(TargetSpecifications.hasIdIn(ids));
+        } else {
+            mapper = ids -> targetRepository.findAll(SpecificationsBuilder.combineWithAnd(
+                    Arrays.asList(TargetSpecifications.hasIdIn(ids),
+                            TargetSpecifications.hasAssignedDistributionSetIdNot(setId),
+                            TargetSpecifications.notEqualToTargetUpdateStatus(TargetUpdateStatus.PENDING))));
+        }
+        return Lists.partition(targetIds, Constants.MAX_ENTRIES_IN_STATEMENT).stream().map(mapper)
+                .flatMap(List::stream).collect(Collectors.toList());
+    }
+
     @Override
     public Set<Long> cancelActiveActions(final List<List<Long>> targetIds) {
         return Collections.emptySet();
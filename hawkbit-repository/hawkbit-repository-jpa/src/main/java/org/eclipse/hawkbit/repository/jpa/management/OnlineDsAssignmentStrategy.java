@@ -114,6 +114,19 @@ public class OnlineDsAssignmentStrategy extends AbstractDsAssignmentStrategy {
                 .flatMap(List::stream).collect(Collectors.toList());
     }
 
+    @Override
+    public List<JpaTarget> findTargetsForAssignmentById(final List<Long> targetIds, final long setId) {
+        final Function<List<Long>, List<JpaTarget>> mapper;
+        if (isMultiAssignmentsEnabled()) {
+            mapper = ids -> targetRepository.findAll(TargetSpecifications.hasIdIn(ids));
+        } else {
+            mapper = ids -> targetRepository.findAll(TargetSpecifications.hasIdIn(ids)
+                    .and(TargetSpecifications.hasAssignedDistributionSetIdNot(setId)));
+        }
+        return Lists.partition(targetIds, Constants.MAX_ENTRIES_IN_STATEMENT).stream().map(mapper)
+                .flatMap(List::stream).collect(Collectors.toList());
+    }
+
     @Override
     public Set<Long> cancelActiveActions(final List<List<Long>> targetIds) {
         return targetIds.stream().map(this::overrideObsoleteUpdateActions).flatMap(Collection::stream)
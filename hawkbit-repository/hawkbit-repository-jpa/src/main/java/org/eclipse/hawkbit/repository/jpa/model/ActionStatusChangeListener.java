@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.model;
+
+import org.eclipse.hawkbit.repository.jpa.model.helper.RolloutGroupStatusCountersHolder;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutGroupStatusCounters;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.persistence.descriptors.DescriptorEvent;
+import org.eclipse.persistence.descriptors.DescriptorEventAdapter;
+import org.eclipse.persistence.queries.UpdateObjectQuery;
+import org.eclipse.persistence.sessions.changesets.ChangeRecord;
+
+/**
+ * Listens to the status changes of the {@link JpaAction}s of rollout groups
+ * and records them in the {@link RolloutGroupStatusCounters}.
+ */
+public class ActionStatusChangeListener extends DescriptorEventAdapter {
+
+    private static final String STATUS = "status";
+
+    @Override
+    public void postInsert(final DescriptorEvent event) {
+        final JpaAction action = (JpaAction) event.getObject();
+        statusChanged(action, null, action.getStatus());
+    }
+
+    @Override
+    public void postUpdate(final DescriptorEvent event) {
+        final ChangeRecord statusChange = ((UpdateObjectQuery) event.getQuery()).getObjectChangeSet()
+                .getChangesForAttributeNamed(STATUS);
+        if (statusChange == null) {
+            return;
+        }
+
+        final JpaAction action = (JpaAction) event.getObject();
+        if (statusChange.getOldValue() instanceof Status) {
+            statusChanged(action, (Status) statusChange.getOldValue(), action.getStatus());
+        } else {
+            invalidate(action);
+        }
+    }
+
+    @Override
+    public void postDelete(final DescriptorEvent event) {
+        final JpaAction action = (JpaAction) event.getObject();
+        statusChanged(action, action.getStatus(), null);
+    }
+
+    private static void statusChanged(final JpaAction action, final Status from, final Status to) {
+        final RolloutGroupStatusCounters counters = RolloutGroupStatusCountersHolder.getInstance()
+                .getRolloutGroupStatusCounters();
+        if (counters != null && action.getRolloutGroup() != null) {
+            counters.statusChanged(action.getTenant(), action.getRolloutGroup().getId(), from, to, 1);
+        }
+    }
+
+    private static void invalidate(final JpaAction action) {
+        final RolloutGroupStatusCounters counters = RolloutGroupStatusCountersHolder.getInstance()
+                .getRolloutGroupStatusCounters();
+        if (counters != null && action.getRolloutGroup() != null) {
+            counters.invalidate(action.getRolloutGroup().getId());
+        }
+    }
+}
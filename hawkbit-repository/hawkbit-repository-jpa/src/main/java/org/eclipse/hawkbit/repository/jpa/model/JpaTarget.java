@@ -10,10 +10,6 @@
 package org.eclipse.hawkbit.repository.jpa.model;
 
 import java.net.URI;
-import java.time.Duration;
-import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -51,6 +47,7 @@ import org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
 import org.eclipse.hawkbit.repository.jpa.model.helper.SecurityChecker;
 import org.eclipse.hawkbit.repository.jpa.model.helper.SecurityTokenGeneratorHolder;
+import org.eclipse.hawkbit.repository.jpa.model.helper.TargetPollStatusResolverHolder;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.AutoConfirmationStatus;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
@@ -62,9 +59,6 @@ import org.eclipse.hawkbit.repository.model.TargetType;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
 import org.eclipse.hawkbit.repository.model.helper.EventPublisherHolder;
 import org.eclipse.hawkbit.repository.model.helper.SystemSecurityContextHolder;
-import org.eclipse.hawkbit.repository.model.helper.TenantConfigurationManagementHolder;
-import org.eclipse.hawkbit.tenancy.configuration.DurationHelper;
-import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
 import org.eclipse.persistence.annotations.CascadeOnDelete;
 import org.eclipse.persistence.annotations.ConversionValue;
 import org.eclipse.persistence.annotations.Convert;
@@ -354,30 +348,13 @@ public class JpaTarget extends AbstractJpaNamedEntity implements Target, EventAw
 
     /**
      * @return the poll time which holds the last poll time of the target, the
-     *         next poll time and the overdue time. In case the
-     *         {@link #lastTargetQuery} is not set e.g. the target never polled
-     *         before this method returns {@code null}
+     *         next poll time and the overdue time. The last poll time
+     *         considers the polls which have not been persisted yet. In case
+     *         the target never polled before this method returns {@code null}
      */
     @Override
     public PollStatus getPollStatus() {
-        if (lastTargetQuery == null) {
-            return null;
-        }
-        return SystemSecurityContextHolder.getInstance().getSystemSecurityContext().runAsSystem(() -> {
-            final Duration pollTime = DurationHelper.formattedStringToDuration(TenantConfigurationManagementHolder
-                    .getInstance().getTenantConfigurationManagement()
-                    .getConfigurationValue(TenantConfigurationKey.POLLING_TIME_INTERVAL, String.class).getValue());
-            final Duration overdueTime = DurationHelper.formattedStringToDuration(
-                    TenantConfigurationManagementHolder.getInstance().getTenantConfigurationManagement()
-                            .getConfigurationValue(TenantConfigurationKey.POLLING_OVERDUE_TIME_INTERVAL, String.class)
-                            .getValue());
-            final LocalDateTime currentDate = LocalDateTime.now();
-            final LocalDateTime lastPollDate = LocalDateTime.ofInstant(Instant.ofEpochMilli(lastTargetQuery),
-                    ZoneId.systemDefault());
-            final LocalDateTime nextPollDate = lastPollDate.plus(pollTime);
-            final LocalDateTime overdueDate = nextPollDate.plus(overdueTime);
-            return new PollStatus(lastPollDate, nextPollDate, overdueDate, currentDate);
-        });
+        return TargetPollStatusResolverHolder.getInstance().getTargetPollStatusResolver().getPollStatus(this);
     }
 
     @Override
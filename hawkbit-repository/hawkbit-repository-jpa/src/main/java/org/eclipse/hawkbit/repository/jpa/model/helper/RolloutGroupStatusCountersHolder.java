@@ -0,0 +1,45 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.model.helper;
+
+import org.eclipse.hawkbit.repository.jpa.model.ActionStatusChangeListener;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutGroupStatusCounters;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * A singleton bean which holds the {@link RolloutGroupStatusCounters} to have
+ * them in the {@link ActionStatusChangeListener} which cannot be autowired.
+ */
+public final class RolloutGroupStatusCountersHolder {
+
+    private static final RolloutGroupStatusCountersHolder SINGLETON = new RolloutGroupStatusCountersHolder();
+
+    @Autowired(required = false)
+    private RolloutGroupStatusCounters rolloutGroupStatusCounters;
+
+    private RolloutGroupStatusCountersHolder() {
+
+    }
+
+    /**
+     * @return the rollout group status counters holder singleton instance
+     */
+    public static RolloutGroupStatusCountersHolder getInstance() {
+        return SINGLETON;
+    }
+
+    /**
+     * @return the rolloutGroupStatusCounters or <code>null</code> if there
+     *         are none
+     */
+    public RolloutGroupStatusCounters getRolloutGroupStatusCounters() {
+        return rolloutGroupStatusCounters;
+    }
+}
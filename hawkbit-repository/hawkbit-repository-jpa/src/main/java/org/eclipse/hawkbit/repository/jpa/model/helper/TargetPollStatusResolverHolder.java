@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.model.helper;
+
+import org.eclipse.hawkbit.repository.TargetPollStatusResolver;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * A singleton bean which holds the {@link TargetPollStatusResolver} to have
+ * it in the {@link JpaTarget} which cannot be autowired.
+ */
+public final class TargetPollStatusResolverHolder {
+
+    private static final TargetPollStatusResolverHolder SINGLETON = new TargetPollStatusResolverHolder();
+
+    @Autowired
+    private TargetPollStatusResolver targetPollStatusResolver;
+
+    private TargetPollStatusResolverHolder() {
+
+    }
+
+    /**
+     * @return the target poll status resolver holder singleton instance
+     */
+    public static TargetPollStatusResolverHolder getInstance() {
+        return SINGLETON;
+    }
+
+    /**
+     * @return the targetPollStatusResolver
+     */
+    public TargetPollStatusResolver getTargetPollStatusResolver() {
+        return targetPollStatusResolver;
+    }
+}
@@ -0,0 +1,167 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.poll;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * In-memory {@link PollStateStore} that keeps only the latest poll per
+ * (tenant, controllerId). Repeated polls of the same controller between two
+ * flushes do not consume additional capacity.
+ *
+ * Besides the regular flush the store triggers an early flush as soon as half
+ * of its capacity is in use, i.e. the flush interval shrinks with the poll
+ * load. Pending polls are persisted on shutdown.
+ */
+public class CoalescingPollStateStore implements PollStateStore, DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CoalescingPollStateStore.class);
+
+    private final Map<PollKey, Long> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean earlyFlushScheduled = new AtomicBoolean();
+
+    private final PollStateWriter writer;
+    private final Executor executor;
+    private final int capacity;
+    private final int highWaterMark;
+
+    /**
+     * Constructor.
+     *
+     * @param writer
+     *            to persist the polls with
+     * @param executor
+     *            to run early flushes on
+     * @param capacity
+     *            maximum number of pending polls
+     */
+    public CoalescingPollStateStore(final PollStateWriter writer, final Executor executor, final int capacity) {
+        this.writer = writer;
+        this.executor = executor;
+        this.capacity = capacity;
+        this.highWaterMark = Math.max(1, capacity / 2);
+    }
+
+    @Override
+    public boolean offer(final String tenant, final String controllerId, final long lastTargetQuery) {
+        final PollKey key = new PollKey(tenant, controllerId);
+        if (pending.size() >= capacity && !pending.containsKey(key)) {
+            return false;
+        }
+
+        pending.merge(key, lastTargetQuery, Math::max);
+
+        if (pending.size() >= highWaterMark && earlyFlushScheduled.compareAndSet(false, true)) {
+            scheduleEarlyFlush();
+        }
+
+        return true;
+    }
+
+    @Override
+    public Optional<Long> getPending(final String tenant, final String controllerId) {
+        return Optional.ofNullable(pending.get(new PollKey(tenant, controllerId)));
+    }
+
+    private void scheduleEarlyFlush() {
+        try {
+            executor.execute(this::flush);
+        } catch (final RejectedExecutionException e) {
+            // the regular flush takes over
+            earlyFlushScheduled.set(false);
+            LOG.warn("Early flush of poll states rejected: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized int flush() {
+        earlyFlushScheduled.set(false);
+
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        final Map<String, Map<String, Long>> pollsByTenant = new HashMap<>();
+        pending.forEach((key, lastTargetQuery) -> pollsByTenant
+                .computeIfAbsent(key.tenant, tenant -> new HashMap<>()).put(key.controllerId, lastTargetQuery));
+
+        LOG.debug("Flush {} poll states of {} tenants.", pending.size(), pollsByTenant.size());
+
+        int flushed = 0;
+        for (final Map.Entry<String, Map<String, Long>> tenantPolls : pollsByTenant.entrySet()) {
+            final String tenant = tenantPolls.getKey();
+            final Map<String, Long> polls = tenantPolls.getValue();
+            try {
+                writer.write(tenant, polls);
+            } catch (final RuntimeException e) {
+                // stay pending and are retried with the next flush
+                LOG.error("Failed to persist {} poll states of tenant {}.", polls.size(), tenant, e);
+                continue;
+            }
+
+            // newer polls that arrived in the meantime stay pending
+            polls.forEach((controllerId, lastTargetQuery) -> pending.remove(new PollKey(tenant, controllerId),
+                    lastTargetQuery));
+            flushed += polls.size();
+        }
+
+        return flushed;
+    }
+
+    @Override
+    public int size() {
+        return pending.size();
+    }
+
+    @Override
+    public void destroy() {
+        final int flushed = flush();
+        LOG.info("Persisted {} pending poll states on shutdown.", flushed);
+    }
+
+    private static final class PollKey {
+        private final String tenant;
+        private final String controllerId;
+
+        private PollKey(final String tenant, final String controllerId) {
+            this.tenant = tenant.toUpperCase(Locale.ROOT);
+            this.controllerId = controllerId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tenant, controllerId);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof PollKey)) {
+                return false;
+            }
+            final PollKey other = (PollKey) obj;
+            return tenant.equals(other.tenant) && controllerId.equals(other.controllerId);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.poll;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
+import org.eclipse.hawkbit.repository.event.TenantAwareEvent;
+import org.eclipse.hawkbit.repository.event.remote.TenantConfigurationDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TenantConfigurationCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TenantConfigurationUpdatedEvent;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Holds the {@link ControllerPollConfigSnapshot} of each tenant, so the poll
+ * path neither switches the security context nor parses the configuration.
+ * The snapshot of a tenant is dropped on every change of its configuration
+ * and read again on the next access.
+ */
+public class ControllerPollConfigCache {
+
+    private final TenantAware tenantAware;
+    private final TenantConfigurationManagement tenantConfigurationManagement;
+    private final SystemSecurityContext systemSecurityContext;
+
+    private final Map<String, ControllerPollConfigSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param tenantAware
+     *            to get current tenant
+     * @param tenantConfigurationManagement
+     *            to read the configuration from
+     * @param systemSecurityContext
+     *            to read the configuration as system
+     */
+    public ControllerPollConfigCache(final TenantAware tenantAware,
+            final TenantConfigurationManagement tenantConfigurationManagement,
+            final SystemSecurityContext systemSecurityContext) {
+        this.tenantAware = tenantAware;
+        this.tenantConfigurationManagement = tenantConfigurationManagement;
+        this.systemSecurityContext = systemSecurityContext;
+    }
+
+    /**
+     * @return the {@link ControllerPollConfigSnapshot} of the current tenant
+     */
+    public ControllerPollConfigSnapshot get() {
+        final String tenant = tenantAware.getCurrentTenant().toUpperCase();
+        final ControllerPollConfigSnapshot cached = snapshots.get(tenant);
+        if (cached != null) {
+            return cached;
+        }
+
+        final long stamp = invalidations.get();
+        final ControllerPollConfigSnapshot snapshot = systemSecurityContext.runAsSystem(this::read);
+        // a snapshot read before a concurrent change must not be kept
+        if (stamp == invalidations.get()) {
+            snapshots.put(tenant, snapshot);
+            if (stamp != invalidations.get()) {
+                snapshots.remove(tenant, snapshot);
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Removes the {@link ControllerPollConfigSnapshot} of the current tenant.
+     */
+    public void evict() {
+        evict(tenantAware.getCurrentTenant());
+    }
+
+    /**
+     * Removes the {@link ControllerPollConfigSnapshot} of the given tenant.
+     *
+     * @param tenant
+     *            to remove the snapshot of
+     */
+    public void evict(final String tenant) {
+        invalidations.incrementAndGet();
+        snapshots.remove(tenant.toUpperCase());
+    }
+
+    @EventListener(classes = { TenantConfigurationCreatedEvent.class, TenantConfigurationUpdatedEvent.class,
+            TenantConfigurationDeletedEvent.class })
+    public void invalidateOnTenantConfigurationChange(final TenantAwareEvent event) {
+        evict(event.getTenant());
+    }
+
+    private ControllerPollConfigSnapshot read() {
+        return new ControllerPollConfigSnapshot(getValue(TenantConfigurationKey.POLLING_TIME_INTERVAL, String.class),
+                getValue(TenantConfigurationKey.MIN_POLLING_TIME_INTERVAL, String.class),
+                getValue(TenantConfigurationKey.POLLING_OVERDUE_TIME_INTERVAL, String.class),
+                getValue(TenantConfigurationKey.MAINTENANCE_WINDOW_POLL_COUNT, Integer.class));
+    }
+
+    private <T extends Serializable> T getValue(final String key, final Class<T> type) {
+        return tenantConfigurationManagement.getConfigurationValue(key, type).getValue();
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.poll;
+
+import java.time.Duration;
+
+import org.eclipse.hawkbit.tenancy.configuration.DurationHelper;
+import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
+
+/**
+ * Immutable snapshot of the polling related tenant configuration of a tenant.
+ * The formatted values are parsed once when the snapshot is created.
+ */
+public final class ControllerPollConfigSnapshot {
+
+    private final String pollingTime;
+    private final Duration pollingTimeDuration;
+    private final String minPollingTime;
+    private final Duration minPollingTimeDuration;
+    private final Duration overdueTimeDuration;
+    private final int maintenanceWindowPollCount;
+
+    /**
+     * Constructor.
+     *
+     * @param pollingTime
+     *            the {@link TenantConfigurationKey#POLLING_TIME_INTERVAL}
+     * @param minPollingTime
+     *            the {@link TenantConfigurationKey#MIN_POLLING_TIME_INTERVAL}
+     * @param overdueTime
+     *            the
+     *            {@link TenantConfigurationKey#POLLING_OVERDUE_TIME_INTERVAL}
+     * @param maintenanceWindowPollCount
+     *            the {@link TenantConfigurationKey#MAINTENANCE_WINDOW_POLL_COUNT}
+     */
+    public ControllerPollConfigSnapshot(final String pollingTime, final String minPollingTime,
+            final String overdueTime, final int maintenanceWindowPollCount) {
+        this.pollingTime = pollingTime;
+        this.pollingTimeDuration = DurationHelper.formattedStringToDuration(pollingTime);
+        this.minPollingTime = minPollingTime;
+        this.minPollingTimeDuration = DurationHelper.formattedStringToDuration(minPollingTime);
+        this.overdueTimeDuration = DurationHelper.formattedStringToDuration(overdueTime);
+        this.maintenanceWindowPollCount = maintenanceWindowPollCount;
+    }
+
+    public String getPollingTime() {
+        return pollingTime;
+    }
+
+    public Duration getPollingTimeDuration() {
+        return pollingTimeDuration;
+    }
+
+    public String getMinPollingTime() {
+        return minPollingTime;
+    }
+
+    public Duration getMinPollingTimeDuration() {
+        return minPollingTimeDuration;
+    }
+
+    public Duration getOverdueTimeDuration() {
+        return overdueTimeDuration;
+    }
+
+    public int getMaintenanceWindowPollCount() {
+        return maintenanceWindowPollCount;
+    }
+
+    @Override
+    public String toString() {
+        return "ControllerPollConfigSnapshot [pollingTime=" + pollingTime + ", minPollingTime=" + minPollingTime
+                + ", overdueTime=" + overdueTimeDuration + ", maintenanceWindowPollCount="
+                + maintenanceWindowPollCount + "]";
+    }
+}
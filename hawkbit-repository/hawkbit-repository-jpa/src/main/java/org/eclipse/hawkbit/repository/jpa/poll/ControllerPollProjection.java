@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.poll;
+
+import java.net.URI;
+
+import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
+import org.eclipse.hawkbit.repository.model.Action.ActionType;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
+
+/**
+ * Flat row of the {@link Target} base state a polling controller needs. There
+ * is one row per active action of the target, i.e. the action columns are
+ * <code>null</code> if the target has no active action. Every row carries the
+ * latest finished action of the installed distribution set.
+ */
+public class ControllerPollProjection {
+
+    private final Long targetId;
+    private final int targetOptLockRevision;
+    private final String address;
+    private final TargetUpdateStatus updateStatus;
+    private final boolean requestControllerAttributes;
+    private final Long lastTargetQuery;
+    private final Long installedActionId;
+    private final Long actionId;
+    private final Integer actionOptLockRevision;
+    private final Status actionStatus;
+    private final ActionType actionType;
+    private final Long forcedTime;
+    private final Integer weight;
+    private final String maintenanceWindowSchedule;
+    private final String maintenanceWindowDuration;
+    private final String maintenanceWindowTimeZone;
+
+    /**
+     * Constructor as used by the JPQL constructor expression.
+     */
+    @SuppressWarnings("squid:S00107")
+    public ControllerPollProjection(final Long targetId, final int targetOptLockRevision, final String address,
+            final TargetUpdateStatus updateStatus, final boolean requestControllerAttributes,
+            final Long lastTargetQuery, final Long installedActionId, final Long actionId,
+            final Integer actionOptLockRevision, final Status actionStatus, final ActionType actionType,
+            final Long forcedTime, final Integer weight, final String maintenanceWindowSchedule,
+            final String maintenanceWindowDuration, final String maintenanceWindowTimeZone) {
+        this.targetId = targetId;
+        this.targetOptLockRevision = targetOptLockRevision;
+        this.address = address;
+        this.updateStatus = updateStatus;
+        this.requestControllerAttributes = requestControllerAttributes;
+        this.lastTargetQuery = lastTargetQuery;
+        this.installedActionId = installedActionId;
+        this.actionId = actionId;
+        this.actionOptLockRevision = actionOptLockRevision;
+        this.actionStatus = actionStatus;
+        this.actionType = actionType;
+        this.forcedTime = forcedTime;
+        this.weight = weight;
+        this.maintenanceWindowSchedule = maintenanceWindowSchedule;
+        this.maintenanceWindowDuration = maintenanceWindowDuration;
+        this.maintenanceWindowTimeZone = maintenanceWindowTimeZone;
+    }
+
+    public Long getTargetId() {
+        return targetId;
+    }
+
+    public int getTargetOptLockRevision() {
+        return targetOptLockRevision;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    /**
+     * @return the address as {@link URI} (see {@link Target#getAddress()}) or
+     *         <code>null</code> if not set or invalid
+     */
+    public URI getAddressAsUri() {
+        if (address == null) {
+            return null;
+        }
+        try {
+            return URI.create(address);
+        } catch (final IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public TargetUpdateStatus getUpdateStatus() {
+        return updateStatus;
+    }
+
+    public boolean isRequestControllerAttributes() {
+        return requestControllerAttributes;
+    }
+
+    public Long getLastTargetQuery() {
+        return lastTargetQuery;
+    }
+
+    public Long getInstalledActionId() {
+        return installedActionId;
+    }
+
+    public Long getActionId() {
+        return actionId;
+    }
+
+    public Integer getWeight() {
+        return weight;
+    }
+
+    /**
+     * @return a detached {@link JpaAction} holding the action columns of this
+     *         row or <code>null</code> if the row has no active action. It is
+     *         meant for evaluating the action state only and must not be
+     *         persisted.
+     */
+    public JpaAction toAction() {
+        if (actionId == null) {
+            return null;
+        }
+
+        final JpaAction action = new JpaAction();
+        action.setId(actionId);
+        action.setOptLockRevision(actionOptLockRevision);
+        action.setActive(true);
+        action.setStatus(actionStatus);
+        action.setActionType(actionType);
+        action.setForcedTime(forcedTime);
+        action.setWeight(weight);
+        action.setMaintenanceWindowSchedule(maintenanceWindowSchedule);
+        action.setMaintenanceWindowDuration(maintenanceWindowDuration);
+        action.setMaintenanceWindowTimeZone(maintenanceWindowTimeZone);
+        return action;
+    }
+}
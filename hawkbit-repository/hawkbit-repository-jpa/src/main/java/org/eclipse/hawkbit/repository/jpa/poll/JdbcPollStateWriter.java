@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.poll;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.eclipse.hawkbit.repository.event.remote.TargetPollBatchEvent;
+import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
+import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.helper.EventPublisherHolder;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.google.common.collect.Lists;
+
+/**
+ * {@link PollStateWriter} that sets {@link Target#getLastTargetQuery()} by
+ * means of JDBC batches of one parameterised statement. The statement text is
+ * the same for any number of polls, i.e. it is prepared once by the database.
+ * The opt lock revision is not raised as the update is not mission critical
+ * and in fact only written on behalf of the target itself.
+ */
+public class JdbcPollStateWriter implements PollStateWriter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JdbcPollStateWriter.class);
+
+    private static final String UPDATE_LAST_TARGET_QUERY = "UPDATE sp_target SET last_target_query = ? WHERE tenant = ? AND controller_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager txManager;
+    private final TenantAware tenantAware;
+    private final AfterTransactionCommitExecutor afterCommit;
+    private final EventPublisherHolder eventPublisherHolder;
+    private final int batchSize;
+
+    /**
+     * Constructor.
+     *
+     * @param dataSource
+     *            of the repository
+     * @param txManager
+     *            transaction manager of the repository
+     * @param tenantAware
+     *            to run the updates as the tenant of the targets
+     * @param afterCommit
+     *            to publish {@link TargetPollBatchEvent}s after commit
+     * @param eventPublisherHolder
+     *            to publish {@link TargetPollBatchEvent}s with
+     * @param batchSize
+     *            maximum number of updates per JDBC batch and of controller
+     *            IDs per {@link TargetPollBatchEvent}
+     */
+    public JdbcPollStateWriter(final DataSource dataSource, final PlatformTransactionManager txManager,
+            final TenantAware tenantAware, final AfterTransactionCommitExecutor afterCommit,
+            final EventPublisherHolder eventPublisherHolder, final int batchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.txManager = txManager;
+        this.tenantAware = tenantAware;
+        this.afterCommit = afterCommit;
+        this.eventPublisherHolder = eventPublisherHolder;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void write(final String tenant, final Map<String, Long> lastTargetQueries) {
+        final List<Map.Entry<String, Long>> polls = new ArrayList<>(lastTargetQueries.entrySet());
+
+        tenantAware.runAsTenant(tenant,
+                () -> DeploymentHelper.runInNewTransaction(txManager, "writePollStates", status -> {
+                    final int[][] updateCounts = jdbcTemplate.batchUpdate(UPDATE_LAST_TARGET_QUERY, polls, batchSize,
+                            (ps, poll) -> {
+                                ps.setLong(1, poll.getValue());
+                                ps.setString(2, tenant);
+                                ps.setString(3, poll.getKey());
+                            });
+
+                    final long updated = Arrays.stream(updateCounts).flatMapToInt(Arrays::stream)
+                            .filter(count -> count > 0 || count == Statement.SUCCESS_NO_INFO).count();
+                    if (updated < polls.size()) {
+                        LOG.warn("Targets polls could not be applied completely ({} instead of {}).", updated,
+                                polls.size());
+                    }
+
+                    // one event per batch instead of one per polling target
+                    Lists.partition(polls, batchSize).forEach(batch -> {
+                        final List<String> controllerIds = batch.stream().map(Map.Entry::getKey)
+                                .collect(Collectors.toList());
+                        afterCommit.afterCommit(() -> eventPublisherHolder.getEventPublisher().publishEvent(
+                                new TargetPollBatchEvent(tenant, eventPublisherHolder.getApplicationId(),
+                                        controllerIds)));
+                    });
+                    return null;
+                }));
+    }
+}
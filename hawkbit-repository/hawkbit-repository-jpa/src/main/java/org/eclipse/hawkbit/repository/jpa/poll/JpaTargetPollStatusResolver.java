@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.poll;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import org.eclipse.hawkbit.repository.TargetPollStatusResolver;
+import org.eclipse.hawkbit.repository.model.PollStatus;
+import org.eclipse.hawkbit.repository.model.Target;
+
+/**
+ * {@link TargetPollStatusResolver} that considers the pending polls of the
+ * {@link PollStateStore} of this node.
+ */
+public class JpaTargetPollStatusResolver implements TargetPollStatusResolver {
+
+    private final PollStateStore pollStateStore;
+    private final ControllerPollConfigCache pollConfigCache;
+
+    /**
+     * Constructor.
+     *
+     * @param pollStateStore
+     *            holding the pending polls
+     * @param pollConfigCache
+     *            to read the polling intervals from
+     */
+    public JpaTargetPollStatusResolver(final PollStateStore pollStateStore,
+            final ControllerPollConfigCache pollConfigCache) {
+        this.pollStateStore = pollStateStore;
+        this.pollConfigCache = pollConfigCache;
+    }
+
+    @Override
+    public Long getLastTargetQuery(final Target target) {
+        final Long persisted = target.getLastTargetQuery();
+        return pollStateStore.getPending(target.getTenant(), target.getControllerId())
+                .map(pending -> persisted == null ? pending : Math.max(pending, persisted)).orElse(persisted);
+    }
+
+    @Override
+    public PollStatus getPollStatus(final Target target) {
+        final Long lastTargetQuery = getLastTargetQuery(target);
+        if (lastTargetQuery == null) {
+            return null;
+        }
+
+        final ControllerPollConfigSnapshot pollConfig = pollConfigCache.get();
+        final LocalDateTime lastPollDate = LocalDateTime.ofInstant(Instant.ofEpochMilli(lastTargetQuery),
+                ZoneId.systemDefault());
+        final LocalDateTime nextPollDate = lastPollDate.plus(pollConfig.getPollingTimeDuration());
+        return new PollStatus(lastPollDate, nextPollDate, nextPollDate.plus(pollConfig.getOverdueTimeDuration()),
+                LocalDateTime.now());
+    }
+}
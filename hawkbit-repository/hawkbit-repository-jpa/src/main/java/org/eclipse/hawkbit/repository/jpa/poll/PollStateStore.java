@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.poll;
+
+import java.util.Optional;
+
+import org.eclipse.hawkbit.repository.model.Target;
+
+/**
+ * Write-behind store for {@link Target#getLastTargetQuery()}. Polls of
+ * controllers are offered to the store and persisted later on in bulk as the
+ * last poll time is not mission critical.
+ */
+public interface PollStateStore {
+
+    /**
+     * Offers a poll of a controller to the store.
+     *
+     * @param tenant
+     *            of the target
+     * @param controllerId
+     *            of the target
+     * @param lastTargetQuery
+     *            time of the poll in milliseconds since epoch
+     * @return <code>true</code> if the poll has been accepted,
+     *         <code>false</code> if the store is full and the caller has to
+     *         persist the poll by itself
+     */
+    boolean offer(String tenant, String controllerId, long lastTargetQuery);
+
+    /**
+     * @param tenant
+     *            of the target
+     * @param controllerId
+     *            of the target
+     * @return time of the pending, i.e. not yet persisted, poll of the target
+     *         or empty if there is none
+     */
+    Optional<Long> getPending(String tenant, String controllerId);
+
+    /**
+     * Persists all pending polls.
+     *
+     * @return number of persisted polls
+     */
+    int flush();
+
+    /**
+     * @return number of pending polls
+     */
+    int size();
+}
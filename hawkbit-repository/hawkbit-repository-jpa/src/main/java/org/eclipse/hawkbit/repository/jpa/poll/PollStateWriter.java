@@ -0,0 +1,32 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.poll;
+
+import java.util.Map;
+
+import org.eclipse.hawkbit.repository.model.Target;
+
+/**
+ * Backend of a {@link PollStateStore} that persists
+ * {@link Target#getLastTargetQuery()} of a tenant.
+ */
+@FunctionalInterface
+public interface PollStateWriter {
+
+    /**
+     * Persists the given polls within a new transaction.
+     *
+     * @param tenant
+     *            of the targets
+     * @param lastTargetQueries
+     *            poll time by controller ID
+     */
+    void write(String tenant, Map<String, Long> lastTargetQueries);
+}
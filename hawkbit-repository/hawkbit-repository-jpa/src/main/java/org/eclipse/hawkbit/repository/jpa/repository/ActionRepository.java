@@ -65,6 +65,22 @@ public interface ActionRepository extends BaseEntityRepository<JpaAction> {
     Optional<Action> findFirstByTargetIdAndDistributionSetIdAndStatusOrderByIdDesc(@Param("target") long targetId,
             @Param("ds") Long dsId, @Param("status") Action.Status status);
 
+    /**
+     * Retrieves the IDs of the rollout groups of the actions of the given
+     * targets that are in the given active state and status.
+     *
+     * @param targetIds
+     *            the IDs of the targets of the actions
+     * @param active
+     *            the active state of the actions
+     * @param status
+     *            the status of the actions
+     * @return the IDs of the rollout groups
+     */
+    @Query("SELECT DISTINCT a.rolloutGroup.id FROM JpaAction a WHERE a.target.id IN :targetIds AND a.active = :active AND a.status = :status")
+    List<Long> findRolloutGroupIdsByTargetIdsAndActiveAndStatus(@Param("targetIds") List<Long> targetIds,
+            @Param("active") boolean active, @Param("status") Action.Status status);
+
     /**
      * Switches the status of actions from one specific status into another, only if
      * the actions are in a specific status. This should be a atomic operation.
@@ -165,6 +181,19 @@ public interface ActionRepository extends BaseEntityRepository<JpaAction> {
      */
     Long countByTargetId(Long targetId);
 
+    /**
+     * Counts the {@link Action}s of the given targets.
+     * <p/>
+     * No access control applied
+     *
+     * @param targetIds
+     *            the IDs of the targets to count the {@link Action}s
+     * @return pairs of the target ID and the count of its actions, targets
+     *         without actions are omitted
+     */
+    @Query("SELECT a.target.id, COUNT(a.id) FROM JpaAction a WHERE a.target.id IN :targetIds GROUP BY a.target.id")
+    List<Object[]> countByTargetIdInGroupByTargetId(@Param("targetIds") Collection<Long> targetIds);
+
     /**
      * Counts all {@link Action}s referring to the given DistributionSet.
      * <p/>
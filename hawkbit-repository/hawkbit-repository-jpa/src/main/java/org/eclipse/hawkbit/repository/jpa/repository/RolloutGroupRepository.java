@@ -74,6 +74,16 @@ public interface RolloutGroupRepository
             @Param("status1") RolloutGroupStatus rolloutGroupStatus1,
             @Param("status2") RolloutGroupStatus rolloutGroupStatus2);
 
+    /**
+     * Retrieves the IDs of the rollout groups of the given rollouts.
+     *
+     * @param rolloutIds
+     *            the IDs of the rollouts
+     * @return pairs of the rollout ID and the ID of one of its groups
+     */
+    @Query("SELECT r.rollout.id, r.id FROM JpaRolloutGroup r WHERE r.rollout.id IN :rolloutIds")
+    List<Object[]> findRolloutIdAndIdByRolloutIdIn(@Param("rolloutIds") Collection<Long> rolloutIds);
+
     /**
      *
      * Counts all rollout-groups refering to a given {@link Rollout} by its ID
@@ -43,6 +43,19 @@ public interface RolloutRepository
     @Query("SELECT sm.id FROM JpaRollout sm WHERE sm.status IN ?1")
     List<Long> findByStatusIn(Collection<RolloutStatus> status);
 
+    /**
+     * Retrieves all {@link Rollout} for given status and the dynamic
+     * {@link Rollout}s for the additional status.
+     *
+     * @param status
+     *            the status of the rollouts to find
+     * @param dynamicStatus
+     *            the status of the dynamic rollouts to find in addition
+     * @return the list of {@link Rollout} IDs
+     */
+    @Query("SELECT sm.id FROM JpaRollout sm WHERE sm.status IN ?1 OR (sm.status = ?2 AND sm.dynamic = true)")
+    List<Long> findByStatusInOrDynamicAndStatus(Collection<RolloutStatus> status, RolloutStatus dynamicStatus);
+
     /**
      * Retrieves all {@link Rollout} for a specific {@code name}
      *
@@ -9,6 +9,7 @@
  */
 package org.eclipse.hawkbit.repository.jpa.repository;
 
+import org.eclipse.hawkbit.repository.jpa.model.JpaRollout;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRolloutGroup;
 import org.eclipse.hawkbit.repository.jpa.model.RolloutTargetGroup;
 import org.eclipse.hawkbit.repository.jpa.model.RolloutTargetGroupId;
@@ -32,4 +33,13 @@ public interface RolloutTargetGroupRepository
      * @return count of targets in the group
      */
     Long countByRolloutGroup(JpaRolloutGroup rolloutGroup);
+
+    /**
+     * Counts all entries that belong to the groups of the given rollout.
+     *
+     * @param rollout
+     *            the entries belong to
+     * @return number of entries
+     */
+    long countByRolloutGroupRollout(JpaRollout rollout);
 }
@@ -10,11 +10,14 @@
 package org.eclipse.hawkbit.repository.jpa.repository;
 
 import java.util.Collection;
+import java.util.List;
 
 import jakarta.persistence.EntityManager;
 
 import org.eclipse.hawkbit.repository.jpa.model.JpaDistributionSet;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
+import org.eclipse.hawkbit.repository.jpa.poll.ControllerPollProjection;
+import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
 import org.eclipse.hawkbit.repository.model.TenantAwareBaseEntity;
@@ -58,6 +61,27 @@ public interface TargetRepository extends BaseEntityRepository<JpaTarget> {
             @Param("set") JpaDistributionSet set, @Param("lastModifiedAt") Long modifiedAt,
             @Param("lastModifiedBy") String modifiedBy, @Param("targets") Collection<Long> targets);
 
+    /**
+     * Reads the base state of a polling controller, i.e. the {@link Target}
+     * columns together with its active actions and the latest finished action
+     * of its installed distribution set, by means of one single query. The
+     * installed action is looked up by a correlated subquery, so the result has
+     * one row per active action only.
+     * <p/>
+     * No access control applied
+     *
+     * @param controllerId
+     *            of the polling target
+     * @param finished
+     *            the {@link Action.Status#FINISHED} status of the installed
+     *            action
+     * @return one row per active action (at least one row) or an empty list
+     *         if the target does not exist
+     */
+    @Query("SELECT NEW org.eclipse.hawkbit.repository.jpa.poll.ControllerPollProjection(t.id, t.optLockRevision, t.address, t.updateStatus, t.requestControllerAttributes, t.lastTargetQuery, (SELECT MAX(i.id) FROM JpaAction i WHERE i.target = t AND i.distributionSet = t.installedDistributionSet AND i.status = :finished), a.id, a.optLockRevision, a.status, a.actionType, a.forcedTime, a.weight, a.maintenanceWindowSchedule, a.maintenanceWindowDuration, a.maintenanceWindowTimeZone) FROM JpaTarget t LEFT JOIN t.actions a ON a.active = true WHERE t.controllerId = :controllerId")
+    List<ControllerPollProjection> findPollProjectionByControllerId(@Param("controllerId") String controllerId,
+            @Param("finished") Action.Status finished);
+
    /**
      * Counts {@link Target} instances of given type in the repository.
      * <p/>
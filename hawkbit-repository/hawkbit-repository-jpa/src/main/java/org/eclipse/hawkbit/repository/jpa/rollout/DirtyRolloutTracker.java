@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.hawkbit.repository.event.remote.entity.AbstractActionEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.ActionUpdatedEvent;
+import org.eclipse.hawkbit.repository.model.Rollout;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Keeps track of the {@link Rollout}s whose actions have changed since they
+ * have been handled the last time, i.e. whose groups have to be evaluated
+ * again. The changes are taken from the {@link ActionUpdatedEvent}s, so the
+ * changes of the other nodes of a cluster are tracked as well.
+ */
+public class DirtyRolloutTracker {
+
+    // dirty rollouts per tenant
+    private final Map<String, Set<Long>> dirty = new ConcurrentHashMap<>();
+
+    /**
+     * Marks the rollout of a changed action as dirty.
+     *
+     * @param event
+     *            of the changed action
+     */
+    @EventListener(classes = ActionUpdatedEvent.class)
+    public void onActionUpdated(final AbstractActionEvent event) {
+        if (event.getRolloutId() != null) {
+            markDirty(event.getTenant(), event.getRolloutId());
+        }
+    }
+
+    /**
+     * Marks the rollout as dirty.
+     *
+     * @param tenant
+     *            the rollout belongs to
+     * @param rolloutId
+     *            the ID of the rollout
+     */
+    public void markDirty(final String tenant, final long rolloutId) {
+        // added within compute as it is atomic with the removal by drain,
+        // i.e. the rollout is either drained or marked in a new set
+        dirty.compute(tenant.toUpperCase(), (key, rolloutIds) -> {
+            final Set<Long> marked = rolloutIds == null ? new HashSet<>() : rolloutIds;
+            marked.add(rolloutId);
+            return marked;
+        });
+    }
+
+    /**
+     * Removes and returns the dirty rollouts of a tenant.
+     *
+     * @param tenant
+     *            to take the dirty rollouts of
+     * @return the IDs of the dirty rollouts
+     */
+    public Set<Long> drain(final String tenant) {
+        final Set<Long> drained = dirty.remove(tenant.toUpperCase());
+        return drained == null ? Collections.emptySet() : drained;
+    }
+}
@@ -0,0 +1,230 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import java.sql.Types;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import jakarta.persistence.EntityManager;
+
+import org.eclipse.hawkbit.repository.QuotaManagement;
+import org.eclipse.hawkbit.repository.event.remote.entity.ActionCreatedEvent;
+import org.eclipse.hawkbit.repository.jpa.EntityInterceptor;
+import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
+import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
+import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
+import org.eclipse.hawkbit.repository.jpa.model.JpaAction_;
+import org.eclipse.hawkbit.repository.jpa.model.JpaRollout;
+import org.eclipse.hawkbit.repository.jpa.model.helper.EntityInterceptorHolder;
+import org.eclipse.hawkbit.repository.jpa.utils.ObjectTypeConverterHelper;
+import org.eclipse.hawkbit.repository.jpa.utils.QuotaHelper;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.Rollout;
+import org.eclipse.hawkbit.repository.model.RolloutGroup;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.helper.EventPublisherHolder;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Creates the {@link Action}s of a {@link RolloutGroup} in bulk. The
+ * {@link Action#getId()}s are generated by the database, so each chunk is
+ * written by one JDBC batch of one parameterised insert and the generated IDs
+ * are read back by one query afterwards. The quota of actions per target is
+ * checked by one aggregated count for the whole chunk and the
+ * {@link ActionCreatedEvent}s of the chunk are published together after the
+ * commit.
+ * <p>
+ * The JDBC insert bypasses the JPA entity listeners of {@link JpaAction}, so
+ * what they would do is done explicitly: the auditing columns are set from the
+ * {@link AuditorAware}, the enums are bound by the data values of the
+ * converters of {@link JpaAction}, the registered {@link EntityInterceptor}s
+ * are notified before and after the insert and the
+ * {@link RolloutGroupStatusCounters} are updated. There are no property change
+ * events for created actions.
+ * <p>
+ * Has to be called within a transaction of the tenant.
+ */
+public class RolloutActionWriter {
+
+    private static final String INSERT_ACTION = "INSERT INTO sp_action (tenant, created_at, created_by, last_modified_at, last_modified_by, optlock_revision, target, distribution_set, active, action_type, forced_time, weight, status, rollout, rolloutgroup, initiated_by) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String COUNT_ACTIONS_BY_TARGET = "SELECT a.target.id, COUNT(a.id) FROM JpaAction a WHERE a.target.id IN :targetIds GROUP BY a.target.id";
+
+    private static final String FIND_ACTION_IDS_BY_TARGET = "SELECT a.target.id, a.id FROM JpaAction a WHERE a.rolloutGroup.id = :rolloutGroupId AND a.target.id IN :targetIds";
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final QuotaManagement quotaManagement;
+    private final AuditorAware<String> auditorProvider;
+    private final AfterTransactionCommitExecutor afterCommit;
+    private final EventPublisherHolder eventPublisherHolder;
+    private final RolloutGroupStatusCounters rolloutGroupStatusCounters;
+
+    /**
+     * Constructor.
+     *
+     * @param entityManager
+     *            to count and find the actions with
+     * @param dataSource
+     *            of the repository
+     * @param quotaManagement
+     *            to get the quota of actions per target from
+     * @param auditorProvider
+     *            to get the auditor of the created actions from
+     * @param afterCommit
+     *            to publish the events after the commit
+     * @param eventPublisherHolder
+     *            to publish the events with
+     * @param rolloutGroupStatusCounters
+     *            to count the created actions in
+     */
+    public RolloutActionWriter(final EntityManager entityManager, final DataSource dataSource,
+            final QuotaManagement quotaManagement, final AuditorAware<String> auditorProvider,
+            final AfterTransactionCommitExecutor afterCommit, final EventPublisherHolder eventPublisherHolder,
+            final RolloutGroupStatusCounters rolloutGroupStatusCounters) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.quotaManagement = quotaManagement;
+        this.auditorProvider = auditorProvider;
+        this.afterCommit = afterCommit;
+        this.eventPublisherHolder = eventPublisherHolder;
+        this.rolloutGroupStatusCounters = rolloutGroupStatusCounters;
+    }
+
+    /**
+     * Creates one action of the rollout for each of the targets. The action is
+     * in-active and scheduled for static and running for dynamic groups.
+     *
+     * @param targets
+     *            to create the actions for, none of them has an action in the
+     *            group yet
+     * @param rollout
+     *            the actions belong to
+     * @param rolloutGroup
+     *            the actions belong to
+     * @return the created actions
+     */
+    public List<JpaAction> write(final Collection<? extends Target> targets, final Rollout rollout,
+            final RolloutGroup rolloutGroup) {
+        final List<Long> targetIds = targets.stream().map(Target::getId).collect(Collectors.toList());
+        assertActionsPerTargetQuota(targetIds);
+
+        final String tenant = ((JpaRollout) rollout).getTenant();
+        final String auditor = auditorProvider.getCurrentAuditor().orElse(null);
+        final long now = System.currentTimeMillis();
+        final List<JpaAction> actions = targets.stream().map(target -> {
+            final JpaAction action = new JpaAction();
+            action.setTenant(tenant);
+            action.setCreatedAt(now);
+            action.setCreatedBy(auditor);
+            action.setLastModifiedAt(now);
+            action.setLastModifiedBy(auditor);
+            action.setOptLockRevision(1);
+            action.setTarget(target);
+            action.setActive(rolloutGroup.isDynamic());
+            action.setDistributionSet(rollout.getDistributionSet());
+            action.setActionType(rollout.getActionType());
+            action.setForcedTime(rollout.getForcedTime());
+            action.setStatus(rolloutGroup.isDynamic() ? Status.RUNNING : Status.SCHEDULED);
+            action.setRollout(rollout);
+            action.setRolloutGroup(rolloutGroup);
+            action.setInitiatedBy(rollout.getCreatedBy());
+            rollout.getWeight().ifPresent(action::setWeight);
+            return action;
+        }).collect(Collectors.toList());
+
+        // pending changes of the unit of work have to be written before
+        entityManager.flush();
+        actions.forEach(action -> notifyEntityInterceptors(interceptor -> interceptor.prePersist(action)));
+        jdbcTemplate.batchUpdate(INSERT_ACTION, actions, actions.size(), (ps, action) -> {
+            ps.setString(1, action.getTenant());
+            ps.setLong(2, action.getCreatedAt());
+            ps.setString(3, action.getCreatedBy());
+            ps.setLong(4, action.getLastModifiedAt());
+            ps.setString(5, action.getLastModifiedBy());
+            ps.setInt(6, action.getOptLockRevision());
+            ps.setLong(7, action.getTarget().getId());
+            ps.setLong(8, action.getDistributionSet().getId());
+            ps.setBoolean(9, action.isActive());
+            ps.setInt(10, ObjectTypeConverterHelper.toDataValue(JpaAction.class, JpaAction_.ACTION_TYPE,
+                    action.getActionType()));
+            ps.setLong(11, action.getForcedTime());
+            if (action.getWeight().isPresent()) {
+                ps.setInt(12, action.getWeight().get());
+            } else {
+                ps.setNull(12, Types.INTEGER);
+            }
+            ps.setInt(13,
+                    ObjectTypeConverterHelper.toDataValue(JpaAction.class, JpaAction_.STATUS, action.getStatus()));
+            ps.setLong(14, rollout.getId());
+            ps.setLong(15, rolloutGroup.getId());
+            ps.setString(16, action.getInitiatedBy());
+        });
+
+        // the inserts are not noticed by the entity listeners
+        rolloutGroupStatusCounters.statusChanged(tenant, rolloutGroup.getId(), null,
+                rolloutGroup.isDynamic() ? Status.RUNNING : Status.SCHEDULED, actions.size());
+
+        final Map<Long, Long> actionIds = findActionIdsByTarget(rolloutGroup, targetIds);
+        actions.forEach(action -> action.setId(actionIds.get(action.getTarget().getId())));
+        actions.forEach(action -> notifyEntityInterceptors(interceptor -> interceptor.postPersist(action)));
+
+        afterCommit.afterCommit(() -> actions.forEach(action -> eventPublisherHolder.getEventPublisher()
+                .publishEvent(new ActionCreatedEvent(action, action.getTarget().getId(), rollout.getId(),
+                        rolloutGroup.getId(), eventPublisherHolder.getApplicationId()))));
+        return actions;
+    }
+
+    /**
+     * Enforces the quota defining the maximum number of {@link Action}s per
+     * {@link Target} for one more action of each of the targets.
+     *
+     * @param targetIds
+     *            the IDs of the targets
+     */
+    private void assertActionsPerTargetQuota(final List<Long> targetIds) {
+        final int quota = quotaManagement.getMaxActionsPerTarget();
+        if (quota <= 0) {
+            return;
+        }
+
+        final Map<Long, Long> actionsByTarget = new HashMap<>();
+        Lists.partition(targetIds, Constants.MAX_ENTRIES_IN_STATEMENT)
+                .forEach(chunk -> entityManager.createQuery(COUNT_ACTIONS_BY_TARGET, Object[].class)
+                        .setParameter("targetIds", chunk).getResultList()
+                        .forEach(row -> actionsByTarget.put((Long) row[0], (Long) row[1])));
+        targetIds.forEach(targetId -> QuotaHelper.assertAssignmentQuota(targetId, 1, quota, Action.class,
+                Target.class, id -> actionsByTarget.getOrDefault(id, 0L)));
+    }
+
+    private static void notifyEntityInterceptors(final Consumer<EntityInterceptor> notification) {
+        EntityInterceptorHolder.getInstance().getEntityInterceptors().forEach(notification);
+    }
+
+    private Map<Long, Long> findActionIdsByTarget(final RolloutGroup rolloutGroup, final List<Long> targetIds) {
+        final Map<Long, Long> actionIds = new HashMap<>();
+        Lists.partition(targetIds, Constants.MAX_ENTRIES_IN_STATEMENT)
+                .forEach(chunk -> entityManager.createQuery(FIND_ACTION_IDS_BY_TARGET, Object[].class)
+                        .setParameter("rolloutGroupId", rolloutGroup.getId()).setParameter("targetIds", chunk)
+                        .getResultList().forEach(row -> actionIds.merge((Long) row[0], (Long) row[1], Math::max)));
+        return actionIds;
+    }
+}
@@ -0,0 +1,443 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.hawkbit.repository.event.remote.RolloutGroupDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.RolloutStoppedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.AbstractActionEvent;
+import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
+import org.eclipse.hawkbit.repository.jpa.repository.ActionRepository;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.RolloutGroup;
+import org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus;
+import org.eclipse.hawkbit.repository.model.helper.EventPublisherHolder;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Number of {@link Action}s per {@link Status} of the {@link RolloutGroup}s.
+ * The numbers of a group are counted by the database when they are needed
+ * the first time and then kept up to date by applying the status changes of
+ * the actions when their transaction has been committed, so reading them
+ * does not need to scan the actions of the group again.
+ * <p>
+ * Changes that cannot be applied, e.g. bulk updates, deletions by the database
+ * or changes made by other nodes of the cluster, invalidate the numbers, which
+ * are counted again when they are needed the next time. The numbers are
+ * counted again after {@link #getMaxAge()} as well.
+ * <p>
+ * A transaction that changes the status of actions of a group marks the group
+ * as pending until it has been completed. The numbers counted by the database
+ * meanwhile are used but not kept, as it is unknown if they already include
+ * the changes or not.
+ */
+public class RolloutGroupStatusCounters {
+
+    private static final long DEFAULT_SIZE = 50_000;
+    private static final long DEFAULT_MAX_AGE = TimeUnit.MINUTES.toMillis(5);
+
+    private static final Status[] STATUSES = Status.values();
+
+    private final ActionRepository actionRepository;
+    private final TenantAware tenantAware;
+    private final EventPublisherHolder eventPublisherHolder;
+    private final long size;
+    private final long maxAge;
+
+    private final Map<Long, Counters> counters = new ConcurrentHashMap<>();
+    // every modification of the counters of a group gets a new stamp
+    private final AtomicLong stamps = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param actionRepository
+     *            to count the actions of the groups with
+     * @param tenantAware
+     *            to get the current tenant
+     * @param eventPublisherHolder
+     *            to tell the events of this node from the ones of the others
+     * @param size
+     *            the maximum number of groups whose numbers are kept
+     * @param maxAge
+     *            time in milliseconds after that the numbers of a group are
+     *            counted again
+     */
+    public RolloutGroupStatusCounters(final ActionRepository actionRepository, final TenantAware tenantAware,
+            final EventPublisherHolder eventPublisherHolder, final long size, final long maxAge) {
+        this.actionRepository = actionRepository;
+        this.tenantAware = tenantAware;
+        this.eventPublisherHolder = eventPublisherHolder;
+        this.size = size;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param actionRepository
+     *            to count the actions of the groups with
+     * @param tenantAware
+     *            to get the current tenant
+     * @param eventPublisherHolder
+     *            to tell the events of this node from the ones of the others
+     */
+    public RolloutGroupStatusCounters(final ActionRepository actionRepository, final TenantAware tenantAware,
+            final EventPublisherHolder eventPublisherHolder) {
+        this(actionRepository, tenantAware, eventPublisherHolder, DEFAULT_SIZE, DEFAULT_MAX_AGE);
+    }
+
+    /**
+     * @return time in milliseconds after that the numbers of a group are
+     *         counted again
+     */
+    public long getMaxAge() {
+        return maxAge;
+    }
+
+    /**
+     * @param rolloutGroupId
+     *            the ID of the group
+     * @param status
+     *            of the actions
+     * @return the number of actions of the group in the status
+     */
+    public long count(final long rolloutGroupId, final Status status) {
+        return get(Collections.singletonList(rolloutGroupId)).get(rolloutGroupId)[status.ordinal()];
+    }
+
+    /**
+     * @param rolloutGroupId
+     *            the ID of the group
+     * @return the number of actions of the group per status, only the
+     *         statuses with actions are contained
+     */
+    public List<TotalTargetCountActionStatus> getStatus(final long rolloutGroupId) {
+        return toStatus(rolloutGroupId, get(Collections.singletonList(rolloutGroupId)).get(rolloutGroupId));
+    }
+
+    /**
+     * @param rolloutGroupIds
+     *            the IDs of the groups
+     * @return the number of actions per status by the ID of the group, only
+     *         the groups and statuses with actions are contained
+     */
+    public Map<Long, List<TotalTargetCountActionStatus>> getStatus(final Collection<Long> rolloutGroupIds) {
+        final Map<Long, List<TotalTargetCountActionStatus>> status = new HashMap<>();
+        get(rolloutGroupIds).forEach((rolloutGroupId, counts) -> {
+            final List<TotalTargetCountActionStatus> groupStatus = toStatus(rolloutGroupId, counts);
+            if (!groupStatus.isEmpty()) {
+                status.put(rolloutGroupId, groupStatus);
+            }
+        });
+        return status;
+    }
+
+    /**
+     * Records that actions of a group have been created, have changed their
+     * status or have been deleted within the current transaction. The change
+     * is applied once the transaction has been committed, without a
+     * transaction the numbers of the group are invalidated.
+     *
+     * @param tenant
+     *            the group belongs to
+     * @param rolloutGroupId
+     *            the ID of the group
+     * @param from
+     *            the previous status of the actions, <code>null</code> for
+     *            created actions
+     * @param to
+     *            the new status of the actions, <code>null</code> for deleted
+     *            actions
+     * @param count
+     *            the number of actions
+     */
+    public void statusChanged(final String tenant, final long rolloutGroupId, final Status from, final Status to,
+            final long count) {
+        if (from == to || count == 0) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(rolloutGroupId);
+            return;
+        }
+
+        TransactionChanges changes = ownChanges();
+        if (changes == null) {
+            changes = new TransactionChanges();
+            TransactionSynchronizationManager.registerSynchronization(changes);
+        }
+
+        final long[] delta = changes.deltas.computeIfAbsent(rolloutGroupId, key -> {
+            counters.compute(key, (id, current) -> current == null
+                    ? new Counters(tenant.toUpperCase(), null, 0, 1, stamps.incrementAndGet())
+                    : current.withPending(current.pending + 1, stamps.incrementAndGet()));
+            return new long[STATUSES.length];
+        });
+        if (from != null) {
+            delta[from.ordinal()] -= count;
+        }
+        if (to != null) {
+            delta[to.ordinal()] += count;
+        }
+    }
+
+    /**
+     * Invalidates the numbers of a group, they are counted again when they are
+     * needed the next time.
+     *
+     * @param rolloutGroupId
+     *            the ID of the group
+     */
+    public void invalidate(final long rolloutGroupId) {
+        counters.computeIfPresent(rolloutGroupId, (key, current) -> current.pending == 0 ? null
+                : new Counters(current.tenant, null, 0, current.pending, stamps.incrementAndGet()));
+    }
+
+    /**
+     * Invalidates the numbers of all groups of a tenant.
+     *
+     * @param tenant
+     *            the groups belong to
+     */
+    public void invalidateTenant(final String tenant) {
+        final String upperCaseTenant = tenant.toUpperCase();
+        counters.forEach((rolloutGroupId, current) -> {
+            if (current.tenant.equals(upperCaseTenant)) {
+                invalidate(rolloutGroupId);
+            }
+        });
+    }
+
+    /**
+     * Invalidates the numbers of a group if its actions have been changed by
+     * another node of the cluster.
+     *
+     * @param event
+     *            of the changed action
+     */
+    @EventListener(classes = AbstractActionEvent.class)
+    public void onActionEvent(final AbstractActionEvent event) {
+        if (event.getRolloutGroupId() != null && !isLocal(event.getOriginService())) {
+            invalidate(event.getRolloutGroupId());
+        }
+    }
+
+    /**
+     * Invalidates the numbers of all groups of the tenant as the actions of
+     * the deleted target have been deleted by the database.
+     *
+     * @param event
+     *            of the deleted target
+     */
+    @EventListener(classes = TargetDeletedEvent.class)
+    public void onTargetDeleted(final TargetDeletedEvent event) {
+        invalidateTenant(event.getTenant());
+    }
+
+    /**
+     * Invalidates the numbers of the deleted group.
+     *
+     * @param event
+     *            of the deleted group
+     */
+    @EventListener(classes = RolloutGroupDeletedEvent.class)
+    public void onRolloutGroupDeleted(final RolloutGroupDeletedEvent event) {
+        invalidate(event.getEntityId());
+    }
+
+    /**
+     * Invalidates the numbers of the groups of the stopped rollout.
+     *
+     * @param event
+     *            of the stopped rollout
+     */
+    @EventListener(classes = RolloutStoppedEvent.class)
+    public void onRolloutStopped(final RolloutStoppedEvent event) {
+        event.getRolloutGroupIds().forEach(this::invalidate);
+    }
+
+    private boolean isLocal(final String originService) {
+        return originService != null && originService.equals(eventPublisherHolder.getApplicationId());
+    }
+
+    private Map<Long, long[]> get(final Collection<Long> rolloutGroupIds) {
+        final long now = System.currentTimeMillis();
+        final TransactionChanges ownChanges = ownChanges();
+        final Map<Long, long[]> result = new HashMap<>();
+        // the stamps the numbers to count may be kept with
+        final Map<Long, Long> toCount = new HashMap<>();
+        for (final Long rolloutGroupId : rolloutGroupIds) {
+            final Counters current = counters.get(rolloutGroupId);
+            if (current != null && current.counts != null && (current.pending > 0 || now - current.loadedAt < maxAge)) {
+                result.put(rolloutGroupId, withOwnChanges(current.counts, ownChanges, rolloutGroupId));
+            } else {
+                toCount.put(rolloutGroupId, placeholder(rolloutGroupId));
+            }
+        }
+        if (toCount.isEmpty()) {
+            return result;
+        }
+
+        final Map<Long, long[]> counted = new HashMap<>();
+        toCount.keySet().forEach(rolloutGroupId -> counted.put(rolloutGroupId, new long[STATUSES.length]));
+        Lists.partition(new ArrayList<>(toCount.keySet()), Constants.MAX_ENTRIES_IN_STATEMENT)
+                .forEach(chunk -> actionRepository.getStatusCountByRolloutGroupId(chunk)
+                        .forEach(status -> counted.get(status.getId())[status.getStatus().ordinal()] = status
+                                .getCount()));
+
+        final String tenant = tenantAware.getCurrentTenant().toUpperCase();
+        counted.forEach((rolloutGroupId, counts) -> {
+            final long stamp = toCount.get(rolloutGroupId);
+            counters.computeIfPresent(rolloutGroupId, (key, current) -> current.stamp == stamp
+                    ? new Counters(tenant, counts, now, 0, stamps.incrementAndGet())
+                    : current);
+            result.put(rolloutGroupId, counts.clone());
+        });
+        evictIfFull();
+        return result;
+    }
+
+    // returns the stamp of the placeholder or -1 if the counted numbers must
+    // not be kept
+    private long placeholder(final long rolloutGroupId) {
+        if (size <= 0) {
+            return -1;
+        }
+        final long stamp = stamps.incrementAndGet();
+        final String tenant = tenantAware.getCurrentTenant().toUpperCase();
+        final Counters placeholder = counters.compute(rolloutGroupId, (key, current) -> {
+            if (current == null) {
+                return new Counters(tenant, null, 0, 0, stamp);
+            }
+            return current.pending > 0 ? current : current.withPending(0, stamp);
+        });
+        return placeholder.stamp == stamp ? stamp : -1;
+    }
+
+    private void evictIfFull() {
+        final Iterator<Long> rolloutGroupIds = counters.keySet().iterator();
+        while (counters.size() > size && rolloutGroupIds.hasNext()) {
+            counters.computeIfPresent(rolloutGroupIds.next(),
+                    (key, current) -> current.pending == 0 ? null : current);
+        }
+    }
+
+    private void complete(final Map<Long, long[]> deltas, final boolean committed) {
+        deltas.forEach((rolloutGroupId, delta) -> counters.computeIfPresent(rolloutGroupId, (key, current) -> {
+            long[] counts = current.counts;
+            if (committed && counts != null) {
+                counts = counts.clone();
+                for (int i = 0; i < counts.length; i++) {
+                    counts[i] = Math.max(0, counts[i] + delta[i]);
+                }
+            }
+            final int pending = current.pending - 1;
+            if (counts == null && pending == 0) {
+                return null;
+            }
+            return new Counters(current.tenant, counts, current.loadedAt, pending, stamps.incrementAndGet());
+        }));
+    }
+
+    // the changes are looked up in the synchronizations of the current
+    // transaction as they are suspended together with it
+    private TransactionChanges ownChanges() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        return TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(TransactionChanges.class::isInstance).map(TransactionChanges.class::cast)
+                .filter(changes -> changes.owner() == this).findFirst().orElse(null);
+    }
+
+    private static long[] withOwnChanges(final long[] counts, final TransactionChanges ownChanges,
+            final long rolloutGroupId) {
+        final long[] result = counts.clone();
+        final long[] delta = ownChanges == null ? null : ownChanges.deltas.get(rolloutGroupId);
+        if (delta != null) {
+            for (int i = 0; i < result.length; i++) {
+                result[i] = Math.max(0, result[i] + delta[i]);
+            }
+        }
+        return result;
+    }
+
+    private static List<TotalTargetCountActionStatus> toStatus(final long rolloutGroupId, final long[] counts) {
+        final List<TotalTargetCountActionStatus> status = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                status.add(new TotalTargetCountActionStatus(rolloutGroupId, STATUSES[i], counts[i]));
+            }
+        }
+        return status;
+    }
+
+    /**
+     * The numbers of a group, immutable to be read without locking.
+     */
+    private static final class Counters {
+
+        private final String tenant;
+        // null if not counted yet or invalidated
+        private final long[] counts;
+        private final long loadedAt;
+        // number of uncompleted transactions that change the actions
+        private final int pending;
+        private final long stamp;
+
+        private Counters(final String tenant, final long[] counts, final long loadedAt, final int pending,
+                final long stamp) {
+            this.tenant = tenant;
+            this.counts = counts;
+            this.loadedAt = loadedAt;
+            this.pending = pending;
+            this.stamp = stamp;
+        }
+
+        private Counters withPending(final int pending, final long stamp) {
+            return new Counters(tenant, counts, loadedAt, pending, stamp);
+        }
+    }
+
+    /**
+     * The changes of the current transaction, applied after its completion.
+     */
+    private final class TransactionChanges implements TransactionSynchronization {
+
+        private final Map<Long, long[]> deltas = new HashMap<>();
+
+        private RolloutGroupStatusCounters owner() {
+            return RolloutGroupStatusCounters.this;
+        }
+
+        @Override
+        public void afterCompletion(final int status) {
+            complete(deltas, status == STATUS_COMMITTED);
+        }
+    }
+}
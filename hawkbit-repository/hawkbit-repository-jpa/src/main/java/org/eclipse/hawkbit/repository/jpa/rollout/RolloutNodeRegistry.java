@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.repository.event.remote.RolloutNodeHeartbeatEvent;
+import org.eclipse.hawkbit.repository.model.helper.EventPublisherHolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+
+import com.google.common.hash.Hashing;
+
+/**
+ * Keeps track of the live nodes of a cluster that handle rollouts and shares
+ * the rollouts among them. Every node sends a {@link RolloutNodeHeartbeatEvent}
+ * in a third of the lease time and is considered gone if none of its
+ * heartbeats has been received within the lease time. The heartbeats are sent
+ * by a task of their own, i.e. a node that takes long to handle its rollouts
+ * does not lose its lease. A rollout is owned by the node with the highest
+ * hash of the node and the rollout (rendezvous hashing), i.e. if a node joins
+ * or leaves only its own share of the rollouts moves to other nodes.
+ * <p>
+ * The unit that is shared is the whole rollout: a single rollout is handled by
+ * its owner only, as its groups are filled and started in their order and the
+ * targets of a group depend on the ones of the previous groups. So more nodes
+ * handle more rollouts at the same time, but do not create or run one large
+ * rollout any faster.
+ */
+public class RolloutNodeRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RolloutNodeRegistry.class);
+
+    private final EventPublisherHolder eventPublisherHolder;
+    private final long leaseTime;
+
+    // time of the last received heartbeat per node
+    private final Map<String, Long> nodes = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param eventPublisherHolder
+     *            to send the heartbeats with and to get the ID of this node
+     *            from
+     * @param leaseTime
+     *            in milliseconds a node is considered live after its last
+     *            heartbeat
+     */
+    public RolloutNodeRegistry(final EventPublisherHolder eventPublisherHolder, final long leaseTime) {
+        this.eventPublisherHolder = eventPublisherHolder;
+        this.leaseTime = leaseTime;
+    }
+
+    /**
+     * Sends the heartbeats of this node in a third of the lease time,
+     * independent of the handling of the rollouts.
+     *
+     * @param executorService
+     *            to send the heartbeats on
+     */
+    public void startHeartbeats(final ScheduledExecutorService executorService) {
+        executorService.scheduleWithFixedDelay(this::heartbeat, 0, leaseTime / 3, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sends the heartbeat of this node.
+     */
+    public void heartbeat() {
+        nodes.put(self(), System.currentTimeMillis());
+        try {
+            eventPublisherHolder.getEventPublisher().publishEvent(new RolloutNodeHeartbeatEvent(self()));
+        } catch (final RuntimeException e) {
+            // the next heartbeats must not be cancelled
+            LOGGER.warn("Failed to send the heartbeat of rollout node {}.", self(), e);
+        }
+    }
+
+    /**
+     * Renews the lease of the node that has sent the heartbeat.
+     *
+     * @param event
+     *            the heartbeat
+     */
+    @EventListener(classes = RolloutNodeHeartbeatEvent.class)
+    public void onHeartbeat(final RolloutNodeHeartbeatEvent event) {
+        if (nodes.put(event.getOriginService(), System.currentTimeMillis()) == null) {
+            LOGGER.info("Rollout node {} joined.", event.getOriginService());
+        }
+    }
+
+    /**
+     * @return the IDs of the live nodes in their natural order, this node
+     *         included
+     */
+    public List<String> getLiveNodes() {
+        final long expired = System.currentTimeMillis() - leaseTime;
+        final String self = self();
+        nodes.entrySet().removeIf(node -> {
+            final boolean gone = node.getValue() < expired && !node.getKey().equals(self);
+            if (gone) {
+                LOGGER.info("Rollout node {} left, its rollouts are taken over.", node.getKey());
+            }
+            return gone;
+        });
+
+        final List<String> liveNodes = new ArrayList<>(nodes.keySet());
+        if (!liveNodes.contains(self)) {
+            liveNodes.add(self);
+        }
+        Collections.sort(liveNodes);
+        return liveNodes;
+    }
+
+    /**
+     * @param liveNodes
+     *            the IDs of the live nodes as returned by
+     *            {@link #getLiveNodes()}
+     * @param tenant
+     *            the rollout belongs to
+     * @param rolloutId
+     *            the ID of the rollout
+     * @return <code>true</code> if the rollout is owned by this node
+     */
+    public boolean isOwnRollout(final List<String> liveNodes, final String tenant, final long rolloutId) {
+        return self().equals(owner(liveNodes, tenant, rolloutId));
+    }
+
+    static String owner(final List<String> liveNodes, final String tenant, final long rolloutId) {
+        final String upperCaseTenant = tenant.toUpperCase();
+        String owner = null;
+        long highest = Long.MIN_VALUE;
+        for (final String node : liveNodes) {
+            final long hash = Hashing.murmur3_128().newHasher().putUnencodedChars(node)
+                    .putUnencodedChars(upperCaseTenant).putLong(rolloutId).hash().asLong();
+            if (owner == null || hash > highest) {
+                owner = node;
+                highest = hash;
+            }
+        }
+        return owner;
+    }
+
+    private String self() {
+        return eventPublisherHolder.getApplicationId();
+    }
+}
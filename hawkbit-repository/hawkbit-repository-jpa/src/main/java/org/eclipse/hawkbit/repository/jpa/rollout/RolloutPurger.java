@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
+import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
+import org.eclipse.hawkbit.repository.jpa.model.JpaAction_;
+import org.eclipse.hawkbit.repository.jpa.utils.ActionDeleter;
+import org.eclipse.hawkbit.repository.jpa.utils.JdbcIdSelector;
+import org.eclipse.hawkbit.repository.jpa.utils.ObjectTypeConverterHelper;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.Rollout;
+import org.eclipse.hawkbit.repository.model.RolloutGroup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Deletes the {@link Action}s of a {@link Rollout} and the assignments of the
+ * targets to its {@link RolloutGroup}s by plain statements in chunks ordered
+ * by their IDs, selected by the {@link JdbcIdSelector}. The actions are deleted together with their status entries by
+ * the {@link ActionDeleter}. A chunk is meant to be deleted in a transaction of
+ * its own, i.e. the deletion of a big rollout does not lock the tables for long
+ * and is continued with the rows left after a restart.
+ * <p>
+ * Has to be called within a transaction of the tenant.
+ */
+public class RolloutPurger {
+
+    private static final String SELECT_ACTION_IDS_BY_ROLLOUT_AND_STATUS = "SELECT id FROM sp_action WHERE tenant = ? AND rollout = ? AND status = ? ORDER BY id";
+
+    private static final String SELECT_TARGET_IDS_BY_ROLLOUT_GROUP = "SELECT target_id FROM sp_rollouttargetgroup WHERE rolloutGroup_id = ? ORDER BY target_id";
+
+    private static final String DELETE_ROLLOUT_TARGET_GROUPS = "DELETE FROM sp_rollouttargetgroup WHERE rolloutGroup_id = ? AND target_id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcIdSelector idSelector;
+    private final ActionDeleter actionDeleter;
+
+    /**
+     * Constructor.
+     *
+     * @param dataSource
+     *            of the repository
+     * @param idSelector
+     *            to select the chunks to delete with
+     * @param actionDeleter
+     *            to delete the actions with
+     */
+    public RolloutPurger(final DataSource dataSource, final JdbcIdSelector idSelector,
+            final ActionDeleter actionDeleter) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.idSelector = idSelector;
+        this.actionDeleter = actionDeleter;
+    }
+
+    /**
+     * Deletes a chunk of the scheduled actions of the rollout together with
+     * their status entries.
+     *
+     * @param tenant
+     *            the rollout belongs to
+     * @param rolloutId
+     *            the ID of the rollout
+     * @param limit
+     *            maximum number of actions to delete
+     * @return the number of deleted actions, less than the limit if no
+     *         scheduled actions are left
+     */
+    public int deleteScheduledActions(final String tenant, final long rolloutId, final int limit) {
+        final List<Long> actionIds = idSelector.selectIds(SELECT_ACTION_IDS_BY_ROLLOUT_AND_STATUS, limit,
+                tenant.toUpperCase(), rolloutId,
+                ObjectTypeConverterHelper.toDataValue(JpaAction.class, JpaAction_.STATUS, Status.SCHEDULED));
+        actionDeleter.delete(tenant, actionIds);
+        return actionIds.size();
+    }
+
+    /**
+     * Deletes a chunk of the assignments of the targets to the rollout group.
+     *
+     * @param rolloutGroupId
+     *            the ID of the rollout group
+     * @param limit
+     *            maximum number of assignments to delete
+     * @return the number of deleted assignments, less than the limit if no
+     *         assignments are left
+     */
+    public int deleteRolloutTargetGroups(final long rolloutGroupId, final int limit) {
+        final List<Long> targetIds = idSelector.selectIds(SELECT_TARGET_IDS_BY_ROLLOUT_GROUP, limit,
+                rolloutGroupId);
+
+        Lists.partition(targetIds, Constants.MAX_ENTRIES_IN_STATEMENT).forEach(chunk -> {
+            final Object[] args = new Object[chunk.size() + 1];
+            args[0] = rolloutGroupId;
+            for (int i = 0; i < chunk.size(); i++) {
+                args[i + 1] = chunk.get(i);
+            }
+            jdbcTemplate.update(JdbcIdSelector.withPlaceholders(DELETE_ROLLOUT_TARGET_GROUPS, chunk.size()), args);
+        });
+        return targetIds.size();
+    }
+}
@@ -9,7 +9,13 @@
  */
 package org.eclipse.hawkbit.repository.jpa.rollout;
 
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
 import org.eclipse.hawkbit.repository.RolloutHandler;
+import org.eclipse.hawkbit.repository.RolloutManagement;
 import org.eclipse.hawkbit.repository.SystemManagement;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.slf4j.Logger;
@@ -17,9 +23,21 @@ import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 
 /**
- * Scheduler to schedule the {@link RolloutHandler#handleAll()}. The
- * delay between the checks be configured using the property from
+ * Scheduler to schedule the {@link RolloutHandler#handle(long)} of the active
+ * rollouts of all tenants on the {@link RolloutWorkerPool}. The delay between
+ * the checks be configured using the property from
  * {#PROP_SCHEDULER_DELAY_PLACEHOLDER}.
+ * <p>
+ * If {@link RepositoryProperties#isRolloutEventDriven()} is set, the running
+ * rollouts are submitted only if the {@link DirtyRolloutTracker} has noticed a
+ * change of one of their actions. All active rollouts are submitted every
+ * {@link RepositoryProperties#getRolloutSweepInterval()} nevertheless, e.g. to
+ * catch up on changes that are not published as events.
+ * <p>
+ * If {@link RepositoryProperties#isRolloutPartitioned()} is set, only the
+ * rollouts owned by this node according to the {@link RolloutNodeRegistry} are
+ * submitted. All active rollouts are submitted if the live nodes have changed,
+ * so the rollouts of a node that has left are taken over right away.
  */
 public class RolloutScheduler {
 
@@ -29,36 +47,68 @@ public class RolloutScheduler {
 
     private final SystemManagement systemManagement;
 
-    private final RolloutHandler rolloutHandler;
+    private final RolloutManagement rolloutManagement;
+
+    private final RolloutWorkerPool rolloutWorkerPool;
 
     private final SystemSecurityContext systemSecurityContext;
 
+    private final DirtyRolloutTracker dirtyRolloutTracker;
+
+    private final RepositoryProperties repositoryProperties;
+
+    private final RolloutNodeRegistry rolloutNodeRegistry;
+
+    private long lastSweep;
+
+    private List<String> lastLiveNodes;
+
     /**
      * Constructor.
      * 
      * @param systemManagement
      *            to find all tenants
-     * @param rolloutHandler
-     *            to run the rollout handler
+     * @param rolloutManagement
+     *            to find the active rollouts
+     * @param rolloutWorkerPool
+     *            to handle the rollouts on
      * @param systemSecurityContext
      *            to run as system
+     * @param dirtyRolloutTracker
+     *            to get the rollouts with changed actions from
+     * @param repositoryProperties
+     *            to check if the rollout handling is event driven and
+     *            partitioned
+     * @param rolloutNodeRegistry
+     *            to get the rollouts owned by this node from
      */
-    public RolloutScheduler(final SystemManagement systemManagement, final RolloutHandler rolloutHandler,
-            final SystemSecurityContext systemSecurityContext) {
+    public RolloutScheduler(final SystemManagement systemManagement, final RolloutManagement rolloutManagement,
+            final RolloutWorkerPool rolloutWorkerPool, final SystemSecurityContext systemSecurityContext,
+            final DirtyRolloutTracker dirtyRolloutTracker, final RepositoryProperties repositoryProperties,
+            final RolloutNodeRegistry rolloutNodeRegistry) {
         this.systemManagement = systemManagement;
-        this.rolloutHandler = rolloutHandler;
+        this.rolloutManagement = rolloutManagement;
+        this.rolloutWorkerPool = rolloutWorkerPool;
         this.systemSecurityContext = systemSecurityContext;
+        this.dirtyRolloutTracker = dirtyRolloutTracker;
+        this.repositoryProperties = repositoryProperties;
+        this.rolloutNodeRegistry = rolloutNodeRegistry;
     }
 
     /**
      * Scheduler method called by the spring-async mechanism. Retrieves all
-     * tenants from the {@link SystemManagement#findTenants} and runs for each
-     * tenant the {@link RolloutHandler#handleAll()} in the
-     * {@link SystemSecurityContext}.
+     * tenants from the {@link SystemManagement#findTenants} and submits for
+     * each tenant its active rollouts to the {@link RolloutWorkerPool}. The
+     * rollouts that are still queued or handled since the last run are not
+     * submitted again.
      */
     @Scheduled(initialDelayString = PROP_SCHEDULER_DELAY_PLACEHOLDER, fixedDelayString = PROP_SCHEDULER_DELAY_PLACEHOLDER)
     public void runningRolloutScheduler() {
-        LOGGER.debug("rollout schedule checker has been triggered.");
+        LOGGER.debug("rollout schedule checker has been triggered, {}", rolloutWorkerPool.getStatistics());
+
+        final List<String> liveNodes = getLiveNodes();
+        final boolean sweep = isSweepDue() || !liveNodes.equals(lastLiveNodes);
+        lastLiveNodes = liveNodes;
 
         // run this code in system code privileged to have the necessary
         // permission to query and create entities.
@@ -67,13 +117,61 @@ public class RolloutScheduler {
             // execute a query without multi-tenancy if MultiTenant
             // annotation is used.
             // https://bugs.eclipse.org/bugs/show_bug.cgi?id=355458. So
-            // iterate through all tenants and execute the rollout check for
+            // iterate through all tenants and find the active rollouts for
             // each tenant seperately.
 
-            systemManagement.forEachTenant(tenant -> rolloutHandler.handleAll());
+            systemManagement.forEachTenant(tenant -> {
+                final Set<Long> changed = dirtyRolloutTracker.drain(tenant);
+                final Set<Long> rolloutIds = new LinkedHashSet<>(sweep ? rolloutManagement.findActiveRollouts()
+                        : rolloutManagement.findActiveRolloutsNotDrivenByActions());
+                if (!sweep) {
+                    rolloutIds.addAll(changed);
+                }
+                rolloutIds.forEach(rolloutId -> submit(tenant, rolloutId, liveNodes, changed));
+            });
 
             return null;
         });
     }
 
+    private boolean isSweepDue() {
+        if (!repositoryProperties.isRolloutEventDriven()) {
+            return true;
+        }
+
+        final long now = System.currentTimeMillis();
+        if (now - lastSweep < repositoryProperties.getRolloutSweepInterval()) {
+            return false;
+        }
+        lastSweep = now;
+        return true;
+    }
+
+    // the live nodes are empty if the rollouts are not partitioned
+    private List<String> getLiveNodes() {
+        if (!repositoryProperties.isRolloutPartitioned()) {
+            return List.of();
+        }
+
+        return rolloutNodeRegistry.getLiveNodes();
+    }
+
+    private boolean isOwnRollout(final String tenant, final long rolloutId, final List<String> liveNodes) {
+        return liveNodes.isEmpty() || rolloutNodeRegistry.isOwnRollout(liveNodes, tenant, rolloutId);
+    }
+
+    private void submit(final String tenant, final long rolloutId, final List<String> liveNodes,
+            final Set<Long> changed) {
+        // the changes of the rollouts of the other nodes are tracked by these
+        // nodes as well
+        if (!isOwnRollout(tenant, rolloutId, liveNodes)) {
+            return;
+        }
+        // the rollout is handled right now, so the changes might have been
+        // missed and have to be checked with the next run again
+        if (!rolloutWorkerPool.submit(tenant, rolloutId) && changed.contains(rolloutId)) {
+            dirtyRolloutTracker.markDirty(tenant, rolloutId);
+        }
+    }
+
 }
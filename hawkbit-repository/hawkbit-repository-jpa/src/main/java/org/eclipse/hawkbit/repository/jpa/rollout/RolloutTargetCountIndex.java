@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+import org.eclipse.hawkbit.repository.TargetManagement;
+import org.eclipse.hawkbit.repository.model.Rollout;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Keeps the counts of the targets matched by the filters of the
+ * {@link Rollout}s that are estimated, so estimating the same or similar
+ * rollouts again does not count the targets again. A count is reused for the
+ * given time and counted again once it has expired. The counts are kept per
+ * tenant and user, as the targets a user may see could be restricted.
+ * <p>
+ * The counts are delegated to the {@link TargetManagement}, each in a
+ * transaction of its own.
+ */
+public class RolloutTargetCountIndex {
+
+    private static final long MAX_SIZE = 10_000;
+
+    private final TargetManagement targetManagement;
+    private final TenantAware tenantAware;
+    private final Cache<Key, Long> counts;
+
+    /**
+     * Constructor.
+     *
+     * @param targetManagement
+     *            to count the targets with
+     * @param tenantAware
+     *            to get the current tenant and user from
+     * @param ttl
+     *            time in milliseconds a count is reused
+     */
+    public RolloutTargetCountIndex(final TargetManagement targetManagement, final TenantAware tenantAware,
+            final long ttl) {
+        this.targetManagement = targetManagement;
+        this.tenantAware = tenantAware;
+        this.counts = Caffeine.newBuilder().expireAfterWrite(Duration.ofMillis(ttl)).maximumSize(MAX_SIZE).build();
+    }
+
+    /**
+     * @see TargetManagement#countByRsql(String)
+     */
+    public long countByRsql(final String rsql) {
+        return count("rsql", rsql, null, () -> targetManagement.countByRsql(rsql));
+    }
+
+    /**
+     * @see TargetManagement#countByRsqlAndCompatible(String, Long)
+     */
+    public long countByRsqlAndCompatible(final String rsql, final Long dsTypeId) {
+        return count("rsql", rsql, dsTypeId, () -> targetManagement.countByRsqlAndCompatible(rsql, dsTypeId));
+    }
+
+    /**
+     * @see TargetManagement#countByFailedInRollout(String, Long)
+     */
+    public long countByFailedInRollout(final String rolloutId, final Long dsTypeId) {
+        return count("failed", rolloutId, dsTypeId,
+                () -> targetManagement.countByFailedInRollout(rolloutId, dsTypeId));
+    }
+
+    private long count(final String kind, final String filter, final Long dsTypeId, final LongSupplier counter) {
+        final Key key = new Key(tenantAware.getCurrentTenant().toUpperCase(), tenantAware.getCurrentUsername(), kind,
+                filter, dsTypeId);
+        return counts.get(key, k -> counter.getAsLong());
+    }
+
+    private record Key(String tenant, String user, String kind, String filter, Long dsTypeId) {
+    }
+}
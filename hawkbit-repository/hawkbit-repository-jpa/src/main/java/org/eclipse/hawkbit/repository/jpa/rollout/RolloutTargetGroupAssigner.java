@@ -0,0 +1,299 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import static org.eclipse.hawkbit.repository.jpa.JpaManagementHelper.combineWithAnd;
+
+import java.util.Collection;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+
+import org.eclipse.hawkbit.repository.TargetFields;
+import org.eclipse.hawkbit.repository.jpa.acm.AccessController;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTarget_;
+import org.eclipse.hawkbit.repository.jpa.rsql.RSQLUtility;
+import org.eclipse.hawkbit.repository.jpa.specifications.TargetSpecifications;
+import org.eclipse.hawkbit.repository.model.DistributionSetType;
+import org.eclipse.hawkbit.repository.model.Rollout;
+import org.eclipse.hawkbit.repository.model.RolloutGroup;
+import org.eclipse.hawkbit.repository.rsql.VirtualPropertyReplacer;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.orm.jpa.vendor.Database;
+
+/**
+ * Assigns targets to a {@link RolloutGroup} in a set-based manner. The target
+ * filter is compiled into a {@link Specification} once per group and each
+ * chunk is assigned by one query that selects the IDs of the targets only and
+ * one JDBC batch that inserts the assignments, i.e. no target entities are
+ * materialised and no assignments are persisted one by one.
+ * <p>
+ * Alternatively the matching targets are frozen into a {@link Snapshot} once
+ * and handed out to the groups in the order of their IDs, i.e. all groups are
+ * filled by one keyset cursor over the targets instead of a query per group
+ * that excludes the targets of all previous groups.
+ * <p>
+ * Has to be called within a transaction of the tenant.
+ */
+public class RolloutTargetGroupAssigner {
+
+    private static final String INSERT_ROLLOUT_TARGET_GROUP = "INSERT INTO sp_rollouttargetgroup (target_id, rolloutGroup_id) VALUES (?, ?)";
+
+    private static final String SELECT_LAST_TARGET_ID_OF_ROLLOUT = "SELECT MAX(rtg.target_id) FROM sp_rollouttargetgroup rtg INNER JOIN sp_rolloutgroup rg ON rg.id = rtg.rolloutGroup_id WHERE rg.rollout = ?";
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final VirtualPropertyReplacer virtualPropertyReplacer;
+    private final Database database;
+    private final AccessController<JpaTarget> targetAccessController;
+
+    /**
+     * Constructor.
+     *
+     * @param entityManager
+     *            to select the targets with
+     * @param dataSource
+     *            of the repository
+     * @param virtualPropertyReplacer
+     *            to resolve the virtual properties of the target filters
+     * @param database
+     *            the database the target filters are compiled for
+     * @param targetAccessController
+     *            to restrict the targets to the accessible ones, might be
+     *            <code>null</code>
+     */
+    public RolloutTargetGroupAssigner(final EntityManager entityManager, final DataSource dataSource,
+            final VirtualPropertyReplacer virtualPropertyReplacer, final Database database,
+            @Nullable final AccessController<JpaTarget> targetAccessController) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.virtualPropertyReplacer = virtualPropertyReplacer;
+        this.database = database;
+        this.targetAccessController = targetAccessController;
+    }
+
+    /**
+     * Compiles the {@link Specification} of the targets that match the target
+     * filter, are in none of the given groups, are compatible with the
+     * distribution set type and may be updated.
+     *
+     * @param targetFilterQuery
+     *            RSQL filter of the group
+     * @param groups
+     *            the IDs of the groups the targets must not be in
+     * @param dsType
+     *            the distribution set type the targets have to be compatible
+     *            with
+     * @return the {@link Specification} to hand over on
+     *         {@link #assign(Specification, RolloutGroup, int)}
+     */
+    public Specification<JpaTarget> byTargetFilterQueryAndNotInRolloutGroupsAndCompatibleAndUpdatable(
+            final String targetFilterQuery, final Collection<Long> groups, final DistributionSetType dsType) {
+        return withAccessRules(AccessController.Operation.UPDATE,
+                combineWithAnd(List.of(
+                        RSQLUtility.buildRsqlSpecification(targetFilterQuery, TargetFields.class,
+                                virtualPropertyReplacer, database),
+                        TargetSpecifications.isNotInRolloutGroups(groups),
+                        TargetSpecifications.isCompatibleWithDistributionSetType(dsType.getId()))));
+    }
+
+    /**
+     * Compiles the {@link Specification} of the targets that match the target
+     * filter, are compatible with the distribution set type and may be
+     * updated.
+     *
+     * @param targetFilterQuery
+     *            RSQL filter of the rollout
+     * @param dsType
+     *            the distribution set type the targets have to be compatible
+     *            with
+     * @return the {@link Specification} to hand over on
+     *         {@link #freeze(Specification, Rollout)}
+     */
+    public Specification<JpaTarget> byTargetFilterQueryAndCompatibleAndUpdatable(final String targetFilterQuery,
+            final DistributionSetType dsType) {
+        return withAccessRules(AccessController.Operation.UPDATE,
+                combineWithAnd(List.of(
+                        RSQLUtility.buildRsqlSpecification(targetFilterQuery, TargetFields.class,
+                                virtualPropertyReplacer, database),
+                        TargetSpecifications.isCompatibleWithDistributionSetType(dsType.getId()))));
+    }
+
+    /**
+     * Compiles the {@link Specification} of the targets that failed in the
+     * given rollout and are in none of the given groups.
+     *
+     * @param rolloutId
+     *            ID of the retried rollout
+     * @param groups
+     *            the IDs of the groups the targets must not be in
+     * @return the {@link Specification} to hand over on
+     *         {@link #assign(Specification, RolloutGroup, int)}
+     */
+    public Specification<JpaTarget> byFailedRolloutAndNotInRolloutGroups(final String rolloutId,
+            final Collection<Long> groups) {
+        return withAccessRules(AccessController.Operation.READ,
+                combineWithAnd(List.of(TargetSpecifications.failedActionsForRollout(rolloutId),
+                        TargetSpecifications.isNotInRolloutGroups(groups))));
+    }
+
+    /**
+     * Assigns up to the given number of targets to the group.
+     *
+     * @param targets
+     *            the {@link Specification} of the targets to assign
+     * @param group
+     *            to assign the targets to
+     * @param limit
+     *            maximum number of targets to assign
+     * @return the number of assigned targets
+     */
+    public int assign(final Specification<JpaTarget> targets, final RolloutGroup group, final int limit) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        final Root<JpaTarget> root = query.from(JpaTarget.class);
+        query.select(root.get(JpaTarget_.id)).where(targets.toPredicate(root, query, cb));
+
+        final List<Long> targetIds = entityManager.createQuery(query).setMaxResults(limit).getResultList();
+        if (targetIds.isEmpty()) {
+            return 0;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_ROLLOUT_TARGET_GROUP, targetIds, targetIds.size(), (ps, targetId) -> {
+            ps.setLong(1, targetId);
+            ps.setLong(2, group.getId());
+        });
+        return targetIds.size();
+    }
+
+    /**
+     * Freezes the targets of the {@link Specification} for the rollout, i.e.
+     * bounds them to the ones created not later than the rollout and counts
+     * the ones following the last target that has been assigned to any group
+     * of the rollout yet. The targets are assigned to the groups by
+     * {@link #assign(Snapshot, RolloutGroup, int)} in the order of their IDs,
+     * so a snapshot frozen again, e.g. after a restart, continues where the
+     * previous one stopped.
+     *
+     * @param targets
+     *            the {@link Specification} of the targets to freeze
+     * @param rollout
+     *            the rollout to freeze the targets for
+     * @return the {@link Snapshot} of the targets
+     */
+    public Snapshot freeze(final Specification<JpaTarget> targets, final Rollout rollout) {
+        final Specification<JpaTarget> frozenTargets = targets
+                .and(TargetSpecifications.isCreatedNotLaterThan(rollout.getCreatedAt()));
+        final Long lastTargetId = jdbcTemplate.queryForObject(SELECT_LAST_TARGET_ID_OF_ROLLOUT, Long.class,
+                rollout.getId());
+        final long cursor = lastTargetId == null ? 0 : lastTargetId;
+
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        final Root<JpaTarget> root = query.from(JpaTarget.class);
+        query.select(cb.count(root)).where(cb.and(frozenTargets.toPredicate(root, query, cb),
+                cb.greaterThan(root.get(JpaTarget_.id), cursor)));
+
+        return new Snapshot(frozenTargets, cursor, entityManager.createQuery(query).getSingleResult());
+    }
+
+    /**
+     * Assigns the next targets of the snapshot, up to the given number, to the
+     * group. The {@link Specification} of the snapshot is evaluated again for
+     * every call, i.e. the targets deleted or not matching anymore since the
+     * snapshot has been frozen are skipped and the group takes the following
+     * ones instead.
+     *
+     * @param snapshot
+     *            the {@link Snapshot} of the targets to assign
+     * @param group
+     *            to assign the targets to
+     * @param limit
+     *            maximum number of targets to assign
+     * @return the number of assigned targets
+     */
+    public int assign(final Snapshot snapshot, final RolloutGroup group, final int limit) {
+        if (snapshot.exhausted) {
+            return 0;
+        }
+
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        final Root<JpaTarget> root = query.from(JpaTarget.class);
+        query.select(root.get(JpaTarget_.id))
+                .where(cb.and(snapshot.targets.toPredicate(root, query, cb),
+                        cb.greaterThan(root.get(JpaTarget_.id), snapshot.lastTargetId)))
+                .orderBy(cb.asc(root.get(JpaTarget_.id)));
+
+        final List<Long> targetIds = entityManager.createQuery(query).setMaxResults(limit).getResultList();
+        if (!targetIds.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ROLLOUT_TARGET_GROUP, targetIds, targetIds.size(), (ps, targetId) -> {
+                ps.setLong(1, targetId);
+                ps.setLong(2, group.getId());
+            });
+            snapshot.lastTargetId = targetIds.get(targetIds.size() - 1);
+        }
+        snapshot.exhausted = targetIds.size() < limit;
+        return targetIds.size();
+    }
+
+    private Specification<JpaTarget> withAccessRules(final AccessController.Operation operation,
+            final Specification<JpaTarget> specification) {
+        return targetAccessController == null ? specification
+                : targetAccessController.appendAccessRules(operation, specification);
+    }
+
+    /**
+     * The targets that matched a {@link Specification} when they have been
+     * frozen by {@link RolloutTargetGroupAssigner#freeze(Specification, Rollout)}
+     * and have not been assigned to a group yet. Holds the ID of the last
+     * assigned target as a cursor only, i.e. the snapshot does not grow with
+     * the number of its targets. The targets created after the rollout are
+     * not part of the snapshot, the ones deleted or not matching anymore are
+     * skipped.
+     */
+    public static final class Snapshot {
+
+        private final Specification<JpaTarget> targets;
+        private final long total;
+        private long lastTargetId;
+        private boolean exhausted;
+
+        private Snapshot(final Specification<JpaTarget> targets, final long lastTargetId, final long total) {
+            this.targets = targets;
+            this.lastTargetId = lastTargetId;
+            this.total = total;
+        }
+
+        /**
+         * @return the number of targets of the snapshot when it has been
+         *         frozen
+         */
+        public long getTotal() {
+            return total;
+        }
+
+        /**
+         * @return <code>true</code> if all targets of the snapshot have been
+         *         handed out
+         */
+        public boolean isExhausted() {
+            return exhausted;
+        }
+    }
+}
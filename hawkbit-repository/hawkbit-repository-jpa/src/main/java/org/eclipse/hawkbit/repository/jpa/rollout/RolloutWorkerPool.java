@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import org.eclipse.hawkbit.repository.RolloutHandler;
+import org.eclipse.hawkbit.repository.jpa.executor.TenantWorkerPool;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+
+/**
+ * {@link TenantWorkerPool} that handles rollouts by means of
+ * {@link RolloutHandler#handle(long)}, i.e. a tenant with many or long running
+ * rollouts does not hold back the rollouts of the other tenants. A rollout is
+ * queued at most once until it has been handled.
+ */
+public class RolloutWorkerPool extends TenantWorkerPool {
+
+    private final RolloutHandler rolloutHandler;
+
+    /**
+     * Constructor, starts the workers.
+     *
+     * @param rolloutHandler
+     *            to handle the rollouts with
+     * @param systemSecurityContext
+     *            to handle the rollouts as system of their tenant
+     * @param threads
+     *            number of workers
+     * @param virtualThreads
+     *            <code>true</code> to run the workers on virtual threads if
+     *            the runtime supports them
+     */
+    public RolloutWorkerPool(final RolloutHandler rolloutHandler, final SystemSecurityContext systemSecurityContext,
+            final int threads, final boolean virtualThreads) {
+        super("rollout", systemSecurityContext, threads, virtualThreads);
+        this.rolloutHandler = rolloutHandler;
+    }
+
+    /**
+     * Queues the rollout to be handled as soon as a worker is available and
+     * it is the turn of the tenant.
+     *
+     * @param tenant
+     *            the rollout belongs to
+     * @param rolloutId
+     *            the ID of the rollout
+     * @return <code>false</code> if the rollout is queued or handled already
+     *         or the pool has been shut down
+     */
+    public boolean submit(final String tenant, final long rolloutId) {
+        return submit(tenant, rolloutId, () -> {
+            rolloutHandler.handle(rolloutId);
+            return true;
+        });
+    }
+}
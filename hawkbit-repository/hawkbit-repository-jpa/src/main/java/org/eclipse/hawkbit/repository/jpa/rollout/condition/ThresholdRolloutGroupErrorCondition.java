@@ -9,9 +9,9 @@
  */
 package org.eclipse.hawkbit.repository.jpa.rollout.condition;
 
-import org.eclipse.hawkbit.repository.jpa.repository.ActionRepository;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRollout;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRolloutGroup;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutGroupStatusCounters;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Rollout;
 import org.eclipse.hawkbit.repository.model.RolloutGroup;
@@ -26,10 +26,10 @@ public class ThresholdRolloutGroupErrorCondition
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ThresholdRolloutGroupErrorCondition.class);
 
-    private final ActionRepository actionRepository;
+    private final RolloutGroupStatusCounters rolloutGroupStatusCounters;
 
-    public ThresholdRolloutGroupErrorCondition(final ActionRepository actionRepository) {
-        this.actionRepository = actionRepository;
+    public ThresholdRolloutGroupErrorCondition(final RolloutGroupStatusCounters rolloutGroupStatusCounters) {
+        this.rolloutGroupStatusCounters = rolloutGroupStatusCounters;
     }
 
     @Override
@@ -40,8 +40,7 @@ public class ThresholdRolloutGroupErrorCondition
     @Override
     public boolean eval(final Rollout rollout, final RolloutGroup rolloutGroup, final String expression) {
         final long totalGroup = rolloutGroup.getTotalTargets();
-        final Long error = actionRepository.countByRolloutIdAndRolloutGroupIdAndStatus(rollout.getId(),
-                rolloutGroup.getId(), Action.Status.ERROR);
+        final long error = rolloutGroupStatusCounters.count(rolloutGroup.getId(), Action.Status.ERROR);
         try {
             final Integer threshold = Integer.valueOf(expression);
 
@@ -9,7 +9,7 @@
  */
 package org.eclipse.hawkbit.repository.jpa.rollout.condition;
 
-import org.eclipse.hawkbit.repository.jpa.repository.ActionRepository;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutGroupStatusCounters;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Rollout;
 import org.eclipse.hawkbit.repository.model.RolloutGroup;
@@ -24,10 +24,10 @@ public class ThresholdRolloutGroupSuccessCondition
         implements RolloutGroupConditionEvaluator<RolloutGroup.RolloutGroupSuccessCondition> {
     private static final Logger LOGGER = LoggerFactory.getLogger(ThresholdRolloutGroupSuccessCondition.class);
 
-    private final ActionRepository actionRepository;
+    private final RolloutGroupStatusCounters rolloutGroupStatusCounters;
 
-    public ThresholdRolloutGroupSuccessCondition(final ActionRepository actionRepository) {
-        this.actionRepository = actionRepository;
+    public ThresholdRolloutGroupSuccessCondition(final RolloutGroupStatusCounters rolloutGroupStatusCounters) {
+        this.rolloutGroupStatusCounters = rolloutGroupStatusCounters;
     }
 
     @Override
@@ -47,8 +47,7 @@ public class ThresholdRolloutGroupSuccessCondition
         final Action.Status completeActionStatus = (Action.ActionType.DOWNLOAD_ONLY == rollout.getActionType())
                 ? Action.Status.DOWNLOADED
                 : Action.Status.FINISHED;
-        final long finished = this.actionRepository.countByRolloutIdAndRolloutGroupIdAndStatus(rollout.getId(),
-                rolloutGroup.getId(), completeActionStatus);
+        final long finished = rolloutGroupStatusCounters.count(rolloutGroup.getId(), completeActionStatus);
         try {
             final int threshold = Integer.parseInt(expression);
             // calculate threshold
@@ -10,6 +10,7 @@
 package org.eclipse.hawkbit.repository.jpa.rsql;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import jakarta.persistence.criteria.CriteriaBuilder;
@@ -18,9 +19,12 @@ import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 
 import org.apache.commons.lang3.text.StrLookup;
+import org.eclipse.hawkbit.exception.AbstractServerRtException;
 import org.eclipse.hawkbit.repository.FieldNameProvider;
+import org.eclipse.hawkbit.repository.TargetFields;
 import org.eclipse.hawkbit.repository.exception.RSQLParameterSyntaxException;
 import org.eclipse.hawkbit.repository.exception.RSQLParameterUnsupportedFieldException;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
 import org.eclipse.hawkbit.repository.rsql.RsqlVisitorFactoryHolder;
 import org.eclipse.hawkbit.repository.rsql.VirtualPropertyReplacer;
 import org.eclipse.hawkbit.repository.rsql.VirtualPropertyResolver;
@@ -112,6 +116,28 @@ public final class RSQLUtility {
         return new RSQLSpecification<>(rsql, fieldNameProvider, virtualPropertyReplacer, database);
     }
 
+    /**
+     * Builds a {@link java.util.function.Predicate} which corresponds with the
+     * given RSQL query on the {@link TargetFields}. The predicate matches
+     * targets which have been loaded already in memory, like the
+     * {@link Specification} would match them in the database.
+     *
+     * @param rsql
+     *            the rsql query to be parsed
+     *
+     * @return the predicate, or empty if the query can't be matched in memory
+     *         like in the database, e.g. as it is invalid or it uses fields
+     *         that are not loaded with the target
+     */
+    public static Optional<java.util.function.Predicate<JpaTarget>> buildTargetPredicate(final String rsql) {
+        try {
+            return Optional.of(parseRsql(rsql).accept(new TargetPredicateRsqlVisitor()));
+        } catch (final UnsupportedOperationException | AbstractServerRtException e) {
+            LOGGER.debug("RSQL query {} can't be matched in memory", rsql, e);
+            return Optional.empty();
+        }
+    }
+
     /**
      * Validates the RSQL string
      * 
@@ -156,6 +182,8 @@ public final class RSQLUtility {
         private final Class<A> enumType;
         private final VirtualPropertyReplacer virtualPropertyReplacer;
         private final Database database;
+        // parsed once, as the specification might be applied on several queries
+        private transient Node rootNode;
 
         private RSQLSpecification(final String rsql, final Class<A> enumType,
                 final VirtualPropertyReplacer virtualPropertyReplacer, final Database database) {
@@ -167,7 +195,9 @@ public final class RSQLUtility {
 
         @Override
         public Predicate toPredicate(final Root<T> root, final CriteriaQuery<?> query, final CriteriaBuilder cb) {
-            final Node rootNode = parseRsql(rsql);
+            if (rootNode == null) {
+                rootNode = parseRsql(rsql);
+            }
             query.distinct(true);
 
             final JpaQueryRsqlVisitor<A, T> jpqQueryRSQLVisitor = new JpaQueryRsqlVisitor<>(root, cb, enumType,
@@ -0,0 +1,218 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.rsql;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.math.NumberUtils;
+import org.eclipse.hawkbit.repository.TargetFields;
+import org.eclipse.hawkbit.repository.TargetTypeFields;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
+import org.eclipse.hawkbit.repository.model.TargetTag;
+import org.eclipse.hawkbit.repository.model.TargetType;
+import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
+import org.eclipse.hawkbit.repository.rsql.VirtualPropertyReplacer;
+
+import cz.jirutka.rsql.parser.ast.AndNode;
+import cz.jirutka.rsql.parser.ast.ComparisonNode;
+import cz.jirutka.rsql.parser.ast.LogicalNode;
+import cz.jirutka.rsql.parser.ast.OrNode;
+import cz.jirutka.rsql.parser.ast.RSQLVisitor;
+
+/**
+ * An implementation of the {@link RSQLVisitor} to visit the parsed tokens and
+ * build a {@link Predicate} which matches a {@link JpaTarget} in memory like
+ * the where clauses built by the {@link JpaQueryRsqlVisitor} match it in the
+ * database. Comparisons which can't be matched the same way, e.g. of numbers
+ * which are compared by the database as they are, or of fields which are not
+ * loaded with the target, throw an {@link UnsupportedOperationException}.
+ * <p>
+ * Arguments with placeholders of virtual properties, e.g.
+ * <code>${NOW_TS}</code>, are not matched in memory either. Whether the
+ * {@link VirtualPropertyReplacer} resolves them depends on the comparison in
+ * the database, and the resolved values change while a predicate might be
+ * reused.
+ */
+public class TargetPredicateRsqlVisitor extends AbstractFieldNameRSQLVisitor<TargetFields>
+        implements RSQLVisitor<Predicate<JpaTarget>, String> {
+
+    private static final char ESCAPE_CHAR = '\\';
+    private static final String LIKE_WILDCARD = String.valueOf(JpaQueryRsqlVisitor.LIKE_WILDCARD);
+    private static final String VIRTUAL_PROPERTY_PREFIX = "${";
+
+    public TargetPredicateRsqlVisitor() {
+        super(TargetFields.class);
+    }
+
+    @Override
+    public Predicate<JpaTarget> visit(final AndNode node, final String param) {
+        final List<Predicate<JpaTarget>> children = acceptChildren(node);
+        return target -> children.stream().allMatch(child -> child.test(target));
+    }
+
+    @Override
+    public Predicate<JpaTarget> visit(final OrNode node, final String param) {
+        final List<Predicate<JpaTarget>> children = acceptChildren(node);
+        return target -> children.stream().anyMatch(child -> child.test(target));
+    }
+
+    @Override
+    public Predicate<JpaTarget> visit(final ComparisonNode node, final String param) {
+        final TargetFields field = getFieldEnumByName(node);
+        final String finalProperty = getAndValidatePropertyFieldName(field, node);
+        final String[] graph = field.getSubAttributes(finalProperty);
+        if (node.getArguments().stream().anyMatch(argument -> argument.contains(VIRTUAL_PROPERTY_PREFIX))) {
+            throw new UnsupportedOperationException(
+                    "Virtual properties of {" + node.getSelector() + "} are only resolved for the database");
+        }
+
+        switch (field) {
+        case ID, CONTROLLERID:
+            return value(JpaTarget::getControllerId, stringMatcher(node));
+        case NAME:
+            return value(JpaTarget::getName, stringMatcher(node));
+        case DESCRIPTION:
+            return value(JpaTarget::getDescription, stringMatcher(node));
+        case UPDATESTATUS:
+            return value(JpaTarget::getUpdateStatus, updateStatusMatcher(node));
+        case TARGETTYPE:
+            final Function<TargetType, String> typeAttribute = TargetTypeFields.KEY.getFieldName()
+                    .equalsIgnoreCase(graph[1]) ? TargetType::getKey : TargetType::getName;
+            return value(target -> Optional.ofNullable(target.getTargetType()).map(typeAttribute).orElse(null),
+                    stringMatcher(node));
+        case TAG:
+            return values(target -> target.getTags().stream().map(TargetTag::getName).toList(), node);
+        case ATTRIBUTE:
+            return mapValue(target -> target.getControllerAttributes().entrySet().stream(), graph, node);
+        case METADATA:
+            return mapValue(target -> target.getMetadata().stream()
+                    .map(metadata -> new SimpleImmutableEntry<>(metadata.getKey(), metadata.getValue())), graph,
+                    node);
+        default:
+            throw new UnsupportedOperationException(
+                    "Field {" + node.getSelector() + "} is not loaded with the target");
+        }
+    }
+
+    private List<Predicate<JpaTarget>> acceptChildren(final LogicalNode node) {
+        return node.getChildren().stream().map(child -> child.accept(this)).toList();
+    }
+
+    private static <T> Predicate<JpaTarget> value(final Function<JpaTarget, T> value, final Predicate<T> matcher) {
+        return target -> matcher.test(value.apply(target));
+    }
+
+    // the values are joined if one has to match, otherwise they are matched by a sub query, see
+    // JpaQueryRsqlVisitor#getNotEqualToPredicate and JpaQueryRsqlVisitor#getOutPredicate
+    private static Predicate<JpaTarget> values(final Function<JpaTarget, Collection<String>> values,
+            final ComparisonNode node) {
+        final Predicate<String> matcher = stringMatcher(node);
+        final String operator = node.getOperator().getSymbol();
+        if ("=out=".equals(operator) || ("!=".equals(operator) && !node.getArguments().get(0).isEmpty())) {
+            final Predicate<String> excluded = matcher.negate();
+            return target -> values.apply(target).stream().noneMatch(excluded);
+        }
+        return target -> {
+            final Collection<String> joined = values.apply(target);
+            // an outer join has a single row without a value if there is none
+            return joined.isEmpty() ? matcher.test(null) : joined.stream().anyMatch(matcher);
+        };
+    }
+
+    private static Predicate<JpaTarget> mapValue(final Function<JpaTarget, Stream<Entry<String, String>>> entries,
+            final String[] graph, final ComparisonNode node) {
+        final String key = upperCase(graph[graph.length - 1]);
+        final Predicate<String> matcher = stringMatcher(node);
+        return target -> entries.apply(target)
+                .anyMatch(entry -> key.equals(upperCase(entry.getKey())) && matcher.test(entry.getValue()));
+    }
+
+    private static Predicate<String> stringMatcher(final ComparisonNode node) {
+        final List<String> arguments = node.getArguments();
+        switch (node.getOperator().getSymbol()) {
+        case "==":
+            return equalTo(arguments.get(0));
+        case "!=":
+            return equalTo(arguments.get(0)).negate();
+        case "=in=":
+            return in(arguments);
+        case "=out=":
+            return in(arguments).negate();
+        default:
+            throw new UnsupportedOperationException(
+                    "Operator {" + node.getOperator().getSymbol() + "} is only supported by the database");
+        }
+    }
+
+    private static Predicate<String> equalTo(final String argument) {
+        if (argument.isEmpty()) {
+            return value -> value == null || value.isEmpty();
+        }
+        if (NumberUtils.isCreatable(argument) || argument.indexOf(ESCAPE_CHAR) >= 0) {
+            throw new UnsupportedOperationException("Value {" + argument + "} is only supported by the database");
+        }
+        // like JpaQueryRsqlVisitor#toSQL without escaping, the wildcard matches any characters
+        final String regex = Stream.of(upperCase(argument).split(Pattern.quote(LIKE_WILDCARD), -1))
+                .map(Pattern::quote).collect(Collectors.joining(".*"));
+        final Pattern pattern = Pattern.compile(regex, Pattern.DOTALL);
+        return value -> value != null && pattern.matcher(upperCase(value)).matches();
+    }
+
+    private static Predicate<String> in(final List<String> arguments) {
+        final Set<String> upperCaseArguments = arguments.stream().map(TargetPredicateRsqlVisitor::upperCase)
+                .collect(Collectors.toSet());
+        return value -> value != null && upperCaseArguments.contains(upperCase(value));
+    }
+
+    private static Predicate<TargetUpdateStatus> updateStatusMatcher(final ComparisonNode node) {
+        final Set<TargetUpdateStatus> arguments = node.getArguments().stream()
+                .map(TargetPredicateRsqlVisitor::toUpdateStatus)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(TargetUpdateStatus.class)));
+        final TargetUpdateStatus first = toUpdateStatus(node.getArguments().get(0));
+        switch (node.getOperator().getSymbol()) {
+        case "==":
+            return status -> status == first;
+        case "!=":
+            return status -> status != first;
+        case "=in=":
+            return arguments::contains;
+        case "=out=":
+            return status -> !arguments.contains(status);
+        default:
+            throw new UnsupportedOperationException(
+                    "Operator {" + node.getOperator().getSymbol() + "} is only supported by the database");
+        }
+    }
+
+    private static TargetUpdateStatus toUpdateStatus(final String argument) {
+        try {
+            return TargetUpdateStatus.valueOf(upperCase(argument));
+        } catch (final IllegalArgumentException e) {
+            // the database query rejects the value
+            throw new UnsupportedOperationException("Value {" + argument + "} is no update status", e);
+        }
+    }
+
+    private static String upperCase(final String value) {
+        return value.toUpperCase(Locale.ROOT);
+    }
+}
@@ -132,6 +132,33 @@ public final class TargetSpecifications {
         return (targetRoot, query, cb) -> targetRoot.get(JpaTarget_.id).in(ids);
     }
 
+    /**
+     * {@link Specification} for retrieving {@link Target}s with an ID greater
+     * than the given one, e.g. to page through the targets by their IDs.
+     *
+     * @param id
+     *            the targets have to follow
+     *
+     * @return the {@link Target} {@link Specification}
+     */
+    public static Specification<JpaTarget> hasIdGreaterThan(final long id) {
+        return (targetRoot, query, cb) -> cb.greaterThan(targetRoot.get(JpaTarget_.id), id);
+    }
+
+    /**
+     * {@link Specification} for retrieving {@link Target}s that have been
+     * created not later than the given time.
+     *
+     * @param createdAt
+     *            the time in milliseconds the targets have to be created at or
+     *            before
+     *
+     * @return the {@link Target} {@link Specification}
+     */
+    public static Specification<JpaTarget> isCreatedNotLaterThan(final long createdAt) {
+        return (targetRoot, query, cb) -> cb.lessThanOrEqualTo(targetRoot.get(JpaTarget_.createdAt), createdAt);
+    }
+
     /**
      * {@link Specification} for retrieving {@link Target}s that have the
      * request controller attributes flag set
@@ -248,6 +275,21 @@ public final class TargetSpecifications {
         return hasInstalledDistributionSet(distributionId).or(hasAssignedDistributionSet(distributionId));
     }
 
+    /**
+     * Finds all targets which are not yet assigned to given
+     * {@link DistributionSet}.
+     *
+     * @param distributionId
+     *            set that is not yet assigned
+     * @return the {@link Target} {@link Specification}
+     */
+    public static Specification<JpaTarget> hasAssignedDistributionSetIdNot(@NotNull final Long distributionId) {
+        return (targetRoot, query, cb) -> cb.or(
+                cb.notEqual(targetRoot.<JpaDistributionSet> get(JpaTarget_.assignedDistributionSet)
+                        .get(JpaDistributionSet_.id), distributionId),
+                cb.isNull(targetRoot.<JpaDistributionSet> get(JpaTarget_.assignedDistributionSet)));
+    }
+
     /**
      * Finds all targets by given {@link Target#getControllerId()}s and which
      * are not yet assigned to given {@link DistributionSet}.
@@ -260,10 +302,7 @@ public final class TargetSpecifications {
      */
     public static Specification<JpaTarget> hasControllerIdAndAssignedDistributionSetIdNot(final List<String> tIDs,
             @NotNull final Long distributionId) {
-        return (targetRoot, query, cb) -> cb.and(targetRoot.get(JpaTarget_.controllerId).in(tIDs),
-                cb.or(cb.notEqual(targetRoot.<JpaDistributionSet> get(JpaTarget_.assignedDistributionSet)
-                        .get(JpaDistributionSet_.id), distributionId),
-                        cb.isNull(targetRoot.<JpaDistributionSet> get(JpaTarget_.assignedDistributionSet))));
+        return hasControllerIdIn(tIDs).and(hasAssignedDistributionSetIdNot(distributionId));
     }
 
     /**
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Deletes {@link Action}s by plain statements. The rows that depend on an
+ * action, i.e. its status entries and their messages, are deleted explicitly
+ * before the action, so the database does not have to cascade the deletion.
+ * All statements are restricted to the tenant as the indexes of the status
+ * entries start with the tenant. The {@link jakarta.persistence.PreRemove}
+ * callbacks and the entity interceptors are not called for the deleted rows.
+ * <p>
+ * Has to be called within a transaction of the tenant.
+ */
+public class ActionDeleter {
+
+    private static final String DELETE_ACTION_STATUS_MESSAGES_BY_ACTIONS = "DELETE FROM sp_action_status_messages WHERE action_status_id IN (SELECT id FROM sp_action_status WHERE tenant = ? AND action IN (%s))";
+
+    private static final String DELETE_ACTION_STATUS_BY_ACTIONS = "DELETE FROM sp_action_status WHERE tenant = ? AND action IN (%s)";
+
+    private static final String DELETE_ACTIONS = "DELETE FROM sp_action WHERE tenant = ? AND id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor.
+     *
+     * @param dataSource
+     *            of the repository
+     */
+    public ActionDeleter(final DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Deletes the actions together with their status entries.
+     *
+     * @param tenant
+     *            the actions belong to
+     * @param actionIds
+     *            the IDs of the actions
+     * @return the number of deleted rows, i.e. the deleted actions, status
+     *         entries and messages
+     */
+    public long delete(final String tenant, final List<Long> actionIds) {
+        long rows = 0;
+        for (final List<Long> chunk : Lists.partition(actionIds, Constants.MAX_ENTRIES_IN_STATEMENT)) {
+            final List<Object> args = new ArrayList<>(chunk.size() + 1);
+            args.add(tenant.toUpperCase());
+            args.addAll(chunk);
+            final Object[] tenantAndIds = args.toArray();
+            rows += jdbcTemplate.update(JdbcIdSelector.withPlaceholders(DELETE_ACTION_STATUS_MESSAGES_BY_ACTIONS, chunk.size()),
+                    tenantAndIds);
+            rows += jdbcTemplate.update(JdbcIdSelector.withPlaceholders(DELETE_ACTION_STATUS_BY_ACTIONS, chunk.size()), tenantAndIds);
+            rows += jdbcTemplate.update(JdbcIdSelector.withPlaceholders(DELETE_ACTIONS, chunk.size()), tenantAndIds);
+        }
+        return rows;
+    }
+
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.utils;
+
+import java.sql.PreparedStatement;
+import java.util.Collections;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SingleColumnRowMapper;
+
+/**
+ * Selects the IDs of rows in chunks by plain statements, e.g. to process big
+ * amounts of rows chunk by chunk in transactions of their own without loading
+ * the entities.
+ */
+public class JdbcIdSelector {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor.
+     *
+     * @param dataSource
+     *            of the repository
+     */
+    public JdbcIdSelector(final DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Selects the IDs of a chunk of rows.
+     *
+     * @param statement
+     *            selecting the IDs, ordered by them
+     * @param limit
+     *            maximum number of IDs to select
+     * @param args
+     *            of the statement
+     * @return the selected IDs
+     */
+    public List<Long> selectIds(final String statement, final int limit, final Object... args) {
+        return jdbcTemplate.query(connection -> {
+            final PreparedStatement ps = connection.prepareStatement(statement);
+            ps.setMaxRows(limit);
+            new ArgumentPreparedStatementSetter(args).setValues(ps);
+            return ps;
+        }, SingleColumnRowMapper.newInstance(Long.class));
+    }
+
+    /**
+     * Completes a statement with an <code>IN (%s)</code> by the given number
+     * of placeholders.
+     *
+     * @param statement
+     *            to complete
+     * @param count
+     *            of the placeholders
+     * @return the completed statement
+     */
+    public static String withPlaceholders(final String statement, final int count) {
+        return String.format(statement, String.join(", ", Collections.nCopies(count, "?")));
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.utils;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.eclipse.persistence.annotations.ConversionValue;
+import org.eclipse.persistence.annotations.ObjectTypeConverter;
+
+/**
+ * Resolves the values enums are stored with by the {@link ObjectTypeConverter}
+ * of an entity attribute. Statements written by hand, i.e. native or JDBC
+ * statements, have to bind these values instead of the ordinals of the enums.
+ */
+public final class ObjectTypeConverterHelper {
+
+    private static final Map<String, Map<String, Integer>> DATA_VALUES = new ConcurrentHashMap<>();
+
+    private ObjectTypeConverterHelper() {
+        // utility class
+    }
+
+    /**
+     * Returns the value the given enum is stored with.
+     *
+     * @param entityClass
+     *            the class declaring the attribute
+     * @param attribute
+     *            the name of the attribute annotated with an
+     *            {@link ObjectTypeConverter}
+     * @param value
+     *            of the attribute
+     * @return the data value of the given enum
+     * @throws IllegalArgumentException
+     *             if the attribute has no converter or the converter has no
+     *             data value for the enum
+     */
+    public static int toDataValue(final Class<?> entityClass, final String attribute, final Enum<?> value) {
+        final Integer dataValue = DATA_VALUES
+                .computeIfAbsent(entityClass.getName() + "#" + attribute, key -> readDataValues(entityClass, attribute))
+                .get(value.name());
+        if (dataValue == null) {
+            throw new IllegalArgumentException(
+                    "No data value for " + value + " of " + entityClass.getSimpleName() + "#" + attribute);
+        }
+        return dataValue;
+    }
+
+    private static Map<String, Integer> readDataValues(final Class<?> entityClass, final String attribute) {
+        final ObjectTypeConverter converter;
+        try {
+            final Field field = entityClass.getDeclaredField(attribute);
+            converter = field.getAnnotation(ObjectTypeConverter.class);
+        } catch (final NoSuchFieldException e) {
+            throw new IllegalArgumentException("No attribute " + entityClass.getSimpleName() + "#" + attribute, e);
+        }
+        if (converter == null) {
+            throw new IllegalArgumentException("No converter for " + entityClass.getSimpleName() + "#" + attribute);
+        }
+        return Arrays.stream(converter.conversionValues()).collect(
+                Collectors.toMap(ConversionValue::objectValue, conversion -> Integer.valueOf(conversion.dataValue())));
+    }
+}
@@ -56,7 +56,7 @@ public abstract class AbstractRemoteEventTest extends AbstractJpaIntegrationTest
 
     }
 
-    private Message<?> createProtoStuffMessage(final TenantAwareEvent event) {
+    private Message<?> createProtoStuffMessage(final Object event) {
         final Map<String, Object> headers = Maps.newLinkedHashMap();
         headers.put(MessageHeaders.CONTENT_TYPE, BusProtoStuffMessageConverter.APPLICATION_BINARY_PROTOSTUFF);
         return busProtoStuffMessageConverter.toMessage(event, new MutableMessageHeaders(headers));
@@ -81,13 +81,13 @@ public abstract class AbstractRemoteEventTest extends AbstractJpaIntegrationTest
     }
 
     @SuppressWarnings("unchecked")
-    protected <T extends TenantAwareEvent> T createJacksonEvent(final T event) {
+    protected <T> T createJacksonEvent(final T event) {
         final Message<String> message = createJsonMessage(event);
         return (T) jacksonMessageConverter.fromMessage(message, event.getClass());
     }
 
     @SuppressWarnings("unchecked")
-    protected <T extends TenantAwareEvent> T createProtoStuffEvent(final T event) {
+    protected <T> T createProtoStuffEvent(final T event) {
         final Message<?> message = createProtoStuffMessage(event);
         return (T) busProtoStuffMessageConverter.fromMessage(message, event.getClass());
     }
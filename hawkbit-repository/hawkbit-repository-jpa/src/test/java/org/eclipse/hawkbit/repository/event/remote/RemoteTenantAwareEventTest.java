@@ -81,6 +81,38 @@ public class RemoteTenantAwareEventTest extends AbstractRemoteEventTest {
         assertThat(remoteCancelEventJackson.getControllerIds()).containsExactlyElementsOf(controllerIds);
     }
 
+    @Test
+    @Description("Verifies that a TargetPollBatchEvent can be properly serialized and deserialized")
+    public void testTargetPollBatchEvent() {
+        final List<String> controllerIds = Arrays.asList("id0", "id1", "id2", "id3",
+                "id4loooooooooooooooooooooooooooooooooooonnnnnnnnnnnnnnnnnng");
+
+        final TargetPollBatchEvent pollEvent = new TargetPollBatchEvent(TENANT_DEFAULT, APPLICATION_ID_DEFAULT,
+                controllerIds);
+
+        final TargetPollBatchEvent remotePollEventProtoStuff = createProtoStuffEvent(pollEvent);
+        assertThat(pollEvent).isEqualTo(remotePollEventProtoStuff);
+        assertThat(remotePollEventProtoStuff.getControllerIds()).containsExactlyElementsOf(controllerIds);
+
+        final TargetPollBatchEvent remotePollEventJackson = createJacksonEvent(pollEvent);
+        assertThat(pollEvent).isEqualTo(remotePollEventJackson);
+        assertThat(remotePollEventJackson.getControllerIds()).containsExactlyElementsOf(controllerIds);
+    }
+
+    @Test
+    @Description("Verifies that a RolloutNodeHeartbeatEvent can be properly serialized and deserialized")
+    public void testRolloutNodeHeartbeatEvent() {
+        final RolloutNodeHeartbeatEvent heartbeatEvent = new RolloutNodeHeartbeatEvent(APPLICATION_ID_DEFAULT);
+
+        final RolloutNodeHeartbeatEvent remoteHeartbeatEventProtoStuff = createProtoStuffEvent(heartbeatEvent);
+        assertThat(heartbeatEvent).isEqualTo(remoteHeartbeatEventProtoStuff);
+        assertThat(remoteHeartbeatEventProtoStuff.getOriginService()).isEqualTo(APPLICATION_ID_DEFAULT);
+
+        final RolloutNodeHeartbeatEvent remoteHeartbeatEventJackson = createJacksonEvent(heartbeatEvent);
+        assertThat(heartbeatEvent).isEqualTo(remoteHeartbeatEventJackson);
+        assertThat(remoteHeartbeatEventJackson.getOriginService()).isEqualTo(APPLICATION_ID_DEFAULT);
+    }
+
     @Test
     @Description("Verifies that a DownloadProgressEvent can be properly serialized and deserialized")
     public void reloadDownloadProgessByRemoteEvent() {
@@ -16,11 +16,13 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.eclipse.hawkbit.repository.DeploymentManagement;
+import org.eclipse.hawkbit.repository.RepositoryProperties;
 import org.eclipse.hawkbit.repository.exception.IncompleteDistributionSetException;
 import org.eclipse.hawkbit.repository.jpa.AbstractJpaIntegrationTest;
 import org.eclipse.hawkbit.repository.jpa.specifications.ActionSpecifications;
@@ -32,6 +34,7 @@ import org.eclipse.hawkbit.repository.model.DistributionSetAssignmentResult;
 import org.eclipse.hawkbit.repository.model.DistributionSetType;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.TargetFilterQuery;
+import org.eclipse.hawkbit.repository.model.TargetTag;
 import org.eclipse.hawkbit.repository.model.TargetType;
 import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
 import org.junit.jupiter.api.Test;
@@ -61,6 +64,9 @@ class AutoAssignCheckerIntTest extends AbstractJpaIntegrationTest {
     @Autowired
     private DeploymentManagement deploymentManagement;
 
+    @Autowired
+    private RepositoryProperties repositoryProperties;
+
     @Test
     @Description("Verifies that a running action is auto canceled by a AutoAssignment which assigns another distribution-set.")
     void autoAssignDistributionSetAndAutoCloseOldActions() {
@@ -156,6 +162,32 @@ class AutoAssignCheckerIntTest extends AbstractJpaIntegrationTest {
         verifyThatCreatedActionsAreInitiatedByCurrentUser(targetFilterQuery, setA, targets);
     }
 
+    @Test
+    @Description("Test auto assignment of a DS to more filtered targets than are assigned per transaction")
+    void checkAutoAssignInChunks() {
+        final int chunkSize = repositoryProperties.getAutoAssignChunkSize();
+        repositoryProperties.setAutoAssignChunkSize(4);
+        try {
+            final DistributionSet setA = testdataFactory.createDistributionSet("dsA");
+            targetFilterQueryManagement.updateAutoAssignDS(entityFactory.targetFilterQuery()
+                    .updateAutoAssign(targetFilterQueryManagement.create(
+                            entityFactory.targetFilterQuery().create().name("filterA").query("controllerId==chunk*"))
+                            .getId())
+                    .ds(setA.getId()));
+
+            final List<Target> targets = testdataFactory.createTargets(10, "chunk", "chunk description");
+            final List<Target> otherTargets = testdataFactory.createTargets(3, "other", "other description");
+
+            autoAssignChecker.checkAllTargets();
+
+            verifyThatTargetsHaveDistributionSetAssignment(setA, targets, 13);
+            verifyThatTargetsNotHaveDistributionSetAssignment(setA, otherTargets);
+            assertThat(findActionsByDistributionSet(PAGE, setA.getId()).getContent()).hasSize(10);
+        } finally {
+            repositoryProperties.setAutoAssignChunkSize(chunkSize);
+        }
+    }
+
     @Test
     @Description("Test auto assignment of a DS for a specific device")
     void checkAutoAssignmentForDevice() {
@@ -179,6 +211,80 @@ class AutoAssignCheckerIntTest extends AbstractJpaIntegrationTest {
         verifyThatTargetsNotHaveDistributionSetAssignment(toAssignDs, targets.subList(1, 25));
     }
 
+    @Test
+    @Description("Test auto assignment of a DS for a specific device matched in memory by its tags and attributes")
+    void checkAutoAssignmentForDeviceByTagsAndAttributes() {
+        final DistributionSet matchingDs = testdataFactory.createDistributionSet("matching");
+        final DistributionSet notMatchingDs = testdataFactory.createDistributionSet("notMatching");
+        targetFilterQueryManagement.updateAutoAssignDS(entityFactory.targetFilterQuery()
+                .updateAutoAssign(targetFilterQueryManagement.create(entityFactory.targetFilterQuery().create()
+                        .name("matching").query("tag==alpha;attribute.hw==rev*")).getId())
+                .ds(matchingDs.getId()));
+        targetFilterQueryManagement.updateAutoAssignDS(entityFactory.targetFilterQuery()
+                .updateAutoAssign(targetFilterQueryManagement.create(
+                        entityFactory.targetFilterQuery().create().name("notMatching").query("tag==beta")).getId())
+                .ds(notMatchingDs.getId()));
+
+        final List<Target> targets = testdataFactory.createTargets(5);
+        final TargetTag alpha = targetTagManagement.create(entityFactory.tag().create().name("alpha"));
+        targetManagement.assignTag(targets.stream().map(Target::getControllerId).toList(), alpha.getId());
+        controllerManagement.updateControllerAttributes(targets.get(0).getControllerId(), Map.of("hw", "Rev2"),
+                null);
+
+        // Run the check
+        autoAssignChecker.checkSingleTarget(targets.get(0).getControllerId());
+        autoAssignChecker.checkSingleTarget(targets.get(1).getControllerId());
+
+        verifyThatTargetsHaveDistributionSetAssignment(matchingDs, targets.subList(0, 1), targets.size());
+        verifyThatTargetsNotHaveDistributionSetAssignment(matchingDs, targets.subList(1, 5));
+        assertThat(findActionsByDistributionSet(PAGE, notMatchingDs.getId())).isEmpty();
+    }
+
+    @Test
+    @Description("Test auto assignment of a DS for the changed targets only")
+    void checkAutoAssignmentForChangedTargets() {
+        final DistributionSet distributionSet = testdataFactory.createDistributionSet("changed");
+        targetFilterQueryManagement.updateAutoAssignDS(entityFactory.targetFilterQuery()
+                .updateAutoAssign(targetFilterQueryManagement.create(
+                        entityFactory.targetFilterQuery().create().name("changed").query("attribute.hw==rev*")).getId())
+                .ds(distributionSet.getId()));
+
+        final List<Target> targets = testdataFactory.createTargets(5);
+        targets.forEach(target -> controllerManagement.updateControllerAttributes(target.getControllerId(),
+                Map.of("hw", "rev1"), null));
+
+        // Run the check for the first three targets and a deleted one
+        autoAssignChecker.checkTargets(
+                List.of(targets.get(0).getId(), targets.get(1).getId(), targets.get(2).getId(), -1L));
+
+        verifyThatTargetsHaveDistributionSetAssignment(distributionSet, targets.subList(0, 3), targets.size());
+        verifyThatTargetsNotHaveDistributionSetAssignment(distributionSet, targets.subList(3, 5));
+    }
+
+    @Test
+    @Description("Test auto assignment of a DS for the targets modified since a given time only")
+    void checkAutoAssignmentForTargetsModifiedSince() throws InterruptedException {
+        final DistributionSet distributionSet = testdataFactory.createDistributionSet("modified");
+        targetFilterQueryManagement.updateAutoAssignDS(entityFactory.targetFilterQuery()
+                .updateAutoAssign(targetFilterQueryManagement.create(
+                        entityFactory.targetFilterQuery().create().name("modified").query("attribute.hw==rev*")).getId())
+                .ds(distributionSet.getId()));
+
+        final List<Target> targets = testdataFactory.createTargets(5);
+        targets.subList(0, 3).forEach(target -> controllerManagement
+                .updateControllerAttributes(target.getControllerId(), Map.of("hw", "rev1"), null));
+        // make sure the watermark is after the last modification
+        Thread.sleep(10);
+        final long watermark = System.currentTimeMillis();
+        targets.subList(3, 5).forEach(target -> controllerManagement
+                .updateControllerAttributes(target.getControllerId(), Map.of("hw", "rev1"), null));
+
+        autoAssignChecker.checkTargetsModifiedSince(watermark);
+
+        verifyThatTargetsHaveDistributionSetAssignment(distributionSet, targets.subList(3, 5), targets.size());
+        verifyThatTargetsNotHaveDistributionSetAssignment(distributionSet, targets.subList(0, 3));
+    }
+
     @ParameterizedTest
     @MethodSource("confirmationOptions")
     @Description("Test auto assignment of a DS to filtered targets with different confirmation options")
@@ -9,21 +9,35 @@
  */
 package org.eclipse.hawkbit.repository.jpa.autoassign;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ThreadLocalRandom;
 
+import jakarta.persistence.PersistenceException;
+
 import org.eclipse.hawkbit.ContextAware;
 import org.eclipse.hawkbit.repository.DeploymentManagement;
+import org.eclipse.hawkbit.repository.RepositoryProperties;
 import org.eclipse.hawkbit.repository.TargetFilterQueryManagement;
 import org.eclipse.hawkbit.repository.TargetManagement;
+import org.eclipse.hawkbit.repository.autoassign.AutoAssignCheckResult;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Action.ActionType;
 import org.eclipse.hawkbit.repository.model.DeploymentRequest;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.DistributionSetAssignmentResult;
 import org.eclipse.hawkbit.repository.model.TargetFilterQuery;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.junit.jupiter.api.BeforeEach;
@@ -55,12 +69,14 @@ class AutoAssignCheckerTest {
     @Mock
     private ContextAware contextAware;
 
+    private final RepositoryProperties repositoryProperties = new RepositoryProperties();
+
     private AutoAssignChecker sut;
 
     @BeforeEach
     void before() {
         sut = new AutoAssignChecker(targetFilterQueryManagement, targetManagement, deploymentManagement,
-                transactionManager, contextAware);
+                transactionManager, contextAware, repositoryProperties);
     }
 
     @Test
@@ -86,6 +102,80 @@ class AutoAssignCheckerTest {
         Mockito.verifyNoMoreInteractions(deploymentManagement);
     }
 
+    @Test
+    @Description("Filter check pages through the IDs of the matching targets and assigns the DS to them chunk by chunk.")
+    void checkFilterPagesThroughTargetIds() {
+        mockRunningAsNonSystem();
+        repositoryProperties.setAutoAssignChunkSize(2);
+        final long ds = getRandomLong();
+        final TargetFilterQuery filter = mockFilterQuery(ds);
+        when(targetFilterQueryManagement.get(42L)).thenReturn(Optional.of(filter));
+        when(targetManagement.findIdsByTargetFilterQueryAndNonDSAndCompatibleAndUpdatable(0L, 2, ds,
+                filter.getQuery())).thenReturn(List.of(1L, 2L));
+        when(targetManagement.findIdsByTargetFilterQueryAndNonDSAndCompatibleAndUpdatable(2L, 2, ds,
+                filter.getQuery())).thenReturn(List.of(3L));
+        mockAssignmentByTargetIds(ds);
+
+        final AutoAssignCheckResult result = sut.checkFilter(42L, Long.MAX_VALUE);
+        assertThat(result.getAssigned()).isEqualTo(3);
+        assertThat(result.isComplete()).isTrue();
+
+        verify(deploymentManagement).assignDistributionSetToTargetIds(eq(filter.getAutoAssignInitiatedBy()), eq(ds),
+                eq(List.of(1L, 2L)), eq(ActionType.FORCED), isNull(), eq(false), any());
+        verify(deploymentManagement).assignDistributionSetToTargetIds(eq(filter.getAutoAssignInitiatedBy()), eq(ds),
+                eq(List.of(3L)), eq(ActionType.FORCED), isNull(), eq(false), any());
+        Mockito.verifyNoMoreInteractions(deploymentManagement);
+    }
+
+    @Test
+    @Description("Filter check stops after the chunk of targets in which the deadline has passed.")
+    void checkFilterStopsAtDeadline() {
+        mockRunningAsNonSystem();
+        repositoryProperties.setAutoAssignChunkSize(2);
+        final long ds = getRandomLong();
+        final TargetFilterQuery filter = mockFilterQuery(ds);
+        when(targetFilterQueryManagement.get(42L)).thenReturn(Optional.of(filter));
+        when(targetManagement.findIdsByTargetFilterQueryAndNonDSAndCompatibleAndUpdatable(0L, 2, ds,
+                filter.getQuery())).thenReturn(List.of(1L, 2L));
+        mockAssignmentByTargetIds(ds);
+
+        final AutoAssignCheckResult result = sut.checkFilter(42L, 0);
+        assertThat(result.getAssigned()).isEqualTo(2);
+        assertThat(result.isComplete()).isFalse();
+        assertThat(result.isFailed()).isFalse();
+
+        verify(targetManagement).findIdsByTargetFilterQueryAndNonDSAndCompatibleAndUpdatable(anyLong(), anyInt(),
+                anyLong(), any());
+    }
+
+    @Test
+    @Description("Filter check reports a failure with the targets assigned before it.")
+    void checkFilterReportsFailure() {
+        mockRunningAsNonSystem();
+        repositoryProperties.setAutoAssignChunkSize(2);
+        final long ds = getRandomLong();
+        final TargetFilterQuery filter = mockFilterQuery(ds);
+        when(targetFilterQueryManagement.get(42L)).thenReturn(Optional.of(filter));
+        when(targetManagement.findIdsByTargetFilterQueryAndNonDSAndCompatibleAndUpdatable(0L, 2, ds,
+                filter.getQuery())).thenReturn(List.of(1L, 2L));
+        when(targetManagement.findIdsByTargetFilterQueryAndNonDSAndCompatibleAndUpdatable(2L, 2, ds,
+                filter.getQuery())).thenThrow(new PersistenceException("failed"));
+        mockAssignmentByTargetIds(ds);
+
+        final AutoAssignCheckResult result = sut.checkFilter(42L, Long.MAX_VALUE);
+        assertThat(result.getAssigned()).isEqualTo(2);
+        assertThat(result.isComplete()).isFalse();
+        assertThat(result.isFailed()).isTrue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockAssignmentByTargetIds(final long ds) {
+        when(deploymentManagement.assignDistributionSetToTargetIds(any(), eq(ds), any(), any(), any(), anyBoolean(),
+                any())).thenAnswer(invocation -> new DistributionSetAssignmentResult(null, 0,
+                        ((Collection<Long>) invocation.getArgument(2)).stream().map(id -> mock(Action.class))
+                                .toList()));
+    }
+
     private ArgumentMatcher<List<DeploymentRequest>> deployReqMatcher(final String target, final long ds) {
         return requests -> {
             final DeploymentRequest request = requests.get(0);
@@ -0,0 +1,307 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.autoassign;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.longThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.repository.TargetFilterQueryManagement;
+import org.eclipse.hawkbit.repository.autoassign.AutoAssignCheckResult;
+import org.eclipse.hawkbit.repository.autoassign.AutoAssignExecutor;
+import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignWorkerPool.Check;
+import org.eclipse.hawkbit.repository.model.TargetFilterQuery;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.integration.support.locks.LockRegistry;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Repository")
+@Story("Auto assign checker")
+class AutoAssignSchedulerTest {
+
+    private static final String TENANT = "DEFAULT";
+
+    private final SystemManagement systemManagement = mock(SystemManagement.class);
+    private final SystemSecurityContext systemSecurityContext = mock(SystemSecurityContext.class);
+    private final AutoAssignExecutor autoAssignExecutor = mock(AutoAssignExecutor.class);
+    private final TargetFilterQueryManagement targetFilterQueryManagement = mock(TargetFilterQueryManagement.class);
+    private final AutoAssignWorkerPool autoAssignWorkerPool = mock(AutoAssignWorkerPool.class);
+    private final LockRegistry lockRegistry = mock(LockRegistry.class);
+    private final Lock lock = mock(Lock.class);
+    private final DirtyTargetTracker dirtyTargetTracker = new DirtyTargetTracker();
+    private final RepositoryProperties repositoryProperties = new RepositoryProperties();
+
+    private AutoAssignScheduler autoAssignScheduler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws InterruptedException {
+        when(systemSecurityContext.runAsSystem(any(Callable.class)))
+                .thenAnswer(invocation -> ((Callable<Object>) invocation.getArgument(0)).call());
+        doAnswer(invocation -> {
+            ((Consumer<String>) invocation.getArgument(0)).accept(TENANT);
+            return null;
+        }).when(systemManagement).forEachTenant(any());
+        when(lockRegistry.obtain(anyString())).thenReturn(lock);
+        when(lock.tryLock()).thenReturn(true);
+        when(lock.tryLock(anyLong(), any(TimeUnit.class))).thenReturn(true);
+        when(autoAssignExecutor.checkFilter(anyLong(), anyLong())).thenReturn(AutoAssignCheckResult.complete(0));
+        when(autoAssignExecutor.checkTargets(anyCollection())).thenReturn(AutoAssignCheckResult.complete(0));
+        when(autoAssignExecutor.checkTargetsModifiedSince(anyLong())).thenReturn(AutoAssignCheckResult.complete(0));
+        final List<TargetFilterQuery> filterQueries = List.of(filterQuery(10L), filterQuery(20L));
+        when(targetFilterQueryManagement.findWithAutoAssignDS(any())).thenReturn(new SliceImpl<>(filterQueries));
+        // run the checks right away until they are complete, a failed check is
+        // not finished
+        when(autoAssignWorkerPool.submit(anyString(), anyString(), anyBoolean(), any(), any()))
+                .thenAnswer(invocation -> {
+                    AutoAssignCheckResult result;
+                    do {
+                        try {
+                            result = ((Check) invocation.getArgument(3)).run(Long.MAX_VALUE);
+                        } catch (final IllegalStateException e) {
+                            return true;
+                        }
+                    } while (!result.isComplete() && !result.isFailed());
+                    if (result.isComplete()) {
+                        ((Runnable) invocation.getArgument(4)).run();
+                    }
+                    return true;
+                });
+
+        autoAssignScheduler = new AutoAssignScheduler(systemManagement, systemSecurityContext, autoAssignExecutor,
+                targetFilterQueryManagement, autoAssignWorkerPool, lockRegistry, dirtyTargetTracker,
+                repositoryProperties);
+    }
+
+    @Test
+    @Description("Verifies that all targets are checked with every run if the auto assignment is not event driven.")
+    void allTargetsAreCheckedByDefault() {
+        dirtyTargetTracker.markDirty(TENANT, 1L);
+        autoAssignScheduler.autoAssignScheduler();
+        autoAssignScheduler.autoAssignScheduler();
+
+        verifyAllTargetsChecked(2);
+        verify(autoAssignWorkerPool, times(2)).submit(eq(TENANT), eq("filter-10"), eq(true), any(), any());
+        verify(autoAssignExecutor, never()).checkTargets(anyCollection());
+        verify(autoAssignExecutor, never()).checkTargetsModifiedSince(anyLong());
+        assertThat(dirtyTargetTracker.drain(TENANT)).isEmpty();
+    }
+
+    @Test
+    @Description("Verifies that after the first run only the changed targets are checked between the sweeps.")
+    void onlyChangedTargetsAreCheckedBetweenSweeps() {
+        repositoryProperties.setAutoAssignEventDriven(true);
+
+        // the first run checks all targets
+        autoAssignScheduler.autoAssignScheduler();
+        verifyAllTargetsChecked(1);
+
+        // nothing has changed
+        autoAssignScheduler.autoAssignScheduler();
+        verify(autoAssignExecutor, never()).checkTargets(anyCollection());
+
+        dirtyTargetTracker.markDirty(TENANT.toLowerCase(), 1L);
+        dirtyTargetTracker.markDirty(TENANT, 2L);
+        autoAssignScheduler.autoAssignScheduler();
+        verify(autoAssignExecutor).checkTargets(Set.of(1L, 2L));
+        verifyAllTargetsChecked(1);
+        verify(autoAssignExecutor, never()).checkTargetsModifiedSince(anyLong());
+        assertThat(dirtyTargetTracker.drain(TENANT)).isEmpty();
+    }
+
+    @Test
+    @Description("Verifies that all targets are checked again if the target filters have changed.")
+    void allTargetsAreCheckedIfFiltersHaveChanged() {
+        repositoryProperties.setAutoAssignEventDriven(true);
+        autoAssignScheduler.autoAssignScheduler();
+
+        dirtyTargetTracker.markDirty(TENANT, 1L);
+        dirtyTargetTracker.markAllDirty(TENANT);
+        autoAssignScheduler.autoAssignScheduler();
+
+        verifyAllTargetsChecked(2);
+        verify(autoAssignExecutor, never()).checkTargets(anyCollection());
+    }
+
+    @Test
+    @Description("Verifies that the targets modified since the last sweep are checked with every sweep.")
+    void modifiedTargetsAreCheckedWithSweep() {
+        repositoryProperties.setAutoAssignEventDriven(true);
+        repositoryProperties.setAutoAssignSweepInterval(0);
+        final long start = System.currentTimeMillis();
+
+        autoAssignScheduler.autoAssignScheduler();
+        autoAssignScheduler.autoAssignScheduler();
+
+        verifyAllTargetsChecked(1);
+        verify(autoAssignExecutor).checkTargetsModifiedSince(longThat(watermark -> watermark >= start));
+    }
+
+    @Test
+    @Description("Verifies that the watermark is not moved on if the check of the modified targets fails.")
+    void watermarkIsKeptIfModifiedTargetsCheckFails() {
+        repositoryProperties.setAutoAssignEventDriven(true);
+        repositoryProperties.setAutoAssignSweepInterval(0);
+        final long start = System.currentTimeMillis();
+        autoAssignScheduler.autoAssignScheduler();
+
+        when(autoAssignExecutor.checkTargetsModifiedSince(anyLong())).thenThrow(new IllegalStateException("failed"));
+        autoAssignScheduler.autoAssignScheduler();
+        autoAssignScheduler.autoAssignScheduler();
+
+        final ArgumentCaptor<Long> watermarks = ArgumentCaptor.forClass(Long.class);
+        verify(autoAssignExecutor, times(2)).checkTargetsModifiedSince(watermarks.capture());
+        assertThat(watermarks.getValue()).isGreaterThanOrEqualTo(start);
+        assertThat(watermarks.getAllValues()).containsOnly(watermarks.getValue());
+    }
+
+    @Test
+    @Description("Verifies that all targets are checked again if the check of a target filter fails.")
+    void allTargetsAreCheckedAgainIfFilterCheckFails() {
+        repositoryProperties.setAutoAssignEventDriven(true);
+        when(autoAssignExecutor.checkFilter(eq(20L), anyLong())).thenThrow(new IllegalStateException("failed"))
+                .thenReturn(AutoAssignCheckResult.complete(0));
+        autoAssignScheduler.autoAssignScheduler();
+        autoAssignScheduler.autoAssignScheduler();
+        autoAssignScheduler.autoAssignScheduler();
+
+        verifyAllTargetsChecked(2);
+    }
+
+    @Test
+    @Description("Verifies that all targets are checked again if the check of a target filter reports a failure.")
+    void allTargetsAreCheckedAgainIfFilterCheckReportsFailure() {
+        repositoryProperties.setAutoAssignEventDriven(true);
+        when(autoAssignExecutor.checkFilter(eq(20L), anyLong())).thenReturn(AutoAssignCheckResult.failed(0))
+                .thenReturn(AutoAssignCheckResult.complete(0));
+        autoAssignScheduler.autoAssignScheduler();
+        autoAssignScheduler.autoAssignScheduler();
+        autoAssignScheduler.autoAssignScheduler();
+
+        verifyAllTargetsChecked(2);
+    }
+
+    @Test
+    @Description("Verifies that the watermark is not moved on if the check of the modified targets reports a failure.")
+    void watermarkIsKeptIfModifiedTargetsCheckReportsFailure() {
+        repositoryProperties.setAutoAssignEventDriven(true);
+        repositoryProperties.setAutoAssignSweepInterval(0);
+        autoAssignScheduler.autoAssignScheduler();
+
+        when(autoAssignExecutor.checkTargetsModifiedSince(anyLong())).thenReturn(AutoAssignCheckResult.failed(0));
+        autoAssignScheduler.autoAssignScheduler();
+        autoAssignScheduler.autoAssignScheduler();
+
+        final ArgumentCaptor<Long> watermarks = ArgumentCaptor.forClass(Long.class);
+        verify(autoAssignExecutor, times(2)).checkTargetsModifiedSince(watermarks.capture());
+        assertThat(watermarks.getAllValues()).containsOnly(watermarks.getValue());
+    }
+
+    @Test
+    @Description("Verifies that the watermark is set once an incomplete check of a target filter has been continued "
+            + "to its end.")
+    void watermarkIsSetOnceIncompleteFilterCheckIsComplete() {
+        repositoryProperties.setAutoAssignEventDriven(true);
+        when(autoAssignExecutor.checkFilter(eq(20L), anyLong())).thenReturn(AutoAssignCheckResult.incomplete(1))
+                .thenReturn(AutoAssignCheckResult.complete(1));
+        autoAssignScheduler.autoAssignScheduler();
+        autoAssignScheduler.autoAssignScheduler();
+
+        verify(autoAssignExecutor, times(1)).checkFilter(eq(10L), anyLong());
+        verify(autoAssignExecutor, times(2)).checkFilter(eq(20L), anyLong());
+    }
+
+    @Test
+    @Description("Verifies that a check run by another node is run again once the lock is acquired and that it sets "
+            + "the watermark then.")
+    void checkRunByAnotherNodeIsRunAgain() throws InterruptedException {
+        repositoryProperties.setAutoAssignEventDriven(true);
+        final Lock filterLock = mock(Lock.class);
+        when(lockRegistry.obtain("autoassign-" + TENANT + "-filter-20")).thenReturn(filterLock);
+        when(filterLock.tryLock(anyLong(), any(TimeUnit.class))).thenReturn(false).thenReturn(true);
+
+        autoAssignScheduler.autoAssignScheduler();
+        autoAssignScheduler.autoAssignScheduler();
+
+        verify(filterLock, times(2)).tryLock(repositoryProperties.getAutoAssignCheckBudget(), TimeUnit.MILLISECONDS);
+        verify(filterLock).unlock();
+        verifyAllTargetsChecked(1);
+    }
+
+    @Test
+    @Description("Verifies that the changes are dropped and all targets are checked once the lock is acquired if another node holds the lock.")
+    void changesAreDroppedWithoutLock() {
+        repositoryProperties.setAutoAssignEventDriven(true);
+        autoAssignScheduler.autoAssignScheduler();
+
+        when(lock.tryLock()).thenReturn(false);
+        dirtyTargetTracker.markDirty(TENANT, 1L);
+        autoAssignScheduler.autoAssignScheduler();
+        assertThat(dirtyTargetTracker.drain(TENANT)).isEmpty();
+
+        when(lock.tryLock()).thenReturn(true);
+        autoAssignScheduler.autoAssignScheduler();
+        verifyAllTargetsChecked(2);
+        verify(autoAssignExecutor, never()).checkTargets(anyCollection());
+    }
+
+    @Test
+    @Description("Verifies that the changed targets are checked with the next run if their last check is still queued or running.")
+    void changedTargetsAreKeptIfCheckIsBusy() {
+        repositoryProperties.setAutoAssignEventDriven(true);
+        autoAssignScheduler.autoAssignScheduler();
+
+        when(autoAssignWorkerPool.submit(eq(TENANT), eq("changed"), anyBoolean(), any(), any())).thenReturn(false);
+        dirtyTargetTracker.markDirty(TENANT, 1L);
+        autoAssignScheduler.autoAssignScheduler();
+
+        verify(autoAssignExecutor, never()).checkTargets(anyCollection());
+        assertThat(dirtyTargetTracker.drain(TENANT)).containsExactly(1L);
+    }
+
+    private void verifyAllTargetsChecked(final int times) {
+        verify(autoAssignExecutor, times(times)).checkFilter(eq(10L), anyLong());
+        verify(autoAssignExecutor, times(times)).checkFilter(eq(20L), anyLong());
+        verify(autoAssignExecutor, never()).checkAllTargets();
+    }
+
+    private static TargetFilterQuery filterQuery(final long id) {
+        final TargetFilterQuery filterQuery = mock(TargetFilterQuery.class);
+        when(filterQuery.getId()).thenReturn(id);
+        return filterQuery;
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.autoassign;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.hawkbit.repository.autoassign.AutoAssignCheckResult;
+import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignWorkerPool.CheckStatistics;
+import org.eclipse.hawkbit.repository.jpa.executor.TenantWorkerPoolFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Repository")
+@Story("Auto assign checker")
+class AutoAssignWorkerPoolTest {
+
+    private final TenantWorkerPoolFixture fixture = new TenantWorkerPoolFixture();
+    private final AtomicInteger finished = new AtomicInteger();
+
+    private AutoAssignWorkerPool pool;
+
+    @AfterEach
+    void shutdown() {
+        fixture.releaseFirst();
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @Description("Verifies that an incomplete check is continued after the checks of the other tenants, is finished "
+            + "with its complete turn only and that the assigned targets are counted.")
+    void incompleteCheckIsContinuedAfterOtherTenants() throws InterruptedException {
+        pool = new AutoAssignWorkerPool(fixture.systemSecurityContext(), 1, 50);
+
+        final AtomicInteger slices = new AtomicInteger(3);
+        pool.submit("blocking", "1", false, deadline -> {
+            fixture.blockFirstAndRecord("1");
+            return AutoAssignCheckResult.complete(0);
+        }, finished::incrementAndGet);
+        fixture.awaitFirstStarted();
+        // the check of tenant a needs three slices of targets
+        pool.submit("a", "slow", true, deadline -> {
+            fixture.record("slow");
+            return slices.decrementAndGet() > 0 ? AutoAssignCheckResult.incomplete(2)
+                    : AutoAssignCheckResult.complete(1);
+        }, finished::incrementAndGet);
+        pool.submit("b", "1", false, check("1"), finished::incrementAndGet);
+        fixture.releaseFirst();
+
+        fixture.awaitRuns(pool, 5);
+        assertThat(fixture.getRuns()).containsExactly("blocking-1", "a-slow", "b-1", "a-slow", "a-slow");
+        assertThat(pool.getStatistics().getContinued()).isEqualTo(2);
+        assertThat(finished).hasValue(3);
+
+        final CheckStatistics statistics = pool.getCheckStatistics();
+        assertThat(statistics.getChecks()).isEqualTo(5);
+        assertThat(statistics.getFailedChecks()).isZero();
+        assertThat(statistics.getAssignedTargets()).isEqualTo(5);
+        assertThat(statistics.getMaxAssignedTargets()).isEqualTo(2);
+    }
+
+    @Test
+    @Description("Verifies that a complete check is finished even if it has returned after the deadline.")
+    void completeCheckAfterDeadlineIsFinished() throws InterruptedException {
+        pool = new AutoAssignWorkerPool(fixture.systemSecurityContext(), 1, 1);
+
+        pool.submit("a", "1", true, deadline -> {
+            fixture.record("1");
+            waitForDeadline(deadline);
+            return AutoAssignCheckResult.complete(1);
+        }, finished::incrementAndGet);
+
+        fixture.awaitRuns(pool, 1);
+        assertThat(fixture.getRuns()).containsExactly("a-1");
+        assertThat(pool.getStatistics().getContinued()).isZero();
+        assertThat(finished).hasValue(1);
+    }
+
+    @Test
+    @Description("Verifies that a check with a failed result is not finished and is not run again.")
+    void checkWithFailedResultIsNotFinished() throws InterruptedException {
+        pool = new AutoAssignWorkerPool(fixture.systemSecurityContext(), 1, TimeUnit.MINUTES.toMillis(1));
+
+        pool.submit("a", "1", true, deadline -> {
+            fixture.record("1");
+            return AutoAssignCheckResult.failed(1);
+        }, finished::incrementAndGet);
+
+        fixture.awaitRuns(pool, 1);
+        assertThat(pool.getCheckStatistics().getFailedChecks()).isEqualTo(1);
+        assertThat(pool.getCheckStatistics().getAssignedTargets()).isEqualTo(1);
+        assertThat(finished).hasValue(0);
+        assertThat(pool.submit("a", "1", true, check("1"), finished::incrementAndGet)).isTrue();
+    }
+
+    @Test
+    @Description("Verifies that a failed check is not finished and is not run again.")
+    void failedCheckIsNotFinished() throws InterruptedException {
+        pool = new AutoAssignWorkerPool(fixture.systemSecurityContext(), 1, TimeUnit.MINUTES.toMillis(1));
+
+        pool.submit("a", "1", true, deadline -> {
+            fixture.record("1");
+            throw new IllegalStateException("failed");
+        }, finished::incrementAndGet);
+
+        fixture.awaitRuns(pool, 1);
+        assertThat(pool.getStatistics().getFailed()).isEqualTo(1);
+        assertThat(finished).hasValue(0);
+        assertThat(pool.submit("a", "1", true, check("1"), finished::incrementAndGet)).isTrue();
+    }
+
+    private AutoAssignWorkerPool.Check check(final String key) {
+        return deadline -> {
+            fixture.record(key);
+            return AutoAssignCheckResult.complete(0);
+        };
+    }
+
+    private static void waitForDeadline(final long deadline) {
+        while (System.currentTimeMillis() <= deadline) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.autocleanup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.jpa.AbstractJpaIntegrationTest;
+import org.eclipse.hawkbit.repository.jpa.autocleanup.ActionPurger.Statistics;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Component Tests - Repository")
+@Story("Action cleanup handler")
+class ActionPurgerTest extends AbstractJpaIntegrationTest {
+
+    @Autowired
+    private ActionPurger actionPurger;
+
+    @Autowired
+    private RepositoryProperties repositoryProperties;
+
+    private final RepositoryProperties defaults = new RepositoryProperties();
+
+    @AfterEach
+    void resetProperties() {
+        repositoryProperties.setActionCleanupChunkSize(defaults.getActionCleanupChunkSize());
+        repositoryProperties.setActionCleanupRowsPerSecond(defaults.getActionCleanupRowsPerSecond());
+        repositoryProperties.setActionCleanupTimePerRun(defaults.getActionCleanupTimePerRun());
+    }
+
+    @Test
+    @Description("Verifies that the expired actions are deleted in chunks together with their status entries, that "
+            + "the deletion is throttled and that the deleted rows are counted.")
+    void expiredActionsAreDeletedInThrottledChunks() {
+        repositoryProperties.setActionCleanupChunkSize(2);
+        repositoryProperties.setActionCleanupRowsPerSecond(100);
+        final List<Long> canceled = createCanceledActions(5);
+        final Long running = createRunningAction();
+        final Statistics before = actionPurger.getStatistics();
+
+        waitNextMillis();
+        final long start = System.currentTimeMillis();
+        assertThat(actionPurger.purge(tenantAware.getCurrentTenant(), EnumSet.of(Status.CANCELED),
+                System.currentTimeMillis())).isEqualTo(5);
+        // at least 3 rows per action, i.e. 12 rows deleted before the last chunk
+        assertThat(System.currentTimeMillis() - start).isGreaterThanOrEqualTo(120);
+
+        assertThat(actionRepository.findAll()).extracting(Action::getId).containsExactly(running);
+        assertThat(actionStatusRepository.countByActionId(running)).isPositive();
+        canceled.forEach(id -> assertThat(actionStatusRepository.countByActionId(id)).isZero());
+
+        final Statistics after = actionPurger.getStatistics();
+        assertThat(after.getPurges() - before.getPurges()).isEqualTo(1);
+        assertThat(after.getChunks() - before.getChunks()).isEqualTo(3);
+        assertThat(after.getDeletedActions() - before.getDeletedActions()).isEqualTo(5);
+        assertThat(after.getDeletedRows() - before.getDeletedRows()).isGreaterThanOrEqualTo(15);
+        assertThat(after.getThrottledMillis()).isGreaterThan(before.getThrottledMillis());
+    }
+
+    @Test
+    @Description("Verifies that a purge stops after its time per run and that the next purges continue with the "
+            + "actions left.")
+    void purgeIsContinuedByNextPurges() {
+        repositoryProperties.setActionCleanupChunkSize(2);
+        repositoryProperties.setActionCleanupTimePerRun(0);
+        createCanceledActions(3);
+
+        waitNextMillis();
+        final long lastModified = System.currentTimeMillis();
+        final String tenant = tenantAware.getCurrentTenant();
+        assertThat(actionPurger.purge(tenant, EnumSet.of(Status.CANCELED), lastModified)).isEqualTo(2);
+        assertThat(actionRepository.count()).isEqualTo(1);
+        assertThat(actionPurger.purge(tenant, EnumSet.of(Status.CANCELED), lastModified)).isEqualTo(1);
+        assertThat(actionPurger.purge(tenant, EnumSet.of(Status.CANCELED), lastModified)).isZero();
+        assertThat(actionRepository.count()).isZero();
+    }
+
+    private List<Long> createCanceledActions(final int count) {
+        final DistributionSet ds = testdataFactory.createDistributionSet("canceled");
+        final List<Target> targets = testdataFactory.createTargets(count, "canceled");
+        final List<Long> actionIds = assignDistributionSet(ds, targets).getAssignedEntity().stream()
+                .map(Action::getId).collect(Collectors.toList());
+        actionIds.forEach(id -> {
+            deploymentManagement.cancelAction(id);
+            deploymentManagement.forceQuitAction(id);
+        });
+        return actionIds;
+    }
+
+    private Long createRunningAction() {
+        final DistributionSet ds = testdataFactory.createDistributionSet("running");
+        final Target target = testdataFactory.createTarget("running");
+        return getFirstAssignedActionId(assignDistributionSet(ds.getId(), target.getControllerId()));
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+
+/**
+ * Records the work run by a {@link TenantWorkerPool} as
+ * <code>tenant-key</code> and optionally blocks the first run until it is
+ * released, e.g. to queue work meanwhile.
+ */
+public class TenantWorkerPoolFixture {
+
+    private final ThreadLocal<String> currentTenant = new ThreadLocal<>();
+    private final List<String> runs = new CopyOnWriteArrayList<>();
+    private final List<Thread> threads = new CopyOnWriteArrayList<>();
+    private final CountDownLatch firstStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseFirst = new CountDownLatch(1);
+
+    /**
+     * @return a {@link SystemSecurityContext} that runs the work as tenant
+     */
+    @SuppressWarnings("unchecked")
+    public SystemSecurityContext systemSecurityContext() {
+        final SystemSecurityContext systemSecurityContext = mock(SystemSecurityContext.class);
+        when(systemSecurityContext.runAsSystemAsTenant(any(Callable.class), anyString())).thenAnswer(invocation -> {
+            currentTenant.set(invocation.getArgument(1));
+            try {
+                return ((Callable<Object>) invocation.getArgument(0)).call();
+            } finally {
+                currentTenant.remove();
+            }
+        });
+        return systemSecurityContext;
+    }
+
+    /**
+     * Records a run of the work with the given key.
+     *
+     * @param key
+     *            of the work
+     */
+    public void record(final Object key) {
+        threads.add(Thread.currentThread());
+        runs.add(currentTenant.get() + "-" + key);
+    }
+
+    /**
+     * Blocks the first caller until {@link #releaseFirst()}, records the run
+     * of the work with the given key afterwards.
+     *
+     * @param key
+     *            of the work
+     */
+    public void blockFirstAndRecord(final Object key) {
+        if (firstStarted.getCount() > 0) {
+            firstStarted.countDown();
+            try {
+                releaseFirst.await(5, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        record(key);
+    }
+
+    /**
+     * Waits until the first run is blocked.
+     */
+    public void awaitFirstStarted() throws InterruptedException {
+        assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    /**
+     * Releases the blocked first run.
+     */
+    public void releaseFirst() {
+        releaseFirst.countDown();
+    }
+
+    /**
+     * Waits until the pool has run the given number of work.
+     *
+     * @param pool
+     *            running the work
+     * @param count
+     *            of the runs
+     */
+    public void awaitRuns(final TenantWorkerPool pool, final int count) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        while (pool.getStatistics().getRuns() < count && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertThat(runs).hasSize(count);
+    }
+
+    /**
+     * @return the recorded runs as <code>tenant-key</code>
+     */
+    public List<String> getRuns() {
+        return runs;
+    }
+
+    /**
+     * @return the threads of the recorded runs
+     */
+    public List<Thread> getThreads() {
+        return threads;
+    }
+}
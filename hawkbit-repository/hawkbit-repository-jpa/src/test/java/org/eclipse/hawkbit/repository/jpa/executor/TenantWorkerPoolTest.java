@@ -0,0 +1,173 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.hawkbit.repository.jpa.executor.TenantWorkerPool.Work;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Repository")
+@Story("Tenant worker pool")
+class TenantWorkerPoolTest {
+
+    private final TenantWorkerPoolFixture fixture = new TenantWorkerPoolFixture();
+
+    private TenantWorkerPool pool;
+
+    @AfterEach
+    void shutdown() {
+        fixture.releaseFirst();
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @Description("Verifies that the queued work of the tenants is run in turn.")
+    void tenantsAreRunInTurn() throws InterruptedException {
+        pool = new TenantWorkerPool("test", fixture.systemSecurityContext(), 1, false);
+
+        pool.submit("blocking", 1, blockingFirst(1));
+        fixture.awaitFirstStarted();
+        pool.submit("a", 1, work(1));
+        pool.submit("a", 2, work(2));
+        pool.submit("a", 3, work(3));
+        pool.submit("b", 1, work(1));
+        assertThat(pool.getStatistics().getQueued()).isEqualTo(4);
+        TimeUnit.MILLISECONDS.sleep(20);
+        fixture.releaseFirst();
+
+        fixture.awaitRuns(pool, 5);
+        assertThat(fixture.getRuns()).containsExactly("blocking-1", "a-1", "b-1", "a-2", "a-3");
+        assertThat(pool.getStatistics().getMaxQueueWaitMillis()).isPositive();
+        assertThat(pool.getStatistics().getContinued()).isZero();
+    }
+
+    @Test
+    @Description("Verifies that a work is not queued again as long as it is queued or running.")
+    void workIsQueuedOnlyOnce() throws InterruptedException {
+        pool = new TenantWorkerPool("test", fixture.systemSecurityContext(), 2, false);
+
+        assertThat(pool.submit("a", 1, blockingFirst(1))).isTrue();
+        fixture.awaitFirstStarted();
+        assertThat(pool.submit("a", 1, work(1))).isFalse();
+        assertThat(pool.getStatistics().getRunning()).isEqualTo(1);
+        fixture.releaseFirst();
+
+        fixture.awaitRuns(pool, 1);
+        assertThat(pool.submit("a", 1, work(1))).isTrue();
+        fixture.awaitRuns(pool, 2);
+        assertThat(fixture.getRuns()).containsExactly("a-1", "a-1");
+    }
+
+    @Test
+    @Description("Verifies that a work which is not finished with its turn is continued after the work of the other "
+            + "tenants.")
+    void unfinishedWorkIsContinuedAfterOtherTenants() throws InterruptedException {
+        pool = new TenantWorkerPool("test", fixture.systemSecurityContext(), 1, false);
+
+        pool.submit("blocking", 1, blockingFirst(1));
+        fixture.awaitFirstStarted();
+        // the work of tenant a needs three turns
+        final AtomicInteger turns = new AtomicInteger(3);
+        pool.submit("a", "slow", () -> {
+            fixture.record("slow");
+            return turns.decrementAndGet() == 0;
+        });
+        pool.submit("b", 1, work(1));
+        pool.submit("b", 2, work(2));
+        fixture.releaseFirst();
+
+        fixture.awaitRuns(pool, 6);
+        assertThat(fixture.getRuns()).containsExactly("blocking-1", "a-slow", "b-1", "a-slow", "b-2", "a-slow");
+        assertThat(pool.getStatistics().getContinued()).isEqualTo(2);
+        // the work has been finished
+        assertThat(pool.submit("a", "slow", work("slow"))).isTrue();
+    }
+
+    @Test
+    @Description("Verifies that a worker survives an error of the work and that the work can be queued again.")
+    void workerSurvivesError() throws InterruptedException {
+        pool = new TenantWorkerPool("test", fixture.systemSecurityContext(), 1, false);
+
+        pool.submit("a", 1, () -> {
+            fixture.record(1);
+            throw new StackOverflowError();
+        });
+        fixture.awaitRuns(pool, 1);
+        assertThat(pool.getStatistics().getFailed()).isEqualTo(1);
+        assertThat(pool.submit("a", 1, work(1))).isTrue();
+        fixture.awaitRuns(pool, 2);
+        assertThat(fixture.getRuns()).containsExactly("a-1", "a-1");
+    }
+
+    @Test
+    @Description("Verifies that the workers run on virtual threads if the runtime supports them and fall back to "
+            + "daemon platform threads otherwise.")
+    void workersRunOnVirtualThreadsIfSupported() throws InterruptedException {
+        pool = new TenantWorkerPool("test", fixture.systemSecurityContext(), 1, true);
+
+        pool.submit("a", 1, work(1));
+        fixture.awaitRuns(pool, 1);
+        final Thread worker = fixture.getThreads().get(0);
+        if (Runtime.version().feature() >= 21) {
+            assertThat(isVirtual(worker)).isTrue();
+        } else {
+            assertThat(isVirtual(worker)).isFalse();
+            assertThat(worker.isDaemon()).isTrue();
+            assertThat(worker.getName()).startsWith("test-worker-");
+        }
+    }
+
+    @Test
+    @Description("Verifies that the workers run on daemon platform threads unless virtual threads are requested.")
+    void workersRunOnPlatformThreads() throws InterruptedException {
+        pool = new TenantWorkerPool("test", fixture.systemSecurityContext(), 1, false);
+
+        pool.submit("a", 1, work(1));
+        fixture.awaitRuns(pool, 1);
+        final Thread worker = fixture.getThreads().get(0);
+        assertThat(isVirtual(worker)).isFalse();
+        assertThat(worker.isDaemon()).isTrue();
+        assertThat(worker.getName()).startsWith("test-worker-");
+    }
+
+    private Work work(final Object key) {
+        return () -> {
+            fixture.record(key);
+            return true;
+        };
+    }
+
+    private Work blockingFirst(final Object key) {
+        return () -> {
+            fixture.blockFirstAndRecord(key);
+            return true;
+        };
+    }
+
+    private static boolean isVirtual(final Thread thread) {
+        try {
+            return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (final ReflectiveOperationException e) {
+            // no virtual threads before Java 21
+            return false;
+        }
+    }
+}
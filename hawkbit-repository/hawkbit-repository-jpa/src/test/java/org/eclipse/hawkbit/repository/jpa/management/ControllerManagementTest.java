@@ -45,6 +45,7 @@ import org.eclipse.hawkbit.repository.event.remote.CancelTargetAssignmentEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetAssignDistributionSetEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetAttributesRequestedEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetPollBatchEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.ActionCreatedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.ActionUpdatedEvent;
@@ -69,17 +70,21 @@ import org.eclipse.hawkbit.repository.model.Action.Status;
 import org.eclipse.hawkbit.repository.model.ActionStatus;
 import org.eclipse.hawkbit.repository.model.Artifact;
 import org.eclipse.hawkbit.repository.model.ArtifactUpload;
+import org.eclipse.hawkbit.repository.model.ControllerPollState;
+import org.eclipse.hawkbit.repository.model.ControllerPollState.ActionState;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.DistributionSetAssignmentResult;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.SoftwareModuleMetadata;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetRegistration;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
 import org.eclipse.hawkbit.repository.test.matcher.Expect;
 import org.eclipse.hawkbit.repository.test.matcher.ExpectEvents;
 import org.eclipse.hawkbit.repository.test.util.TargetTestData;
 import org.eclipse.hawkbit.repository.test.util.SecurityContextSwitch;
 import org.eclipse.hawkbit.repository.test.util.WithUser;
+import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -526,6 +531,60 @@ class ControllerManagementTest extends AbstractJpaIntegrationTest {
         assertThat(targetRepository.count()).as("Only 1 target should be registered").isEqualTo(1L);
     }
 
+    @Test
+    @Description("Verifies that the polling time follows changes of the tenant configuration.")
+    void pollingTimeFollowsTenantConfiguration() {
+        final String defaultPollingTime = controllerManagement.getPollingTime();
+
+        tenantConfigurationManagement.addOrUpdateConfiguration(TenantConfigurationKey.POLLING_TIME_INTERVAL,
+                "00:01:00");
+        assertThat(controllerManagement.getPollingTime()).isEqualTo("00:01:00");
+        assertThat(controllerManagement.findOrRegisterPollState("polling", LOCALHOST).getPollingTime())
+                .isEqualTo("00:01:00");
+
+        tenantConfigurationManagement.deleteConfiguration(TenantConfigurationKey.POLLING_TIME_INTERVAL);
+        assertThat(controllerManagement.getPollingTime()).isEqualTo(defaultPollingTime);
+    }
+
+    @Test
+    @Description("Verifies that the poll state holds the latest finished action of the installed distribution set "
+            + "next to the active action.")
+    void pollStateHoldsLatestInstalledAction() {
+        controllerManagement.findOrRegisterPollState("installed", LOCALHOST);
+        final DistributionSet ds1 = testdataFactory.createDistributionSet("ds1");
+        final DistributionSet ds2 = testdataFactory.createDistributionSet("ds2");
+        finishAction(getFirstAssignedActionId(assignDistributionSet(ds1.getId(), "installed")));
+        finishAction(getFirstAssignedActionId(assignDistributionSet(ds2.getId(), "installed")));
+        final Long installedAction = getFirstAssignedActionId(assignDistributionSet(ds1.getId(), "installed"));
+        finishAction(installedAction);
+        final Long activeAction = getFirstAssignedActionId(assignDistributionSet(ds2.getId(), "installed"));
+
+        final ControllerPollState state = controllerManagement.findOrRegisterPollState("installed", LOCALHOST);
+        assertThat(state.getInstalledActionId()).contains(installedAction);
+        assertThat(state.getActiveAction()).map(ActionState::getId).contains(activeAction);
+    }
+
+    @Test
+    @Description("Register and update controllers in bulk")
+    @WithUser(principal = "controller", authorities = { CONTROLLER_ROLE })
+    @ExpectEvents({ @Expect(type = TargetCreatedEvent.class, count = 3),
+            @Expect(type = TargetPollEvent.class, count = 1), @Expect(type = TargetPollBatchEvent.class, count = 1),
+            @Expect(type = TargetUpdatedEvent.class, count = 1) })
+    void findOrRegisterTargets() {
+        final Target existing = controllerManagement.findOrRegisterTargetIfItDoesNotExist("AA", LOCALHOST);
+
+        final List<Target> targets = controllerManagement.findOrRegisterTargets(
+                Arrays.asList(new TargetRegistration("AA", LOCALHOST, "ChangedTestName", null),
+                        new TargetRegistration("BB", LOCALHOST), new TargetRegistration("CC", LOCALHOST),
+                        new TargetRegistration("BB", LOCALHOST, "TestName", null)));
+
+        assertThat(targets).extracting(Target::getControllerId).containsExactly("AA", "BB", "CC");
+        assertThat(targets.get(0).getId()).as("Target should be the equals").isEqualTo(existing.getId());
+        assertThat(targets.get(0).getName()).as("Target name should be changed").isEqualTo("ChangedTestName");
+        assertThat(targets.get(1).getName()).as("Last registration should be applied").isEqualTo("TestName");
+        assertThat(targetRepository.count()).as("Only 3 targets should be registered").isEqualTo(3L);
+    }
+
     @Test
     @Description("Register a controller with name which does not exist and update its name")
     @WithUser(principal = "controller", authorities = { CONTROLLER_ROLE })
@@ -1741,4 +1800,9 @@ class ControllerManagementTest extends AbstractJpaIntegrationTest {
     private boolean activeActionExistsForControllerId(final String controllerId) {
         return actionRepository.exists(ActionSpecifications.byTargetControllerIdAndActive(controllerId, true));
     }
+
+    private void finishAction(final Long actionId) {
+        controllerManagement
+                .addUpdateActionStatus(entityFactory.actionStatus().create(actionId).status(Action.Status.FINISHED));
+    }
 }
@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.time.Duration;
+
+import org.awaitility.Awaitility;
+import org.eclipse.hawkbit.repository.jpa.AbstractJpaIntegrationTest;
+import org.eclipse.hawkbit.repository.model.ControllerPollState;
+import org.eclipse.hawkbit.repository.model.ControllerPollState.ActionState;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Component Tests - Repository")
+@Story("Controller Management")
+@TestPropertySource(locations = "classpath:/jpa-test.properties", properties = {
+        "hawkbit.server.repository.eagerPollPersistence=false",
+        "hawkbit.server.repository.pollStateCacheEnabled=true" })
+class ControllerPollStateCacheTest extends AbstractJpaIntegrationTest {
+
+    @Test
+    @Description("Verifies that an idle poll is served from the cache and that an assignment invalidates the cached state.")
+    void pollStateIsCachedUntilAssignment() {
+        final ControllerPollState registered = controllerManagement.findOrRegisterPollState("cached", LOCALHOST);
+        assertThat(registered.getActiveAction()).isEmpty();
+        assertThat(registered.getPollingTime()).isEqualTo(controllerManagement.getPollingTime());
+
+        assertThat(controllerManagement.findOrRegisterPollState("cached", LOCALHOST)).isSameAs(registered);
+
+        final DistributionSet ds = testdataFactory.createDistributionSet();
+        final long actionId = getFirstAssignedActionId(assignDistributionSet(ds.getId(), "cached"));
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).pollInterval(Duration.ofMillis(100))
+                .pollInSameThread()
+                .until(() -> controllerManagement.findOrRegisterPollState("cached", LOCALHOST).getActiveAction()
+                        .map(ActionState::getId).filter(id -> id == actionId).isPresent());
+    }
+
+    @Test
+    @Description("Verifies that a poll from a changed address is not served from the cache.")
+    void pollStateIsNotServedForChangedAddress() {
+        final ControllerPollState registered = controllerManagement.findOrRegisterPollState("moved", LOCALHOST);
+
+        final ControllerPollState moved = controllerManagement.findOrRegisterPollState("moved",
+                URI.create("http://192.168.0.1"));
+
+        assertThat(moved).isNotSameAs(registered);
+        assertThat(moved.getAddress()).isEqualTo("http://192.168.0.1");
+    }
+}
@@ -197,6 +197,27 @@ class DeploymentManagementTest extends AbstractJpaIntegrationTest {
                 .isThrownBy(() -> assignDistributionSet(ds1.getId(), testTarget.getControllerId(), 77));
     }
 
+    @Test
+    @Description("Test verifies that the 'max actions per target' quota is enforced when assigning by target IDs.")
+    void assertMaxActionsPerTargetQuotaIsEnforcedForTargetIds() {
+
+        final int maxActions = quotaManagement.getMaxActionsPerTarget();
+        final Target testTarget = testdataFactory.createTarget();
+        final Target otherTarget = testdataFactory.createTarget("otherTarget");
+        final DistributionSet ds1 = testdataFactory.createDistributionSet("ds1");
+
+        enableMultiAssignments();
+        for (int i = 0; i < maxActions; i++) {
+            deploymentManagement.offlineAssignedDistributionSets(Collections
+                    .singletonList(new SimpleEntry<String, Long>(testTarget.getControllerId(), ds1.getId())));
+        }
+
+        assertThatExceptionOfType(AssignmentQuotaExceededException.class)
+                .isThrownBy(() -> deploymentManagement.assignDistributionSetToTargetIds("test", ds1.getId(),
+                        Arrays.asList(otherTarget.getId(), testTarget.getId()), ActionType.FORCED, 77, false, null));
+        assertThat(actionRepository.countByTargetId(otherTarget.getId())).isZero();
+    }
+
     @Test
     @Description("An assignment request with more assignments than allowed by 'maxTargetDistributionSetAssignmentsPerManualAssignment' quota throws an exception.")
     void assignmentRequestThatIsTooLarge() {
@@ -14,9 +14,14 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.event.remote.TargetPollBatchEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent;
 import org.eclipse.hawkbit.repository.jpa.AbstractJpaIntegrationTest;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.ControllerPollState;
+import org.eclipse.hawkbit.repository.model.ControllerPollState.ActionState;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.test.matcher.Expect;
 import org.eclipse.hawkbit.repository.test.matcher.ExpectEvents;
@@ -41,7 +46,7 @@ public class LazyControllerManagementTest extends AbstractJpaIntegrationTest {
     @Test
     @Description("Verfies that lazy target poll update is executed as specified.")
     @ExpectEvents({ @Expect(type = TargetCreatedEvent.class, count = 1),
-            @Expect(type = TargetPollEvent.class, count = 2) })
+            @Expect(type = TargetPollEvent.class, count = 1), @Expect(type = TargetPollBatchEvent.class, count = 1) })
     public void lazyFindOrRegisterTargetIfItDoesNotexist() throws InterruptedException {
         final Target target = controllerManagement.findOrRegisterTargetIfItDoesNotExist("AA", LOCALHOST);
         assertThat(target).as("target should not be null").isNotNull();
@@ -55,4 +60,31 @@ public class LazyControllerManagementTest extends AbstractJpaIntegrationTest {
         assertThat(updated.getOptLockRevision()).isEqualTo(target.getOptLockRevision());
         assertThat(updated.getLastTargetQuery()).isGreaterThan(target.getLastTargetQuery());
     }
+
+    @Test
+    @Description("Verifies that the poll state of a registered target considers the action weights and the installed action without updating the target.")
+    public void pollStateIsReadWithoutTargetUpdate() {
+        final String controllerId = controllerManagement.findOrRegisterTargetIfItDoesNotExist("BB", LOCALHOST)
+                .getControllerId();
+        final DistributionSet ds = testdataFactory.createDistributionSet();
+        enableMultiAssignments();
+        final Long installed = assignDistributionSet(ds.getId(), controllerId, 100).getAssignedEntity().get(0)
+                .getId();
+        controllerManagement
+                .addUpdateActionStatus(entityFactory.actionStatus().create(installed).status(Status.FINISHED));
+        assignDistributionSet(ds.getId(), controllerId, 500);
+        final Long actionWeight1000 = assignDistributionSet(ds.getId(), controllerId, 1000).getAssignedEntity()
+                .get(0).getId();
+        final Target target = targetManagement.getByControllerID(controllerId).get();
+
+        final ControllerPollState state = controllerManagement.findOrRegisterPollState(controllerId, LOCALHOST);
+
+        assertThat(state.getTargetId()).isEqualTo(target.getId());
+        assertThat(state.getTargetOptLockRevision()).isEqualTo(target.getOptLockRevision());
+        assertThat(state.getActiveAction()).map(ActionState::getId).contains(actionWeight1000);
+        assertThat(state.getInstalledActionId()).contains(installed);
+        assertThat(state.getPollingTime()).isEqualTo(controllerManagement.getPollingTime());
+        assertThat(targetManagement.get(target.getId()).get().getOptLockRevision())
+                .isEqualTo(target.getOptLockRevision());
+    }
 }
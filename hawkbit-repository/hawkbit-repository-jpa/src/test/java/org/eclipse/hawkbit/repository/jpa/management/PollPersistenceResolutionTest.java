@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.repository.TargetPollStatusResolver;
+import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent;
+import org.eclipse.hawkbit.repository.jpa.AbstractJpaIntegrationTest;
+import org.eclipse.hawkbit.repository.jpa.poll.PollStateStore;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
+import org.eclipse.hawkbit.repository.test.matcher.Expect;
+import org.eclipse.hawkbit.repository.test.matcher.ExpectEvents;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Component Tests - Repository")
+@Story("Controller Management")
+@TestPropertySource(locations = "classpath:/jpa-test.properties", properties = {
+        "hawkbit.server.repository.eagerPollPersistence=false",
+        "hawkbit.server.repository.pollPersistenceFlushTime=3600000",
+        "hawkbit.server.repository.pollPersistenceResolution=60000" })
+class PollPersistenceResolutionTest extends AbstractJpaIntegrationTest {
+
+    @Autowired
+    private TargetPollStatusResolver targetPollStatusResolver;
+
+    @Autowired
+    private PollStateStore pollStateStore;
+
+    @Test
+    @Description("Verifies that a poll is not recorded if the persisted poll is more recent than the resolution.")
+    void pollWithinResolutionIsNotRecorded() throws InterruptedException {
+        final Target target = controllerManagement.findOrRegisterTargetIfItDoesNotExist("recent", LOCALHOST);
+
+        TimeUnit.MILLISECONDS.sleep(10);
+        controllerManagement.findOrRegisterTargetIfItDoesNotExist("recent", LOCALHOST);
+
+        final Target polled = targetManagement.get(target.getId()).get();
+        assertThat(polled.getLastTargetQuery()).isEqualTo(target.getLastTargetQuery());
+        assertThat(targetPollStatusResolver.getLastTargetQuery(polled)).isEqualTo(target.getLastTargetQuery());
+    }
+
+    @Test
+    @Description("Verifies that the resolved poll status considers the polls which are not yet persisted.")
+    void pollStatusConsidersPendingPoll() {
+        final long lastTargetQuery = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(2);
+        targetManagement.create(entityFactory.target().create().controllerId("outdated").address(LOCALHOST.toString())
+                .status(TargetUpdateStatus.REGISTERED).lastTargetQuery(lastTargetQuery));
+
+        final long pollTime = System.currentTimeMillis();
+        final Target target = controllerManagement.findOrRegisterTargetIfItDoesNotExist("outdated", LOCALHOST);
+
+        assertThat(targetManagement.get(target.getId()).get().getLastTargetQuery()).isEqualTo(lastTargetQuery);
+        assertThat(targetPollStatusResolver.getLastTargetQuery(target)).isGreaterThanOrEqualTo(pollTime);
+        assertThat(targetPollStatusResolver.getPollStatus(target).getLastPollDate())
+                .isEqualTo(Instant.ofEpochMilli(targetPollStatusResolver.getLastTargetQuery(target))
+                        .atZone(ZoneId.systemDefault()).toLocalDateTime());
+        assertThat(targetPollStatusResolver.getPollStatus(target).isOverdue()).isFalse();
+    }
+
+    @Test
+    @Description("Verifies that the poll status of a target considers the polls which are not yet persisted.")
+    void targetPollStatusConsidersPendingPoll() {
+        final long lastTargetQuery = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(2);
+        targetManagement.create(entityFactory.target().create().controllerId("pending").address(LOCALHOST.toString())
+                .status(TargetUpdateStatus.REGISTERED).lastTargetQuery(lastTargetQuery));
+
+        final long pollTime = System.currentTimeMillis();
+        controllerManagement.findOrRegisterTargetIfItDoesNotExist("pending", LOCALHOST);
+
+        final Target target = targetManagement.getByControllerID("pending").get();
+        assertThat(target.getLastTargetQuery()).isEqualTo(lastTargetQuery);
+        assertThat(target.getPollStatus().getLastPollDate().atZone(ZoneId.systemDefault()).toInstant()
+                .toEpochMilli()).isGreaterThanOrEqualTo(pollTime);
+    }
+
+    @Test
+    @Description("Verifies that a poll within the resolution publishes no poll event as it is neither persisted nor "
+            + "offered to the poll state store.")
+    @ExpectEvents({ @Expect(type = TargetCreatedEvent.class, count = 1),
+            @Expect(type = TargetPollEvent.class, count = 1) })
+    void pollWithinResolutionPublishesNoPollEvent() {
+        controllerManagement.findOrRegisterTargetIfItDoesNotExist("silent", LOCALHOST);
+        controllerManagement.findOrRegisterTargetIfItDoesNotExist("silent", LOCALHOST);
+
+        assertThat(pollStateStore.getPending(tenantAware.getCurrentTenant(), "silent")).isEmpty();
+    }
+}
@@ -16,6 +16,7 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +36,7 @@ import org.assertj.core.api.Condition;
 import org.awaitility.Awaitility;
 import org.eclipse.hawkbit.repository.Identifiable;
 import org.eclipse.hawkbit.repository.OffsetBasedPageRequest;
+import org.eclipse.hawkbit.repository.RepositoryProperties;
 import org.eclipse.hawkbit.repository.builder.RolloutCreate;
 import org.eclipse.hawkbit.repository.builder.RolloutGroupCreate;
 import org.eclipse.hawkbit.repository.builder.RolloutUpdate;
@@ -61,6 +63,9 @@ import org.eclipse.hawkbit.repository.exception.RolloutIllegalStateException;
 import org.eclipse.hawkbit.repository.jpa.AbstractJpaIntegrationTest;
 import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRollout;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutTargetGroupAssigner;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutTargetGroupAssigner.Snapshot;
+import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.ActionType;
 import org.eclipse.hawkbit.repository.model.Action.Status;
@@ -68,6 +73,7 @@ import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.DistributionSetAssignmentResult;
 import org.eclipse.hawkbit.repository.model.Rollout;
 import org.eclipse.hawkbit.repository.model.Rollout.RolloutStatus;
+import org.eclipse.hawkbit.repository.model.RolloutEstimation;
 import org.eclipse.hawkbit.repository.model.RolloutGroup;
 import org.eclipse.hawkbit.repository.model.RolloutGroup.RolloutGroupErrorAction;
 import org.eclipse.hawkbit.repository.model.RolloutGroup.RolloutGroupErrorCondition;
@@ -88,12 +94,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import io.qameta.allure.Description;
 import io.qameta.allure.Feature;
@@ -107,6 +115,15 @@ import io.qameta.allure.Story;
 @Story("Rollout Management")
 class RolloutManagementTest extends AbstractJpaIntegrationTest {
 
+    @Autowired
+    private RepositoryProperties repositoryProperties;
+
+    @Autowired
+    private RolloutTargetGroupAssigner rolloutTargetGroupAssigner;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
     @BeforeEach
     void reset() {
         this.approvalStrategy.setApprovalNeeded(false);
@@ -1300,6 +1317,94 @@ class RolloutManagementTest extends AbstractJpaIntegrationTest {
                 .withMessageContaining("already exists in database");
     }
 
+    @Test
+    @Description("Verifies that the groups filled from a snapshot of the targets get the same number of targets as the groups filled one by one.")
+    void createRolloutFromTargetSnapshot() {
+        final List<Integer> groupSizesOneByOne = createRolloutAndGetGroupSizes("rolloutOneByOne");
+
+        repositoryProperties.setRolloutTargetSnapshot(true);
+        try {
+            final Rollout rollout = createRolloutForGroupSizes("rolloutSnapshot");
+            final List<RolloutGroup> groups = rolloutGroupManagement.findByRollout(PAGE, rollout.getId())
+                    .getContent();
+            assertThat(rollout.getStatus()).isEqualTo(RolloutStatus.READY);
+            assertThat(rollout.getTotalTargets()).isEqualTo(23);
+            assertThat(groups).allMatch(group -> group.getStatus() == RolloutGroupStatus.READY);
+            assertThat(groups).extracting(RolloutGroup::getTotalTargets).isEqualTo(groupSizesOneByOne);
+
+            // every target is in exactly one group
+            final List<Long> targetIds = groups.stream()
+                    .flatMap(group -> rolloutGroupManagement.findTargetsOfRolloutGroup(PAGE, group.getId()).stream())
+                    .map(Target::getId).collect(Collectors.toList());
+            assertThat(targetIds).hasSize(23).doesNotHaveDuplicates();
+
+            assertThatTargetsChangedAfterFreezeAreSkipped();
+        } finally {
+            repositoryProperties.setRolloutTargetSnapshot(false);
+        }
+    }
+
+    @Step
+    private void assertThatTargetsChangedAfterFreezeAreSkipped() {
+        final DistributionSet distributionSet = testdataFactory.createDistributionSet("dsForRolloutChanged");
+        final List<Target> targets = testdataFactory.createTargets(10, "rolloutChanged-", "rolloutChanged").stream()
+                .sorted(Comparator.comparingLong(Target::getId)).collect(Collectors.toList());
+        final Rollout rollout = rolloutManagement.create(
+                entityFactory.rollout().create().name("rolloutChanged").targetFilterQuery("controllerId==rolloutChanged-*")
+                        .set(distributionSet),
+                2, false, new RolloutGroupConditionBuilder().withDefaults().build());
+        final RolloutGroup firstGroup = rolloutGroupManagement.findByRollout(PAGE, rollout.getId()).getContent()
+                .get(0);
+
+        final Snapshot snapshot = DeploymentHelper.runInNewTransaction(txManager, "freezeRolloutTargets",
+                status -> rolloutTargetGroupAssigner.freeze(rolloutTargetGroupAssigner
+                        .byTargetFilterQueryAndCompatibleAndUpdatable(rollout.getTargetFilterQuery(),
+                                distributionSet.getType()),
+                        rollout));
+        assertThat(snapshot.getTotal()).isEqualTo(10);
+
+        // one target is deleted and one is made incompatible after the freeze
+        targetManagement.deleteByControllerID(targets.get(0).getControllerId());
+        targetManagement.assignType(targets.get(1).getControllerId(),
+                testdataFactory.createTargetTypes("incompatible", 1).get(0).getId());
+
+        // the first chunk takes the following targets instead
+        final int assigned = DeploymentHelper.runInNewTransaction(txManager, "assignTargetsToRolloutGroup",
+                status -> rolloutTargetGroupAssigner.assign(snapshot, firstGroup, 3));
+        assertThat(assigned).isEqualTo(3);
+        // the rollout is not ready yet, i.e. the targets are found by the
+        // assignments to the group instead of the actions
+        assertThat(rolloutGroupManagement.findTargetsOfRolloutGroupByRsql(PAGE, firstGroup.getId(), "id==*")
+                .getContent())
+                .extracting(Target::getControllerId).containsExactlyInAnyOrder(targets.get(2).getControllerId(),
+                        targets.get(3).getControllerId(), targets.get(4).getControllerId());
+
+        // the stopped snapshot is frozen again and continued by the next run
+        rolloutHandler.handleAll();
+        final List<RolloutGroup> groups = rolloutGroupManagement.findByRollout(PAGE, rollout.getId()).getContent();
+        assertThat(rolloutManagement.get(rollout.getId()).get().getStatus()).isEqualTo(RolloutStatus.READY);
+        assertThat(groups).allMatch(group -> group.getStatus() == RolloutGroupStatus.READY);
+        assertThat(groups).extracting(RolloutGroup::getTotalTargets).containsExactly(4, 4);
+        assertThat(groups.stream()
+                .flatMap(group -> rolloutGroupManagement.findTargetsOfRolloutGroup(PAGE, group.getId()).stream())
+                .map(Target::getControllerId).collect(Collectors.toList()))
+                .containsExactlyInAnyOrderElementsOf(targets.subList(2, 10).stream().map(Target::getControllerId)
+                        .collect(Collectors.toList()));
+    }
+
+    private List<Integer> createRolloutAndGetGroupSizes(final String rolloutName) {
+        final Rollout rollout = createRolloutForGroupSizes(rolloutName);
+        return rolloutGroupManagement.findByRollout(PAGE, rollout.getId()).getContent().stream()
+                .map(RolloutGroup::getTotalTargets).collect(Collectors.toList());
+    }
+
+    private Rollout createRolloutForGroupSizes(final String rolloutName) {
+        final DistributionSet distributionSet = testdataFactory.createDistributionSet("dsFor" + rolloutName);
+        testdataFactory.createTargets(23, rolloutName + "-", rolloutName);
+        return testdataFactory.createRolloutByVariables(rolloutName, "desc", 5, "controllerId==" + rolloutName + "-*",
+                distributionSet, "50", "80");
+    }
+
     @Test
     @Description("Verify the creation and the start of a Rollout with more groups than targets.")
     void createAndStartRolloutWithEmptyGroups() {
@@ -2129,6 +2234,40 @@ class RolloutManagementTest extends AbstractJpaIntegrationTest {
                 .doesNotContainAnyElementsOf(incompatibleTargets);
     }
 
+    @Test
+    @Description("Verifies that a rollout is estimated without creating anything, including the incompatible "
+            + "targets, and that the target counts are reused by the next estimation.")
+    void estimateRolloutWithTargetTypes() {
+        final DistributionSet testDs = testdataFactory.createDistributionSet("test-ds");
+        final TargetType incompatibleTargetType = testdataFactory.createTargetType("incompatible-type",
+                Collections.emptyList());
+        final TargetType compatibleTargetType = testdataFactory.createTargetType("compatible-type",
+                Collections.singletonList(testDs.getType()));
+        testdataFactory.createTargetsWithType(10, "incompatible", incompatibleTargetType);
+        testdataFactory.createTargets(10, "testTarget-");
+        testdataFactory.createTargetsWithType(10, "compatibleTarget-", compatibleTargetType);
+
+        final RolloutCreate rolloutToEstimate = entityFactory.rollout().create().name("rolloutTestEstimation")
+                .targetFilterQuery("name==*").set(testDs);
+
+        final RolloutEstimation equallySized = rolloutManagement.estimate(rolloutToEstimate, 4);
+        assertThat(equallySized.getTotalTargets()).isEqualTo(20);
+        assertThat(equallySized.getIncompatibleTargets()).isEqualTo(10);
+        assertThat(equallySized.getTargetsPerGroup()).containsExactly(5L, 5L, 5L, 5L);
+        assertThat(equallySized.getExpectedActions()).isEqualTo(20);
+
+        final RolloutEstimation withGroups = rolloutManagement.estimate(rolloutToEstimate,
+                Arrays.asList(generateRolloutGroup(1, 50, "name==compatibleTarget-*"),
+                        generateRolloutGroup(2, 100, null)));
+        assertThat(withGroups.getTotalTargets()).isEqualTo(20);
+        assertThat(withGroups.getTargetsPerGroup()).containsExactly(5L, 15L);
+        assertThat(withGroups.getExpectedActions()).isEqualTo(20);
+        assertThat(rolloutManagement.count()).isZero();
+
+        testdataFactory.createTargets(5, "newTarget-");
+        assertThat(rolloutManagement.estimate(rolloutToEstimate, 4).getTotalTargets()).isEqualTo(20);
+    }
+
     private RolloutGroupCreate generateRolloutGroup(final int index, final Integer percentage,
             final String targetFilter) {
         return generateRolloutGroup(index, percentage, targetFilter, false);
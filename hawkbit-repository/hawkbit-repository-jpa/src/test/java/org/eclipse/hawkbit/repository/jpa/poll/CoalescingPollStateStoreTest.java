@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.poll;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import org.junit.jupiter.api.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Repository")
+@Story("Controller Management")
+class CoalescingPollStateStoreTest {
+
+    private final Map<String, Map<String, Long>> written = new HashMap<>();
+    private final List<Runnable> earlyFlushes = new ArrayList<>();
+
+    private final PollStateWriter writer = (tenant, polls) -> written.computeIfAbsent(tenant, t -> new HashMap<>())
+            .putAll(polls);
+    private final Executor executor = earlyFlushes::add;
+
+    @Test
+    @Description("Verifies that repeated polls of a target are coalesced to the latest one.")
+    void repeatedPollsAreCoalesced() {
+        final CoalescingPollStateStore store = new CoalescingPollStateStore(writer, executor, 10);
+
+        assertThat(store.offer("default", "target1", 1)).isTrue();
+        assertThat(store.offer("DEFAULT", "target1", 3)).isTrue();
+        assertThat(store.offer("default", "target1", 2)).isTrue();
+        assertThat(store.size()).isEqualTo(1);
+
+        assertThat(store.flush()).isEqualTo(1);
+        assertThat(store.size()).isZero();
+        assertThat(written).containsOnlyKeys("DEFAULT");
+        assertThat(written.get("DEFAULT")).containsExactly(Map.entry("target1", 3L));
+    }
+
+    @Test
+    @Description("Verifies that a full store rejects polls of further targets but still accepts polls of pending ones.")
+    void fullStoreRejectsNewTargets() {
+        final CoalescingPollStateStore store = new CoalescingPollStateStore(writer, executor, 2);
+
+        assertThat(store.offer("default", "target1", 1)).isTrue();
+        assertThat(store.offer("default", "target2", 1)).isTrue();
+        assertThat(store.offer("default", "target3", 1)).isFalse();
+        assertThat(store.offer("default", "target1", 2)).isTrue();
+    }
+
+    @Test
+    @Description("Verifies that an early flush is scheduled once as soon as half of the capacity is in use.")
+    void earlyFlushOnHighWaterMark() {
+        final CoalescingPollStateStore store = new CoalescingPollStateStore(writer, executor, 4);
+
+        store.offer("default", "target1", 1);
+        assertThat(earlyFlushes).isEmpty();
+
+        store.offer("default", "target2", 1);
+        store.offer("default", "target3", 1);
+        assertThat(earlyFlushes).hasSize(1);
+
+        earlyFlushes.get(0).run();
+        assertThat(store.size()).isZero();
+        assertThat(written.get("DEFAULT")).containsOnlyKeys("target1", "target2", "target3");
+    }
+
+    @Test
+    @Description("Verifies that polls stay pending if they could not be written.")
+    void failedWriteKeepsPollsPending() {
+        final CoalescingPollStateStore store = new CoalescingPollStateStore((tenant, polls) -> {
+            throw new IllegalStateException("simulated");
+        }, executor, 10);
+
+        store.offer("default", "target1", 1);
+
+        assertThat(store.flush()).isZero();
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    @Description("Verifies that pending polls are written on shutdown.")
+    void pendingPollsAreWrittenOnShutdown() {
+        final CoalescingPollStateStore store = new CoalescingPollStateStore(writer, executor, 10);
+        store.offer("tenant1", "target1", 1);
+        store.offer("tenant2", "target1", 2);
+
+        store.destroy();
+
+        assertThat(store.size()).isZero();
+        assertThat(written).containsOnlyKeys("TENANT1", "TENANT2");
+    }
+}
@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Repository")
+@Story("Rollout Management")
+class DirtyRolloutTrackerTest {
+
+    private static final int ROLLOUTS = 100_000;
+
+    private final DirtyRolloutTracker tracker = new DirtyRolloutTracker();
+
+    @Test
+    @Description("Verifies that a rollout which is marked while the dirty rollouts are drained is not lost.")
+    void markDuringDrainIsNotLost() {
+        final CompletableFuture<Void> marking = CompletableFuture
+                .runAsync(() -> LongStream.range(0, ROLLOUTS).forEach(id -> tracker.markDirty("tenant", id)));
+
+        final Set<Long> drained = new HashSet<>();
+        while (!marking.isDone()) {
+            drained.addAll(tracker.drain("TENANT"));
+        }
+        marking.join();
+        drained.addAll(tracker.drain("tenant"));
+
+        assertThat(drained).hasSize(ROLLOUTS);
+    }
+}
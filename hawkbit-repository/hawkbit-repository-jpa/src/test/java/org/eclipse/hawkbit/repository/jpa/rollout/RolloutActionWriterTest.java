@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.repository.exception.AssignmentQuotaExceededException;
+import org.eclipse.hawkbit.repository.jpa.AbstractJpaIntegrationTest;
+import org.eclipse.hawkbit.repository.jpa.EntityInterceptor;
+import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
+import org.eclipse.hawkbit.repository.jpa.model.JpaRollout;
+import org.eclipse.hawkbit.repository.jpa.model.JpaRolloutGroup;
+import org.eclipse.hawkbit.repository.jpa.model.helper.EntityInterceptorHolder;
+import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
+import org.eclipse.hawkbit.repository.model.Action.ActionType;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.BaseEntity;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.Rollout;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Component Tests - Repository")
+@Story("Rollout Management")
+class RolloutActionWriterTest extends AbstractJpaIntegrationTest {
+
+    @Autowired
+    private RolloutActionWriter rolloutActionWriter;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    @Test
+    @Description("Verifies that the actions of a rollout group are written with all their attributes and the IDs generated by the database.")
+    void actionsAreWrittenInBulk() {
+        final Rollout rollout = testdataFactory.createSimpleTestRolloutWithTargetsAndDistributionSet(5, 2, 1, "50",
+                "80", ActionType.SOFT, null);
+        final JpaRolloutGroup group = rolloutGroupRepository.findByRolloutOrderByIdAsc((JpaRollout) rollout).get(0);
+        final List<Target> targets = targetManagement.findByInRolloutGroupWithoutAction(PAGE, group.getId())
+                .getContent();
+
+        final List<JpaAction> written = write(rollout, group, targets);
+
+        assertThat(written).hasSize(targets.size()).extracting(BaseEntity::getId).doesNotContainNull()
+                .doesNotHaveDuplicates();
+        written.forEach(writtenAction -> {
+            final JpaAction action = actionRepository.findById(writtenAction.getId()).orElseThrow();
+            assertThat(action.getTarget().getId()).isEqualTo(writtenAction.getTarget().getId());
+            assertThat(action.getDistributionSet().getId()).isEqualTo(rollout.getDistributionSet().getId());
+            assertThat(action.getRollout().getId()).isEqualTo(rollout.getId());
+            assertThat(action.getRolloutGroup().getId()).isEqualTo(group.getId());
+            assertThat(action.getActionType()).isEqualTo(ActionType.SOFT);
+            assertThat(action.getStatus()).isEqualTo(Status.SCHEDULED);
+            assertThat(action.isActive()).isFalse();
+            assertThat(action.getWeight()).isEqualTo(rollout.getWeight());
+            assertThat(action.getInitiatedBy()).isEqualTo(rollout.getCreatedBy());
+            assertThat(action.getCreatedBy()).isNotNull();
+            assertThat(action.getTenant()).isEqualTo(rollout.getTenant());
+        });
+        assertThat(targetManagement.findByInRolloutGroupWithoutAction(PAGE, group.getId())).isEmpty();
+    }
+
+    @Test
+    @Description("Verifies that the 'max actions per target' quota is enforced for the whole chunk.")
+    void maxActionsPerTargetQuotaIsEnforced() {
+        final Rollout rollout = testdataFactory.createSimpleTestRolloutWithTargetsAndDistributionSet(3, 0, 1, "50",
+                "80");
+        final JpaRolloutGroup group = rolloutGroupRepository.findByRolloutOrderByIdAsc((JpaRollout) rollout).get(0);
+        final List<Target> targets = targetManagement.findByInRolloutGroupWithoutAction(PAGE, group.getId())
+                .getContent();
+
+        final DistributionSet ds = testdataFactory.createDistributionSet("quota");
+        enableMultiAssignments();
+        for (int i = 0; i < quotaManagement.getMaxActionsPerTarget(); i++) {
+            deploymentManagement.offlineAssignedDistributionSets(
+                    Collections.singletonList(new SimpleEntry<>(targets.get(1).getControllerId(), ds.getId())));
+        }
+
+        assertThatExceptionOfType(AssignmentQuotaExceededException.class)
+                .isThrownBy(() -> write(rollout, group, targets));
+        assertThat(targetManagement.findByInRolloutGroupWithoutAction(PAGE, group.getId())).hasSize(targets.size());
+    }
+
+    @Test
+    @Description("Verifies that the registered entity interceptors are notified about the written actions.")
+    void entityInterceptorsAreNotified() {
+        final Rollout rollout = testdataFactory.createSimpleTestRolloutWithTargetsAndDistributionSet(2, 0, 1, "50",
+                "80");
+        final JpaRolloutGroup group = rolloutGroupRepository.findByRolloutOrderByIdAsc((JpaRollout) rollout).get(0);
+        final List<Target> targets = targetManagement.findByInRolloutGroupWithoutAction(PAGE, group.getId())
+                .getContent();
+        final List<Object> prePersisted = new ArrayList<>();
+        final List<Long> postPersisted = new ArrayList<>();
+        final EntityInterceptor interceptor = new EntityInterceptor() {
+
+            @Override
+            public void prePersist(final Object entity) {
+                if (entity instanceof JpaAction) {
+                    prePersisted.add(entity);
+                }
+            }
+
+            @Override
+            public void postPersist(final Object entity) {
+                if (entity instanceof JpaAction) {
+                    postPersisted.add(((JpaAction) entity).getId());
+                }
+            }
+        };
+
+        EntityInterceptorHolder.getInstance().getEntityInterceptors().add(interceptor);
+        try {
+            final List<JpaAction> written = write(rollout, group, targets);
+            assertThat(prePersisted).containsExactlyElementsOf(written);
+            assertThat(postPersisted).containsExactlyElementsOf(
+                    written.stream().map(JpaAction::getId).collect(Collectors.toList()));
+        } finally {
+            EntityInterceptorHolder.getInstance().getEntityInterceptors().remove(interceptor);
+        }
+    }
+
+    private List<JpaAction> write(final Rollout rollout, final JpaRolloutGroup group, final List<Target> targets) {
+        return DeploymentHelper.runInNewTransaction(txManager, "writeActions",
+                status -> rolloutActionWriter.write(targets, rolloutRepository.findById(rollout.getId()).orElseThrow(),
+                        rolloutGroupRepository.findById(group.getId()).orElseThrow()));
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.awaitility.Awaitility;
+import org.eclipse.hawkbit.repository.jpa.AbstractJpaIntegrationTest;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.Rollout;
+import org.eclipse.hawkbit.repository.model.RolloutGroup;
+import org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Component Tests - Repository")
+@Story("Rollout Management")
+class RolloutGroupStatusCountersTest extends AbstractJpaIntegrationTest {
+
+    @Autowired
+    private RolloutGroupStatusCounters rolloutGroupStatusCounters;
+
+    @Test
+    @Description("Verifies that the counters follow the status changes of the actions of the rollout groups.")
+    void countersFollowActionStatusChanges() {
+        final Rollout rollout = testdataFactory.createSimpleTestRolloutWithTargetsAndDistributionSet(10, 0, 2, "50",
+                "80");
+        final List<Long> groupIds = rolloutGroupManagement.findByRollout(PAGE, rollout.getId()).getContent().stream()
+                .map(RolloutGroup::getId).collect(Collectors.toList());
+        // the counters of the groups are loaded before there are actions
+        assertThat(rolloutGroupStatusCounters.getStatus(groupIds)).isEmpty();
+
+        rolloutManagement.start(rollout.getId());
+        rolloutHandler.handleAll();
+        assertCountersMatchDatabase(groupIds);
+        assertThat(rolloutGroupStatusCounters.count(groupIds.get(0), Status.RUNNING)).isEqualTo(5);
+        assertThat(rolloutGroupStatusCounters.count(groupIds.get(1), Status.SCHEDULED)).isEqualTo(5);
+
+        final List<Action> runningActions = findActionsByRolloutAndStatus(rollout, Status.RUNNING);
+        controllerManagement.addUpdateActionStatus(
+                entityFactory.actionStatus().create(runningActions.get(0).getId()).status(Status.FINISHED));
+        controllerManagement.addUpdateActionStatus(
+                entityFactory.actionStatus().create(runningActions.get(1).getId()).status(Status.ERROR));
+        assertCountersMatchDatabase(groupIds);
+        assertThat(rolloutGroupStatusCounters.count(groupIds.get(0), Status.RUNNING)).isEqualTo(3);
+        assertThat(rolloutGroupStatusCounters.count(groupIds.get(0), Status.FINISHED)).isEqualTo(1);
+        assertThat(rolloutGroupStatusCounters.count(groupIds.get(0), Status.ERROR)).isEqualTo(1);
+
+        rolloutHandler.handleAll();
+        assertCountersMatchDatabase(groupIds);
+    }
+
+    @Test
+    @Description("Verifies that the counters are reloaded once the actions have been deleted together with their targets.")
+    void countersAreReloadedAfterTargetDeletion() {
+        final Rollout rollout = testdataFactory.createSimpleTestRolloutWithTargetsAndDistributionSet(4, 0, 1, "50",
+                "80");
+        final long groupId = rolloutGroupManagement.findByRollout(PAGE, rollout.getId()).getContent().get(0).getId();
+        rolloutManagement.start(rollout.getId());
+        rolloutHandler.handleAll();
+        assertThat(rolloutGroupStatusCounters.count(groupId, Status.RUNNING)).isEqualTo(4);
+
+        final List<Action> runningActions = findActionsByRolloutAndStatus(rollout, Status.RUNNING);
+        targetManagement.delete(List.of(runningActions.get(0).getTarget().getId()));
+
+        // the target deleted event is published asynchronously
+        Awaitility.await().atMost(Duration.ofSeconds(5)).pollInterval(Duration.ofMillis(100))
+                .pollInSameThread()
+                .until(() -> rolloutGroupStatusCounters.count(groupId, Status.RUNNING) == 3);
+        assertCountersMatchDatabase(List.of(groupId));
+    }
+
+    private void assertCountersMatchDatabase(final List<Long> groupIds) {
+        groupIds.forEach(groupId -> assertThat(toMap(rolloutGroupStatusCounters.getStatus(groupId)))
+                .isEqualTo(toMap(actionRepository.getStatusCountByRolloutGroupId(groupId))));
+    }
+
+    private static Map<Status, Long> toMap(final List<TotalTargetCountActionStatus> status) {
+        return status.stream().collect(
+                Collectors.toMap(TotalTargetCountActionStatus::getStatus, TotalTargetCountActionStatus::getCount));
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.eclipse.hawkbit.repository.event.remote.RolloutNodeHeartbeatEvent;
+import org.eclipse.hawkbit.repository.model.helper.EventPublisherHolder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Repository")
+@Story("Rollout Management")
+class RolloutNodeRegistryTest {
+
+    private static final String TENANT = "DEFAULT";
+
+    private final EventPublisherHolder eventPublisherHolder = mock(EventPublisherHolder.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    @BeforeEach
+    void setUp() {
+        when(eventPublisherHolder.getApplicationId()).thenReturn("node1");
+        when(eventPublisherHolder.getEventPublisher()).thenReturn(eventPublisher);
+    }
+
+    @Test
+    @Description("Verifies that the heartbeats are sent by a task of their own and go on if one of them fails.")
+    void heartbeatsAreSentOnTheirOwn() {
+        final RolloutNodeRegistry registry = new RolloutNodeRegistry(eventPublisherHolder, 150);
+        doThrow(new IllegalStateException("bus not available")).doNothing().when(eventPublisher)
+                .publishEvent(any(RolloutNodeHeartbeatEvent.class));
+
+        final ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor();
+        try {
+            registry.startHeartbeats(executorService);
+            verify(eventPublisher, timeout(2000).atLeast(3)).publishEvent(any(RolloutNodeHeartbeatEvent.class));
+        } finally {
+            executorService.shutdownNow();
+        }
+        assertThat(registry.getLiveNodes()).containsExactly("node1");
+    }
+
+    @Test
+    @Description("Verifies that the nodes are live as long as their lease has not expired.")
+    void nodesLeaveOnceTheirLeaseHasExpired() throws InterruptedException {
+        final RolloutNodeRegistry registry = new RolloutNodeRegistry(eventPublisherHolder, 200);
+
+        registry.onHeartbeat(new RolloutNodeHeartbeatEvent("node3"));
+        registry.onHeartbeat(new RolloutNodeHeartbeatEvent("node2"));
+        assertThat(registry.getLiveNodes()).containsExactly("node1", "node2", "node3");
+
+        TimeUnit.MILLISECONDS.sleep(250);
+        registry.onHeartbeat(new RolloutNodeHeartbeatEvent("node2"));
+        assertThat(registry.getLiveNodes()).containsExactly("node1", "node2");
+    }
+
+    @Test
+    @Description("Verifies that the rollouts are shared among the nodes and only the rollouts of a leaving node move.")
+    void rolloutsAreSharedAmongTheNodes() {
+        final List<String> threeNodes = Arrays.asList("node1", "node2", "node3");
+        final Map<Long, String> owners = owners(threeNodes);
+        assertThat(owners.values().stream().collect(Collectors.groupingBy(Function.identity(), Collectors.counting())))
+                .hasSize(3).allSatisfy((node, count) -> assertThat(count).isBetween(250L, 420L));
+
+        final Map<Long, String> remainingOwners = owners(Arrays.asList("node1", "node3"));
+        owners.forEach((rolloutId, owner) -> {
+            if (!owner.equals("node2")) {
+                assertThat(remainingOwners).containsEntry(rolloutId, owner);
+            }
+        });
+
+        final RolloutNodeRegistry registry = new RolloutNodeRegistry(eventPublisherHolder, 200);
+        owners.forEach((rolloutId, owner) -> assertThat(registry.isOwnRollout(threeNodes, TENANT, rolloutId))
+                .isEqualTo(owner.equals("node1")));
+    }
+
+    private static Map<Long, String> owners(final List<String> liveNodes) {
+        return LongStream.rangeClosed(1, 1000).boxed().collect(Collectors.toMap(Function.identity(),
+                rolloutId -> RolloutNodeRegistry.owner(liveNodes, TENANT, rolloutId)));
+    }
+}
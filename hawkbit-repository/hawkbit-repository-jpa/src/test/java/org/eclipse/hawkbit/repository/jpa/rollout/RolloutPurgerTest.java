@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.repository.jpa.AbstractJpaIntegrationTest;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.Rollout;
+import org.eclipse.hawkbit.repository.model.RolloutGroup;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Component Tests - Repository")
+@Story("Rollout Management")
+class RolloutPurgerTest extends AbstractJpaIntegrationTest {
+
+    @Autowired
+    private RolloutPurger rolloutPurger;
+
+    @Test
+    @Description("Verifies that the scheduled actions are deleted in chunks together with their status entries "
+            + "and that the other actions of the rollout are kept.")
+    void scheduledActionsAreDeletedInChunks() {
+        final Rollout rollout = testdataFactory.createSimpleTestRolloutWithTargetsAndDistributionSet(10, 0, 2, "50",
+                "80");
+        rolloutManagement.start(rollout.getId());
+        rolloutHandler.handleAll();
+        final List<Action> scheduledActions = findActionsByRolloutAndStatus(rollout, Status.SCHEDULED);
+        assertThat(scheduledActions).hasSize(5);
+        final String tenant = tenantAware.getCurrentTenant();
+
+        assertThat(rolloutPurger.deleteScheduledActions(tenant, rollout.getId(), 3)).isEqualTo(3);
+        assertThat(findActionsByRolloutAndStatus(rollout, Status.SCHEDULED)).hasSize(2);
+        assertThat(rolloutPurger.deleteScheduledActions(tenant, rollout.getId(), 3)).isEqualTo(2);
+        assertThat(rolloutPurger.deleteScheduledActions(tenant, rollout.getId(), 3)).isZero();
+
+        assertThat(findActionsByRolloutAndStatus(rollout, Status.SCHEDULED)).isEmpty();
+        assertThat(findActionsByRolloutAndStatus(rollout, Status.RUNNING)).hasSize(5);
+        scheduledActions.forEach(
+                action -> assertThat(actionStatusRepository.countByActionId(action.getId())).isZero());
+    }
+
+    @Test
+    @Description("Verifies that the assignments of the targets to a rollout group are deleted in chunks and that "
+            + "the assignments to the other groups are kept.")
+    void rolloutTargetGroupsAreDeletedInChunks() {
+        final Rollout rollout = testdataFactory.createSimpleTestRolloutWithTargetsAndDistributionSet(10, 0, 2, "50",
+                "80");
+        final List<Long> groupIds = rolloutGroupManagement.findByRollout(PAGE, rollout.getId()).getContent().stream()
+                .map(RolloutGroup::getId).collect(Collectors.toList());
+        assertThat(rolloutTargetGroupRepository.count()).isEqualTo(10);
+
+        assertThat(rolloutPurger.deleteRolloutTargetGroups(groupIds.get(0), 4)).isEqualTo(4);
+        assertThat(rolloutTargetGroupRepository.count()).isEqualTo(6);
+        assertThat(rolloutPurger.deleteRolloutTargetGroups(groupIds.get(0), 4)).isEqualTo(1);
+        assertThat(rolloutPurger.deleteRolloutTargetGroups(groupIds.get(0), 4)).isZero();
+
+        assertThat(rolloutTargetGroupRepository.count()).isEqualTo(5);
+    }
+}
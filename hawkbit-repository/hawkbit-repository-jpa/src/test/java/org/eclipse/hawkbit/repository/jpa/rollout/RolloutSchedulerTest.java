@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.RolloutManagement;
+import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Repository")
+@Story("Rollout Management")
+class RolloutSchedulerTest {
+
+    private static final String TENANT = "DEFAULT";
+
+    private final SystemManagement systemManagement = mock(SystemManagement.class);
+    private final RolloutManagement rolloutManagement = mock(RolloutManagement.class);
+    private final RolloutWorkerPool rolloutWorkerPool = mock(RolloutWorkerPool.class);
+    private final SystemSecurityContext systemSecurityContext = mock(SystemSecurityContext.class);
+    private final DirtyRolloutTracker dirtyRolloutTracker = new DirtyRolloutTracker();
+    private final RepositoryProperties repositoryProperties = new RepositoryProperties();
+    private final RolloutNodeRegistry rolloutNodeRegistry = mock(RolloutNodeRegistry.class);
+
+    private RolloutScheduler rolloutScheduler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(systemSecurityContext.runAsSystem(any(Callable.class)))
+                .thenAnswer(invocation -> ((Callable<Object>) invocation.getArgument(0)).call());
+        doAnswer(invocation -> {
+            ((Consumer<String>) invocation.getArgument(0)).accept(TENANT);
+            return null;
+        }).when(systemManagement).forEachTenant(any());
+        when(rolloutManagement.findActiveRollouts()).thenReturn(Arrays.asList(1L, 2L, 3L));
+        when(rolloutManagement.findActiveRolloutsNotDrivenByActions()).thenReturn(Collections.singletonList(3L));
+        when(rolloutWorkerPool.submit(anyString(), anyLong())).thenReturn(true);
+
+        rolloutScheduler = new RolloutScheduler(systemManagement, rolloutManagement, rolloutWorkerPool,
+                systemSecurityContext, dirtyRolloutTracker, repositoryProperties, rolloutNodeRegistry);
+    }
+
+    @Test
+    @Description("Verifies that all active rollouts are submitted with every run if the handling is not event driven.")
+    void allActiveRolloutsAreSubmittedByDefault() {
+        rolloutScheduler.runningRolloutScheduler();
+        rolloutScheduler.runningRolloutScheduler();
+
+        verify(rolloutWorkerPool, times(2)).submit(TENANT, 1L);
+        verify(rolloutWorkerPool, times(2)).submit(TENANT, 2L);
+        verify(rolloutWorkerPool, times(2)).submit(TENANT, 3L);
+        verify(rolloutManagement, never()).findActiveRolloutsNotDrivenByActions();
+    }
+
+    @Test
+    @Description("Verifies that running rollouts are submitted between the sweeps only if their actions have changed.")
+    void onlyChangedRolloutsAreSubmittedBetweenSweeps() {
+        repositoryProperties.setRolloutEventDriven(true);
+
+        // the first run is a sweep
+        rolloutScheduler.runningRolloutScheduler();
+        verify(rolloutWorkerPool).submit(TENANT, 1L);
+        verify(rolloutWorkerPool).submit(TENANT, 2L);
+        verify(rolloutWorkerPool).submit(TENANT, 3L);
+
+        dirtyRolloutTracker.markDirty(TENANT.toLowerCase(), 2L);
+        rolloutScheduler.runningRolloutScheduler();
+        verify(rolloutWorkerPool).submit(TENANT, 1L);
+        verify(rolloutWorkerPool, times(2)).submit(TENANT, 2L);
+        verify(rolloutWorkerPool, times(2)).submit(TENANT, 3L);
+        assertThat(dirtyRolloutTracker.drain(TENANT)).isEmpty();
+    }
+
+    @Test
+    @Description("Verifies that the changes of a rollout that is still handled are kept for the next run.")
+    void changesOfHandledRolloutAreKept() {
+        repositoryProperties.setRolloutEventDriven(true);
+        rolloutScheduler.runningRolloutScheduler();
+
+        when(rolloutWorkerPool.submit(TENANT, 2L)).thenReturn(false);
+        dirtyRolloutTracker.markDirty(TENANT, 2L);
+        rolloutScheduler.runningRolloutScheduler();
+
+        assertThat(dirtyRolloutTracker.drain(TENANT)).containsExactly(2L);
+    }
+
+    @Test
+    @Description("Verifies that the changes of a rollout that is still handled during a sweep are kept for the next run.")
+    void changesOfHandledRolloutAreKeptBySweep() {
+        when(rolloutWorkerPool.submit(TENANT, 2L)).thenReturn(false);
+        dirtyRolloutTracker.markDirty(TENANT, 1L);
+        dirtyRolloutTracker.markDirty(TENANT, 2L);
+        rolloutScheduler.runningRolloutScheduler();
+
+        assertThat(dirtyRolloutTracker.drain(TENANT)).containsExactly(2L);
+    }
+
+    @Test
+    @Description("Verifies that only the own rollouts are submitted if the rollouts are partitioned and that all of them are checked again if the live nodes change.")
+    void onlyOwnRolloutsAreSubmittedIfPartitioned() {
+        repositoryProperties.setRolloutPartitioned(true);
+        repositoryProperties.setRolloutEventDriven(true);
+        final List<String> liveNodes = Arrays.asList("node1", "node2");
+        when(rolloutNodeRegistry.getLiveNodes()).thenReturn(liveNodes);
+        when(rolloutNodeRegistry.isOwnRollout(liveNodes, TENANT, 1L)).thenReturn(true);
+        when(rolloutNodeRegistry.isOwnRollout(liveNodes, TENANT, 2L)).thenReturn(false);
+        when(rolloutNodeRegistry.isOwnRollout(liveNodes, TENANT, 3L)).thenReturn(false);
+
+        rolloutScheduler.runningRolloutScheduler();
+        // the heartbeats are sent by a task of their own
+        verify(rolloutNodeRegistry, never()).heartbeat();
+        verify(rolloutWorkerPool).submit(TENANT, 1L);
+        verify(rolloutWorkerPool, never()).submit(TENANT, 2L);
+        verify(rolloutWorkerPool, never()).submit(TENANT, 3L);
+
+        // the changes of the rollouts of the other nodes are dropped
+        dirtyRolloutTracker.markDirty(TENANT, 2L);
+        rolloutScheduler.runningRolloutScheduler();
+        verify(rolloutWorkerPool, never()).submit(TENANT, 2L);
+        assertThat(dirtyRolloutTracker.drain(TENANT)).isEmpty();
+
+        // node2 has left
+        final List<String> remainingNodes = Collections.singletonList("node1");
+        when(rolloutNodeRegistry.getLiveNodes()).thenReturn(remainingNodes);
+        when(rolloutNodeRegistry.isOwnRollout(any(), anyString(), anyLong())).thenReturn(true);
+        rolloutScheduler.runningRolloutScheduler();
+        verify(rolloutWorkerPool, times(2)).submit(TENANT, 1L);
+        verify(rolloutWorkerPool).submit(TENANT, 2L);
+        verify(rolloutWorkerPool).submit(TENANT, 3L);
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.repository.jpa.AbstractJpaIntegrationTest;
+import org.eclipse.hawkbit.repository.jpa.model.JpaRolloutGroup;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
+import org.eclipse.hawkbit.repository.jpa.model.RolloutTargetGroup;
+import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.Rollout;
+import org.eclipse.hawkbit.repository.model.RolloutGroup;
+import org.eclipse.hawkbit.repository.model.RolloutGroupConditionBuilder;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+/**
+ * Compares the entity based assignment of targets to a rollout group with the
+ * set-based assignment of the {@link RolloutTargetGroupAssigner}. Runs only if
+ * the system property <code>hawkbit.benchmark</code> is <code>true</code>,
+ * the number of targets is set by <code>hawkbit.benchmark.targets</code>, e.g.
+ * <code>mvn test -Dtest=RolloutTargetGroupAssignerBenchmarkTest -Dhawkbit.benchmark=true</code>.
+ */
+@Feature("Component Tests - Repository")
+@Story("Rollout Management")
+@EnabledIfSystemProperty(named = "hawkbit.benchmark", matches = "true")
+class RolloutTargetGroupAssignerBenchmarkTest extends AbstractJpaIntegrationTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RolloutTargetGroupAssignerBenchmarkTest.class);
+
+    private static final int CHUNK_SIZE = 5_000;
+    private static final int CREATE_BATCH_SIZE = 1_000;
+    private static final String TARGET_FILTER = "controllerId==bench*";
+
+    @Autowired
+    private RolloutTargetGroupAssigner rolloutTargetGroupAssigner;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    @Test
+    @Description("Assigns the same targets to a rollout group entity by entity and set-based and logs the durations.")
+    void compareEntityBasedAndSetBasedAssignment() {
+        final int targets = Integer.getInteger("hawkbit.benchmark.targets", 100_000);
+        for (int offset = 0; offset < targets; offset += CREATE_BATCH_SIZE) {
+            testdataFactory.createTargets("bench", offset, Math.min(CREATE_BATCH_SIZE, targets - offset));
+        }
+
+        final DistributionSet ds = testdataFactory.createDistributionSet("bench");
+        testdataFactory.createTargets("seed", 0, 2);
+        final Rollout rollout = rolloutManagement.create(
+                entityFactory.rollout().create().name("bench").targetFilterQuery("controllerId==seed*").set(ds), 2,
+                false, new RolloutGroupConditionBuilder().withDefaults().build());
+        final List<JpaRolloutGroup> groups = rolloutGroupRepository.findByRolloutAndStatus(rollout,
+                RolloutGroup.RolloutGroupStatus.CREATING);
+        assertThat(groups).hasSize(2);
+
+        final long entityBasedStart = System.nanoTime();
+        final long entityBased = assignEntityBased(groups.get(0), ds);
+        final long entityBasedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - entityBasedStart);
+
+        final long setBasedStart = System.nanoTime();
+        final long setBased = assignSetBased(groups.get(1), ds);
+        final long setBasedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - setBasedStart);
+
+        LOG.info("Assigned {} targets entity based in {} ms and {} targets set-based in {} ms.", entityBased,
+                entityBasedMillis, setBased, setBasedMillis);
+        assertThat(entityBased).isEqualTo(targets);
+        assertThat(setBased).isEqualTo(targets);
+    }
+
+    private long assignEntityBased(final RolloutGroup group, final DistributionSet ds) {
+        long assigned = 0;
+        long chunk;
+        do {
+            chunk = DeploymentHelper.runInNewTransaction(txManager, "benchmarkEntityBased", status -> {
+                final Slice<Target> slice = targetManagement
+                        .findByTargetFilterQueryAndNotInRolloutGroupsAndCompatibleAndUpdatable(
+                                PageRequest.of(0, CHUNK_SIZE), List.of(group.getId()), TARGET_FILTER, ds.getType());
+                slice.forEach(target -> rolloutTargetGroupRepository.save(new RolloutTargetGroup(group, target)));
+                return (long) slice.getNumberOfElements();
+            });
+            assigned += chunk;
+        } while (chunk > 0);
+        return assigned;
+    }
+
+    private long assignSetBased(final RolloutGroup group, final DistributionSet ds) {
+        final Specification<JpaTarget> targets = rolloutTargetGroupAssigner
+                .byTargetFilterQueryAndNotInRolloutGroupsAndCompatibleAndUpdatable(TARGET_FILTER,
+                        List.of(group.getId()), ds.getType());
+        long assigned = 0;
+        long chunk;
+        do {
+            chunk = DeploymentHelper.runInNewTransaction(txManager, "benchmarkSetBased",
+                    status -> (long) rolloutTargetGroupAssigner.assign(targets, group, CHUNK_SIZE));
+            assigned += chunk;
+        } while (chunk > 0);
+        return assigned;
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import org.eclipse.hawkbit.repository.RolloutHandler;
+import org.eclipse.hawkbit.repository.jpa.executor.TenantWorkerPoolFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Repository")
+@Story("Rollout Management")
+class RolloutWorkerPoolTest {
+
+    private final TenantWorkerPoolFixture fixture = new TenantWorkerPoolFixture();
+
+    private RolloutWorkerPool pool;
+
+    @AfterEach
+    void shutdown() {
+        fixture.releaseFirst();
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @Description("Verifies that the rollouts are handled as their tenant and that a rollout is not queued again as "
+            + "long as it is queued or handled.")
+    void rolloutIsHandledAsTenantAndQueuedOnlyOnce() throws InterruptedException {
+        final RolloutHandler rolloutHandler = mock(RolloutHandler.class);
+        doAnswer(invocation -> {
+            fixture.blockFirstAndRecord(invocation.getArgument(0));
+            return null;
+        }).when(rolloutHandler).handle(anyLong());
+        pool = new RolloutWorkerPool(rolloutHandler, fixture.systemSecurityContext(), 2, false);
+
+        assertThat(pool.submit("a", 1)).isTrue();
+        fixture.awaitFirstStarted();
+        assertThat(pool.submit("a", 1)).isFalse();
+        assertThat(pool.submit("b", 1)).isTrue();
+        fixture.releaseFirst();
+
+        fixture.awaitRuns(pool, 2);
+        assertThat(pool.submit("a", 1)).isTrue();
+        fixture.awaitRuns(pool, 3);
+        assertThat(fixture.getRuns()).containsExactlyInAnyOrder("a-1", "b-1", "a-1");
+        assertThat(fixture.getThreads()).allMatch(thread -> thread.getName().startsWith("rollout-worker-"));
+    }
+}
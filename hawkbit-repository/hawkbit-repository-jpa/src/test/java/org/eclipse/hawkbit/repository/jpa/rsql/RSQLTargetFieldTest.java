@@ -22,6 +22,7 @@ import org.eclipse.hawkbit.repository.TargetFields;
 import org.eclipse.hawkbit.repository.TargetTypeFields;
 import org.eclipse.hawkbit.repository.exception.RSQLParameterUnsupportedFieldException;
 import org.eclipse.hawkbit.repository.jpa.AbstractJpaIntegrationTest;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.TargetTag;
@@ -124,6 +125,21 @@ class RSQLTargetFieldTest extends AbstractJpaIntegrationTest {
         assertRSQLQuery(TargetFields.NAME.name() + "=out=(targetName123,notexist)", 4);
     }
 
+    @Test
+    @Description("Verifies that queries with virtual properties are not matched in memory but by the database only.")
+    void testFilterByVirtualProperty() {
+        targetManagement.create(entityFactory.target().create().controllerId("virtual").description("${NOW_TS}"));
+
+        assertRSQLQuery(TargetFields.DESCRIPTION.name() + "==${NOW_TS}", 1);
+        assertRSQLQuery(TargetFields.DESCRIPTION.name() + "=in=(${NOW_TS},${OVERDUE_TS})", 1);
+        assertThat(RSQLUtility.buildTargetPredicate(TargetFields.DESCRIPTION.name() + "==${NOW_TS}")).isEmpty();
+        assertThat(RSQLUtility.buildTargetPredicate(TargetFields.DESCRIPTION.name() + "=in=(${NOW_TS},${OVERDUE_TS})"))
+                .isEmpty();
+        assertThat(RSQLUtility.buildTargetPredicate(
+                TargetFields.NAME.name() + "==targetName123" + OR + TargetFields.DESCRIPTION.name() + "==${NOW_TS}"))
+                .isEmpty();
+    }
+
     @Test
     @Description("Test filter target by description")
     void testFilterByParameterDescription() {
@@ -341,6 +357,13 @@ class RSQLTargetFieldTest extends AbstractJpaIntegrationTest {
         final long countTargetsAll = targetManagement.countByRsql(rsqlParam);
         assertThat(findTargetPage).isNotNull();
         assertThat(findTargetPage.getNumberOfElements()).isEqualTo(countTargetsAll).isEqualTo(expectedTargets);
+
+        // if the query can be matched in memory the same targets have to match
+        RSQLUtility.buildTargetPredicate(rsqlParam).ifPresent(predicate -> assertThat(
+                targetManagement.findAll(PAGE).stream().map(JpaTarget.class::cast).filter(predicate)
+                        .map(Target::getControllerId))
+                .as("Targets matched in memory by %s", rsqlParam).containsExactlyInAnyOrderElementsOf(
+                        findTargetPage.stream().map(Target::getControllerId).toList()));
     }
 
     private void assertRSQLQueryThrowsException(final String rsqlParam) {
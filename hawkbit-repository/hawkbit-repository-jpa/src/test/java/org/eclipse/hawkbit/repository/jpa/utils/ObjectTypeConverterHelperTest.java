@@ -0,0 +1,46 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
+import org.eclipse.hawkbit.repository.jpa.model.JpaAction_;
+import org.eclipse.hawkbit.repository.model.Action.ActionType;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.junit.jupiter.api.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Repository")
+@Story("Object type converter helper")
+class ObjectTypeConverterHelperTest {
+
+    @Test
+    @Description("Verifies that the data values of the converters of an entity are resolved.")
+    void dataValuesOfConvertersAreResolved() {
+        assertThat(ObjectTypeConverterHelper.toDataValue(JpaAction.class, JpaAction_.STATUS, Status.FINISHED))
+                .isZero();
+        assertThat(ObjectTypeConverterHelper.toDataValue(JpaAction.class, JpaAction_.STATUS, Status.SCHEDULED))
+                .isEqualTo(8);
+        assertThat(ObjectTypeConverterHelper.toDataValue(JpaAction.class, JpaAction_.ACTION_TYPE,
+                ActionType.DOWNLOAD_ONLY)).isEqualTo(3);
+    }
+
+    @Test
+    @Description("Verifies that an attribute without converter is rejected.")
+    void attributeWithoutConverterIsRejected() {
+        assertThatIllegalArgumentException().isThrownBy(
+                () -> ObjectTypeConverterHelper.toDataValue(JpaAction.class, JpaAction_.WEIGHT, Status.FINISHED));
+    }
+}
@@ -72,6 +72,13 @@ public final class DdiRestConstants {
      */
     public static final String NO_ACTION_HISTORY = "0";
 
+    /**
+     * Request parameter by which a controller opts in to long polling of the
+     * root resource, see
+     * {@link DdiRootControllerRestApi#getControllerBaseLongPoll}.
+     */
+    public static final String LONG_POLL = "longPoll";
+
     /**
      * Media type for CBOR content. Unfortunately, there is no other constant we
      * can reuse - even the Jackson data converter simply hardcodes this.
@@ -45,6 +45,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.async.DeferredResult;
 
 /**
  * REST resource handling for root controller CRUD operations.
@@ -110,6 +111,38 @@ public interface DdiRootControllerRestApi {
     ResponseEntity<DdiControllerBase> getControllerBase(@PathVariable("tenant") final String tenant,
             @PathVariable("controllerId") final String controllerId);
 
+    /**
+     * Root resource for an individual {@link Target} in long polling mode. If
+     * the state provided by the controller in the If-None-Match header is
+     * still up to date the request is parked until an assignment or
+     * cancellation for the target happens or the maximum long poll time
+     * elapses.
+     *
+     * @param tenant
+     *            of the request
+     * @param controllerId
+     *            of the target that matches to controller id
+     *
+     * @return the deferred response
+     */
+    @Operation(summary = "Root resource for an individual Target in long polling mode", description = """
+        Same as the root resource but, if enabled on the server and the Etag provided by the controller is still up to date, the response is deferred until a new action is assigned or canceled or the maximum long poll time elapses. This allows the controller to poll less often without increasing the latency of deployments.
+        """)
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved"),
+        @ApiResponse(responseCode = "304", description = "Not modified within the maximum long poll time."),
+        @ApiResponse(responseCode = "400", description = "Bad Request - e.g. invalid parameters", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ExceptionInfo.class))),
+        @ApiResponse(responseCode = "401", description = "The request requires user authentication.", content = @Content(mediaType = "application/json", schema = @Schema(hidden = true))),
+        @ApiResponse(responseCode = "403", description = "Insufficient permissions, entity is not allowed to be changed (i.e. read-only) or data volume restriction applies.", content = @Content(mediaType = "application/json", schema = @Schema(hidden = true))),
+        @ApiResponse(responseCode = "406", description = "In case accept header is specified and not application/json.", content = @Content(mediaType = "application/json", schema = @Schema(hidden = true))),
+        @ApiResponse(responseCode = "429", description = "Too many requests. The server will refuse further attempts and the client has to wait another second.", content = @Content(mediaType = "application/json", schema = @Schema(hidden = true)))
+    })
+    @GetMapping(value = DdiRestConstants.BASE_V1_REQUEST_MAPPING + "/{controllerId}", params = DdiRestConstants.LONG_POLL
+            + "=true", produces = { MediaTypes.HAL_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE,
+                    DdiRestConstants.MEDIA_TYPE_CBOR })
+    DeferredResult<ResponseEntity<DdiControllerBase>> getControllerBaseLongPoll(
+            @PathVariable("tenant") final String tenant, @PathVariable("controllerId") final String controllerId);
+
     /**
      * Handles GET {@link DdiArtifact} download request. This could be full or
      * partial (as specified by RFC7233 (Range Requests)) download request.
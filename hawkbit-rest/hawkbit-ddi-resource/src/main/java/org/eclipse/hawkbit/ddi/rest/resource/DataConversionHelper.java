@@ -9,6 +9,8 @@
  */
 package org.eclipse.hawkbit.ddi.rest.resource;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -24,6 +26,7 @@ import org.eclipse.hawkbit.ddi.json.model.DdiChunk;
 import org.eclipse.hawkbit.ddi.json.model.DdiConfig;
 import org.eclipse.hawkbit.ddi.json.model.DdiConfirmationBase;
 import org.eclipse.hawkbit.ddi.json.model.DdiControllerBase;
+import org.eclipse.hawkbit.ddi.json.model.DdiDeploymentBase;
 import org.eclipse.hawkbit.ddi.json.model.DdiMetadata;
 import org.eclipse.hawkbit.ddi.json.model.DdiPolling;
 import org.eclipse.hawkbit.ddi.rest.api.DdiRestConstants;
@@ -31,6 +34,8 @@ import org.eclipse.hawkbit.repository.ControllerManagement;
 import org.eclipse.hawkbit.repository.SystemManagement;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Artifact;
+import org.eclipse.hawkbit.repository.model.ControllerPollState;
+import org.eclipse.hawkbit.repository.model.ControllerPollState.ActionState;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.SoftwareModuleMetadata;
 import org.eclipse.hawkbit.repository.model.Target;
@@ -40,6 +45,7 @@ import org.springframework.hateoas.Link;
 import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
 import org.springframework.http.HttpRequest;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.DigestUtils;
 
 /**
  * Utility class for the DDI API.
@@ -137,23 +143,24 @@ public final class DataConversionHelper {
         return confirmationBase;
     }
 
-    public static DdiControllerBase fromTarget(final Target target, final Action installedAction,
-            final Action activeAction, final String defaultControllerPollTime, final TenantAware tenantAware) {
+    public static DdiControllerBase fromPollState(final ControllerPollState pollState,
+            final TenantAware tenantAware) {
         final DdiControllerBase result = new DdiControllerBase(
-                new DdiConfig(new DdiPolling(defaultControllerPollTime)));
+                new DdiConfig(new DdiPolling(pollState.getPollingTime())));
+        final String controllerId = pollState.getControllerId();
 
-        if (activeAction != null) {
+        pollState.getActiveAction().ifPresent(activeAction -> {
             if (activeAction.isWaitingConfirmation()) {
                 result.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder
                         .methodOn(DdiRootController.class, tenantAware.getCurrentTenant())
-                        .getConfirmationBaseAction(tenantAware.getCurrentTenant(), target.getControllerId(),
+                        .getConfirmationBaseAction(tenantAware.getCurrentTenant(), controllerId,
                                 activeAction.getId(), calculateEtag(activeAction), null))
                         .withRel(DdiRestConstants.CONFIRMATION_BASE).expand());
 
             } else if (activeAction.isCancelingOrCanceled()) {
                 result.add(WebMvcLinkBuilder
                         .linkTo(WebMvcLinkBuilder.methodOn(DdiRootController.class, tenantAware.getCurrentTenant())
-                                .getControllerCancelAction(tenantAware.getCurrentTenant(), target.getControllerId(),
+                                .getControllerCancelAction(tenantAware.getCurrentTenant(), controllerId,
                                         activeAction.getId()))
                         .withRel(DdiRestConstants.CANCEL_ACTION).expand());
             } else {
@@ -164,31 +171,78 @@ public final class DataConversionHelper {
                 // response because of eTags.
                 result.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder
                         .methodOn(DdiRootController.class, tenantAware.getCurrentTenant())
-                        .getControllerBasedeploymentAction(tenantAware.getCurrentTenant(), target.getControllerId(),
+                        .getControllerBasedeploymentAction(tenantAware.getCurrentTenant(), controllerId,
                                 activeAction.getId(), calculateEtag(activeAction), null))
                         .withRel(DdiRestConstants.DEPLOYMENT_BASE_ACTION).expand());
             }
-        }
+        });
 
-        if (installedAction != null && !installedAction.isActive()) {
-            result.add(
-                    WebMvcLinkBuilder
-                            .linkTo(WebMvcLinkBuilder.methodOn(DdiRootController.class, tenantAware.getCurrentTenant())
-                                    .getControllerInstalledAction(tenantAware.getCurrentTenant(),
-                                            target.getControllerId(), installedAction.getId(), null))
-                            .withRel(DdiRestConstants.INSTALLED_BASE_ACTION).expand());
-        }
+        pollState.getInstalledActionId().ifPresent(installedActionId -> result.add(WebMvcLinkBuilder
+                .linkTo(WebMvcLinkBuilder.methodOn(DdiRootController.class, tenantAware.getCurrentTenant())
+                        .getControllerInstalledAction(tenantAware.getCurrentTenant(), controllerId,
+                                installedActionId, null))
+                .withRel(DdiRestConstants.INSTALLED_BASE_ACTION).expand()));
 
-        if (target.isRequestControllerAttributes()) {
+        if (pollState.isRequestControllerAttributes()) {
             result.add(WebMvcLinkBuilder
                     .linkTo(WebMvcLinkBuilder.methodOn(DdiRootController.class, tenantAware.getCurrentTenant())
-                            .putConfigData(null, tenantAware.getCurrentTenant(), target.getControllerId()))
+                            .putConfigData(null, tenantAware.getCurrentTenant(), controllerId))
                     .withRel(DdiRestConstants.CONFIG_DATA_ACTION).expand());
         }
 
         return result;
     }
 
+    /**
+     * Calculates a deep etag for the {@link DdiControllerBase} of the given
+     * {@link ControllerPollState} which allows to answer a conditional poll
+     * without rendering the response.
+     *
+     * @param pollState
+     *            the response is based on
+     * @param variant
+     *            of the representation, e.g. the accepted media type
+     * @return the etag
+     */
+    static String createControllerBaseEtag(final ControllerPollState pollState, final String variant) {
+        final StringBuilder key = new StringBuilder(pollState.getControllerId()).append('|').append(variant)
+                .append('|').append(pollState.getPollingTime()).append('|')
+                .append(pollState.isRequestControllerAttributes()).append('|')
+                .append(pollState.getInstalledActionId().orElse(null));
+        pollState.getActiveAction().ifPresent(action -> appendEtagKey(key, action));
+
+        return DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Calculates a deep etag for the {@link DdiDeploymentBase} of the given
+     * {@link Action} which allows to answer a conditional request without
+     * rendering the response. The revisions of the {@link SoftwareModule}s are
+     * considered as their meta data is part of the response.
+     *
+     * @param target
+     *            the action belongs to
+     * @param action
+     *            the response is based on
+     * @param variant
+     *            of the representation, e.g. the accepted media type
+     * @return the etag
+     */
+    static String createDeploymentBaseEtag(final Target target, final Action action, final String variant) {
+        final StringBuilder key = new StringBuilder(target.getControllerId()).append('|').append(variant);
+        appendEtagKey(key, new ActionState(action));
+        action.getDistributionSet().getModules().stream().sorted(Comparator.comparing(SoftwareModule::getId))
+                .forEach(module -> key.append('|').append(module.getId()).append(':')
+                        .append(module.getOptLockRevision()));
+
+        return DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void appendEtagKey(final StringBuilder key, final ActionState action) {
+        key.append('|').append(action.getId()).append(':').append(action.getOptLockRevision()).append(':')
+                .append(action.getStatus()).append(':').append(calculateEtagOffset(action));
+    }
+
     /**
      * Calculates an etag for the given {@link Action} based on the entities
      * hashcode and the {@link Action#isHitAutoForceTime(long)} to reflect a
@@ -199,13 +253,17 @@ public final class DataConversionHelper {
      * @return the etag
      */
     private static int calculateEtag(final Action action) {
+        return calculateEtag(new ActionState(action));
+    }
+
+    private static int calculateEtag(final ActionState action) {
         final int prime = 31;
-        int result = action.hashCode();
-        int offsetPrime = action.isHitAutoForceTime(System.currentTimeMillis()) ? 1231 : 1237;
-        offsetPrime = action.hasMaintenanceSchedule() && action.isMaintenanceWindowAvailable() ? 1249 : offsetPrime;
+        return prime * action.hashCode() + calculateEtagOffset(action);
+    }
 
-        result = prime * result + offsetPrime;
-        return result;
+    private static int calculateEtagOffset(final ActionState action) {
+        final int offsetPrime = action.isHitAutoForceTime(System.currentTimeMillis()) ? 1231 : 1237;
+        return action.hasMaintenanceSchedule() && action.isMaintenanceWindowAvailable() ? 1249 : offsetPrime;
     }
 
 }
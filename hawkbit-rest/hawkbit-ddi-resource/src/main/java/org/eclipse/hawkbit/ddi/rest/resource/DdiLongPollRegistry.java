@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.eclipse.hawkbit.repository.event.remote.AbstractAssignmentEvent;
+import org.eclipse.hawkbit.repository.event.remote.MultiActionEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registry of the parked long polls of DDI controllers. The listeners of a
+ * controller are notified (and removed) as soon as an assignment or
+ * cancellation event for the controller arrives, no matter if it originates
+ * from this or another node of the cluster.
+ */
+@Component
+public class DdiLongPollRegistry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DdiLongPollRegistry.class);
+
+    private final Map<String, Set<Runnable>> listeners = new ConcurrentHashMap<>();
+
+    private final Executor executor;
+
+    @Autowired
+    DdiLongPollRegistry(@Qualifier("asyncExecutor") final Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Registers a listener that is executed once on the next assignment or
+     * cancellation for the given controller.
+     *
+     * @param tenant
+     *            of the controller
+     * @param controllerId
+     *            of the controller
+     * @param listener
+     *            to execute
+     * @return callback to deregister the listener, e.g. if the long poll
+     *         expired
+     */
+    public Runnable register(final String tenant, final String controllerId, final Runnable listener) {
+        final String key = key(tenant, controllerId);
+        listeners.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(listener);
+        return () -> listeners.computeIfPresent(key, (k, registered) -> {
+            registered.remove(listener);
+            return registered.isEmpty() ? null : registered;
+        });
+    }
+
+    /**
+     * @return number of controllers with parked long polls
+     */
+    public int size() {
+        return listeners.size();
+    }
+
+    @EventListener(classes = AbstractAssignmentEvent.class)
+    public void onAssignment(final AbstractAssignmentEvent event) {
+        notifyListeners(event.getTenant(), event.getActions().keySet());
+    }
+
+    @EventListener(classes = MultiActionEvent.class)
+    public void onMultiAction(final MultiActionEvent event) {
+        notifyListeners(event.getTenant(), event.getControllerIds());
+    }
+
+    private void notifyListeners(final String tenant, final Collection<String> controllerIds) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+
+        controllerIds.stream().map(controllerId -> listeners.remove(key(tenant, controllerId)))
+                .filter(Objects::nonNull).flatMap(Set::stream).forEach(this::execute);
+    }
+
+    private void execute(final Runnable listener) {
+        try {
+            executor.execute(listener);
+        } catch (final RejectedExecutionException e) {
+            // the long poll expires regularly
+            LOG.warn("Long poll notification rejected: {}", e.getMessage());
+        }
+    }
+
+    private static String key(final String tenant, final String controllerId) {
+        return tenant.toUpperCase(Locale.ROOT) + ":" + controllerId;
+    }
+}
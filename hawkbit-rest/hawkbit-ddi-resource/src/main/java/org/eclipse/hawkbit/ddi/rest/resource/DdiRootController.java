@@ -11,6 +11,7 @@ package org.eclipse.hawkbit.ddi.rest.resource;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -21,6 +22,7 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 
 import jakarta.validation.constraints.NotNull;
+import org.eclipse.hawkbit.ControllerPollProperties;
 import org.eclipse.hawkbit.api.ArtifactUrlHandler;
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifact;
 import org.eclipse.hawkbit.ddi.json.model.DdiActionFeedback;
@@ -62,6 +64,8 @@ import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.Status;
 import org.eclipse.hawkbit.repository.model.ActionStatus;
 import org.eclipse.hawkbit.repository.model.Artifact;
+import org.eclipse.hawkbit.repository.model.ControllerPollState;
+import org.eclipse.hawkbit.repository.model.ControllerPollState.ActionState;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.rest.util.FileStreamingUtil;
@@ -69,6 +73,7 @@ import org.eclipse.hawkbit.rest.util.HttpUtil;
 import org.eclipse.hawkbit.rest.util.RequestResponseContextHolder;
 import org.eclipse.hawkbit.security.HawkbitSecurityProperties;
 import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.eclipse.hawkbit.tenancy.configuration.DurationHelper;
 import org.eclipse.hawkbit.util.IpUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -79,8 +84,10 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Scope;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -88,6 +95,10 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.DeferredResult;
 
 /**
  * The {@link DdiRootController} of the hawkBit server DDI API that is queried
@@ -140,6 +151,12 @@ public class DdiRootController implements DdiRootControllerRestApi {
     @Autowired
     private EntityFactory entityFactory;
 
+    @Autowired
+    private ControllerPollProperties controllerPollProperties;
+
+    @Autowired
+    private DdiLongPollRegistry longPollRegistry;
+
     @Override
     public ResponseEntity<List<DdiArtifact>> getSoftwareModulesArtifacts(@PathVariable("tenant") final String tenant,
             @PathVariable("controllerId") final String controllerId,
@@ -162,19 +179,96 @@ public class DdiRootController implements DdiRootControllerRestApi {
             @PathVariable("controllerId") final String controllerId) {
         LOG.debug("getControllerBase({})", controllerId);
 
-        final Target target = controllerManagement.findOrRegisterTargetIfItDoesNotExist(controllerId, IpUtil
-                .getClientIpFromRequest(requestResponseContextHolder.getHttpServletRequest(), securityProperties));
-        final Action activeAction = controllerManagement.findActiveActionWithHighestWeight(controllerId).orElse(null);
+        final HttpServletRequest request = requestResponseContextHolder.getHttpServletRequest();
+        return pollControllerBase(controllerId, IpUtil.getClientIpFromRequest(request, securityProperties),
+                getRequestedVariant(), request.getHeader(HttpHeaders.IF_NONE_MATCH), false);
+    }
+
+    @Override
+    public DeferredResult<ResponseEntity<DdiControllerBase>> getControllerBaseLongPoll(
+            @PathVariable("tenant") final String tenant, @PathVariable("controllerId") final String controllerId) {
+        LOG.debug("getControllerBaseLongPoll({})", controllerId);
+
+        if (!controllerPollProperties.isLongPollEnabled()) {
+            final DeferredResult<ResponseEntity<DdiControllerBase>> result = new DeferredResult<>();
+            result.setResult(getControllerBase(tenant, controllerId));
+            return result;
+        }
+
+        final DeferredResult<ResponseEntity<DdiControllerBase>> result = new DeferredResult<>(DurationHelper
+                .formattedStringToDuration(controllerPollProperties.getMaxLongPollTime()).toMillis());
+
+        final HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder
+                .currentRequestAttributes()).getRequest();
+        final URI address = IpUtil.getClientIpFromRequest(request, securityProperties);
+        final String variant = getRequestedVariant();
+        final String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+
+        // register before the state is read in order to not miss an event
+        park(result, controllerId, address, variant, ifNoneMatch, new ServletRequestAttributes(request));
+
+        final ResponseEntity<DdiControllerBase> response = pollControllerBase(controllerId, address, variant,
+                ifNoneMatch, false);
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            result.onTimeout(() -> result.setResult(response));
+        } else {
+            result.setResult(response);
+        }
+
+        return result;
+    }
 
-        final Action installedAction = controllerManagement.getInstalledActionByTarget(controllerId).orElse(null);
+    /**
+     * Parks the long poll until the next assignment or cancellation event for
+     * the controller. The woken poll reads the state from the repository as
+     * the near-cache might not have been invalidated by the event yet. If the
+     * event did not change what the controller knows, the poll is parked
+     * again.
+     */
+    private void park(final DeferredResult<ResponseEntity<DdiControllerBase>> result, final String controllerId,
+            final URI address, final String variant, final String ifNoneMatch,
+            final RequestAttributes requestAttributes) {
+        final Runnable deregister = longPollRegistry.register(tenantAware.getCurrentTenant(), controllerId,
+                new DelegatingSecurityContextRunnable(() -> {
+                    if (result.isSetOrExpired()) {
+                        return;
+                    }
+                    // links are built based on the parked request
+                    RequestContextHolder.setRequestAttributes(requestAttributes);
+                    try {
+                        park(result, controllerId, address, variant, ifNoneMatch, requestAttributes);
+                        final ResponseEntity<DdiControllerBase> response = pollControllerBase(controllerId, address,
+                                variant, ifNoneMatch, true);
+                        if (response.getStatusCode() != HttpStatus.NOT_MODIFIED) {
+                            result.setResult(response);
+                        }
+                    } catch (final RuntimeException e) {
+                        result.setErrorResult(e);
+                    } finally {
+                        RequestContextHolder.resetRequestAttributes();
+                    }
+                }));
+        result.onCompletion(deregister);
+        // the poll could have been completed before the callback was set
+        if (result.isSetOrExpired()) {
+            deregister.run();
+        }
+    }
+
+    private ResponseEntity<DdiControllerBase> pollControllerBase(final String controllerId, final URI address,
+            final String variant, final String ifNoneMatch, final boolean refresh) {
+        final ControllerPollState pollState = refresh ? controllerManagement.refreshPollState(controllerId, address)
+                : controllerManagement.findOrRegisterPollState(controllerId, address);
 
-        checkAndCancelExpiredAction(activeAction);
+        pollState.getActiveAction().filter(ActionState::isMaintenanceScheduleLapsed)
+                .ifPresent(activeAction -> cancelExpiredAction(activeAction.getId()));
 
-        // activeAction
-        return new ResponseEntity<>(DataConversionHelper.fromTarget(target, installedAction, activeAction,
-                activeAction == null ? controllerManagement.getPollingTime()
-                        : controllerManagement.getPollingTimeForAction(activeAction.getId()),
-                tenantAware), HttpStatus.OK);
+        final String etag = DataConversionHelper.createControllerBaseEtag(pollState, variant);
+        if (isNotModified(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        return ResponseEntity.ok().eTag(etag).body(DataConversionHelper.fromPollState(pollState, tenantAware));
     }
 
     @Override
@@ -292,13 +386,31 @@ public class DdiRootController implements DdiRootControllerRestApi {
 
         if (!action.isCancelingOrCanceled() && !action.isWaitingConfirmation()) {
 
+            // the action history is not covered by the deep etag
+            final boolean deepEtag = actionHistoryMessageCount == 0;
+            if (deepEtag) {
+                final String etag = DataConversionHelper.createDeploymentBaseEtag(target, action,
+                        getRequestedVariant());
+                if (isNotModified(etag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+                }
+            }
+
             final DdiDeploymentBase base = generateDdiDeploymentBase(target, action, actionHistoryMessageCount);
 
             LOG.debug("Found an active UpdateAction for target {}. returning deployment: {}", controllerId, base);
 
-            controllerManagement.registerRetrieved(action.getId(), RepositoryConstants.SERVER_MESSAGE_PREFIX
-                    + "Target retrieved update action and should start now the download.");
+            final Action retrieved = controllerManagement.registerRetrieved(action.getId(),
+                    RepositoryConstants.SERVER_MESSAGE_PREFIX
+                            + "Target retrieved update action and should start now the download.");
 
+            if (deepEtag) {
+                // the etag has to reflect the retrieved state the client gets
+                // on the next request
+                return ResponseEntity.ok()
+                        .eTag(DataConversionHelper.createDeploymentBaseEtag(target, retrieved, getRequestedVariant()))
+                        .body(base);
+            }
             return new ResponseEntity<>(base, HttpStatus.OK);
         }
 
@@ -598,11 +710,32 @@ public class DdiRootController implements DdiRootControllerRestApi {
      */
     private void checkAndCancelExpiredAction(final Action action) {
         if (action != null && action.hasMaintenanceSchedule() && action.isMaintenanceScheduleLapsed()) {
-            try {
-                controllerManagement.cancelAction(action.getId());
-            } catch (final CancelActionNotAllowedException e) {
-                LOG.info("Cancel action not allowed: {}", e.getMessage());
-            }
+            cancelExpiredAction(action.getId());
+        }
+    }
+
+    private boolean isNotModified(final String etag) {
+        return isNotModified(requestResponseContextHolder.getHttpServletRequest().getHeader(HttpHeaders.IF_NONE_MATCH),
+                etag);
+    }
+
+    private static boolean isNotModified(final String ifNoneMatch, final String etag) {
+        final String quotedEtag = "\"" + etag + "\"";
+        return ifNoneMatch != null && (HttpUtil.matchesHttpHeader(ifNoneMatch, quotedEtag)
+                || HttpUtil.matchesHttpHeader(ifNoneMatch, "W/" + quotedEtag));
+    }
+
+    private String getRequestedVariant() {
+        final String accept = requestResponseContextHolder.getHttpServletRequest().getHeader(HttpHeaders.ACCEPT);
+        return accept != null && accept.contains(DdiRestConstants.MEDIA_TYPE_CBOR) ? DdiRestConstants.MEDIA_TYPE_CBOR
+                : MediaType.APPLICATION_JSON_VALUE;
+    }
+
+    private void cancelExpiredAction(final long actionId) {
+        try {
+            controllerManagement.cancelAction(actionId);
+        } catch (final CancelActionNotAllowedException e) {
+            LOG.info("Cancel action not allowed: {}", e.getMessage());
         }
     }
 
@@ -106,6 +106,41 @@ public class DdiDeploymentBaseTest extends AbstractDDiApiIntegrationTest {
                 action.getId(), feedback, status().isOk());
     }
 
+    @Test
+    @Description("Ensures that the deployment resource is not rendered again as long as the deep etag provided by the client matches.")
+    public void deploymentResourceNotModified() throws Exception {
+        final Target target = testdataFactory.createTarget();
+        final DistributionSet ds = testdataFactory.createDistributionSet("");
+
+        assignDistributionSet(ds.getId(), target.getControllerId());
+        final Action action = deploymentManagement.findActiveActionsByTarget(PAGE, target.getControllerId())
+                .getContent().get(0);
+
+        final String etag = mvc
+                .perform(MockMvcRequestBuilders.get(DEPLOYMENT_BASE, tenantAware.getCurrentTenant(),
+                        target.getControllerId(), action.getId()).accept(MediaType.APPLICATION_JSON))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isOk()).andReturn().getResponse()
+                .getHeader("ETag");
+        assertThat(etag).isNotNull();
+
+        mvc.perform(MockMvcRequestBuilders.get(DEPLOYMENT_BASE, tenantAware.getCurrentTenant(),
+                target.getControllerId(), action.getId()).accept(MediaType.APPLICATION_JSON)
+                .header("If-None-Match", etag)).andDo(MockMvcResultPrinter.print())
+                .andExpect(status().isNotModified());
+
+        // meta data of the software modules is part of the deployment
+        softwareModuleManagement.createMetaData(entityFactory.softwareModuleMetadata().create(getOsModule(ds))
+                .key("etag").value("changed").targetVisible(true));
+
+        final String changedEtag = mvc
+                .perform(MockMvcRequestBuilders.get(DEPLOYMENT_BASE, tenantAware.getCurrentTenant(),
+                        target.getControllerId(), action.getId()).accept(MediaType.APPLICATION_JSON)
+                        .header("If-None-Match", etag))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isOk()).andReturn().getResponse()
+                .getHeader("ETag");
+        assertThat(changedEtag).isNotEqualTo(etag);
+    }
+
     @Test
     @Description("Ensures that artifacts are not found, when software module does not exists.")
     public void artifactsNotFound() throws Exception {
@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+
+import org.eclipse.hawkbit.ddi.rest.api.DdiRestConstants;
+import org.eclipse.hawkbit.repository.event.remote.MultiActionAssignEvent;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.rest.util.MockMvcResultPrinter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Component Tests - Direct Device Integration API")
+@Story("Root Poll Resource")
+@TestPropertySource(properties = { "hawkbit.controller.longPollEnabled=true",
+        "hawkbit.controller.maxLongPollTime=00:00:10", "hawkbit.server.repository.pollStateCacheEnabled=true" })
+class DdiLongPollTest extends AbstractDDiApiIntegrationTest {
+
+    @Autowired
+    private DdiLongPollRegistry longPollRegistry;
+
+    @Test
+    @Description("Ensures that a long poll is answered immediately if the controller does not know the current state.")
+    void longPollWithOutdatedStateIsAnsweredImmediately() throws Exception {
+        final MvcResult result = mvc
+                .perform(get(CONTROLLER_BASE, tenantAware.getCurrentTenant(), "4712")
+                        .param(DdiRestConstants.LONG_POLL, "true").accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted()).andReturn();
+
+        mvc.perform(asyncDispatch(result)).andDo(MockMvcResultPrinter.print()).andExpect(status().isOk())
+                .andExpect(jsonPath("$.config.polling.sleep").exists());
+    }
+
+    @Test
+    @Description("Ensures that a parked long poll is completed as soon as a distribution set is assigned to the controller.")
+    void longPollIsCompletedOnAssignment() throws Exception {
+        final String controllerId = "4713";
+        final String etag = mvc
+                .perform(get(CONTROLLER_BASE, tenantAware.getCurrentTenant(), controllerId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk()).andReturn().getResponse().getHeader("ETag");
+
+        final MvcResult parked = mvc
+                .perform(get(CONTROLLER_BASE, tenantAware.getCurrentTenant(), controllerId)
+                        .param(DdiRestConstants.LONG_POLL, "true").header("If-None-Match", etag)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted()).andReturn();
+
+        final DistributionSet ds = testdataFactory.createDistributionSet("");
+        assignDistributionSet(ds.getId(), controllerId);
+        final Action action = deploymentManagement.findActiveActionsByTarget(PAGE, controllerId).getContent().get(0);
+
+        mvc.perform(asyncDispatch(parked)).andDo(MockMvcResultPrinter.print()).andExpect(status().isOk())
+                .andExpect(jsonPath("$._links.deploymentBase.href",
+                        startsWith(deploymentBaseLink(controllerId, action.getId().toString()))));
+    }
+
+    @Test
+    @Description("Ensures that a woken long poll is answered with the new state and ETag even if the poll state of the controller has been cached before.")
+    void wokenLongPollIsAnsweredWithNewEtag() throws Exception {
+        final String controllerId = "4715";
+        final String etag = pollEtag(controllerId);
+        final MvcResult parked = parkLongPoll(controllerId, etag);
+
+        assignDistributionSet(testdataFactory.createDistributionSet("").getId(), controllerId);
+
+        final String newEtag = mvc.perform(asyncDispatch(parked)).andDo(MockMvcResultPrinter.print())
+                .andExpect(status().isOk()).andReturn().getResponse().getHeader("ETag");
+        assertThat(newEtag).isNotEqualTo(etag).isEqualTo(pollEtag(controllerId));
+    }
+
+    @Test
+    @Description("Ensures that a long poll woken by an event that does not change the state of the controller is parked again.")
+    void longPollIsParkedAgainIfStateIsUnchanged() throws Exception {
+        final String controllerId = "4716";
+        final String etag = pollEtag(controllerId);
+        final MvcResult parked = parkLongPoll(controllerId, etag);
+
+        final Target target = mock(Target.class);
+        when(target.getControllerId()).thenReturn(controllerId);
+        final Action action = mock(Action.class);
+        when(action.getTarget()).thenReturn(target);
+        when(action.getId()).thenReturn(1L);
+        longPollRegistry.onMultiAction(
+                new MultiActionAssignEvent(tenantAware.getCurrentTenant(), "test", List.of(action)));
+
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> parked.getAsyncResult(500));
+
+        assignDistributionSet(testdataFactory.createDistributionSet("").getId(), controllerId);
+        mvc.perform(asyncDispatch(parked)).andDo(MockMvcResultPrinter.print()).andExpect(status().isOk());
+    }
+
+    @Test
+    @Description("Ensures that a parked long poll is answered with not modified if nothing happens within the maximum long poll time.")
+    void longPollExpiresWithNotModified() throws Exception {
+        final String controllerId = "4714";
+        final String etag = mvc
+                .perform(get(CONTROLLER_BASE, tenantAware.getCurrentTenant(), controllerId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk()).andReturn().getResponse().getHeader("ETag");
+
+        final MvcResult parked = mvc
+                .perform(get(CONTROLLER_BASE, tenantAware.getCurrentTenant(), controllerId)
+                        .param(DdiRestConstants.LONG_POLL, "true").header("If-None-Match", etag)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted()).andReturn();
+
+        // the servlet container signals the expiry
+        final MockAsyncContext asyncContext = (MockAsyncContext) parked.getRequest().getAsyncContext();
+        for (final AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+
+        mvc.perform(asyncDispatch(parked)).andDo(MockMvcResultPrinter.print()).andExpect(status().isNotModified());
+    }
+
+    private String pollEtag(final String controllerId) throws Exception {
+        return mvc
+                .perform(get(CONTROLLER_BASE, tenantAware.getCurrentTenant(), controllerId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk()).andReturn().getResponse().getHeader("ETag");
+    }
+
+    private MvcResult parkLongPoll(final String controllerId, final String etag) throws Exception {
+        return mvc
+                .perform(get(CONTROLLER_BASE, tenantAware.getCurrentTenant(), controllerId)
+                        .param(DdiRestConstants.LONG_POLL, "true").header("If-None-Match", etag)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted()).andReturn();
+    }
+}
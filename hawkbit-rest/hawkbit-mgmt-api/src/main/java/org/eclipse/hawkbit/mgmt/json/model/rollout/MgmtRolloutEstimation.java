@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.mgmt.json.model.rollout;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Estimated distribution of the targets of a rollout that has not been created
+ * yet.
+ */
+@JsonInclude(Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class MgmtRolloutEstimation {
+
+    @JsonProperty(required = true)
+    @Schema(example = "20")
+    private long totalTargets;
+
+    @JsonProperty(required = true)
+    @Schema(example = "3")
+    private long incompatibleTargets;
+
+    @JsonProperty(required = true)
+    @Schema(example = "[10, 10]")
+    private List<Long> targetsPerGroup;
+
+    @JsonProperty(required = true)
+    @Schema(example = "20")
+    private long expectedActions;
+
+    public long getTotalTargets() {
+        return totalTargets;
+    }
+
+    public void setTotalTargets(final long totalTargets) {
+        this.totalTargets = totalTargets;
+    }
+
+    public long getIncompatibleTargets() {
+        return incompatibleTargets;
+    }
+
+    public void setIncompatibleTargets(final long incompatibleTargets) {
+        this.incompatibleTargets = incompatibleTargets;
+    }
+
+    public List<Long> getTargetsPerGroup() {
+        return targetsPerGroup;
+    }
+
+    public void setTargetsPerGroup(final List<Long> targetsPerGroup) {
+        this.targetsPerGroup = targetsPerGroup;
+    }
+
+    public long getExpectedActions() {
+        return expectedActions;
+    }
+
+    public void setExpectedActions(final long expectedActions) {
+        this.expectedActions = expectedActions;
+    }
+}
@@ -21,6 +21,7 @@ import org.eclipse.hawkbit.mgmt.json.model.rollout.MgmtRolloutCondition;
 import org.eclipse.hawkbit.mgmt.json.model.rollout.MgmtRolloutCondition.Condition;
 import org.eclipse.hawkbit.mgmt.json.model.rollout.MgmtRolloutErrorAction;
 import org.eclipse.hawkbit.mgmt.json.model.rollout.MgmtRolloutErrorAction.ErrorAction;
+import org.eclipse.hawkbit.mgmt.json.model.rollout.MgmtRolloutEstimation;
 import org.eclipse.hawkbit.mgmt.json.model.rollout.MgmtRolloutResponseBody;
 import org.eclipse.hawkbit.mgmt.json.model.rollout.MgmtRolloutRestRequestBody;
 import org.eclipse.hawkbit.mgmt.json.model.rollout.MgmtRolloutSuccessAction;
@@ -35,6 +36,7 @@ import org.eclipse.hawkbit.repository.builder.RolloutCreate;
 import org.eclipse.hawkbit.repository.builder.RolloutGroupCreate;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.Rollout;
+import org.eclipse.hawkbit.repository.model.RolloutEstimation;
 import org.eclipse.hawkbit.repository.model.RolloutGroup;
 import org.eclipse.hawkbit.repository.model.RolloutGroup.RolloutGroupErrorAction;
 import org.eclipse.hawkbit.repository.model.RolloutGroup.RolloutGroupErrorCondition;
@@ -123,6 +125,15 @@ final class MgmtRolloutMapper {
         return body;
     }
 
+    static MgmtRolloutEstimation toResponseEstimation(final RolloutEstimation estimation) {
+        final MgmtRolloutEstimation body = new MgmtRolloutEstimation();
+        body.setTotalTargets(estimation.getTotalTargets());
+        body.setIncompatibleTargets(estimation.getIncompatibleTargets());
+        body.setTargetsPerGroup(estimation.getTargetsPerGroup());
+        body.setExpectedActions(estimation.getExpectedActions());
+        return body;
+    }
+
     static RolloutCreate fromRequest(final EntityFactory entityFactory, final MgmtRolloutRestRequestBody restRequest,
             final DistributionSet distributionSet) {
 
@@ -17,6 +17,7 @@ import java.util.stream.Collectors;
 import jakarta.validation.ValidationException;
 
 import org.eclipse.hawkbit.mgmt.json.model.PagedList;
+import org.eclipse.hawkbit.mgmt.json.model.rollout.MgmtRolloutEstimation;
 import org.eclipse.hawkbit.mgmt.json.model.rollout.MgmtRolloutResponseBody;
 import org.eclipse.hawkbit.mgmt.json.model.rollout.MgmtRolloutRestRequestBody;
 import org.eclipse.hawkbit.mgmt.json.model.rolloutgroup.MgmtRolloutGroup;
@@ -38,6 +39,7 @@ import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
 import org.eclipse.hawkbit.repository.exception.RSQLParameterSyntaxException;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.Rollout;
+import org.eclipse.hawkbit.repository.model.RolloutEstimation;
 import org.eclipse.hawkbit.repository.model.RolloutGroup;
 import org.eclipse.hawkbit.repository.model.RolloutGroupConditionBuilder;
 import org.eclipse.hawkbit.repository.model.RolloutGroupConditions;
@@ -135,29 +137,13 @@ public class MgmtRolloutResource implements MgmtRolloutRestApi {
     public ResponseEntity<MgmtRolloutResponseBody> create(
             @RequestBody final MgmtRolloutRestRequestBody rolloutRequestBody) {
 
-        // first check the given RSQL query if it's well formed, otherwise and
-        // exception is thrown
-        final String targetFilterQuery = rolloutRequestBody.getTargetFilterQuery();
-        if (targetFilterQuery == null) {
-            // Use RSQLParameterSyntaxException due to backwards compatibility
-            throw new RSQLParameterSyntaxException("Cannot create a Rollout with an empty target query filter!");
-        }
-        targetFilterQueryManagement.verifyTargetFilterQuerySyntax(targetFilterQuery);
-        final DistributionSet distributionSet = distributionSetManagement
-                .getValidAndComplete(rolloutRequestBody.getDistributionSetId());
+        final RolloutCreate create = fromVerifiedRequest(rolloutRequestBody);
         final RolloutGroupConditions rolloutGroupConditions = MgmtRolloutMapper.fromRequest(rolloutRequestBody, true);
-        final RolloutCreate create = MgmtRolloutMapper.fromRequest(entityFactory, rolloutRequestBody, distributionSet);
         final boolean confirmationFlowActive = tenantConfigHelper.isConfirmationFlowEnabled();
 
         Rollout rollout;
         if (rolloutRequestBody.getGroups() != null) {
-            final List<RolloutGroupCreate> rolloutGroups = rolloutRequestBody.getGroups().stream()
-                    .map(mgmtRolloutGroup -> {
-                        final boolean confirmationRequired = isConfirmationRequiredForGroup(mgmtRolloutGroup,
-                                rolloutRequestBody).orElse(confirmationFlowActive);
-                        return MgmtRolloutMapper.fromRequest(entityFactory, mgmtRolloutGroup)
-                                .confirmationRequired(confirmationRequired);
-                    }).collect(Collectors.toList());
+            final List<RolloutGroupCreate> rolloutGroups = fromRequest(rolloutRequestBody, confirmationFlowActive);
             rollout = rolloutManagement.create(create, rolloutGroups, rolloutGroupConditions);
 
         } else if (rolloutRequestBody.getAmountGroups() != null) {
@@ -174,6 +160,48 @@ public class MgmtRolloutResource implements MgmtRolloutRestApi {
         return ResponseEntity.status(HttpStatus.CREATED).body(MgmtRolloutMapper.toResponseRollout(rollout, true));
     }
 
+    @Override
+    public ResponseEntity<MgmtRolloutEstimation> estimate(
+            @RequestBody final MgmtRolloutRestRequestBody rolloutRequestBody) {
+
+        final RolloutCreate create = fromVerifiedRequest(rolloutRequestBody);
+
+        final RolloutEstimation estimation;
+        if (rolloutRequestBody.getGroups() != null) {
+            estimation = rolloutManagement.estimate(create, fromRequest(rolloutRequestBody, false));
+        } else if (rolloutRequestBody.getAmountGroups() != null) {
+            estimation = rolloutManagement.estimate(create, rolloutRequestBody.getAmountGroups());
+        } else {
+            throw new ValidationException("Either 'amountGroups' or 'groups' must be defined in the request");
+        }
+
+        return ResponseEntity.ok(MgmtRolloutMapper.toResponseEstimation(estimation));
+    }
+
+    private RolloutCreate fromVerifiedRequest(final MgmtRolloutRestRequestBody rolloutRequestBody) {
+        // first check the given RSQL query if it's well formed, otherwise and
+        // exception is thrown
+        final String targetFilterQuery = rolloutRequestBody.getTargetFilterQuery();
+        if (targetFilterQuery == null) {
+            // Use RSQLParameterSyntaxException due to backwards compatibility
+            throw new RSQLParameterSyntaxException("Cannot create a Rollout with an empty target query filter!");
+        }
+        targetFilterQueryManagement.verifyTargetFilterQuerySyntax(targetFilterQuery);
+        final DistributionSet distributionSet = distributionSetManagement
+                .getValidAndComplete(rolloutRequestBody.getDistributionSetId());
+        return MgmtRolloutMapper.fromRequest(entityFactory, rolloutRequestBody, distributionSet);
+    }
+
+    private List<RolloutGroupCreate> fromRequest(final MgmtRolloutRestRequestBody rolloutRequestBody,
+            final boolean confirmationFlowActive) {
+        return rolloutRequestBody.getGroups().stream().map(mgmtRolloutGroup -> {
+            final boolean confirmationRequired = isConfirmationRequiredForGroup(mgmtRolloutGroup, rolloutRequestBody)
+                    .orElse(confirmationFlowActive);
+            return MgmtRolloutMapper.fromRequest(entityFactory, mgmtRolloutGroup)
+                    .confirmationRequired(confirmationRequired);
+        }).collect(Collectors.toList());
+    }
+
     private Optional<Boolean> isConfirmationRequiredForGroup(final MgmtRolloutGroup group,
             final MgmtRolloutRestRequestBody request) {
         if (group.isConfirmationRequired() != null) {
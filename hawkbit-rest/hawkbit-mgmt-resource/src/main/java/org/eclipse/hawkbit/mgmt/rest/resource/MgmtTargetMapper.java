@@ -123,6 +123,8 @@ public final class MgmtTargetMapper {
                     Date.from(pollStatus.getNextPollDate().atZone(ZoneId.systemDefault()).toInstant()).getTime());
             pollStatusRest.setOverdue(pollStatus.isOverdue());
             targetRest.setPollStatus(pollStatusRest);
+            // the poll status considers the polls which are not persisted yet
+            targetRest.setLastControllerRequestAt(pollStatusRest.getLastRequestAt());
         }
     }
 
@@ -16,6 +16,7 @@ import static org.hamcrest.CoreMatchers.endsWith;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -220,6 +221,31 @@ class MgmtRolloutResourceTest extends AbstractManagementApiIntegrationTest {
 
     }
 
+    @Test
+    @Description("Testing that a rollout with groups can be estimated without creating it")
+    void estimateRolloutWithGroupDefinitions() throws Exception {
+        final DistributionSet dsA = testdataFactory.createDistributionSet("ro");
+        testdataFactory.createTargets(10, "ro-target", "rollout");
+
+        final List<RolloutGroup> rolloutGroups = Arrays.asList(
+                entityFactory.rolloutGroup().create().name("Group1").description("Group1desc").targetPercentage(20F)
+                        .build(),
+                entityFactory.rolloutGroup().create().name("Group2").description("Group2desc").targetPercentage(100F)
+                        .build());
+
+        mvc.perform(post("/rest/v1/rollouts/estimation")
+                .content(JsonBuilder.rolloutWithGroups("rollout2", "desc", null, dsA.getId(), "id==ro-target*",
+                        new RolloutGroupConditionBuilder().withDefaults().build(), rolloutGroups))
+                .contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTargets", equalTo(10)))
+                .andExpect(jsonPath("$.incompatibleTargets", equalTo(0)))
+                .andExpect(jsonPath("$.targetsPerGroup", contains(2, 8)))
+                .andExpect(jsonPath("$.expectedActions", equalTo(10)));
+
+        assertThat(rolloutManagement.count()).isZero();
+    }
+
     @Test
     @Description("Testing that no rollout with groups that have illegal percentages can be created")
     void createRolloutWithTooLowPercentage() throws Exception {